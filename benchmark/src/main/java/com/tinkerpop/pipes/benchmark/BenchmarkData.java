@@ -0,0 +1,25 @@
+package com.tinkerpop.pipes.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The shared data of the benchmarks.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class BenchmarkData {
+
+    /**
+     * The number of starts pulled through a pipe per benchmark operation.
+     */
+    public static final int STARTS = 1000;
+
+    public static List<Integer> integers(final int size) {
+        final List<Integer> integers = new ArrayList<Integer>(size);
+        for (int i = 0; i < size; i++) {
+            integers.add(i);
+        }
+        return integers;
+    }
+}
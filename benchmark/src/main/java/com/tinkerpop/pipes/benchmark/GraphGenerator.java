@@ -0,0 +1,105 @@
+package com.tinkerpop.pipes.benchmark;
+
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Graph;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.impls.tg.TinkerGraph;
+
+import java.util.Random;
+
+/**
+ * Generates seeded synthetic graphs for the graph traversal benchmarks. The same seed always generates the same graph.
+ * Every vertex has an "age" property (0 to 99) and every edge has one of the labels "knows", "created" or "likes"
+ * and a "weight" property (0.0 to 1.0).
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class GraphGenerator {
+
+    public static final String[] LABELS = new String[]{"knows", "created", "likes"};
+
+    /**
+     * The average degree (in plus out) of the vertices of the power-law and uniform graphs.
+     */
+    public static final int AVERAGE_DEGREE = 10;
+
+    public enum Type {
+        POWER_LAW, UNIFORM, GRID
+    }
+
+    private final Random random;
+
+    public GraphGenerator(final long seed) {
+        this.random = new Random(seed);
+    }
+
+    public TinkerGraph generate(final Type type, final int edges) {
+        final TinkerGraph graph = new TinkerGraph();
+        if (type == Type.GRID) {
+            final int side = (int) Math.ceil(Math.sqrt(edges / 2.0d));
+            this.grid(graph, side, edges);
+        } else {
+            final Vertex[] vertices = this.addVertices(graph, Math.max(2, (2 * edges) / AVERAGE_DEGREE));
+            if (type == Type.POWER_LAW)
+                this.powerLaw(graph, vertices, edges);
+            else
+                this.uniform(graph, vertices, edges);
+        }
+        return graph;
+    }
+
+    /**
+     * Preferential attachment: the in-vertex of an edge is chosen with a probability proportional to its degree.
+     */
+    private void powerLaw(final Graph graph, final Vertex[] vertices, final int edges) {
+        final Vertex[] endpoints = new Vertex[2 * edges];
+        int size = 0;
+        for (int i = 0; i < edges; i++) {
+            final Vertex out = vertices[this.random.nextInt(vertices.length)];
+            final Vertex in = (size == 0 || this.random.nextInt(4) == 0) ?
+                    vertices[this.random.nextInt(vertices.length)] :
+                    endpoints[this.random.nextInt(size)];
+            this.addEdge(graph, out, in);
+            endpoints[size++] = out;
+            endpoints[size++] = in;
+        }
+    }
+
+    private void uniform(final Graph graph, final Vertex[] vertices, final int edges) {
+        for (int i = 0; i < edges; i++) {
+            this.addEdge(graph, vertices[this.random.nextInt(vertices.length)], vertices[this.random.nextInt(vertices.length)]);
+        }
+    }
+
+    private void grid(final Graph graph, final int side, final int edges) {
+        final Vertex[] vertices = this.addVertices(graph, side * side);
+        int count = 0;
+        for (int row = 0; row < side && count < edges; row++) {
+            for (int column = 0; column < side && count < edges; column++) {
+                final Vertex vertex = vertices[row * side + column];
+                if (column + 1 < side) {
+                    this.addEdge(graph, vertex, vertices[row * side + column + 1]);
+                    count++;
+                }
+                if (row + 1 < side && count < edges) {
+                    this.addEdge(graph, vertex, vertices[(row + 1) * side + column]);
+                    count++;
+                }
+            }
+        }
+    }
+
+    private Vertex[] addVertices(final Graph graph, final int size) {
+        final Vertex[] vertices = new Vertex[size];
+        for (int i = 0; i < size; i++) {
+            vertices[i] = graph.addVertex(i);
+            vertices[i].setProperty("age", this.random.nextInt(100));
+        }
+        return vertices;
+    }
+
+    private void addEdge(final Graph graph, final Vertex out, final Vertex in) {
+        final Edge edge = graph.addEdge(null, out, in, LABELS[this.random.nextInt(LABELS.length)]);
+        edge.setProperty("weight", this.random.nextFloat());
+    }
+}
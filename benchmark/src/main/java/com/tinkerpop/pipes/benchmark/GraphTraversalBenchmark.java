@@ -0,0 +1,174 @@
+package com.tinkerpop.pipes.benchmark;
+
+import com.tinkerpop.blueprints.Compare;
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Graph;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.impls.tg.TinkerGraph;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.branch.LoopPipe;
+import com.tinkerpop.pipes.filter.DuplicateFilterPipe;
+import com.tinkerpop.pipes.sideeffect.GroupCountPipe;
+import com.tinkerpop.pipes.transform.BothPipe;
+import com.tinkerpop.pipes.transform.GraphQueryPipe;
+import com.tinkerpop.pipes.transform.InPipe;
+import com.tinkerpop.pipes.transform.OutPipe;
+import com.tinkerpop.pipes.transform.PathPipe;
+import com.tinkerpop.pipes.transform.QueryPipe;
+import com.tinkerpop.pipes.transform.VertexQueryPipe;
+import com.tinkerpop.pipes.util.LatencyBatchAdjacencyProvider;
+import com.tinkerpop.pipes.util.Pipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Graph traversals over seeded synthetic TinkerGraphs (see GraphGenerator).
+ * One operation evaluates the traversal from a fixed, seeded sample of start vertices.
+ * Use the HeapProfiler to report the peak and retained heap of each benchmark.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class GraphTraversalBenchmark {
+
+    private static final long SEED = 42l;
+    private static final int SAMPLE_SIZE = 100;
+    private static final long REMOTE_LATENCY_MILLIS = 1l;
+
+    @Param({"POWER_LAW", "UNIFORM", "GRID"})
+    public GraphGenerator.Type type;
+
+    @Param({"10000", "100000", "1000000"})
+    public int edges;
+
+    private TinkerGraph graph;
+    private List<Vertex> sample;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.graph = new GraphGenerator(SEED).generate(this.type, this.edges);
+        final List<Vertex> vertices = new ArrayList<Vertex>();
+        for (final Vertex vertex : this.graph.getVertices()) {
+            vertices.add(vertex);
+        }
+        final Random random = new Random(SEED);
+        this.sample = new ArrayList<Vertex>(SAMPLE_SIZE);
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            this.sample.add(vertices.get(random.nextInt(vertices.size())));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.graph.shutdown();
+        this.graph = null;
+        this.sample = null;
+    }
+
+    private long count(final List<Vertex> starts, final Pipe... pipes) {
+        final Pipeline<Vertex, Object> pipeline = new Pipeline<Vertex, Object>(pipes);
+        pipeline.setStarts(starts);
+        return pipeline.count();
+    }
+
+    @Benchmark
+    public long out() {
+        return this.count(this.sample, new OutPipe());
+    }
+
+    @Benchmark
+    public long in() {
+        return this.count(this.sample, new InPipe());
+    }
+
+    @Benchmark
+    public long both() {
+        return this.count(this.sample, new BothPipe());
+    }
+
+    @Benchmark
+    public long outOut() {
+        return this.count(this.sample, new OutPipe(), new OutPipe());
+    }
+
+    @Benchmark
+    public long outRemote() {
+        final OutPipe pipe = new OutPipe();
+        pipe.enableBatching(new LatencyBatchAdjacencyProvider(REMOTE_LATENCY_MILLIS), 1);
+        return this.count(this.sample, pipe);
+    }
+
+    @Benchmark
+    public long outRemoteBatched() {
+        final OutPipe pipe = new OutPipe();
+        pipe.enableBatching(new LatencyBatchAdjacencyProvider(REMOTE_LATENCY_MILLIS), 25);
+        return this.count(this.sample, pipe);
+    }
+
+    @Benchmark
+    public long vertexQuery() {
+        final List<QueryPipe.HasContainer> hasContainers = Arrays.asList(new QueryPipe.HasContainer("weight", Compare.GREATER_THAN, 0.5f));
+        return this.count(this.sample, new VertexQueryPipe<Vertex>(Vertex.class, Direction.BOTH, hasContainers, null, Integer.MAX_VALUE, 0, Integer.MAX_VALUE, "knows", "likes"));
+    }
+
+    @Benchmark
+    public long graphQuery() {
+        final GraphQueryPipe<Vertex> pipe = new GraphQueryPipe<Vertex>(Vertex.class);
+        pipe.addHasContainer(new QueryPipe.HasContainer("age", Compare.EQUAL, 30));
+        final Pipeline<Graph, Vertex> pipeline = new Pipeline<Graph, Vertex>(pipe);
+        pipeline.setStarts(Arrays.<Graph>asList(this.graph));
+        return pipeline.count();
+    }
+
+    @Benchmark
+    public long loopThreeHops() {
+        return this.count(this.sample.subList(0, 10), new LoopPipe<Vertex>(new OutPipe(), new PipeFunction<LoopPipe.LoopBundle<Vertex>, Boolean>() {
+            public Boolean compute(final LoopPipe.LoopBundle<Vertex> bundle) {
+                return bundle.getLoops() < 3;
+            }
+        }));
+    }
+
+    @Benchmark
+    public long dedupThreeHops() {
+        return this.count(this.sample.subList(0, 10), new OutPipe(), new DuplicateFilterPipe(), new OutPipe(), new DuplicateFilterPipe(), new OutPipe(), new DuplicateFilterPipe());
+    }
+
+    @Benchmark
+    public HashMap groupCount() {
+        final HashMap map = new HashMap();
+        this.count(this.sample, new OutPipe(), new OutPipe(), new GroupCountPipe(map));
+        return map;
+    }
+
+    @Benchmark
+    public List path() {
+        final Pipeline<Vertex, List> pipeline = new Pipeline<Vertex, List>(new OutPipe(), new OutPipe(), new PathPipe());
+        pipeline.setStarts(this.sample);
+        return pipeline.toList();
+    }
+}
@@ -0,0 +1,55 @@
+package com.tinkerpop.pipes.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A JMH profiler that reports the peak heap usage during an iteration (the sum of the peaks of the heap memory pools)
+ * and the heap retained after the iteration.
+ * The retained heap is measured after a full garbage collection and thus, includes the graph of the benchmark.
+ * Use it with: java -jar target/benchmarks.jar -prof com.tinkerpop.pipes.benchmark.HeapProfiler
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class HeapProfiler implements InternalProfiler {
+
+    public String getDescription() {
+        return "Peak heap usage during an iteration and the heap retained after it";
+    }
+
+    public void beforeIteration(final BenchmarkParams benchmarkParams, final IterationParams iterationParams) {
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP)
+                pool.resetPeakUsage();
+        }
+    }
+
+    public Collection<? extends Result> afterIteration(final BenchmarkParams benchmarkParams, final IterationParams iterationParams, final IterationResult result) {
+        long peak = 0l;
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP)
+                peak = peak + pool.getPeakUsage().getUsed();
+        }
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        final long retained = memory.getHeapMemoryUsage().getUsed();
+
+        final List<Result> results = new ArrayList<Result>();
+        results.add(new ScalarResult("heap.peak", peak / 1048576.0d, "MB", AggregationPolicy.MAX));
+        results.add(new ScalarResult("heap.retained", retained / 1048576.0d, "MB", AggregationPolicy.MAX));
+        return results;
+    }
+}
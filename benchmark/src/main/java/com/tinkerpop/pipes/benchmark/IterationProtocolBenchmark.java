@@ -0,0 +1,101 @@
+package com.tinkerpop.pipes.benchmark;
+
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.IdentityPipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.filter.FilterFunctionPipe;
+import com.tinkerpop.pipes.util.Pipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The interleavings of AbstractPipe.hasNext() and AbstractPipe.next() used by consumers of a pipe.
+ * One operation pulls all the starts through an identity, filter, identity chain.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IterationProtocolBenchmark {
+
+    @Param({"false", "true"})
+    public boolean path;
+
+    private List<Integer> starts;
+    private Pipeline<Integer, Integer> pipeline;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.starts = BenchmarkData.integers(BenchmarkData.STARTS);
+        this.pipeline = new Pipeline<Integer, Integer>(
+                new IdentityPipe<Integer>(),
+                new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+                    public Boolean compute(final Integer argument) {
+                        return argument % 2 == 0;
+                    }
+                }),
+                new IdentityPipe<Integer>());
+        this.pipeline.enablePath(this.path);
+    }
+
+    private void restart() {
+        this.pipeline.reset();
+        this.pipeline.setStarts(this.starts);
+    }
+
+    @Benchmark
+    public void hasNextThenNext(final Blackhole blackhole) {
+        this.restart();
+        while (this.pipeline.hasNext()) {
+            blackhole.consume(this.pipeline.next());
+        }
+    }
+
+    @Benchmark
+    public void repeatedHasNextThenNext(final Blackhole blackhole) {
+        this.restart();
+        while (this.pipeline.hasNext() && this.pipeline.hasNext()) {
+            blackhole.consume(this.pipeline.next());
+        }
+    }
+
+    @Benchmark
+    public void nextUntilException(final Blackhole blackhole) {
+        this.restart();
+        try {
+            while (true) {
+                blackhole.consume(this.pipeline.next());
+            }
+        } catch (final NoSuchElementException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void nextOrEnd(final Blackhole blackhole) {
+        this.restart();
+        Object end;
+        while ((end = this.pipeline.nextOrEnd()) != AbstractPipe.END) {
+            blackhole.consume(end);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.tinkerpop.pipes.benchmark;
+
+import com.tinkerpop.pipes.IdentityPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.transform.TransformFunctionPipe;
+import com.tinkerpop.pipes.util.Pipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The throughput of chains of IdentityPipes or TransformFunctionPipes of increasing depth.
+ * One operation pulls all the starts through the chain.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PipeChainBenchmark {
+
+    @Param({"1", "5", "10", "20"})
+    public int depth;
+
+    @Param({"identity", "function"})
+    public String type;
+
+    @Param({"false", "true"})
+    public boolean path;
+
+    private List<Integer> starts;
+    private Pipeline<Integer, Integer> pipeline;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.starts = BenchmarkData.integers(BenchmarkData.STARTS);
+        final List<Pipe> pipes = new ArrayList<Pipe>();
+        for (int i = 0; i < this.depth; i++) {
+            if (this.type.equals("identity"))
+                pipes.add(new IdentityPipe<Integer>());
+            else
+                pipes.add(new TransformFunctionPipe<Integer, Integer>(new PipeFunction<Integer, Integer>() {
+                    public Integer compute(final Integer argument) {
+                        return argument;
+                    }
+                }));
+        }
+        this.pipeline = new Pipeline<Integer, Integer>(pipes);
+        this.pipeline.enablePath(this.path);
+    }
+
+    @Benchmark
+    public void hasNextNext(final Blackhole blackhole) {
+        this.pipeline.reset();
+        this.pipeline.setStarts(this.starts);
+        while (this.pipeline.hasNext()) {
+            blackhole.consume(this.pipeline.next());
+            if (this.path)
+                blackhole.consume(this.pipeline.getCurrentPath());
+        }
+    }
+
+    @Benchmark
+    public long count() {
+        this.pipeline.reset();
+        this.pipeline.setStarts(this.starts);
+        return this.pipeline.count();
+    }
+}
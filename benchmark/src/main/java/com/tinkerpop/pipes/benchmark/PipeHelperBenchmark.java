@@ -0,0 +1,82 @@
+package com.tinkerpop.pipes.benchmark;
+
+import com.tinkerpop.pipes.IdentityPipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.transform.TransformFunctionPipe;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.Pipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The terminal helpers PipeHelper.fillCollection() and PipeHelper.counter() over a pipeline.
+ * One operation exhausts the pipeline.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PipeHelperBenchmark {
+
+    @Param({"false", "true"})
+    public boolean path;
+
+    private List<Integer> starts;
+    private Pipeline<Integer, Integer> pipeline;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.starts = BenchmarkData.integers(BenchmarkData.STARTS);
+        this.pipeline = new Pipeline<Integer, Integer>(
+                new IdentityPipe<Integer>(),
+                new TransformFunctionPipe<Integer, Integer>(new PipeFunction<Integer, Integer>() {
+                    public Integer compute(final Integer argument) {
+                        return argument + 1;
+                    }
+                }));
+        this.pipeline.enablePath(this.path);
+    }
+
+    private void restart() {
+        this.pipeline.reset();
+        this.pipeline.setStarts(this.starts);
+    }
+
+    @Benchmark
+    public List<Integer> fillCollection() {
+        this.restart();
+        final List<Integer> results = new ArrayList<Integer>();
+        PipeHelper.fillCollection(this.pipeline, results);
+        return results;
+    }
+
+    @Benchmark
+    public long counter() {
+        this.restart();
+        return PipeHelper.counter(this.pipeline);
+    }
+
+    @Benchmark
+    public void iterate() {
+        this.restart();
+        PipeHelper.iterate(this.pipeline);
+    }
+}
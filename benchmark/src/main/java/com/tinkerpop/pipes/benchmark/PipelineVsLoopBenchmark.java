@@ -0,0 +1,100 @@
+package com.tinkerpop.pipes.benchmark;
+
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.filter.FilterFunctionPipe;
+import com.tinkerpop.pipes.transform.TransformFunctionPipe;
+import com.tinkerpop.pipes.util.Pipeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A Pipeline of transform and filter functions compared to the equivalent hand-written loop.
+ * One operation evaluates the functions on all the starts and collects the results.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PipelineVsLoopBenchmark {
+
+    private static final PipeFunction<Integer, Integer> DOUBLE = new PipeFunction<Integer, Integer>() {
+        public Integer compute(final Integer argument) {
+            return argument * 2;
+        }
+    };
+
+    private static final PipeFunction<Integer, Boolean> NOT_DIVISIBLE_BY_THREE = new PipeFunction<Integer, Boolean>() {
+        public Boolean compute(final Integer argument) {
+            return argument % 3 != 0;
+        }
+    };
+
+    private static final PipeFunction<Integer, Integer> INCREMENT = new PipeFunction<Integer, Integer>() {
+        public Integer compute(final Integer argument) {
+            return argument + 1;
+        }
+    };
+
+    @Param({"false", "true"})
+    public boolean path;
+
+    private List<Integer> starts;
+    private Pipeline<Integer, Integer> pipeline;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.starts = BenchmarkData.integers(BenchmarkData.STARTS);
+        this.pipeline = new Pipeline<Integer, Integer>(
+                new TransformFunctionPipe<Integer, Integer>(DOUBLE),
+                new FilterFunctionPipe<Integer>(NOT_DIVISIBLE_BY_THREE),
+                new TransformFunctionPipe<Integer, Integer>(INCREMENT));
+        this.pipeline.enablePath(this.path);
+    }
+
+    @Benchmark
+    public List<Integer> loop() {
+        final List<Integer> results = new ArrayList<Integer>();
+        for (final Integer start : this.starts) {
+            final Integer doubled = DOUBLE.compute(start);
+            if (NOT_DIVISIBLE_BY_THREE.compute(doubled))
+                results.add(INCREMENT.compute(doubled));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<Integer> pipelinePull() {
+        this.pipeline.reset();
+        this.pipeline.setStarts(this.starts);
+        final List<Integer> results = new ArrayList<Integer>();
+        while (this.pipeline.hasNext()) {
+            results.add(this.pipeline.next());
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<Integer> pipelineToList() {
+        this.pipeline.reset();
+        this.pipeline.setStarts(this.starts);
+        return this.pipeline.toList();
+    }
+}
@@ -3,13 +3,18 @@ package com.tinkerpop.pipes;
 import com.tinkerpop.pipes.filter.FilterPipe;
 import com.tinkerpop.pipes.sideeffect.SideEffectPipe;
 import com.tinkerpop.pipes.transform.TransformPipe;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
 import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.PipeProfile;
 import com.tinkerpop.pipes.util.iterators.HistoryIterator;
+import com.tinkerpop.pipes.util.structures.Path;
 
-import java.util.ArrayList;
+import java.lang.reflect.Method;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * An AbstractPipe provides most of the functionality that is repeated in every instance of a Pipe.
@@ -22,22 +27,58 @@ import java.util.NoSuchElementException;
  * }
  * </pre>
  * If the current incoming S is not to be emitted and there are no other S objects to process and emit, then throw a NoSuchElementException.
+ * <p/>
+ * Pipes on the hot path of nested traversals can avoid the cost of exceptions by overriding processNextStartOrEnd() instead.
+ * It returns AbstractPipe.END when there are no more objects to emit and pulls from its starts via PipeHelper.nextOrEnd().
+ * <pre>
+ * protected Object processNextStartOrEnd() {
+ *   final Object s = PipeHelper.nextOrEnd(this.starts);
+ *   if (s == END)
+ *     return END;
+ *   E e = // do something with the S to yield an E
+ *   return e;
+ * }
+ * </pre>
+ * The default processNextStartOrEnd() bridges to processNextStart(). If a subclass overrides processNextStart() of a pipe
+ * that implements processNextStartOrEnd(), then processNextStart() is used.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public abstract class AbstractPipe<S, E> implements Pipe<S, E> {
+public abstract class AbstractPipe<S, E> implements BatchPipe<S, E>, DemandPipe<S, E> {
+
+    /**
+     * The object returned by nextOrEnd() and processNextStartOrEnd() when there are no more ends to emit.
+     */
+    public static final Object END = new Object() {
+        public String toString() {
+            return "END";
+        }
+    };
+
+    private static final Map<Class, Boolean> BRIDGED = new ConcurrentHashMap<Class, Boolean>();
+    private static final Map<Class, Boolean> BATCH_BYPASSED = new ConcurrentHashMap<Class, Boolean>();
+    private static final Map<Class, Boolean> SINK_BYPASSED = new ConcurrentHashMap<Class, Boolean>();
 
     protected Iterator<S> starts;
     private E nextEnd;
     protected E currentEnd;
     private boolean available = false;
     protected boolean pathEnabled = false;
+    private final boolean bridged = AbstractPipe.isBridged(this.getClass());
+    private final boolean batchBypassed = AbstractPipe.isBatchBypassed(this.getClass());
+    private PipeProfile profile = null;
+    private Path currentPath = null;
+    protected long demand = -1l;
 
     public void setStarts(final Iterator<S> starts) {
+        this.currentPath = null;
         if (starts instanceof Pipe) {
             this.starts = starts;
-        } else {
+            PipeHelper.setDemand(starts, this.getStartsDemand());
+        } else if (null == this.profile) {
             this.starts = new HistoryIterator<S>(starts);
+        } else {
+            this.starts = new HistoryIterator<S>(this.profile.profileStarts(starts));
         }
     }
 
@@ -52,26 +93,38 @@ public abstract class AbstractPipe<S, E> implements Pipe<S, E> {
     public void reset() {
         if (this.starts instanceof Pipe)
             ((Pipe) this.starts).reset();
+        if (null != this.profile)
+            this.profile.incrementResets();
 
+        this.currentPath = null;
         this.nextEnd = null;
         this.currentEnd = null;
         this.available = false;
     }
 
+    /**
+     * Get the path of the current end. The path is computed once per end and cached until the pipe computes its next end.
+     * As such, the paths of consecutive ends share the (cached) paths of the pipes before this pipe that have not moved on.
+     *
+     * @return the path of the current end
+     */
     public List getCurrentPath() {
         if (this.pathEnabled) {
-            final List pathElements = getPathToHere();
-            if (this instanceof TransformPipe) {
-                pathElements.add(this.currentEnd);
-            } else if (!(this instanceof SideEffectPipe) && !(this instanceof FilterPipe)) {
-                final int size = pathElements.size();
-                if (size == 0 || pathElements.get(size - 1) != this.currentEnd) {
-                    // do not repeat filters or side-effects as they dup the object
-                    // this is for backwards compatibility to before TransformPipe interface
+            if (null == this.currentPath) {
+                final List pathElements = getPathToHere();
+                if (this instanceof TransformPipe) {
                     pathElements.add(this.currentEnd);
+                } else if (!(this instanceof SideEffectPipe) && !(this instanceof FilterPipe)) {
+                    final int size = pathElements.size();
+                    if (size == 0 || pathElements.get(size - 1) != this.currentEnd) {
+                        // do not repeat filters or side-effects as they dup the object
+                        // this is for backwards compatibility to before TransformPipe interface
+                        pathElements.add(this.currentEnd);
+                    }
                 }
+                this.currentPath = pathElements instanceof Path ? (Path) pathElements : new Path(pathElements);
             }
-            return pathElements;
+            return Path.copyOf(this.currentPath);
         } else {
             throw new RuntimeException(Pipe.NO_PATH_MESSAGE);
         }
@@ -86,7 +139,10 @@ public abstract class AbstractPipe<S, E> implements Pipe<S, E> {
             this.available = false;
             return (this.currentEnd = this.nextEnd);
         } else {
-            return (this.currentEnd = this.processNextStart());
+            final Object end = this.processNextEnd();
+            if (end == END)
+                throw FastNoSuchElementException.instance();
+            return (this.currentEnd = (E) end);
         }
     }
 
@@ -94,21 +150,93 @@ public abstract class AbstractPipe<S, E> implements Pipe<S, E> {
         if (this.available)
             return true;
         else {
-            try {
-                this.nextEnd = this.processNextStart();
-                return (this.available = true);
-            } catch (final NoSuchElementException e) {
-                return (this.available = false);
-            }
+            final Object end = this.processNextEnd();
+            if (end == END)
+                return false;
+            this.nextEnd = (E) end;
+            return (this.available = true);
         }
     }
 
+    /**
+     * Get the next end of the pipe without throwing a NoSuchElementException when the pipe is exhausted.
+     *
+     * @return the next end of the pipe or AbstractPipe.END if there are no more ends
+     */
+    public Object nextOrEnd() {
+        if (this.available) {
+            this.available = false;
+            return (this.currentEnd = this.nextEnd);
+        } else {
+            final Object end = this.processNextEnd();
+            if (end != END)
+                this.currentEnd = (E) end;
+            return end;
+        }
+    }
+
+    public int nextBatch(final Object[] batch, final int offset, final int length) {
+        if (length <= 0)
+            return 0;
+
+        int count = 0;
+        if (this.available) {
+            this.available = false;
+            batch[offset] = this.nextEnd;
+            count++;
+        }
+        if (count < length) {
+            if (this.pathEnabled || null != this.profile || this.batchBypassed)
+                count = count + this.processNextStarts(batch, offset + count, length - count);
+            else
+                count = count + this.processNextBatch(batch, offset + count, length - count);
+        }
+        if (count > 0)
+            this.currentEnd = (E) batch[offset + count - 1];
+        return count;
+    }
+
+    public void setDemand(final long demand) {
+        if (demand != this.demand) {
+            this.demand = demand;
+            PipeHelper.setDemand(this.starts, this.getStartsDemand());
+        }
+    }
+
+    /**
+     * Get the maximum number of starts that the pipe will pull given its demand (see DemandPipe.setDemand()).
+     * The default is -1 (unbounded) as a pipe may filter or expand its starts.
+     * A pipe that emits exactly one end per start should return its demand.
+     *
+     * @return the maximum number of starts that will be pulled or -1 if unbounded
+     */
+    protected long getStartsDemand() {
+        return -1l;
+    }
+
     public void enablePath(final boolean enable) {
         this.pathEnabled = enable;
+        this.currentPath = null;
         if (this.starts instanceof Pipe)
             ((Pipe) this.starts).enablePath(enable);
     }
 
+    /**
+     * Attach a profile to the pipe that records its counts and timings. When no profile is attached (the default),
+     * the cost of profiling is a single null check per computed end. See PipeProfile.profile() for profiling MetaPipes.
+     *
+     * @param profile the profile to record to or null to stop profiling
+     */
+    public void setProfile(final PipeProfile profile) {
+        this.profile = profile;
+        if (null != profile && null != this.starts && !(this.starts instanceof Pipe))
+            this.starts = new HistoryIterator<S>(profile.profileStarts(this.starts));
+    }
+
+    public PipeProfile getProfile() {
+        return this.profile;
+    }
+
     /**
      * The iterator method of Iterable is not faithful to the Java semantics of iterator().
      * This method simply returns the pipe itself (which is an iterator) and thus, is useful only for foreach iteration.
@@ -125,15 +253,159 @@ public abstract class AbstractPipe<S, E> implements Pipe<S, E> {
 
     protected abstract E processNextStart() throws NoSuchElementException;
 
+    /**
+     * The sentinel-based alternative to processNextStart().
+     * The default implementation bridges to processNextStart() and returns AbstractPipe.END when a NoSuchElementException is thrown.
+     *
+     * @return the next end of the pipe or AbstractPipe.END if there are no more ends
+     */
+    protected Object processNextStartOrEnd() {
+        try {
+            return this.processNextStart();
+        } catch (final NoSuchElementException e) {
+            return END;
+        }
+    }
+
+    private Object processNextEnd() {
+        Object end = END;
+        if (null != this.profile) {
+            this.profile.enter();
+            try {
+                end = this.computeNextEnd();
+            } finally {
+                this.profile.exit(end != END);
+            }
+        } else {
+            end = this.computeNextEnd();
+        }
+        // the starts have moved on (and a path computed while computing the end is not the path of the end)
+        this.currentPath = null;
+        return end;
+    }
+
+    private Object computeNextEnd() {
+        if (this.bridged) {
+            try {
+                return this.processNextStart();
+            } catch (final NoSuchElementException e) {
+                return END;
+            }
+        } else {
+            return this.processNextStartOrEnd();
+        }
+    }
+
+    /**
+     * A class is bridged if processNextStart() is overridden below the class that overrides processNextStartOrEnd().
+     * In that case, processNextStartOrEnd() would skip the behavior of the subclass.
+     */
+    static boolean isBridged(final Class pipeClass) {
+        return AbstractPipe.isBypassed(BRIDGED, pipeClass, "processNextStartOrEnd", "processNextStart");
+    }
+
+    /**
+     * The processNextBatch() of a class is bypassed if processNextStart() or processNextStartOrEnd() is overridden below the class
+     * that overrides processNextBatch(). In that case, the batches are computed by processNextStart() (or processNextStartOrEnd()).
+     */
+    static boolean isBatchBypassed(final Class pipeClass) {
+        return AbstractPipe.isBypassed(BATCH_BYPASSED, pipeClass, "processNextBatch", "processNextStart", "processNextStartOrEnd");
+    }
+
+    /**
+     * Determines if the pipe can be executed in push-mode (see PushPipe). This is not the case for a subclass of a PushPipe that
+     * overrides processNextStart() or processNextStartOrEnd() below the class that overrides createSink() as the sink would skip the behavior of the subclass.
+     *
+     * @param pipe the pipe to check
+     * @return whether the pipe can be executed in push-mode
+     */
+    public static boolean isPushable(final Pipe pipe) {
+        return pipe instanceof PushPipe &&
+                !(pipe instanceof AbstractPipe && AbstractPipe.isBypassed(SINK_BYPASSED, pipe.getClass(), "createSink", "processNextStart", "processNextStartOrEnd"));
+    }
+
+    /**
+     * Determines if any of the overriding methods is overridden below the class that overrides the method and thus, the method would skip the behavior of the subclass.
+     */
+    private static boolean isBypassed(final Map<Class, Boolean> cache, final Class pipeClass, final String methodName, final String... overridingMethodNames) {
+        Boolean bypassed = cache.get(pipeClass);
+        if (null == bypassed) {
+            bypassed = false;
+            for (Class c = pipeClass; c != AbstractPipe.class; c = c.getSuperclass()) {
+                if (AbstractPipe.declares(c, methodName))
+                    break;
+                if (AbstractPipe.declaresAny(c, overridingMethodNames)) {
+                    for (Class d = c.getSuperclass(); d != AbstractPipe.class; d = d.getSuperclass()) {
+                        if (AbstractPipe.declares(d, methodName)) {
+                            bypassed = true;
+                            break;
+                        }
+                    }
+                    break;
+                }
+            }
+            cache.put(pipeClass, bypassed);
+        }
+        return bypassed;
+    }
+
+    private static boolean declaresAny(final Class c, final String... methodNames) {
+        for (final String methodName : methodNames) {
+            if (AbstractPipe.declares(c, methodName))
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean declares(final Class c, final String methodName) {
+        for (final Method method : c.getDeclaredMethods()) {
+            if (method.getName().equals(methodName) && !method.isBridge())
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Fill the provided array with the next ends of the pipe. This is only called when path calculations are disabled.
+     * The default implementation simply calls processNextStart() for each end.
+     * Pipes that can process a whole array of starts in a tight loop (e.g. pulled via PipeHelper.nextBatch()) should override this method.
+     * As the starts of a batch are computed before any of its ends, a pipe that evaluates user-provided functions (e.g. FilterFunctionPipe)
+     * should not override this method since the functions may depend on the side effects of the pipes before or after it.
+     * If a subclass overrides processNextStart() or processNextStartOrEnd(), then the overridden processNextBatch() is not used.
+     *
+     * @param batch  the array to fill with ends
+     * @param offset the index of the array to start writing at
+     * @param length the maximum number of ends to write
+     * @return the number of ends written (fewer than length only if there are no more ends)
+     */
+    protected int processNextBatch(final Object[] batch, final int offset, final int length) {
+        return this.processNextStarts(batch, offset, length);
+    }
+
+    private int processNextStarts(final Object[] batch, final int offset, final int length) {
+        int count = 0;
+        while (count < length) {
+            final Object end = this.processNextEnd();
+            if (end == END)
+                break;
+            batch[offset + count++] = this.currentEnd = (E) end;
+        }
+        return count;
+    }
+
+    /**
+     * Get the path of the current start. Unless the starts are a Pipe that provides its own path, the path is a Path.
+     * The returned list is owned by the caller and thus, can be extended with the current end.
+     *
+     * @return the path of the current start
+     */
     protected List getPathToHere() {
         if (this.starts instanceof Pipe) {
             return ((Pipe) this.starts).getCurrentPath();
         } else if (this.starts instanceof HistoryIterator) {
-            final List list = new ArrayList();
-            list.add(((HistoryIterator) this.starts).getLast());
-            return list;
+            return new Path().extend(((HistoryIterator) this.starts).getLast());
         } else {
-            return new ArrayList();
+            return new Path();
         }
     }
 
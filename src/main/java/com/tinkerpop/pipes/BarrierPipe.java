@@ -0,0 +1,10 @@
+package com.tinkerpop.pipes;
+
+/**
+ * A BarrierPipe is a Pipe that requires all of its starts, in a single order, to emit the correct ends (e.g. ordering, ranges, deduplication).
+ * Thus, a BarrierPipe can not be evaluated over chunks of its starts independently (see ParallelPipelineExecutor).
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface BarrierPipe<S, E> extends Pipe<S, E> {
+}
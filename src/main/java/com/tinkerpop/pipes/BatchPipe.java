@@ -0,0 +1,25 @@
+package com.tinkerpop.pipes;
+
+/**
+ * A BatchPipe is a Pipe that can also emit its ends in batches.
+ * Batches are handed from pipe to pipe without the per-object overhead of hasNext() and next() (see PipeHelper.nextBatch()).
+ * Pipes that do not implement BatchPipe are pulled one object at a time.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface BatchPipe<S, E> extends Pipe<S, E> {
+
+    /**
+     * Fill the provided array with the next ends of the pipe.
+     * The ends are written to batch[offset] through batch[offset + length - 1] and the number of written ends is returned.
+     * Fewer than length ends are only returned if the pipe has no more ends to emit.
+     * Batches are pulled eagerly from upstream, so this method is not appropriate when path calculations are enabled
+     * or when a downstream computation depends on the current end of an upstream pipe (e.g. an AsPipe).
+     *
+     * @param batch  the array to fill with ends
+     * @param offset the index of the array to start writing at
+     * @param length the maximum number of ends to write
+     * @return the number of ends written to the array
+     */
+    public int nextBatch(Object[] batch, int offset, int length);
+}
@@ -0,0 +1,20 @@
+package com.tinkerpop.pipes;
+
+/**
+ * A DemandPipe is a Pipe that can be told how many ends will be pulled from it.
+ * A pipe may use the demand to bound its work (e.g. a VertexQuery.limit()). Pipes that do not implement DemandPipe simply ignore demands.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface DemandPipe<S, E> extends Pipe<S, E> {
+
+    /**
+     * Hint the maximum number of ends that will ever be pulled from the pipe (until it is reset or a new demand is set).
+     * A pipe may use the demand to bound its work (e.g. a VertexQuery.limit()) and it should pass a demand to its starts (if a DemandPipe)
+     * when it knows the maximum number of starts it needs (e.g. a pipe that emits one end per start).
+     * Pulling more ends than the demand yields undefined results. The default demand of a newly constructed pipe is -1 (unbounded).
+     *
+     * @param demand the maximum number of ends that will be pulled or -1 if unbounded
+     */
+    public void setDemand(long demand);
+}
@@ -1,5 +1,8 @@
 package com.tinkerpop.pipes;
 
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
+import com.tinkerpop.pipes.util.PipeHelper;
+
 /**
  * The IdentityPipe is the most basic pipe.
  * It simply maps the input to the output without any processing.
@@ -13,9 +16,29 @@ package com.tinkerpop.pipes;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class IdentityPipe<S> extends AbstractPipe<S, S> {  // does not implement TransformPipe
+public class IdentityPipe<S> extends AbstractPipe<S, S> implements PushPipe<S, S> {  // does not implement TransformPipe
 
     protected S processNextStart() {
-        return this.starts.next();
+        final Object end = this.processNextStartOrEnd();
+        if (end == END)
+            throw FastNoSuchElementException.instance();
+        return (S) end;
+    }
+
+    protected Object processNextStartOrEnd() {
+        return PipeHelper.nextOrEnd(this.starts);
+    }
+
+    public Sink<S> createSink(final Sink<S> sink) {
+        return sink;
+    }
+
+    protected int processNextBatch(final Object[] batch, final int offset, final int length) {
+        return PipeHelper.nextBatch(this.starts, batch, offset, length);
+    }
+
+    protected long getStartsDemand() {
+        // one end per start
+        return this.demand;
     }
 }
@@ -0,0 +1,18 @@
+package com.tinkerpop.pipes;
+
+/**
+ * A PrefetchPipe is a Pipe that may read its starts ahead of its ends (e.g. in batches, see VerticesVerticesPipe.enableBatching()).
+ * An AsPipe that precedes a PrefetchPipe would then expose a start that is ahead of the current end of the PrefetchPipe (e.g. to a SelectPipe).
+ * Thus, a Pipeline informs its PrefetchPipes whether an AsPipe precedes them, in which case they read their starts one at a time.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface PrefetchPipe<S, E> extends Pipe<S, E> {
+
+    /**
+     * Set whether an AsPipe precedes this pipe and thus, whether the starts of the pipe must be read one at a time.
+     *
+     * @param upstreamAsPipe whether an AsPipe precedes this pipe
+     */
+    public void setUpstreamAsPipe(boolean upstreamAsPipe);
+}
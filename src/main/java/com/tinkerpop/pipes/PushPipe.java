@@ -0,0 +1,21 @@
+package com.tinkerpop.pipes;
+
+/**
+ * A PushPipe is a Pipe that can also be executed in push-mode.
+ * In push-mode, the starts of the pipe are pushed into a Sink which then pushes its ends into the provided downstream Sink.
+ * This is only possible for pipes that do not require the lookahead of the pull-model, path calculations, or the state of their starts.
+ * The Sink must have the same behavior as the pipe (including any side effects).
+ * A subclass that overrides processNextStart() without overriding createSink() is executed in pull-mode (see AbstractPipe.isPushable()).
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface PushPipe<S, E> extends Pipe<S, E> {
+
+    /**
+     * Create a sink with the behavior of the pipe.
+     *
+     * @param sink the sink to push the ends of the pipe to
+     * @return the sink to push the starts of the pipe to
+     */
+    public Sink<S> createSink(Sink<E> sink);
+}
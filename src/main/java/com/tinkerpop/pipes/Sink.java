@@ -0,0 +1,19 @@
+package com.tinkerpop.pipes;
+
+/**
+ * A Sink is the push-based counterpart of a Pipe.
+ * Rather than next()'ing objects out of its starts, a Sink is pushed objects and pushes its results to the next Sink.
+ * See PushPipe and Pipeline.pushTo().
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface Sink<T> {
+
+    /**
+     * Push an object into the sink.
+     *
+     * @param object the object to consume
+     * @return false if the sink no longer wants objects to be pushed to it
+     */
+    public boolean push(T object);
+}
@@ -6,6 +6,7 @@ import com.tinkerpop.pipes.util.AbstractMetaPipe;
 import com.tinkerpop.pipes.util.MetaPipe;
 import com.tinkerpop.pipes.util.PipeHelper;
 import com.tinkerpop.pipes.util.Pipeline;
+import com.tinkerpop.pipes.util.structures.Path;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -46,7 +47,7 @@ public class CopySplitPipe<S> extends AbstractMetaPipe<S, S> implements MetaPipe
 
         List tempPath = null;
         if (this.pathEnabled)
-            tempPath = new ArrayList(this.getCurrentPath());
+            tempPath = this.getPathToHere();
 
         for (final Pipeline pipeline : this.pipes) {
             final CopyExpandablePipe<S> temp = (CopyExpandablePipe<S>) pipeline.get(0);
@@ -112,7 +113,7 @@ public class CopySplitPipe<S> extends AbstractMetaPipe<S, S> implements MetaPipe
 
         public List getCurrentPath() {
             if (this.pathEnabled) {
-                return new ArrayList(this.paths.peek());
+                return Path.copyOf(this.paths.peek());
             } else
                 throw new RuntimeException(Pipe.NO_PATH_MESSAGE);
         }
@@ -3,10 +3,11 @@ package com.tinkerpop.pipes.branch;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.PipeFunction;
 import com.tinkerpop.pipes.util.AbstractMetaPipe;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
 import com.tinkerpop.pipes.util.MetaPipe;
 import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.structures.Path;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -40,8 +41,18 @@ public class LoopPipe<S> extends AbstractMetaPipe<S, S> implements MetaPipe {
     }
 
     protected S processNextStart() {
+        final Object end = this.processNextStartOrEnd();
+        if (end == END)
+            throw FastNoSuchElementException.instance();
+        return (S) end;
+    }
+
+    protected Object processNextStartOrEnd() {
         while (true) {
-            final S s = this.pipe.next();
+            final Object end = PipeHelper.nextOrEnd(this.pipe);
+            if (end == END)
+                return END;
+            final S s = (S) end;
             final LoopBundle<S> loopBundle;
             if (this.pathEnabled)
                 loopBundle = new LoopBundle<S>(s, this.getCurrentPath(), this.getLoops());
@@ -77,10 +88,8 @@ public class LoopPipe<S> extends AbstractMetaPipe<S, S> implements MetaPipe {
 
     public List getCurrentPath() {
         if (this.pathEnabled) {
-            final List path = new ArrayList();
             final List currentPath = this.expando.getCurrentPath();
-            if (null != currentPath)
-                path.addAll(currentPath);
+            final List path = null == currentPath ? new Path() : Path.copyOf(currentPath);
             path.addAll(this.pipe.getCurrentPath());
             return path;
         } else {
@@ -8,7 +8,6 @@ import com.tinkerpop.pipes.util.iterators.SingleExpandableIterator;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.NoSuchElementException;
 
 /**
  * BackFilterPipe will fully process the object through its internal pipe.
@@ -31,12 +30,7 @@ public class BackFilterPipe<S> extends AbstractMetaPipe<S, S> implements FilterP
             final S s = this.starts.next();
             this.expando.add(s);
             if (this.pipe.hasNext()) {
-                try {
-                    while (true) {
-                        this.pipe.next();
-                    }
-                } catch (final NoSuchElementException e) {
-                }
+                PipeHelper.iterate(this.pipe);
                 return s;
             }
         }
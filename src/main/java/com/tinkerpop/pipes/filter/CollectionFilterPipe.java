@@ -4,6 +4,7 @@ import com.tinkerpop.blueprints.Contains;
 import com.tinkerpop.pipes.AbstractPipe;
 import com.tinkerpop.pipes.util.PipeHelper;
 import com.tinkerpop.pipes.util.structures.AsMap;
+import com.tinkerpop.pipes.util.structures.HistorySet;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -12,6 +13,8 @@ import java.util.Collection;
 /**
  * A CollectionFilterPipe will take a collection of objects and a Filter.NOT_EQUAL or Filter.EQUAL argument.
  * If an incoming object is contained (or not contained) in the provided collection, then it is emitted (or not emitted).
+ * If a HistorySet is provided (e.g. an ElementIdSet), then the collection is loaded into the HistorySet when the first object is filtered
+ * and membership is determined by the HistorySet. Changes to the collection after that point are not seen until the pipe is reset.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -19,18 +22,28 @@ public abstract class CollectionFilterPipe<S> extends AbstractPipe<S, S> impleme
 
     private final Collection<S> storedCollection;
     private final Contains contains;
+    private final HistorySet historySet;
+    private boolean loaded = false;
 
     public CollectionFilterPipe(final Collection<S> storedCollection, final Contains contains) {
+        this(storedCollection, contains, null);
+    }
+
+    public CollectionFilterPipe(final Collection<S> storedCollection, final Contains contains, final HistorySet historySet) {
         this.storedCollection = storedCollection;
         this.contains = contains;
+        this.historySet = historySet;
     }
 
     public CollectionFilterPipe(final Contains contains, final AsMap asMap, final String... namedSteps) {
         this.storedCollection = new DynamicList<S>(asMap, namedSteps);
         this.contains = contains;
+        this.historySet = null;
     }
 
     protected S processNextStart() {
+        if (null != this.historySet)
+            return this.processNextStartWithHistory();
         while (true) {
             final S s = this.starts.next();
             if (this.contains.evaluate(s, storedCollection)) {
@@ -39,6 +52,31 @@ public abstract class CollectionFilterPipe<S> extends AbstractPipe<S, S> impleme
         }
     }
 
+    private S processNextStartWithHistory() {
+        final boolean in = this.contains == Contains.IN;
+        while (true) {
+            final S s = this.starts.next();
+            if (!this.loaded) {
+                // the collection may be filled by a preceding pipe (e.g. AggregatePipe) and is thus, loaded lazily
+                for (final S object : this.storedCollection) {
+                    this.historySet.add(object);
+                }
+                this.loaded = true;
+            }
+            if (this.historySet.contains(s) == in) {
+                return s;
+            }
+        }
+    }
+
+    public void reset() {
+        if (null != this.historySet) {
+            this.historySet.clear();
+            this.loaded = false;
+        }
+        super.reset();
+    }
+
     public String toString() {
         if (this.storedCollection instanceof DynamicList)
             return PipeHelper.makePipeString(this, this.contains, ((DynamicList) this.storedCollection).toString());
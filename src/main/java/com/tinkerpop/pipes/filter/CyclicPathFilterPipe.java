@@ -2,21 +2,31 @@ package com.tinkerpop.pipes.filter;
 
 import com.tinkerpop.pipes.AbstractPipe;
 import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.util.structures.HistorySet;
+import com.tinkerpop.pipes.util.structures.Path;
 
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * CyclicPathFilterPipe will only emit an object if its transformation path has no repeats (loops) in it.
  * This pipe requires that path calculations be enabled. As such, when the start is set, enablePath(true) is invoked.
+ * By default, a path is checked with Path.isSimple() which only checks the objects appended to the path since the check of a path with the same prefix.
+ * If a HistorySet is provided (or the path is not a Path), then the objects of each path are checked against a HistorySet which is cleared for every path.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class CyclicPathFilterPipe<S> extends AbstractPipe<S, S> implements FilterPipe<S> {
 
-    private Set set = new LinkedHashSet();
+    private final HistorySet historySet;
+
+    public CyclicPathFilterPipe() {
+        this.historySet = null;
+    }
+
+    public CyclicPathFilterPipe(final HistorySet historySet) {
+        this.historySet = historySet;
+    }
 
     public void setStarts(Iterator<S> starts) {
         super.setStarts(starts);
@@ -28,9 +38,7 @@ public class CyclicPathFilterPipe<S> extends AbstractPipe<S, S> implements Filte
             final S s = this.starts.next();
             if (this.starts instanceof Pipe) {
                 final List path = ((Pipe) this.starts).getCurrentPath();
-                this.set.clear();
-                this.set.addAll(path);
-                if (path.size() == this.set.size()) {
+                if (this.isSimple(path)) {
                     return s;
                 }
             } else {
@@ -39,4 +47,27 @@ public class CyclicPathFilterPipe<S> extends AbstractPipe<S, S> implements Filte
         }
 
     }
+
+    private boolean isSimple(final List path) {
+        if (null == this.historySet) {
+            if (path instanceof Path)
+                return ((Path) path).isSimple();
+            return new Path(path).isSimple();
+        }
+        this.historySet.clear();
+        for (final Object object : path) {
+            if (!this.historySet.add(object))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Get the HistorySet used to check the paths.
+     *
+     * @return the HistorySet of the pipe or null if the paths are checked with Path.isSimple()
+     */
+    public HistorySet getHistorySet() {
+        return this.historySet;
+    }
 }
@@ -2,30 +2,41 @@ package com.tinkerpop.pipes.filter;
 
 
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
 import com.tinkerpop.pipes.PipeFunction;
-
-import java.util.LinkedHashSet;
-import java.util.Set;
+import com.tinkerpop.pipes.util.structures.HashHistorySet;
+import com.tinkerpop.pipes.util.structures.HistorySet;
 
 /**
  * The DuplicateFilterPipe will not allow a duplicate object to pass through it.
  * This is accomplished by the Pipe maintaining an internal HashSet that is used to store a history of previously seen objects.
  * Thus, the more unique objects that pass through this Pipe, the slower it becomes as a log_2 index is checked for every object.
  * Also, beware of OutOfMemoryExceptions as if the number of distinct objects is too great, then the HashSet will overflow memory.
+ * For large numbers of distinct objects, provide a HistorySet that requires less memory (e.g. OpenHashHistorySet or,
+ * if some non-duplicates may be filtered, BloomFilterHistorySet).
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class DuplicateFilterPipe<S> extends AbstractPipe<S, S> implements FilterPipe<S> {
+public class DuplicateFilterPipe<S> extends AbstractPipe<S, S> implements FilterPipe<S>, BarrierPipe<S, S> {
 
-    private final Set historySet = new LinkedHashSet();
+    private final HistorySet historySet;
     private final PipeFunction<S, ?> function;
 
     public DuplicateFilterPipe() {
-        this.function = null;
+        this(null, new HashHistorySet());
     }
 
     public DuplicateFilterPipe(final PipeFunction<S, ?> function) {
+        this(function, new HashHistorySet());
+    }
+
+    public DuplicateFilterPipe(final HistorySet historySet) {
+        this(null, historySet);
+    }
+
+    public DuplicateFilterPipe(final PipeFunction<S, ?> function, final HistorySet historySet) {
         this.function = function;
+        this.historySet = historySet;
     }
 
 
@@ -46,6 +57,10 @@ public class DuplicateFilterPipe<S> extends AbstractPipe<S, S> implements Filter
         }
     }
 
+    public HistorySet getHistorySet() {
+        return this.historySet;
+    }
+
     public void reset() {
         this.historySet.clear();
         super.reset();
@@ -2,6 +2,7 @@ package com.tinkerpop.pipes.filter;
 
 import com.tinkerpop.blueprints.Contains;
 import com.tinkerpop.pipes.util.structures.AsMap;
+import com.tinkerpop.pipes.util.structures.HistorySet;
 
 import java.util.Collection;
 
@@ -16,6 +17,10 @@ public class ExceptFilterPipe<S> extends CollectionFilterPipe<S> {
         super(storedCollection, Contains.NOT_IN);
     }
 
+    public ExceptFilterPipe(final Collection<S> storedCollection, final HistorySet historySet) {
+        super(storedCollection, Contains.NOT_IN, historySet);
+    }
+
     public ExceptFilterPipe(final AsMap asMap, final String... namedSteps) {
         super(Contains.NOT_IN, asMap, namedSteps);
     }
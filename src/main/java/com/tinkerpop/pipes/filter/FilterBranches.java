@@ -0,0 +1,140 @@
+package com.tinkerpop.pipes.filter;
+
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.util.iterators.SingleExpandableIterator;
+
+import java.util.List;
+
+/**
+ * FilterBranches evaluates the boolean branches of a logical filter (e.g. AndFilterPipe, OrFilterPipe) until a branch yields the decisive result
+ * (false for "and" and true for "or"). Each branch is fed through its own SingleExpandableIterator and thus, no objects are allocated per evaluation.
+ * <p/>
+ * The pass rate and the average cost of each branch are tracked at runtime (the cost is sampled) and the branches are periodically reordered
+ * such that the branch with the lowest cost per decisive result is evaluated first. For independent branches, this order minimizes the expected cost.
+ * The result of an evaluation does not depend on the order, but the branches that are evaluated do (e.g. side-effects in a branch may not happen).
+ * If the branches have side-effects that must happen in the declared order, then the reordering can be disabled (see setAdaptive()).
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class FilterBranches<S> {
+
+    private static final int REORDER_INTERVAL = 1024;
+    private static final int TIMING_INTERVAL = 16;
+
+    private final Branch<S>[] branches;
+    private final Branch<S>[] declaredBranches;
+    private final boolean decisive;
+    private boolean adaptive = true;
+    private int evaluations = 0;
+
+    /**
+     * Create the branches of a logical filter.
+     *
+     * @param pipes    the boolean branches (e.g. HasNextPipes)
+     * @param decisive the result of a branch that decides the evaluation (false for "and" and true for "or")
+     */
+    public FilterBranches(final List<Pipe<S, Boolean>> pipes, final boolean decisive) {
+        this.branches = new Branch[pipes.size()];
+        for (int i = 0; i < this.branches.length; i++) {
+            this.branches[i] = new Branch<S>(pipes.get(i));
+        }
+        this.declaredBranches = this.branches.clone();
+        this.decisive = decisive;
+    }
+
+    /**
+     * Determines whether the branches are reordered at runtime. If not, then the branches are evaluated in the declared order.
+     *
+     * @param adaptive whether to reorder the branches by their observed selectivity and cost
+     */
+    public void setAdaptive(final boolean adaptive) {
+        this.adaptive = adaptive;
+        if (!adaptive)
+            System.arraycopy(this.declaredBranches, 0, this.branches, 0, this.branches.length);
+    }
+
+    public boolean isAdaptive() {
+        return this.adaptive;
+    }
+
+    /**
+     * Evaluate the branches on the object until one yields the decisive result.
+     *
+     * @param s the object to feed to the branches
+     * @return the decisive result if a branch yielded it, else the negation of the decisive result
+     */
+    public boolean evaluate(final S s) {
+        final boolean timed = this.adaptive && (this.evaluations & (TIMING_INTERVAL - 1)) == 0;
+        boolean result = !this.decisive;
+        for (final Branch<S> branch : this.branches) {
+            final long start = timed ? System.nanoTime() : 0l;
+            branch.expando.add(s);
+            final boolean branchResult = branch.pipe.next();
+            if (timed) {
+                branch.nanos = branch.nanos + (System.nanoTime() - start);
+                branch.timings++;
+            }
+            branch.evaluations++;
+            if (branchResult == this.decisive) {
+                branch.decisions++;
+                result = this.decisive;
+                break;
+            }
+        }
+        if (++this.evaluations % REORDER_INTERVAL == 0 && this.adaptive)
+            this.reorder();
+        return result;
+    }
+
+    /**
+     * Get the branches in the order that they are currently evaluated.
+     *
+     * @return the pipes of the branches in evaluation order
+     */
+    public Pipe<S, Boolean>[] getOrder() {
+        final Pipe<S, Boolean>[] order = new Pipe[this.branches.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = this.branches[i].pipe;
+        }
+        return order;
+    }
+
+    private void reorder() {
+        for (final Branch<S> branch : this.branches) {
+            branch.updateScore();
+        }
+        // a stable insertion sort as there are few branches
+        for (int i = 1; i < this.branches.length; i++) {
+            final Branch<S> branch = this.branches[i];
+            int j = i - 1;
+            while (j >= 0 && this.branches[j].score > branch.score) {
+                this.branches[j + 1] = this.branches[j];
+                j--;
+            }
+            this.branches[j + 1] = branch;
+        }
+    }
+
+    private static class Branch<S> {
+
+        private final Pipe<S, Boolean> pipe;
+        private final SingleExpandableIterator<S> expando = new SingleExpandableIterator<S>();
+        private long evaluations = 0l;
+        private long decisions = 0l;
+        private long timings = 0l;
+        private long nanos = 0l;
+        private double score = 0.0d;
+
+        public Branch(final Pipe<S, Boolean> pipe) {
+            this.pipe = pipe;
+            this.pipe.setStarts(this.expando);
+        }
+
+        public void updateScore() {
+            // the expected cost per decisive result (with a 1 nanosecond floor and Laplace smoothing of the decision rate)
+            final double cost = 1.0d + (this.timings == 0l ? 0.0d : (double) this.nanos / this.timings);
+            final double decisionRate = (this.decisions + 1.0d) / (this.evaluations + 2.0d);
+            this.score = cost / decisionRate;
+        }
+    }
+}
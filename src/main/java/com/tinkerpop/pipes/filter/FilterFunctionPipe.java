@@ -2,6 +2,10 @@ package com.tinkerpop.pipes.filter;
 
 import com.tinkerpop.pipes.AbstractPipe;
 import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.PushPipe;
+import com.tinkerpop.pipes.Sink;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
+import com.tinkerpop.pipes.util.PipeHelper;
 
 /**
  * FilterFunctionPipe is a generic filter pipe.
@@ -10,7 +14,7 @@ import com.tinkerpop.pipes.PipeFunction;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class FilterFunctionPipe<S> extends AbstractPipe<S, S> implements FilterPipe<S> {
+public class FilterFunctionPipe<S> extends AbstractPipe<S, S> implements FilterPipe<S>, PushPipe<S, S> {
 
     private final PipeFunction<S, Boolean> filterFunction;
 
@@ -18,11 +22,31 @@ public class FilterFunctionPipe<S> extends AbstractPipe<S, S> implements FilterP
         this.filterFunction = filterFunction;
     }
 
+    public PipeFunction<S, Boolean> getFilterFunction() {
+        return this.filterFunction;
+    }
+
     public S processNextStart() {
+        final Object end = this.processNextStartOrEnd();
+        if (end == END)
+            throw FastNoSuchElementException.instance();
+        return (S) end;
+    }
+
+    protected Object processNextStartOrEnd() {
         while (true) {
-            final S s = this.starts.next();
-            if (this.filterFunction.compute(s))
+            final Object s = PipeHelper.nextOrEnd(this.starts);
+            if (s == END || this.filterFunction.compute((S) s))
                 return s;
         }
     }
+
+    public Sink<S> createSink(final Sink<S> sink) {
+        final PipeFunction<S, Boolean> filterFunction = this.filterFunction;
+        return new Sink<S>() {
+            public boolean push(final S s) {
+                return !filterFunction.compute(s) || sink.push(s);
+            }
+        };
+    }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.tinkerpop.pipes.filter;
 
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.util.AbstractMetaPipe;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
 import com.tinkerpop.pipes.util.MetaPipe;
 import com.tinkerpop.pipes.util.PipeHelper;
 import com.tinkerpop.pipes.util.iterators.SingleExpandableIterator;
@@ -26,10 +27,19 @@ public class FutureFilterPipe<S> extends AbstractMetaPipe<S, S> implements Filte
     }
 
     public S processNextStart() {
+        final Object end = this.processNextStartOrEnd();
+        if (end == END)
+            throw FastNoSuchElementException.instance();
+        return (S) end;
+    }
+
+    protected Object processNextStartOrEnd() {
         while (true) {
-            final S s = this.starts.next();
+            final Object s = PipeHelper.nextOrEnd(this.starts);
+            if (s == END)
+                return END;
             this.pipe.reset();
-            this.expando.add(s);
+            this.expando.add((S) s);
             if (this.pipe.hasNext()) {
                 return s;
             }
@@ -1,27 +1,42 @@
 package com.tinkerpop.pipes.filter;
 
+import com.tinkerpop.blueprints.Contains;
 import com.tinkerpop.blueprints.Element;
 import com.tinkerpop.blueprints.Predicate;
 import com.tinkerpop.pipes.AbstractPipe;
 import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.structures.LongHashSet;
+import com.tinkerpop.pipes.util.structures.LongSet;
+
+import java.util.Collection;
 
 /**
+ * The IdFilterPipe will filter elements based on a comparison of their id with the provided id.
+ * When the predicate is Contains and the id is a collection of longs, the ids are loaded into a LongSet
+ * and long element ids are checked for membership without hashing the ids.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class IdFilterPipe extends AbstractPipe<Element, Element> implements FilterPipe<Element> {
 
     private final Object id;
     private final Predicate predicate;
+    private final LongSet longIds;
 
     public IdFilterPipe(final Predicate predicate, final Object id) {
         this.id = id;
         this.predicate = predicate;
+        this.longIds = predicate instanceof Contains ? IdFilterPipe.toLongSet(id) : null;
     }
 
     protected Element processNextStart() {
         while (true) {
             final Element s = this.starts.next();
-            if (this.predicate.evaluate(s.getId(), this.id))
+            final Object elementId = s.getId();
+            if (null != this.longIds && elementId instanceof Long) {
+                if (this.longIds.contains(((Long) elementId).longValue()) == (this.predicate == Contains.IN))
+                    return s;
+            } else if (this.predicate.evaluate(elementId, this.id))
                 return s;
         }
     }
@@ -29,4 +44,17 @@ public class IdFilterPipe extends AbstractPipe<Element, Element> implements Filt
     public String toString() {
         return PipeHelper.makePipeString(this, this.predicate, this.id);
     }
+
+    private static LongSet toLongSet(final Object ids) {
+        if (!(ids instanceof Collection))
+            return null;
+        final LongSet longSet = new LongHashSet(((Collection) ids).size());
+        for (final Object id : (Collection) ids) {
+            // a non-long id could equal a non-long element id and thus, the collection must be used
+            if (!(id instanceof Long))
+                return null;
+            longSet.add(((Long) id).longValue());
+        }
+        return longSet;
+    }
 }
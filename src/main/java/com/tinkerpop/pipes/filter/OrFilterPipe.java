@@ -3,9 +3,9 @@ package com.tinkerpop.pipes.filter;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.transform.HasNextPipe;
 import com.tinkerpop.pipes.util.AbstractMetaPipe;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
 import com.tinkerpop.pipes.util.MetaPipe;
 import com.tinkerpop.pipes.util.PipeHelper;
-import com.tinkerpop.pipes.util.iterators.SingleIterator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,31 +13,58 @@ import java.util.List;
 /**
  * The OrFilterPipe takes a collection of pipes that are wrapped in HasNextPipes. Each pipe in the collection is fed the same incoming S object.
  * If one of the internal pipes emits true, then the OrFilterPipe emits the S object. If not, then the incoming object is not emitted.
+ * The pipes are not necessarily evaluated in the provided order, but in an order adapted to their observed selectivity and cost (see FilterBranches and setAdaptive()).
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class OrFilterPipe<S> extends AbstractMetaPipe<S, S> implements FilterPipe<S>, MetaPipe {
 
     private final List<Pipe<S, Boolean>> pipes = new ArrayList<Pipe<S, Boolean>>();
+    private final FilterBranches<S> branches;
 
     public OrFilterPipe(final Pipe<S, ?>... pipes) {
         for (final Pipe<S, ?> pipe : pipes) {
             this.pipes.add(new HasNextPipe<S>(pipe));
         }
+        this.branches = new FilterBranches<S>(this.pipes, true);
     }
 
     public S processNextStart() {
+        final Object end = this.processNextStartOrEnd();
+        if (end == END)
+            throw FastNoSuchElementException.instance();
+        return (S) end;
+    }
+
+    protected Object processNextStartOrEnd() {
         while (true) {
-            final S s = this.starts.next();
-            for (Pipe<S, Boolean> pipe : this.pipes) {
-                pipe.setStarts(new SingleIterator<S>(s));
-                if (pipe.next()) {
-                    return s;
-                }
-            }
+            final Object s = PipeHelper.nextOrEnd(this.starts);
+            if (s == END)
+                return END;
+            if (this.branches.evaluate((S) s))
+                return s;
         }
     }
 
+    /**
+     * Get the branches of the pipe which track the selectivity and cost of each branch in order to evaluate the most decisive branches first.
+     *
+     * @return the branches of the pipe
+     */
+    public FilterBranches<S> getBranches() {
+        return this.branches;
+    }
+
+    /**
+     * Determines whether the pipes are evaluated in an order adapted to their observed selectivity and cost (the default) or in the provided order.
+     * The provided order should be kept if the pipes have side-effects that must happen in that order.
+     *
+     * @param adaptive whether to reorder the pipes at runtime
+     */
+    public void setAdaptive(final boolean adaptive) {
+        this.branches.setAdaptive(adaptive);
+    }
+
     public List<Pipe> getPipes() {
         return (List) this.pipes;
     }
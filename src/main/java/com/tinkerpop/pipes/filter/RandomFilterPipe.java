@@ -10,22 +10,33 @@ import java.util.Random;
  * For each passing object, a random number generator creates a double value between 0 and 1.
  * If the randomly generated double is less than or equal the provided bias, then the object is allowed to pass.
  * If the randomly generated double is greater than the provided bias, then the object is not allowed to pass.
+ * Each RandomFilterPipe has its own random number generator which can be seeded for reproducible results.
+ * See SamplePipe for samples of a fixed size.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class RandomFilterPipe<S> extends AbstractPipe<S, S> implements FilterPipe<S> {
 
-    private static final Random RANDOM = new Random();
+    private final Random random;
     private final double bias;
 
     public RandomFilterPipe(final double bias) {
+        this(bias, new Random());
+    }
+
+    public RandomFilterPipe(final double bias, final long seed) {
+        this(bias, new Random(seed));
+    }
+
+    private RandomFilterPipe(final double bias, final Random random) {
         this.bias = bias;
+        this.random = random;
     }
 
     protected S processNextStart() {
         while (true) {
             final S s = this.starts.next();
-            if (this.bias >= RANDOM.nextDouble()) {
+            if (this.bias >= this.random.nextDouble()) {
                 return s;
             }
         }
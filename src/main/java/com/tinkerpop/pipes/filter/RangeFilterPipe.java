@@ -1,6 +1,7 @@
 package com.tinkerpop.pipes.filter;
 
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
 import com.tinkerpop.pipes.util.FastNoSuchElementException;
 import com.tinkerpop.pipes.util.PipeHelper;
 
@@ -8,10 +9,11 @@ import com.tinkerpop.pipes.util.PipeHelper;
  * The RangeFilterPipe will only allow a sequential subset of its incoming objects to be emitted to its output.
  * This pipe can be provided -1 for both its high and low range to denote a wildcard for high and/or low.
  * Note that -1 for both high and low is equivalent to the IdentityPipe.
+ * The pipe never pulls more than high + 2 objects (the last to know that the range is exhausted) and this bound is passed to its starts as a demand (see DemandPipe.setDemand()).
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class RangeFilterPipe<S> extends AbstractPipe<S, S> implements FilterPipe<S> {
+public class RangeFilterPipe<S> extends AbstractPipe<S, S> implements FilterPipe<S>, BarrierPipe<S, S> {
 
     private final int low;
     private final int high;
@@ -38,6 +40,14 @@ public class RangeFilterPipe<S> extends AbstractPipe<S, S> implements FilterPipe
         }
     }
 
+    protected long getStartsDemand() {
+        final long rangeDemand = this.high == -1 ? -1l : this.high + 2l;
+        if (this.demand == -1l)
+            return rangeDemand;
+        final long demand = this.low == -1 ? this.demand : this.low + this.demand;
+        return rangeDemand == -1l ? demand : Math.min(rangeDemand, demand);
+    }
+
     public String toString() {
         return PipeHelper.makePipeString(this, this.low, this.high);
     }
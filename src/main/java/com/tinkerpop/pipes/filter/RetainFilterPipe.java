@@ -2,6 +2,7 @@ package com.tinkerpop.pipes.filter;
 
 import com.tinkerpop.blueprints.Contains;
 import com.tinkerpop.pipes.util.structures.AsMap;
+import com.tinkerpop.pipes.util.structures.HistorySet;
 
 import java.util.Collection;
 
@@ -16,6 +17,10 @@ public class RetainFilterPipe<S> extends CollectionFilterPipe<S> {
         super(storedCollection, Contains.IN);
     }
 
+    public RetainFilterPipe(final Collection<S> storedCollection, final HistorySet historySet) {
+        super(storedCollection, Contains.IN, historySet);
+    }
+
     public RetainFilterPipe(final AsMap asMap, final String... namedSteps) {
         super(Contains.IN, asMap, namedSteps);
     }
@@ -0,0 +1,161 @@
+package com.tinkerpop.pipes.filter;
+
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.structures.Path;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * SamplePipe emits a uniform random sample of (at most) the provided size of its incoming objects.
+ * The sample is maintained in a reservoir using Algorithm L (Li, 1994) and thus, memory is bounded by the size of the sample
+ * regardless of the number of incoming objects. Between replacements, the number of objects to skip is drawn from a geometric distribution
+ * and skipped objects cost no random draws (nor path calculations).
+ * <p/>
+ * SamplePipe is a barrier: all the incoming objects are consumed before the sample is emitted (in no particular order).
+ * Each SamplePipe has its own random number generator which can be seeded for reproducible samples.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class SamplePipe<S> extends AbstractPipe<S, S> implements FilterPipe<S>, BarrierPipe<S, S> {
+
+    private final int size;
+    private final Random random;
+    private Object[] sample;
+    private List[] paths;
+    private int sampleSize = 0;
+    private int index = 0;
+    private List currentPath;
+
+    public SamplePipe(final int size, final long seed) {
+        this(size, new Random(seed));
+    }
+
+    public SamplePipe(final int size) {
+        this(size, new Random());
+    }
+
+    private SamplePipe(final int size, final Random random) {
+        if (size < 0)
+            throw new IllegalArgumentException("The sample size must be non-negative: " + size);
+        this.size = size;
+        this.random = random;
+    }
+
+    protected S processNextStart() {
+        while (true) {
+            if (this.index < this.sampleSize) {
+                if (this.pathEnabled)
+                    this.currentPath = this.paths[this.index];
+                return (S) this.sample[this.index++];
+            } else {
+                this.sample = null;
+                this.paths = null;
+                if (!this.starts.hasNext())
+                    throw FastNoSuchElementException.instance();
+                this.fillSample();
+            }
+        }
+    }
+
+    private void fillSample() {
+        this.sample = new Object[this.size];
+        this.paths = this.pathEnabled ? new List[this.size] : null;
+        final Reservoir reservoir = new Reservoir(this.size, this.random);
+        Object s;
+        while ((s = PipeHelper.nextOrEnd(this.starts)) != END) {
+            final int slot = reservoir.nextSlot();
+            if (slot != -1) {
+                this.sample[slot] = s;
+                if (this.pathEnabled)
+                    this.paths[slot] = this.getPathToHere();
+            }
+        }
+        this.sampleSize = (int) Math.min(this.size, reservoir.getCount());
+        this.index = 0;
+    }
+
+    public List getCurrentPath() {
+        if (this.pathEnabled)
+            return Path.copyOf(this.currentPath);
+        else
+            throw new RuntimeException(Pipe.NO_PATH_MESSAGE);
+    }
+
+    public void reset() {
+        this.sample = null;
+        this.paths = null;
+        this.sampleSize = 0;
+        this.index = 0;
+        super.reset();
+    }
+
+    public String toString() {
+        return PipeHelper.makePipeString(this, this.size);
+    }
+
+    /**
+     * A Reservoir determines which slot of a reservoir of the provided size each offered object is to be stored in using Algorithm L.
+     * The reservoir does not store the objects themselves.
+     */
+    public static class Reservoir {
+
+        private final int size;
+        private final Random random;
+        private long count = 0l;
+        private long next;
+        private double w;
+
+        public Reservoir(final int size, final Random random) {
+            this.size = size;
+            this.random = random;
+        }
+
+        /**
+         * Offer the next object to the reservoir.
+         *
+         * @return the slot to store the object in or -1 if the object is not sampled
+         */
+        public int nextSlot() {
+            this.count++;
+            if (this.count <= this.size) {
+                if (this.count == this.size) {
+                    this.w = Math.exp(Math.log(this.nextUniform()) / this.size);
+                    this.next = this.count + this.nextSkip();
+                }
+                return (int) (this.count - 1);
+            } else if (this.count == this.next) {
+                final int slot = this.random.nextInt(this.size);
+                this.w = this.w * Math.exp(Math.log(this.nextUniform()) / this.size);
+                this.next = this.count + this.nextSkip();
+                return slot;
+            } else {
+                return -1;
+            }
+        }
+
+        /**
+         * Get the number of objects offered to the reservoir.
+         *
+         * @return the number of objects offered
+         */
+        public long getCount() {
+            return this.count;
+        }
+
+        private long nextSkip() {
+            // the number of objects to skip is geometrically distributed
+            final double skip = Math.floor(Math.log(this.nextUniform()) / Math.log1p(-this.w));
+            return skip < Long.MAX_VALUE - this.count ? (long) skip + 1l : Long.MAX_VALUE - this.count;
+        }
+
+        private double nextUniform() {
+            // in (0,1] to avoid log(0)
+            return 1.0d - this.random.nextDouble();
+        }
+    }
+}
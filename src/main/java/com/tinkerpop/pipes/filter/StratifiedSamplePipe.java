@@ -0,0 +1,121 @@
+package com.tinkerpop.pipes.filter;
+
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.structures.Path;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * StratifiedSamplePipe emits a uniform random sample of (at most) the provided size for each stratum of its incoming objects.
+ * The stratum of an object is the key computed by the provided key function.
+ * Each stratum is sampled with its own SamplePipe.Reservoir (Algorithm L) and thus, memory is bounded by the size of the sample times the number of strata.
+ * <p/>
+ * StratifiedSamplePipe is a barrier: all the incoming objects are consumed before the samples are emitted.
+ * The samples are emitted stratum by stratum in the order that the strata were first seen.
+ * Each StratifiedSamplePipe has its own random number generator which can be seeded for reproducible samples.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class StratifiedSamplePipe<S> extends AbstractPipe<S, S> implements FilterPipe<S>, BarrierPipe<S, S> {
+
+    private final int size;
+    private final PipeFunction<S, ?> keyFunction;
+    private final Random random;
+    private Iterator<Stratum> strata;
+    private Stratum stratum;
+    private int index = 0;
+    private List currentPath;
+
+    public StratifiedSamplePipe(final int size, final PipeFunction<S, ?> keyFunction, final long seed) {
+        this(size, keyFunction, new Random(seed));
+    }
+
+    public StratifiedSamplePipe(final int size, final PipeFunction<S, ?> keyFunction) {
+        this(size, keyFunction, new Random());
+    }
+
+    private StratifiedSamplePipe(final int size, final PipeFunction<S, ?> keyFunction, final Random random) {
+        if (size < 0)
+            throw new IllegalArgumentException("The sample size must be non-negative: " + size);
+        this.size = size;
+        this.keyFunction = keyFunction;
+        this.random = random;
+    }
+
+    protected S processNextStart() {
+        while (true) {
+            if (null != this.stratum && this.index < this.stratum.sampleSize()) {
+                if (this.pathEnabled)
+                    this.currentPath = this.stratum.paths[this.index];
+                return (S) this.stratum.sample[this.index++];
+            } else if (null != this.strata && this.strata.hasNext()) {
+                this.stratum = this.strata.next();
+                this.index = 0;
+            } else {
+                this.stratum = null;
+                this.strata = null;
+                if (!this.starts.hasNext())
+                    throw FastNoSuchElementException.instance();
+                this.fillSamples();
+            }
+        }
+    }
+
+    private void fillSamples() {
+        final Map<Object, Stratum> map = new LinkedHashMap<Object, Stratum>();
+        Object s;
+        while ((s = PipeHelper.nextOrEnd(this.starts)) != END) {
+            final Object key = this.keyFunction.compute((S) s);
+            Stratum stratum = map.get(key);
+            if (null == stratum) {
+                stratum = new Stratum();
+                map.put(key, stratum);
+            }
+            final int slot = stratum.reservoir.nextSlot();
+            if (slot != -1) {
+                stratum.sample[slot] = s;
+                if (this.pathEnabled)
+                    stratum.paths[slot] = this.getPathToHere();
+            }
+        }
+        this.strata = map.values().iterator();
+    }
+
+    public List getCurrentPath() {
+        if (this.pathEnabled)
+            return Path.copyOf(this.currentPath);
+        else
+            throw new RuntimeException(Pipe.NO_PATH_MESSAGE);
+    }
+
+    public void reset() {
+        this.strata = null;
+        this.stratum = null;
+        this.index = 0;
+        super.reset();
+    }
+
+    public String toString() {
+        return PipeHelper.makePipeString(this, this.size);
+    }
+
+    private class Stratum {
+
+        private final SamplePipe.Reservoir reservoir = new SamplePipe.Reservoir(size, random);
+        private final Object[] sample = new Object[size];
+        private final List[] paths = pathEnabled ? new List[size] : null;
+
+        public int sampleSize() {
+            return (int) Math.min(size, this.reservoir.getCount());
+        }
+    }
+}
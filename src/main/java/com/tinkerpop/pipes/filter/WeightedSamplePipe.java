@@ -0,0 +1,135 @@
+package com.tinkerpop.pipes.filter;
+
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.structures.Path;
+
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * WeightedSamplePipe emits a weighted random sample (without replacement) of (at most) the provided size of its incoming objects.
+ * The weight of an object is computed by the provided weight function and objects with a non-positive (or null) weight are never sampled.
+ * The sample is maintained in a reservoir using Algorithm A-ExpJ (Efraimidis and Spirakis, 2006) and thus, memory is bounded by the size of the sample.
+ * Between replacements, the total weight to skip is drawn once and skipped objects cost no random draws (nor path calculations).
+ * <p/>
+ * WeightedSamplePipe is a barrier: all the incoming objects are consumed before the sample is emitted (in no particular order).
+ * Each WeightedSamplePipe has its own random number generator which can be seeded for reproducible samples.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class WeightedSamplePipe<S> extends AbstractPipe<S, S> implements FilterPipe<S>, BarrierPipe<S, S> {
+
+    private final int size;
+    private final PipeFunction<S, Number> weightFunction;
+    private final Random random;
+    private PriorityQueue<Entry> sample;
+    private List currentPath;
+
+    public WeightedSamplePipe(final int size, final PipeFunction<S, Number> weightFunction, final long seed) {
+        this(size, weightFunction, new Random(seed));
+    }
+
+    public WeightedSamplePipe(final int size, final PipeFunction<S, Number> weightFunction) {
+        this(size, weightFunction, new Random());
+    }
+
+    private WeightedSamplePipe(final int size, final PipeFunction<S, Number> weightFunction, final Random random) {
+        if (size < 0)
+            throw new IllegalArgumentException("The sample size must be non-negative: " + size);
+        this.size = size;
+        this.weightFunction = weightFunction;
+        this.random = random;
+    }
+
+    protected S processNextStart() {
+        while (true) {
+            final Entry entry = null == this.sample ? null : this.sample.poll();
+            if (null != entry) {
+                this.currentPath = entry.path;
+                return (S) entry.object;
+            } else {
+                this.sample = null;
+                if (!this.starts.hasNext())
+                    throw FastNoSuchElementException.instance();
+                this.fillSample();
+            }
+        }
+    }
+
+    private void fillSample() {
+        this.sample = new PriorityQueue<Entry>(Math.max(1, this.size));
+        // the keys are the logarithms of the keys of A-Res: log(u^(1/w)) = log(u)/w
+        double skip = 0.0d;
+        Object s;
+        while ((s = PipeHelper.nextOrEnd(this.starts)) != END) {
+            final Number number = this.weightFunction.compute((S) s);
+            final double weight = null == number ? 0.0d : number.doubleValue();
+            if (!(weight > 0.0d) || this.size == 0)
+                continue;
+            if (this.sample.size() < this.size) {
+                this.sample.add(new Entry(s, Math.log(this.nextUniform()) / weight, this.pathEnabled ? this.getPathToHere() : null));
+                if (this.sample.size() == this.size)
+                    skip = this.nextSkip();
+            } else {
+                skip = skip - weight;
+                if (skip <= 0.0d) {
+                    // the key of the replacing object is uniform in (threshold^weight, 1)
+                    final double threshold = Math.exp(this.sample.peek().key * weight);
+                    final double u = threshold + (1.0d - threshold) * this.nextUniform();
+                    this.sample.poll();
+                    this.sample.add(new Entry(s, Math.log(u) / weight, this.pathEnabled ? this.getPathToHere() : null));
+                    skip = this.nextSkip();
+                }
+            }
+        }
+    }
+
+    private double nextSkip() {
+        // the total weight to skip before the next replacement
+        return Math.log(this.nextUniform()) / this.sample.peek().key;
+    }
+
+    private double nextUniform() {
+        // in (0,1] to avoid log(0)
+        return 1.0d - this.random.nextDouble();
+    }
+
+    public List getCurrentPath() {
+        if (this.pathEnabled)
+            return Path.copyOf(this.currentPath);
+        else
+            throw new RuntimeException(Pipe.NO_PATH_MESSAGE);
+    }
+
+    public void reset() {
+        this.sample = null;
+        super.reset();
+    }
+
+    public String toString() {
+        return PipeHelper.makePipeString(this, this.size);
+    }
+
+    private class Entry implements Comparable<Entry> {
+
+        private final Object object;
+        private final double key;
+        private final List path;
+
+        public Entry(final Object object, final double key, final List path) {
+            this.object = object;
+            this.key = key;
+            this.path = path;
+        }
+
+        public int compareTo(final Entry entry) {
+            return Double.compare(this.key, entry.key);
+        }
+    }
+}
@@ -1,25 +1,27 @@
 package com.tinkerpop.pipes.sideeffect;
 
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.PipeFunction;
 import com.tinkerpop.pipes.util.FastNoSuchElementException;
+import com.tinkerpop.pipes.util.PipeHelper;
 import com.tinkerpop.pipes.util.structures.ArrayQueue;
+import com.tinkerpop.pipes.util.structures.Path;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.NoSuchElementException;
 import java.util.Queue;
 
 /**
  * The AggregatePipe produces a side effect that is the provided Collection filled with the contents of all the objects that have passed through it.
  * Before the first object is emitted from the AggregatePipe, all of its incoming objects have been aggregated into the collection.
+ * As such, an AggregatePipe is a BarrierPipe since the pipes after it would otherwise see the aggregate of a partition of the starts.
  * Finally, note that different Collections have different behaviors and write/read times.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class AggregatePipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Collection> {
+public class AggregatePipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Collection>, SideEffectPipe.MergeableSideEffectPipe<S, Collection>, BarrierPipe<S, S> {
 
     private Collection aggregate;
     private Queue<S> currentObjectQueue = new ArrayQueue<S>();
@@ -44,7 +46,7 @@ public class AggregatePipe<S> extends AbstractPipe<S, S> implements SideEffectPi
 
     public List getCurrentPath() {
         if (this.pathEnabled) {
-            final List pathElements = new ArrayList(this.currentPath);
+            final List pathElements = Path.copyOf(this.currentPath);
             final int size = pathElements.size();
             // do not repeat filters as they dup the object
             if (size == 0 || pathElements.get(size - 1) != this.currentEnd) {
@@ -65,18 +67,16 @@ public class AggregatePipe<S> extends AbstractPipe<S, S> implements SideEffectPi
                     this.currentObjectQueue.clear();
                     this.currentPathQueue.clear();
 
-                    try {
-                        while (true) {
-                            final S s = this.starts.next();
-                            if (this.preAggregateFunction != null)
-                                this.aggregate.add(this.preAggregateFunction.compute(s));
-                            else
-                                this.aggregate.add(s);
-                            this.currentObjectQueue.add(s);
-                            if (this.pathEnabled)
-                                this.currentPathQueue.add(this.getPathToHere());
-                        }
-                    } catch (final NoSuchElementException e) {
+                    Object end;
+                    while ((end = PipeHelper.nextOrEnd(this.starts)) != END) {
+                        final S s = (S) end;
+                        if (this.preAggregateFunction != null)
+                            this.aggregate.add(this.preAggregateFunction.compute(s));
+                        else
+                            this.aggregate.add(s);
+                        this.currentObjectQueue.add(s);
+                        if (this.pathEnabled)
+                            this.currentPathQueue.add(this.getPathToHere());
                     }
                 }
             } else {
@@ -91,6 +91,10 @@ public class AggregatePipe<S> extends AbstractPipe<S, S> implements SideEffectPi
         return this.aggregate;
     }
 
+    public void mergeSideEffect(final Collection sideEffect) {
+        this.aggregate.addAll(sideEffect);
+    }
+
     public void reset() {
         try {
             this.aggregate = this.aggregate.getClass().getConstructor().newInstance();
@@ -8,7 +8,7 @@ import com.tinkerpop.pipes.AbstractPipe;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class CountPipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Long> {
+public class CountPipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Long>, SideEffectPipe.MergeableSideEffectPipe<S, Long> {
 
     private Long counter = 0l;
 
@@ -22,6 +22,10 @@ public class CountPipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.G
         return this.counter;
     }
 
+    public void mergeSideEffect(final Long sideEffect) {
+        this.counter = this.counter + sideEffect;
+    }
+
     public void reset() {
         this.counter = 0l;
         super.reset();
@@ -14,7 +14,7 @@ import java.util.Map;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class GroupCountFunctionPipe<S, K> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Map<K, Number>> {
+public class GroupCountFunctionPipe<S, K> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Map<K, Number>>, SideEffectPipe.MergeableSideEffectPipe<S, Map<K, Number>> {
 
     private Map<K, Number> countMap;
     private final PipeFunction<Pair<S, Number>, Number> valueFunction;
@@ -41,6 +41,29 @@ public class GroupCountFunctionPipe<S, K> extends AbstractPipe<S, S> implements
         return this.countMap;
     }
 
+    /**
+     * The counts of the provided side effect are added to the counts of this pipe.
+     * Thus, this assumes that the value function accumulates by addition (e.g. a weighted count).
+     *
+     * @param sideEffect the count map to merge
+     */
+    public void mergeSideEffect(final Map<K, Number> sideEffect) {
+        for (final Map.Entry<K, Number> entry : sideEffect.entrySet()) {
+            final Number number = this.countMap.get(entry.getKey());
+            if (null == number) {
+                this.countMap.put(entry.getKey(), entry.getValue());
+            } else if (isIntegral(number) && isIntegral(entry.getValue())) {
+                this.countMap.put(entry.getKey(), number.longValue() + entry.getValue().longValue());
+            } else {
+                this.countMap.put(entry.getKey(), number.doubleValue() + entry.getValue().doubleValue());
+            }
+        }
+    }
+
+    private static boolean isIntegral(final Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
     public void reset() {
         try {
             this.countMap = this.countMap.getClass().getConstructor().newInstance();
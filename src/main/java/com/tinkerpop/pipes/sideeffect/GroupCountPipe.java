@@ -12,7 +12,7 @@ import java.util.Map;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class GroupCountPipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Map<S, Number>> {
+public class GroupCountPipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Map<S, Number>>, SideEffectPipe.MergeableSideEffectPipe<S, Map<S, Number>> {
 
     private Map<S, Number> countMap;
 
@@ -34,6 +34,17 @@ public class GroupCountPipe<S> extends AbstractPipe<S, S> implements SideEffectP
         return this.countMap;
     }
 
+    public void mergeSideEffect(final Map<S, Number> sideEffect) {
+        for (final Map.Entry<S, Number> entry : sideEffect.entrySet()) {
+            final Number temp = this.countMap.get(entry.getKey());
+            if (null == temp) {
+                this.countMap.put(entry.getKey(), entry.getValue());
+            } else {
+                this.countMap.put(entry.getKey(), entry.getValue().longValue() + temp.longValue());
+            }
+        }
+    }
+
     private void updateMap(final S s) {
         final Number temp = this.countMap.get(s);
         if (null == temp) {
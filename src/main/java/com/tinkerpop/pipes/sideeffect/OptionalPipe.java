@@ -8,7 +8,6 @@ import com.tinkerpop.pipes.util.iterators.SingleExpandableIterator;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.NoSuchElementException;
 
 /**
  * OptionalPipe will compute the incoming object within the internal pipe.
@@ -31,12 +30,7 @@ public class OptionalPipe<S> extends AbstractMetaPipe<S, S> implements SideEffec
     public S processNextStart() {
         final S s = this.starts.next();
         this.expando.add(s);
-        try {
-            while (true) {
-                this.pipe.next();
-            }
-        } catch (final NoSuchElementException e) {
-        }
+        PipeHelper.iterate(this.pipe);
         return s;
     }
 
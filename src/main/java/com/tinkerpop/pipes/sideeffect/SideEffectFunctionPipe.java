@@ -2,6 +2,10 @@ package com.tinkerpop.pipes.sideeffect;
 
 import com.tinkerpop.pipes.AbstractPipe;
 import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.PushPipe;
+import com.tinkerpop.pipes.Sink;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
+import com.tinkerpop.pipes.util.PipeHelper;
 
 /**
  * SideEffectFunctionPipe will emit the incoming object, but compute the PipeFunction on S.
@@ -9,7 +13,7 @@ import com.tinkerpop.pipes.PipeFunction;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class SideEffectFunctionPipe<S> extends AbstractPipe<S, S> {
+public class SideEffectFunctionPipe<S> extends AbstractPipe<S, S> implements PushPipe<S, S> {
 
     private final PipeFunction<S, ?> sideEffectFunction;
 
@@ -17,10 +21,36 @@ public class SideEffectFunctionPipe<S> extends AbstractPipe<S, S> {
         this.sideEffectFunction = sideEffectFunction;
     }
 
+    public PipeFunction<S, ?> getSideEffectFunction() {
+        return this.sideEffectFunction;
+    }
+
     public S processNextStart() {
-        final S s = this.starts.next();
-        this.sideEffectFunction.compute(s);
+        final Object end = this.processNextStartOrEnd();
+        if (end == END)
+            throw FastNoSuchElementException.instance();
+        return (S) end;
+    }
+
+    protected Object processNextStartOrEnd() {
+        final Object s = PipeHelper.nextOrEnd(this.starts);
+        if (s != END)
+            this.sideEffectFunction.compute((S) s);
         return s;
     }
-}
 
+    public Sink<S> createSink(final Sink<S> sink) {
+        final PipeFunction<S, ?> sideEffectFunction = this.sideEffectFunction;
+        return new Sink<S>() {
+            public boolean push(final S s) {
+                sideEffectFunction.compute(s);
+                return sink.push(s);
+            }
+        };
+    }
+
+    protected long getStartsDemand() {
+        // one end per start
+        return this.demand;
+    }
+}
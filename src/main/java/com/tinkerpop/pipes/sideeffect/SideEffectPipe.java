@@ -24,4 +24,18 @@ public interface SideEffectPipe<S, T> extends Pipe<S, S> {
     public interface GreedySideEffectPipe<S, T> extends SideEffectPipe<S, T> {
     }
 
+    /**
+     * Specifies that the SideEffect of another instance of the pipe can be merged into the SideEffect of this pipe.
+     * This is used when the same pipeline is evaluated over partitions of its starts (see ParallelPipelineExecutor).
+     */
+    public interface MergeableSideEffectPipe<S, T> extends SideEffectPipe<S, T> {
+
+        /**
+         * Merge the side effect of another instance of the pipe into the side effect of this pipe.
+         *
+         * @param sideEffect the side effect to merge
+         */
+        public void mergeSideEffect(T sideEffect);
+    }
+
 }
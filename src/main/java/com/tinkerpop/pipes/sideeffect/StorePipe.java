@@ -13,7 +13,7 @@ import java.util.Collection;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class StorePipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.LazySideEffectPipe<S, Collection> {
+public class StorePipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.LazySideEffectPipe<S, Collection>, SideEffectPipe.MergeableSideEffectPipe<S, Collection> {
 
     private Collection storage;
     private PipeFunction<S, ?> preStoreFunction = null;
@@ -47,6 +47,10 @@ public class StorePipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.L
         return this.storage;
     }
 
+    public void mergeSideEffect(final Collection sideEffect) {
+        this.storage.addAll(sideEffect);
+    }
+
     public void reset() {
         try {
             this.storage = this.storage.getClass().getConstructor().newInstance();
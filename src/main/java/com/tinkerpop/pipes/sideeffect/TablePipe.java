@@ -13,7 +13,7 @@ import java.util.List;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class TablePipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Table> {
+public class TablePipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Table>, SideEffectPipe.MergeableSideEffectPipe<S, Table> {
 
     private Table table;
     private final PipeFunction[] columnFunctions;
@@ -62,6 +62,10 @@ public class TablePipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.G
         return s;
     }
 
+    public void mergeSideEffect(final Table sideEffect) {
+        this.table.addAll(sideEffect);
+    }
+
     public void reset() {
         this.table = new Table();
         this.currentFunction = 0;
@@ -13,7 +13,7 @@ import java.util.Map;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class TreePipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Map> {
+public class TreePipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.GreedySideEffectPipe<S, Map>, SideEffectPipe.MergeableSideEffectPipe<S, Map> {
 
     Tree<Object> tree = new Tree<Object>();
     final List<PipeFunction> branchFunctions;
@@ -61,6 +61,20 @@ public class TreePipe<S> extends AbstractPipe<S, S> implements SideEffectPipe.Gr
         return this.tree;
     }
 
+    public void mergeSideEffect(final Map sideEffect) {
+        TreePipe.mergeTree(this.tree, sideEffect);
+    }
+
+    private static void mergeTree(final Map tree, final Map other) {
+        for (final Map.Entry entry : (Iterable<Map.Entry>) other.entrySet()) {
+            final Map subTree = (Map) tree.get(entry.getKey());
+            if (null == subTree)
+                tree.put(entry.getKey(), entry.getValue());
+            else
+                TreePipe.mergeTree(subTree, (Map) entry.getValue());
+        }
+    }
+
     public void reset() {
         this.tree = new Tree<Object>();
         this.currentFunction = 0;
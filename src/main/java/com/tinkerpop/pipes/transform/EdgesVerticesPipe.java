@@ -48,4 +48,8 @@ public class EdgesVerticesPipe extends AbstractPipe<Edge, Vertex> implements Tra
         return PipeHelper.makePipeString(this, direction.name().toLowerCase());
     }
 
-}
\ No newline at end of file
+    protected long getStartsDemand() {
+        // at least one end per start
+        return this.demand;
+    }
+}
@@ -1,6 +1,7 @@
 package com.tinkerpop.pipes.transform;
 
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.PipeFunction;
 import com.tinkerpop.pipes.util.FastNoSuchElementException;
@@ -16,7 +17,7 @@ import java.util.List;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class GatherFunctionPipe<S, E> extends AbstractPipe<S, E> implements TransformPipe<S, E> {
+public class GatherFunctionPipe<S, E> extends AbstractPipe<S, E> implements TransformPipe<S, E>, BarrierPipe<S, E> {
 
     private List<List> listPaths = new ArrayList<List>();
     private final PipeFunction<List<S>, E> postFilterFunction;
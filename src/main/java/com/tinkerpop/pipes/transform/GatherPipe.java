@@ -1,6 +1,7 @@
 package com.tinkerpop.pipes.transform;
 
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.util.FastNoSuchElementException;
 
@@ -13,7 +14,7 @@ import java.util.List;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class GatherPipe<S> extends AbstractPipe<S, List<S>> implements TransformPipe<S, List<S>> {
+public class GatherPipe<S> extends AbstractPipe<S, List<S>> implements TransformPipe<S, List<S>>, BarrierPipe<S, List<S>> {
 
     private List<List> listPaths = new ArrayList<List>();
 
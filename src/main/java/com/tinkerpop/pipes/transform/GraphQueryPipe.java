@@ -31,22 +31,28 @@ public class GraphQueryPipe<E extends Element> extends QueryPipe<Graph, E> {
                     return e;
             } else {
                 final Graph graph = this.starts.next();
+                if (!this.compiled)
+                    this.compile();
+                final int highRange = this.getDemandedHighRange();
+                if (highRange == Integer.MAX_VALUE && !this.isFiltered()) {
+                    // without containers and a limit, the elements are read from the graph without building a GraphQuery
+                    this.currentIterator = this.compiledVertices ?
+                            (Iterator<E>) graph.getVertices().iterator() :
+                            (Iterator<E>) graph.getEdges().iterator();
+                    continue;
+                }
                 GraphQuery query = graph.query();
-                if (null != this.hasContainers) {
-                    for (final HasContainer hasContainer : this.hasContainers) {
-                        query = query.has(hasContainer.key, hasContainer.predicate, hasContainer.value);
-                    }
+                for (final HasContainer hasContainer : this.compiledHasContainers) {
+                    query = query.has(hasContainer.key, hasContainer.predicate, hasContainer.value);
                 }
-                if (null != this.intervalContainers) {
-                    for (final IntervalContainer intervalContainer : this.intervalContainers) {
-                        query = query.interval(intervalContainer.key, intervalContainer.startValue, intervalContainer.endValue);
-                    }
+                for (final IntervalContainer intervalContainer : this.compiledIntervalContainers) {
+                    query = query.interval(intervalContainer.key, intervalContainer.startValue, intervalContainer.endValue);
                 }
-                if (this.highRange != Integer.MAX_VALUE) {
-                    query = query.limit(this.highRange - this.count);
+                if (highRange != Integer.MAX_VALUE) {
+                    query = query.limit(highRange - this.count);
                 }
 
-                this.currentIterator = this.elementClass.equals(Vertex.class) ?
+                this.currentIterator = this.compiledVertices ?
                         (Iterator<E>) query.vertices().iterator() :
                         (Iterator<E>) query.edges().iterator();
             }
@@ -49,6 +49,15 @@ public class HasCountPipe<S> extends AbstractPipe<S, Boolean> implements Transfo
         }
     }
 
+    protected long getStartsDemand() {
+        if (this.maximum != -1)
+            return this.maximum + 1;
+        else if (this.minimum != -1)
+            return this.minimum;
+        else
+            return 0l;
+    }
+
     public void reset() {
         super.reset();
         this.counter = 0;
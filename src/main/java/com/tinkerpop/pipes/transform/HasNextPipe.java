@@ -2,6 +2,7 @@ package com.tinkerpop.pipes.transform;
 
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.util.AbstractMetaPipe;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
 import com.tinkerpop.pipes.util.MetaPipe;
 import com.tinkerpop.pipes.util.PipeHelper;
 import com.tinkerpop.pipes.util.iterators.SingleExpandableIterator;
@@ -27,14 +28,24 @@ public class HasNextPipe<S> extends AbstractMetaPipe<S, Boolean> implements Meta
     public HasNextPipe(final Pipe<S, ?> pipe) {
         this.pipe = pipe;
         this.pipe.setStarts(this.expando);
+        // at most one end is pulled from the pipe per start
+        PipeHelper.setDemand(this.pipe, 1l);
     }
 
     public Boolean processNextStart() {
-        final S s = this.starts.next();
+        final Object end = this.processNextStartOrEnd();
+        if (end == END)
+            throw FastNoSuchElementException.instance();
+        return (Boolean) end;
+    }
+
+    protected Object processNextStartOrEnd() {
+        final Object s = PipeHelper.nextOrEnd(this.starts);
+        if (s == END)
+            return END;
         this.pipe.reset();
-        this.expando.add(s);
+        this.expando.add((S) s);
         return this.pipe.hasNext();
-
     }
 
     public List<Pipe> getPipes() {
@@ -2,15 +2,30 @@ package com.tinkerpop.pipes.transform;
 
 import com.tinkerpop.blueprints.Element;
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.PushPipe;
+import com.tinkerpop.pipes.Sink;
 
 /**
  * IdPipe emits the id of the element.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class IdPipe extends AbstractPipe<Element, Object> implements TransformPipe<Element, Object> {
+public class IdPipe extends AbstractPipe<Element, Object> implements TransformPipe<Element, Object>, PushPipe<Element, Object> {
 
     protected Object processNextStart() {
         return this.starts.next().getId();
     }
+
+    public Sink<Element> createSink(final Sink<Object> sink) {
+        return new Sink<Element>() {
+            public boolean push(final Element element) {
+                return sink.push(element.getId());
+            }
+        };
+    }
+
+    protected long getStartsDemand() {
+        // one end per start
+        return this.demand;
+    }
 }
@@ -2,15 +2,30 @@ package com.tinkerpop.pipes.transform;
 
 import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.PushPipe;
+import com.tinkerpop.pipes.Sink;
 
 /**
  * LabelPipe emits the label of an edge.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class LabelPipe extends AbstractPipe<Edge, String> implements TransformPipe<Edge, String> {
+public class LabelPipe extends AbstractPipe<Edge, String> implements TransformPipe<Edge, String>, PushPipe<Edge, String> {
 
     protected String processNextStart() {
         return this.starts.next().getLabel();
     }
+
+    public Sink<Edge> createSink(final Sink<String> sink) {
+        return new Sink<Edge>() {
+            public boolean push(final Edge edge) {
+                return sink.push(edge.getLabel());
+            }
+        };
+    }
+
+    protected long getStartsDemand() {
+        // one end per start
+        return this.demand;
+    }
 }
@@ -4,36 +4,80 @@ import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.util.AbstractMetaPipe;
 import com.tinkerpop.pipes.util.MetaPipe;
 import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.cache.Cache;
+import com.tinkerpop.pipes.util.cache.MapCache;
 import com.tinkerpop.pipes.util.iterators.SingleExpandableIterator;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 /**
+ * MemoizePipe caches the results of its pipe for each start and thus, the pipe is only evaluated once per distinct start.
+ * By default, the results are cached in an unbounded map. A bounded Cache (e.g. LruCache, LfuCache, TinyLfuCache) can be provided instead.
+ * The cache is cleared on reset() unless it is declared to survive it (e.g. a ConcurrentCache shared between the pipelines of many requests).
+ * <p/>
+ * By default, the results of a start are all computed before the first is emitted. In lazy mode, the results are emitted as the pipe
+ * produces them while they are recorded. A recording is only cached when the pipe is exhausted for its start. Until then, the recording
+ * is pending and if its start is seen again, the recorded results are replayed and the pipe is continued.
+ * A pending recording is discarded when the pipe is needed for another uncached start or when the cache is cleared on reset().
+ * If the cache survives reset(), then the pending recording survives as well (and the pipe is not reset) so a later hit can resume it.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class MemoizePipe<S, E> extends AbstractMetaPipe<S, E> implements MetaPipe, TransformPipe<S, E> {
 
     protected Pipe<S, E> pipe;
-    protected Map<S, List<E>> map;
+    protected final Cache<S, List<E>> cache;
+    protected final boolean clearOnReset;
     protected Iterator<E> currentIterator = PipeHelper.emptyIterator();
     protected final SingleExpandableIterator<S> expando = new SingleExpandableIterator<S>();
+    protected final boolean lazy;
+    private S pendingStart = null;
+    private List<E> pendingResults = null;
+    private List<E> currentResults = null;
+    private int currentIndex = 0;
 
     public MemoizePipe(final Pipe<S, E> pipe) {
-        this(pipe, new HashMap<S, List<E>>());
+        this(pipe, new MapCache<S, List<E>>());
     }
 
     public MemoizePipe(final Pipe<S, E> pipe, final Map<S, List<E>> map) {
+        this(pipe, new MapCache<S, List<E>>(map));
+    }
+
+    public MemoizePipe(final Pipe<S, E> pipe, final Cache<S, List<E>> cache) {
+        this(pipe, cache, true);
+    }
+
+    /**
+     * @param pipe         the pipe whose results are cached
+     * @param cache        the cache of the results of each start
+     * @param clearOnReset whether the cache is cleared on reset() (false for a cache that is shared)
+     */
+    public MemoizePipe(final Pipe<S, E> pipe, final Cache<S, List<E>> cache, final boolean clearOnReset) {
+        this(pipe, cache, clearOnReset, false);
+    }
+
+    /**
+     * @param pipe         the pipe whose results are cached
+     * @param cache        the cache of the results of each start
+     * @param clearOnReset whether the cache is cleared on reset() (false for a cache that is shared)
+     * @param lazy         whether the results are emitted as they are computed (see the lazy mode above)
+     */
+    public MemoizePipe(final Pipe<S, E> pipe, final Cache<S, List<E>> cache, final boolean clearOnReset, final boolean lazy) {
         this.pipe = pipe;
         this.pipe.setStarts(this.expando);
-        this.map = map;
+        this.cache = cache;
+        this.clearOnReset = clearOnReset;
+        this.lazy = lazy;
     }
 
     public E processNextStart() {
+        if (this.lazy)
+            return this.processNextLazyStart();
         while (true) {
             if (this.currentIterator.hasNext())
                 return this.currentIterator.next();
@@ -44,31 +88,88 @@ public class MemoizePipe<S, E> extends AbstractMetaPipe<S, E> implements MetaPip
     }
 
     private void getOrCreate(final S s) {
-        if (this.map.containsKey(s)) {
-            this.currentIterator = this.map.get(s).iterator();
-        } else {
+        List<E> results = this.cache.get(s);
+        if (null == results) {
             this.expando.add(s);
-            final List<E> results = new ArrayList<E>();
+            results = new ArrayList<E>();
             PipeHelper.fillCollection(this.pipe, results);
-            this.map.put(s, results);
-            this.currentIterator = results.iterator();
+            this.cache.put(s, results);
+        }
+        this.currentIterator = results.iterator();
+    }
+
+    private E processNextLazyStart() {
+        while (true) {
+            if (null != this.currentResults) {
+                if (this.currentIndex < this.currentResults.size())
+                    return this.currentResults.get(this.currentIndex++);
+                if (this.currentResults == this.pendingResults) {
+                    // the recorded results are exhausted and thus, the pipe is continued
+                    if (this.pipe.hasNext()) {
+                        final E e = this.pipe.next();
+                        this.pendingResults.add(e);
+                        this.currentIndex++;
+                        return e;
+                    }
+                    this.cache.put(this.pendingStart, this.pendingResults);
+                    this.pendingStart = null;
+                    this.pendingResults = null;
+                }
+                this.currentResults = null;
+            }
+            final S s = this.starts.next();
+            this.currentIndex = 0;
+            if (null != this.pendingResults && this.pendingStart.equals(s)) {
+                this.currentResults = this.pendingResults;
+            } else {
+                this.currentResults = this.cache.get(s);
+                if (null == this.currentResults) {
+                    if (null != this.pendingResults)
+                        this.pipe.reset();
+                    this.expando.add(s);
+                    this.pendingStart = s;
+                    this.pendingResults = new ArrayList<E>();
+                    this.currentResults = this.pendingResults;
+                }
+            }
         }
     }
 
+    /**
+     * Get whether a recording of the results of the pipe is pending (see the lazy mode above).
+     *
+     * @return whether the results of a start are partially recorded
+     */
+    public boolean isPending() {
+        return null != this.pendingResults;
+    }
+
+    public Cache<S, List<E>> getCache() {
+        return this.cache;
+    }
+
     public List<Pipe> getPipes() {
         return (List) Arrays.asList(pipe);
     }
 
     public void reset() {
         this.currentIterator = PipeHelper.emptyIterator();
-        try {
-            this.map = this.map.getClass().getConstructor().newInstance();
-        } catch (Exception e) {
-            throw new RuntimeException(e.getMessage(), e);
+        this.currentResults = null;
+        this.currentIndex = 0;
+        if (this.clearOnReset) {
+            this.cache.clear();
+            this.pendingStart = null;
+            this.pendingResults = null;
         }
         super.reset();
     }
 
+    protected void resetPipes() {
+        // the pipe holds the remaining results of the pending recording
+        if (null == this.pendingResults)
+            super.resetPipes();
+    }
+
     public String toString() {
         return PipeHelper.makePipeString(this, this.pipe);
     }
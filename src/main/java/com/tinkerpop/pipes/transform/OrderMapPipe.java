@@ -1,54 +1,70 @@
 package com.tinkerpop.pipes.transform;
 
 import com.tinkerpop.pipes.AbstractPipe;
-import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.PipeFunction;
-import com.tinkerpop.pipes.util.PipesPipeline;
-import com.tinkerpop.pipes.util.StartPipe;
-import com.tinkerpop.pipes.util.iterators.EmptyIterator;
+import com.tinkerpop.pipes.util.PipeHelper;
 import com.tinkerpop.pipes.util.structures.Pair;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 /**
+ * OrderMapPipe sorts the entries of each incoming map and emits the keys of the map in that order.
+ * A Comparator of the entries can be provided instead of a compare function to avoid creating a Pair for each comparison.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public class OrderMapPipe<S> extends AbstractPipe<Map<S, ?>, S> implements TransformPipe<Map<S, ?>, S> {
 
-    private Pipe pipe = new StartPipe(EmptyIterator.INSTANCE);
-    private final PipeFunction<Pair<Map.Entry<S, ?>, Map.Entry<S, ?>>, Integer> compareFunction;
+    private final List<Map.Entry<S, ?>> entries = new ArrayList<Map.Entry<S, ?>>();
+    private Iterator<Map.Entry<S, ?>> iterator = PipeHelper.emptyIterator();
+    private final Comparator<Map.Entry<S, ?>> comparator;
+
+    public OrderMapPipe(final Comparator<Map.Entry<S, ?>> comparator) {
+        this.comparator = comparator;
+    }
 
     public OrderMapPipe(final PipeFunction<Pair<Map.Entry<S, ?>, Map.Entry<S, ?>>, Integer> compareFunction) {
-        this.compareFunction = compareFunction;
+        this(PipeHelper.createComparator(compareFunction));
     }
 
     public OrderMapPipe(final TransformPipe.Order order) {
-        this.compareFunction = order.equals(OrderPipe.Order.DECR) ? new IncrementFunction() : new DecrementFunction();
+        this(new ValueComparator<S>(order.equals(TransformPipe.Order.INCR)));
     }
 
     public S processNextStart() {
         while (true) {
-            if (!this.pipe.hasNext())
-                this.pipe = new PipesPipeline(this.starts.next().entrySet()).order(this.compareFunction).transform(new PipeFunction<Map.Entry, Object>() {
-                    public Object compute(final Map.Entry entry) {
-                        return entry.getKey();
-                    }
-                });
-            else
-                return (S) this.pipe.next();
+            if (this.iterator.hasNext()) {
+                return this.iterator.next().getKey();
+            } else {
+                this.entries.clear();
+                this.entries.addAll(this.starts.next().entrySet());
+                Collections.sort(this.entries, this.comparator);
+                this.iterator = this.entries.iterator();
+            }
         }
     }
 
-    private class DecrementFunction implements PipeFunction<Pair<Map.Entry<S, ?>, Map.Entry<S, ?>>, Integer> {
-        public Integer compute(Pair<Map.Entry<S, ?>, Map.Entry<S, ?>> pair) {
-            return ((Comparable) pair.getA().getValue()).compareTo(pair.getB().getValue());
-        }
+    public void reset() {
+        this.entries.clear();
+        this.iterator = PipeHelper.emptyIterator();
+        super.reset();
     }
 
-    private class IncrementFunction implements PipeFunction<Pair<Map.Entry<S, ?>, Map.Entry<S, ?>>, Integer> {
-        public Integer compute(Pair<Map.Entry<S, ?>, Map.Entry<S, ?>> pair) {
-            return ((Comparable) pair.getB().getValue()).compareTo(pair.getA().getValue());
+    private static class ValueComparator<S> implements Comparator<Map.Entry<S, ?>> {
+
+        private final boolean increasing;
+
+        public ValueComparator(final boolean increasing) {
+            this.increasing = increasing;
+        }
+
+        public int compare(final Map.Entry<S, ?> a, final Map.Entry<S, ?> b) {
+            return this.increasing ? ((Comparable) a.getValue()).compareTo(b.getValue()) : ((Comparable) b.getValue()).compareTo(a.getValue());
         }
     }
 }
-
@@ -1,38 +1,68 @@
 package com.tinkerpop.pipes.transform;
 
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.util.ExternalSorter;
 import com.tinkerpop.pipes.util.FastNoSuchElementException;
+import com.tinkerpop.pipes.util.ParallelSorter;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.Serializer;
 import com.tinkerpop.pipes.util.structures.ArrayQueue;
 import com.tinkerpop.pipes.util.structures.Pair;
+import com.tinkerpop.pipes.util.structures.Path;
 
-import java.util.ArrayList;
+import java.io.File;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
 
 /**
  * OrderPipe supports in-stream sorting of objects.
  * If no provided sorting function is provided, then a default sort order is assumed.
  * Moreover, when no sorting function is provided, the object S is assumed to be comparable.
  * If a sorting function is provided, then sort is determined by the comparison computed by the function.
+ * A Comparator or a key function can be provided instead of a sorting function to avoid creating a Pair for each comparison.
+ * <p/>
+ * By default, all the objects are held in memory and sorted in place. When spilling is enabled (see enableSpilling()),
+ * the objects are sorted in bounded runs that are spilled to temporary files and then merged while emitted (see ExternalSorter).
+ * Spilling only applies when path calculations are disabled as the paths of the objects are not serialized.
+ * Large in-memory sorts can use multiple threads (see enableParallelSort()).
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class OrderPipe<S> extends AbstractPipe<S, S> implements TransformPipe<S, S> {
+public class OrderPipe<S> extends AbstractPipe<S, S> implements TransformPipe<S, S>, BarrierPipe<S, S> {
 
     private final ArrayQueue<ObjectBundle<S>> bundles = new ArrayQueue<ObjectBundle<S>>();
     private final ArrayQueue<S> objects = new ArrayQueue<S>();
-    private Comparator<ObjectBundle<S>> bundledComparator;
-    private Comparator<S> objectComparator;
+    private final Comparator<ObjectBundle<S>> bundledComparator;
+    private final Comparator<S> comparator;
+    private ExternalSorter<S> sorter = null;
+    private Iterator<S> sorted = PipeHelper.emptyIterator();
+    private ParallelSorter parallelSorter = null;
 
     private List currentPath;
 
+    public OrderPipe(final Comparator<S> comparator) {
+        this.comparator = comparator;
+        this.bundledComparator = new BundleComparator(comparator);
+    }
+
     public OrderPipe(final PipeFunction<Pair<S, S>, Integer> compareFunction) {
-        this.objectComparator = new PipeFunctionComparator(compareFunction);
-        this.bundledComparator = new PipeFunctionBundleComparator(compareFunction);
+        this(PipeHelper.createComparator(compareFunction));
+    }
+
+    /**
+     * Sort the objects by the Comparable keys computed by the key function. No objects are created per comparison.
+     *
+     * @param keyFunction the function that computes the key of an object
+     * @param order       the order of the keys
+     */
+    public OrderPipe(final PipeFunction<S, ? extends Comparable> keyFunction, final Order order) {
+        this(PipeHelper.createComparator(keyFunction, order));
     }
 
     public OrderPipe() {
@@ -40,21 +70,50 @@ public class OrderPipe<S> extends AbstractPipe<S, S> implements TransformPipe<S,
     }
 
     public OrderPipe(final Order order) {
-        if (order.equals(Order.INCR)) {
-            this.objectComparator = new PipeFunctionComparator(new IncrementFunction());
-            this.bundledComparator = new PipeFunctionBundleComparator(new IncrementFunction());
-        } else {
-            this.objectComparator = new PipeFunctionComparator(new DecrementFunction());
-            this.bundledComparator = new PipeFunctionBundleComparator(new DecrementFunction());
-        }
+        this(PipeHelper.<S>createComparator(order));
     }
 
-    public void enablePath(boolean enablePath) {
-        if (enablePath)
-            this.objectComparator = null;
-        else
-            this.bundledComparator = null;
-        super.enablePath(enablePath);
+    /**
+     * Get the comparator that determines the sort order of the pipe.
+     *
+     * @return the comparator of the pipe
+     */
+    public Comparator<S> getComparator() {
+        return this.comparator;
+    }
+
+    /**
+     * Sort the objects with multiple threads when there are at least threshold objects to sort (see ParallelSorter).
+     *
+     * @param executor    the executor that sorts the chunks of the objects
+     * @param parallelism the number of chunks sorted in parallel
+     * @param threshold   the minimum number of objects to sort in parallel
+     */
+    public void enableParallelSort(final ExecutorService executor, final int parallelism, final int threshold) {
+        this.parallelSorter = new ParallelSorter(executor, parallelism, threshold);
+    }
+
+    /**
+     * Sort the incoming objects in runs that are spilled to temporary files when they exceed the provided budget.
+     * At least one of the run size and the byte budget must be provided.
+     *
+     * @param serializer the serializer of the spilled objects
+     * @param runSize    the maximum number of objects held in memory (-1 for no maximum)
+     * @param byteBudget the maximum number of (serialized) bytes held in memory (-1 for no maximum)
+     * @param directory  the directory of the temporary files (null for the default temporary directory)
+     */
+    public void enableSpilling(final Serializer<S> serializer, final int runSize, final long byteBudget, final File directory) {
+        if (null != this.sorter)
+            this.sorter.clear();
+        this.sorter = new ExternalSorter<S>(this.comparator, serializer, runSize, byteBudget, directory);
+    }
+
+    public void enableSpilling(final Serializer<S> serializer, final int runSize) {
+        this.enableSpilling(serializer, runSize, -1l, null);
+    }
+
+    public ExternalSorter<S> getSorter() {
+        return this.sorter;
     }
 
     public S processNextStart() {
@@ -65,38 +124,37 @@ public class OrderPipe<S> extends AbstractPipe<S, S> implements TransformPipe<S,
                         throw FastNoSuchElementException.instance();
                     else {
                         this.bundles.clear();
-                        try {
-                            while (true) {
-                                this.bundles.add(new ObjectBundle<S>(this.starts.next(), this.getPathToHere()));
-                            }
-                        } catch (final NoSuchElementException e) {
+                        Object s;
+                        while ((s = PipeHelper.nextOrEnd(this.starts)) != END) {
+                            this.bundles.add(new ObjectBundle<S>((S) s, this.getPathToHere()));
                         }
-                        if (null != this.bundledComparator)
-                            Collections.sort(this.bundles, this.bundledComparator);
-                        else
-                            Collections.sort(this.bundles);
+                        this.sort(this.bundles, this.bundledComparator);
                     }
                 } else {
                     final ObjectBundle<S> object = this.bundles.remove();
                     this.currentPath = object.path;
                     return object.object;
                 }
+            } else if (null != this.sorter) {
+                if (this.sorted.hasNext()) {
+                    return this.sorted.next();
+                } else {
+                    if (!this.starts.hasNext())
+                        throw FastNoSuchElementException.instance();
+                    Object s;
+                    while ((s = PipeHelper.nextOrEnd(this.starts)) != END) {
+                        this.sorter.add((S) s);
+                    }
+                    this.sorted = this.sorter.sort();
+                }
             } else {
                 if (this.objects.isEmpty()) {
                     if (!this.starts.hasNext())
                         throw FastNoSuchElementException.instance();
                     else {
                         this.objects.clear();
-                        try {
-                            while (true) {
-                                this.objects.add(this.starts.next());
-                            }
-                        } catch (final NoSuchElementException e) {
-                        }
-                        if (null != this.objectComparator)
-                            Collections.sort(this.objects, this.objectComparator);
-                        else
-                            Collections.sort((List<Comparable>) this.objects);
+                        PipeHelper.fillCollection(this.starts, this.objects);
+                        this.sort(this.objects, this.comparator);
                     }
                 } else {
                     return this.objects.remove();
@@ -105,9 +163,23 @@ public class OrderPipe<S> extends AbstractPipe<S, S> implements TransformPipe<S,
         }
     }
 
+    private <T> void sort(final List<T> list, final Comparator<T> comparator) {
+        if (null != this.parallelSorter)
+            this.parallelSorter.sort(list, comparator);
+        else
+            Collections.sort(list, comparator);
+    }
+
+    public void reset() {
+        this.sorted = PipeHelper.emptyIterator();
+        if (null != this.sorter)
+            this.sorter.clear();
+        super.reset();
+    }
+
     public List getCurrentPath() {
         if (this.pathEnabled) {
-            final List pathElements = new ArrayList(this.currentPath);
+            final List pathElements = Path.copyOf(this.currentPath);
             final int size = pathElements.size();
             if (this instanceof TransformPipe) {
                 pathElements.add(this.currentEnd);
@@ -122,7 +194,7 @@ public class OrderPipe<S> extends AbstractPipe<S, S> implements TransformPipe<S,
     }
 
 
-    private class ObjectBundle<S> implements Comparable<ObjectBundle<S>> {
+    private class ObjectBundle<S> {
 
         public final S object;
         public final List path;
@@ -131,47 +203,18 @@ public class OrderPipe<S> extends AbstractPipe<S, S> implements TransformPipe<S,
             this.object = object;
             this.path = path;
         }
-
-        public int compareTo(final ObjectBundle bundle) {
-            return ((Comparable) this.object).compareTo(bundle.object);
-        }
     }
 
-    private class PipeFunctionBundleComparator implements Comparator<ObjectBundle<S>> {
+    private class BundleComparator implements Comparator<ObjectBundle<S>> {
 
-        private final PipeFunction<Pair<S, S>, Integer> pipeFunction;
+        private final Comparator<S> comparator;
 
-        public PipeFunctionBundleComparator(final PipeFunction<Pair<S, S>, Integer> pipeFunction) {
-            this.pipeFunction = pipeFunction;
+        public BundleComparator(final Comparator<S> comparator) {
+            this.comparator = comparator;
         }
 
         public int compare(final ObjectBundle<S> a, final ObjectBundle<S> b) {
-            return this.pipeFunction.compute(new Pair<S, S>(a.object, b.object));
-        }
-    }
-
-    private class PipeFunctionComparator implements Comparator<S> {
-
-        private final PipeFunction<Pair<S, S>, Integer> pipeFunction;
-
-        public PipeFunctionComparator(final PipeFunction<Pair<S, S>, Integer> pipeFunction) {
-            this.pipeFunction = pipeFunction;
-        }
-
-        public int compare(final S a, final S b) {
-            return this.pipeFunction.compute(new Pair<S, S>(a, b));
-        }
-    }
-
-    private class IncrementFunction implements PipeFunction<Pair<S, S>, Integer> {
-        public Integer compute(Pair<S, S> pair) {
-            return ((Comparable) pair.getA()).compareTo(pair.getB());
-        }
-    }
-
-    private class DecrementFunction implements PipeFunction<Pair<S, S>, Integer> {
-        public Integer compute(Pair<S, S> pair) {
-            return ((Comparable) pair.getB()).compareTo(pair.getA());
+            return this.comparator.compare(a.object, b.object);
         }
     }
 }
@@ -54,5 +54,8 @@ public class PathPipe<S> extends AbstractPipe<S, List> implements TransformPipe<
         }
     }
 
-
+    protected long getStartsDemand() {
+        // one end per start
+        return this.demand;
+    }
 }
@@ -2,6 +2,9 @@ package com.tinkerpop.pipes.transform;
 
 import com.tinkerpop.blueprints.Element;
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.PushPipe;
+import com.tinkerpop.pipes.Sink;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
 import com.tinkerpop.pipes.util.PipeHelper;
 
 /**
@@ -9,7 +12,7 @@ import com.tinkerpop.pipes.util.PipeHelper;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class PropertyPipe<S extends Element, E> extends AbstractPipe<S, E> implements TransformPipe<S, E> {
+public class PropertyPipe<S extends Element, E> extends AbstractPipe<S, E> implements TransformPipe<S, E>, PushPipe<S, E> {
 
     private final String key;
     private final boolean allowNull;
@@ -25,15 +28,57 @@ public class PropertyPipe<S extends Element, E> extends AbstractPipe<S, E> imple
     }
 
     protected E processNextStart() {
+        final Object end = this.processNextStartOrEnd();
+        if (end == END)
+            throw FastNoSuchElementException.instance();
+        return (E) end;
+    }
+
+    protected Object processNextStartOrEnd() {
         while (true) {
-            Element e = this.starts.next();
-            E value = (E) e.getProperty(this.key);
+            final Object e = PipeHelper.nextOrEnd(this.starts);
+            if (e == END)
+                return END;
+            final Object value = ((Element) e).getProperty(this.key);
             if (this.allowNull || value != null)
                 return value;
         }
     }
 
+    public Sink<S> createSink(final Sink<E> sink) {
+        final String key = this.key;
+        final boolean allowNull = this.allowNull;
+        return new Sink<S>() {
+            public boolean push(final S s) {
+                final E value = (E) s.getProperty(key);
+                return (!allowNull && value == null) || sink.push(value);
+            }
+        };
+    }
+
+    protected int processNextBatch(final Object[] batch, final int offset, final int length) {
+        int count = 0;
+        while (count < length) {
+            final int requested = length - count;
+            final int pulled = PipeHelper.nextBatch(this.starts, batch, offset + count, requested);
+            final int end = offset + count + pulled;
+            for (int i = offset + count; i < end; i++) {
+                final Object value = ((Element) batch[i]).getProperty(this.key);
+                if (this.allowNull || value != null)
+                    batch[offset + count++] = value;
+            }
+            if (pulled < requested)
+                break;
+        }
+        return count;
+    }
+
     public String toString() {
         return PipeHelper.makePipeString(this, this.key);
     }
+
+    protected long getStartsDemand() {
+        // one end per start unless null properties are filtered
+        return this.allowNull ? this.demand : -1l;
+    }
 }
@@ -8,11 +8,14 @@ import com.tinkerpop.pipes.AbstractPipe;
 import com.tinkerpop.pipes.util.PipeHelper;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
 /**
  * QueryPipe consolidates the fields and methods required for both VertexQueryPipe and GraphQueryPipe.
+ * The query of a QueryPipe is compiled into a template on the first start (see compile()) and thus, it is not revalidated for every start.
+ * The template is recompiled when the containers, the range or the element class of the pipe are changed through the methods of the pipe.
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
@@ -25,6 +28,11 @@ public abstract class QueryPipe<S, E extends Element> extends AbstractPipe<S, E>
     protected int highRange = Integer.MAX_VALUE;
     protected int count = 0;
 
+    protected HasContainer[] compiledHasContainers = new HasContainer[0];
+    protected IntervalContainer[] compiledIntervalContainers = new IntervalContainer[0];
+    protected boolean compiledVertices = false;
+    protected boolean compiled = false;
+
     protected Iterator<E> currentIterator = PipeHelper.emptyIterator();
 
     public void setResultingElementClass(final Class<? extends Element> elementClass) {
@@ -32,6 +40,7 @@ public abstract class QueryPipe<S, E extends Element> extends AbstractPipe<S, E>
             throw new IllegalArgumentException("The provided element class must be either Vertex or Edge");
 
         this.elementClass = (Class) elementClass;
+        this.compiled = false;
     }
 
     public Class<? extends Element> getResultElementClass() {
@@ -40,18 +49,65 @@ public abstract class QueryPipe<S, E extends Element> extends AbstractPipe<S, E>
 
     public void addHasContainer(final HasContainer container) {
         this.hasContainers.add(container);
+        this.compiled = false;
     }
 
     public void addIntervalContainer(final IntervalContainer container) {
         this.intervalContainers.add(container);
+        this.compiled = false;
     }
 
     public void setHighRange(final int highRange) {
         this.highRange = (highRange == Integer.MAX_VALUE) ? Integer.MAX_VALUE : highRange + 1;
+        this.compiled = false;
     }
 
     public void setLowRange(final int lowRange) {
         this.lowRange = (lowRange < 0) ? 0 : lowRange;
+        this.compiled = false;
+    }
+
+    /**
+     * Compile the query template of the pipe. The containers are validated and flattened into arrays that are applied to the query of every start.
+     * Subclasses precompute the rest of their query (e.g. a constant limit) and should call super.compile().
+     */
+    protected void compile() {
+        final List<HasContainer> hasContainers = null == this.hasContainers ? new ArrayList<HasContainer>() : this.hasContainers;
+        final List<IntervalContainer> intervalContainers = null == this.intervalContainers ? new ArrayList<IntervalContainer>() : this.intervalContainers;
+        for (final HasContainer container : hasContainers) {
+            if (null == container.key || null == container.predicate)
+                throw new IllegalArgumentException("The key and the predicate of a has-container can not be null");
+        }
+        for (final IntervalContainer container : intervalContainers) {
+            if (null == container.key)
+                throw new IllegalArgumentException("The key of an interval-container can not be null");
+        }
+        this.compiledHasContainers = hasContainers.toArray(new HasContainer[hasContainers.size()]);
+        this.compiledIntervalContainers = intervalContainers.toArray(new IntervalContainer[intervalContainers.size()]);
+        this.compiledVertices = Vertex.class.isAssignableFrom(this.elementClass);
+        this.compiled = true;
+    }
+
+    /**
+     * Determine whether the compiled query has has-containers or interval-containers.
+     *
+     * @return whether the query filters its elements by their properties
+     */
+    protected boolean isFiltered() {
+        return this.compiledHasContainers.length > 0 || this.compiledIntervalContainers.length > 0;
+    }
+
+    /**
+     * Get the high range of the pipe bounded by its remaining demand (see DemandPipe.setDemand()). This is used to limit the queries of the pipe.
+     * If the demand has been exhausted (i.e. more ends were pulled than demanded), then the demand is ignored.
+     *
+     * @return the high range of the pipe bounded by its demand
+     */
+    protected int getDemandedHighRange() {
+        if (this.demand == -1l)
+            return this.highRange;
+        final long high = this.lowRange + this.demand;
+        return high <= this.count || high >= this.highRange ? this.highRange : (int) high;
     }
 
     public void reset() {
@@ -92,6 +148,17 @@ public abstract class QueryPipe<S, E extends Element> extends AbstractPipe<S, E>
             this.value = value;
             this.predicate = predicate;
         }
+
+        public boolean equals(final Object object) {
+            if (!(object instanceof HasContainer))
+                return false;
+            final HasContainer other = (HasContainer) object;
+            return QueryPipe.equals(this.key, other.key) && QueryPipe.equals(this.predicate, other.predicate) && QueryPipe.equals(this.value, other.value);
+        }
+
+        public int hashCode() {
+            return QueryPipe.hashCode(this.key, this.predicate, this.value);
+        }
     }
 
     public static class IntervalContainer {
@@ -104,5 +171,24 @@ public abstract class QueryPipe<S, E extends Element> extends AbstractPipe<S, E>
             this.startValue = startValue;
             this.endValue = endValue;
         }
+
+        public boolean equals(final Object object) {
+            if (!(object instanceof IntervalContainer))
+                return false;
+            final IntervalContainer other = (IntervalContainer) object;
+            return QueryPipe.equals(this.key, other.key) && QueryPipe.equals(this.startValue, other.startValue) && QueryPipe.equals(this.endValue, other.endValue);
+        }
+
+        public int hashCode() {
+            return QueryPipe.hashCode(this.key, this.startValue, this.endValue);
+        }
+    }
+
+    private static boolean equals(final Object a, final Object b) {
+        return null == a ? null == b : a.equals(b);
+    }
+
+    private static int hashCode(final Object... objects) {
+        return Arrays.hashCode(objects);
     }
 }
@@ -1,6 +1,7 @@
 package com.tinkerpop.pipes.transform;
 
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.util.FastNoSuchElementException;
 import com.tinkerpop.pipes.util.PipeHelper;
@@ -13,13 +14,25 @@ import java.util.List;
 /**
  * The ShufflePipe emits all the objects up to this step as an ArrayList then randomizes the order of the items
  * in the list.
+ * If a window size is provided, then the objects are shuffled within consecutive windows of that size and thus, the stream is not drained.
  *
  * @author Stephen Mallette (http://stephen.genoprime.com)
  */
-public class ShufflePipe<S> extends AbstractPipe<S, S> implements TransformPipe<S, S> {
+public class ShufflePipe<S> extends AbstractPipe<S, S> implements TransformPipe<S, S>, BarrierPipe<S, S> {
     private Iterator<S> tempIterator = PipeHelper.emptyIterator();
 
     private List<List> listPaths = new ArrayList<List>();
+    private final int windowSize;
+
+    public ShufflePipe() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public ShufflePipe(final int windowSize) {
+        if (windowSize < 1)
+            throw new IllegalArgumentException("The window size must be greater than 0: " + windowSize);
+        this.windowSize = windowSize;
+    }
 
 
     public List getCurrentPath() {
@@ -48,7 +61,7 @@ public class ShufflePipe<S> extends AbstractPipe<S, S> implements TransformPipe<
         if (!this.starts.hasNext()) {
             throw FastNoSuchElementException.instance();
         } else {
-            while (this.starts.hasNext()) {
+            while (list.size() < this.windowSize && this.starts.hasNext()) {
                 final S s = this.starts.next();
                 list.add(s);
                 if (this.pathEnabled)
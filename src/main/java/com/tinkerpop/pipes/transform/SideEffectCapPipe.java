@@ -1,5 +1,6 @@
 package com.tinkerpop.pipes.transform;
 
+import com.tinkerpop.pipes.BarrierPipe;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.sideeffect.SideEffectPipe;
 import com.tinkerpop.pipes.util.AbstractMetaPipe;
@@ -10,7 +11,6 @@ import com.tinkerpop.pipes.util.PipeHelper;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.NoSuchElementException;
 
 /**
  * The SideEffectCapPipe will yield an E that is the side effect of the provided SideEffectPipe.
@@ -19,7 +19,7 @@ import java.util.NoSuchElementException;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class SideEffectCapPipe<S, T> extends AbstractMetaPipe<S, T> implements MetaPipe, TransformPipe<S, T> {
+public class SideEffectCapPipe<S, T> extends AbstractMetaPipe<S, T> implements MetaPipe, TransformPipe<S, T>, BarrierPipe<S, T> {
 
     private final SideEffectPipe<S, T> pipeToCap;
     private boolean alive = true;
@@ -38,12 +38,7 @@ public class SideEffectCapPipe<S, T> extends AbstractMetaPipe<S, T> implements M
             return this.pipeToCap.getSideEffect();
         } else {
             if (this.alive) {
-                try {
-                    while (true) {
-                        this.pipeToCap.next();
-                    }
-                } catch (final NoSuchElementException e) {
-                }
+                PipeHelper.iterate(this.pipeToCap);
                 this.alive = false;
                 return this.pipeToCap.getSideEffect();
             } else {
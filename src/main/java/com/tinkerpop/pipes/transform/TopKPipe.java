@@ -0,0 +1,149 @@
+package com.tinkerpop.pipes.transform;
+
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.structures.Pair;
+import com.tinkerpop.pipes.util.structures.Path;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * TopKPipe emits the first k objects of its incoming objects in sorted order. It is equivalent to an OrderPipe followed by a RangeFilterPipe(0, k - 1).
+ * However, instead of sorting all the incoming objects, only the k best objects seen so far are retained in a bounded heap.
+ * Thus, the memory of the pipe is O(k) and the time is O(n log k) for n incoming objects.
+ * Objects that compare as equal are emitted in the order they were seen (like the stable sort of OrderPipe).
+ * When path calculations are enabled, the paths of the retained objects are retained with them.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TopKPipe<S> extends AbstractPipe<S, S> implements TransformPipe<S, S>, BarrierPipe<S, S> {
+
+    private final int k;
+    private final Comparator<S> comparator;
+    private final PriorityQueue<Entry<S>> heap;
+    private Entry<S>[] entries = null;
+    private int index = 0;
+    private long sequence = 0l;
+    private List currentPath;
+
+    public TopKPipe(final int k, final Comparator<S> comparator) {
+        if (k < 1)
+            throw new IllegalArgumentException("The k of the pipe must be greater than 0: " + k);
+        this.k = k;
+        this.comparator = comparator;
+        // the head of the heap is the worst retained entry
+        this.heap = new PriorityQueue<Entry<S>>(Math.min(k, 16), new Comparator<Entry<S>>() {
+            public int compare(final Entry<S> a, final Entry<S> b) {
+                return TopKPipe.this.compare(b, a);
+            }
+        });
+    }
+
+    public TopKPipe(final int k, final PipeFunction<Pair<S, S>, Integer> compareFunction) {
+        this(k, PipeHelper.createComparator(compareFunction));
+    }
+
+    public TopKPipe(final int k, final Order order) {
+        this(k, PipeHelper.<S>createComparator(order));
+    }
+
+    public TopKPipe(final int k) {
+        this(k, Order.INCR);
+    }
+
+    public S processNextStart() {
+        while (true) {
+            if (null != this.entries && this.index < this.entries.length) {
+                final Entry<S> entry = this.entries[this.index];
+                this.entries[this.index++] = null;
+                this.currentPath = entry.path;
+                return entry.object;
+            } else {
+                this.entries = null;
+                if (!this.starts.hasNext())
+                    throw FastNoSuchElementException.instance();
+                this.select();
+            }
+        }
+    }
+
+    private void select() {
+        Object s;
+        while ((s = PipeHelper.nextOrEnd(this.starts)) != END) {
+            if (this.heap.size() < this.k) {
+                this.heap.add(new Entry<S>((S) s, this.pathEnabled ? this.getPathToHere() : null, this.sequence++));
+            } else {
+                final Entry<S> worst = this.heap.peek();
+                // a later object that compares as equal to the worst retained object comes after it and thus, is not retained
+                if (this.comparator.compare((S) s, worst.object) < 0) {
+                    this.heap.poll();
+                    this.heap.add(new Entry<S>((S) s, this.pathEnabled ? this.getPathToHere() : null, this.sequence++));
+                } else {
+                    this.sequence++;
+                }
+            }
+        }
+        this.entries = new Entry[this.heap.size()];
+        for (int i = this.entries.length - 1; i >= 0; i--) {
+            this.entries[i] = this.heap.poll();
+        }
+        this.index = 0;
+    }
+
+    private int compare(final Entry<S> a, final Entry<S> b) {
+        final int comparison = this.comparator.compare(a.object, b.object);
+        if (comparison != 0)
+            return comparison;
+        return a.sequence < b.sequence ? -1 : (a.sequence == b.sequence ? 0 : 1);
+    }
+
+    public List getCurrentPath() {
+        if (this.pathEnabled) {
+            final List pathElements = Path.copyOf(this.currentPath);
+            pathElements.add(this.currentEnd);
+            return pathElements;
+        } else {
+            throw new RuntimeException(Pipe.NO_PATH_MESSAGE);
+        }
+    }
+
+    public void reset() {
+        this.heap.clear();
+        this.entries = null;
+        this.index = 0;
+        this.sequence = 0l;
+        this.currentPath = null;
+        super.reset();
+    }
+
+    public int getK() {
+        return this.k;
+    }
+
+    public Comparator<S> getComparator() {
+        return this.comparator;
+    }
+
+    public String toString() {
+        return PipeHelper.makePipeString(this, this.k);
+    }
+
+    private static class Entry<S> {
+
+        public final S object;
+        public final List path;
+        public final long sequence;
+
+        public Entry(final S object, final List path, final long sequence) {
+            this.object = object;
+            this.path = path;
+            this.sequence = sequence;
+        }
+    }
+}
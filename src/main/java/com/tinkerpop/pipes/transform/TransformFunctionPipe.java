@@ -2,6 +2,10 @@ package com.tinkerpop.pipes.transform;
 
 import com.tinkerpop.pipes.AbstractPipe;
 import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.PushPipe;
+import com.tinkerpop.pipes.Sink;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
+import com.tinkerpop.pipes.util.PipeHelper;
 
 /**
  * TransformFunctionPipe computes a transformation on the S object, where the PipeFunction determines the E.
@@ -10,7 +14,7 @@ import com.tinkerpop.pipes.PipeFunction;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class TransformFunctionPipe<S, E> extends AbstractPipe<S, E> implements TransformPipe<S, E> {
+public class TransformFunctionPipe<S, E> extends AbstractPipe<S, E> implements TransformPipe<S, E>, PushPipe<S, E> {
 
     private final PipeFunction<S, E> transformFunction;
 
@@ -18,7 +22,33 @@ public class TransformFunctionPipe<S, E> extends AbstractPipe<S, E> implements T
         this.transformFunction = transformFunction;
     }
 
+    public PipeFunction<S, E> getTransformFunction() {
+        return this.transformFunction;
+    }
+
     public E processNextStart() {
-        return this.transformFunction.compute(this.starts.next());
+        final Object end = this.processNextStartOrEnd();
+        if (end == END)
+            throw FastNoSuchElementException.instance();
+        return (E) end;
+    }
+
+    protected Object processNextStartOrEnd() {
+        final Object s = PipeHelper.nextOrEnd(this.starts);
+        return s == END ? END : this.transformFunction.compute((S) s);
+    }
+
+    public Sink<S> createSink(final Sink<E> sink) {
+        final PipeFunction<S, E> transformFunction = this.transformFunction;
+        return new Sink<S>() {
+            public boolean push(final S s) {
+                return sink.push(transformFunction.compute(s));
+            }
+        };
+    }
+
+    protected long getStartsDemand() {
+        // one end per start
+        return this.demand;
     }
 }
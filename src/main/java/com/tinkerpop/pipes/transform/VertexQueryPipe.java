@@ -6,7 +6,9 @@ import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.blueprints.VertexQuery;
 import com.tinkerpop.pipes.util.FastNoSuchElementException;
 import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.cache.AdjacencyCache;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -21,6 +23,9 @@ public class VertexQueryPipe<E extends Element> extends QueryPipe<Vertex, E> {
     private Direction direction = Direction.BOTH;
     private String[] labels;
     private int branchFactor;
+    private AdjacencyCache adjacencyCache = null;
+    private boolean labeled;
+    private boolean unlimited;
 
     /**
      * Construct a new VertexQuery pipe that wraps an underlying Blueprints VertexQuery object.
@@ -56,14 +61,31 @@ public class VertexQueryPipe<E extends Element> extends QueryPipe<Vertex, E> {
 
     public void setDirection(final Direction direction) {
         this.direction = direction;
+        this.compiled = false;
     }
 
     public void setLabels(final String... labels) {
         this.labels = labels;
+        this.compiled = false;
     }
 
     public void setBranchFactor(final int branchFactor) {
         this.branchFactor = branchFactor;
+        this.compiled = false;
+    }
+
+    /**
+     * Set the cache of the query results. A cached result holds all the elements up to the branch factor and thus, the cache is bypassed
+     * when the pipe has a finite range or demand (see DemandPipe.setDemand()) or the result is too large to be cached.
+     *
+     * @param adjacencyCache the cache of the query results or null to query the graph
+     */
+    public void setAdjacencyCache(final AdjacencyCache adjacencyCache) {
+        this.adjacencyCache = adjacencyCache;
+    }
+
+    public AdjacencyCache getAdjacencyCache() {
+        return this.adjacencyCache;
     }
 
     public String toString() {
@@ -83,39 +105,99 @@ public class VertexQueryPipe<E extends Element> extends QueryPipe<Vertex, E> {
                     return e;
             } else {
                 final Vertex vertex = this.starts.next();
-                VertexQuery query = vertex.query();
-                query = query.direction(this.direction);
-                if (this.labels.length > 0)
-                    query = query.labels(this.labels);
-                if (null != this.hasContainers) {
-                    for (final HasContainer hasContainer : this.hasContainers) {
-                        query = query.has(hasContainer.key, hasContainer.predicate, hasContainer.value);
+                if (!this.compiled)
+                    this.compile();
+                if (null != this.adjacencyCache && this.highRange == Integer.MAX_VALUE && this.demand == -1l) {
+                    final List<E> elements = this.getCachedElements(vertex);
+                    if (null != elements) {
+                        this.currentIterator = elements.iterator();
+                        continue;
                     }
                 }
-                if (null != this.intervalContainers) {
-                    for (final IntervalContainer intervalContainer : this.intervalContainers) {
-                        query = query.interval(intervalContainer.key, intervalContainer.startValue, intervalContainer.endValue);
-                    }
+                if (this.unlimited && this.demand == -1l) {
+                    this.currentIterator = this.getElements(vertex);
+                    continue;
                 }
+                VertexQuery query = this.buildQuery(vertex);
+                final int highRange = this.getDemandedHighRange();
                 if (this.branchFactor == Integer.MAX_VALUE) {
-                    if (this.highRange != Integer.MAX_VALUE) {
-                        int temp = this.highRange - this.count;
+                    if (highRange != Integer.MAX_VALUE) {
+                        int temp = highRange - this.count;
                         query = temp > 0 ? query.limit(temp) : query;
                     }
                 } else {
-                    if (this.highRange == Integer.MAX_VALUE) {
+                    if (highRange == Integer.MAX_VALUE) {
                         query = query.limit(this.branchFactor);
                     } else {
-                        int temp = this.highRange - this.count;
+                        int temp = highRange - this.count;
                         query = query.limit(temp < this.branchFactor ? temp : this.branchFactor);
                     }
                 }
-                this.currentIterator = this.elementClass.equals(Vertex.class) ?
+                this.currentIterator = this.compiledVertices ?
                         (Iterator<E>) query.vertices().iterator() :
                         (Iterator<E>) query.edges().iterator();
             }
         }
     }
 
+    protected void compile() {
+        super.compile();
+        this.labeled = this.labels.length > 0;
+        this.unlimited = this.branchFactor == Integer.MAX_VALUE && this.highRange == Integer.MAX_VALUE;
+    }
 
+    /**
+     * Get the elements of the vertex when the query has no limit. Without has-containers and interval-containers,
+     * the elements are read from the vertex without building a VertexQuery.
+     */
+    private Iterator<E> getElements(final Vertex vertex) {
+        if (!this.isFiltered()) {
+            return this.compiledVertices ?
+                    (Iterator<E>) vertex.getVertices(this.direction, this.labels).iterator() :
+                    (Iterator<E>) vertex.getEdges(this.direction, this.labels).iterator();
+        }
+        final VertexQuery query = this.buildQuery(vertex);
+        return this.compiledVertices ?
+                (Iterator<E>) query.vertices().iterator() :
+                (Iterator<E>) query.edges().iterator();
+    }
+
+    /**
+     * Get the cached elements of the vertex. On a miss, the elements are read from the graph and cached.
+     *
+     * @return the elements or null if the elements are too large to be cached
+     */
+    private List<E> getCachedElements(final Vertex vertex) {
+        // without filters, the query shares its cached adjacency with VerticesVerticesPipe and VerticesEdgesPipe
+        final AdjacencyCache.Key key = !this.isFiltered() ?
+                this.adjacencyCache.createKey(vertex, this.elementClass, this.direction, this.branchFactor, this.labels) :
+                this.adjacencyCache.createKey(vertex, this.elementClass, this.direction, this.branchFactor, this.labels, this.hasContainers, this.intervalContainers);
+        if (this.adjacencyCache.isOversized(key))
+            return null;
+        List<E> elements = this.adjacencyCache.get(key);
+        if (null == elements) {
+            VertexQuery query = this.buildQuery(vertex);
+            if (this.branchFactor != Integer.MAX_VALUE)
+                query = query.limit(this.branchFactor);
+            elements = new ArrayList<E>();
+            PipeHelper.fillCollection(this.compiledVertices ?
+                    (Iterator<E>) query.vertices().iterator() :
+                    (Iterator<E>) query.edges().iterator(), elements);
+            this.adjacencyCache.put(key, elements);
+        }
+        return elements;
+    }
+
+    private VertexQuery buildQuery(final Vertex vertex) {
+        VertexQuery query = vertex.query().direction(this.direction);
+        if (this.labeled)
+            query = query.labels(this.labels);
+        for (final HasContainer hasContainer : this.compiledHasContainers) {
+            query = query.has(hasContainer.key, hasContainer.predicate, hasContainer.value);
+        }
+        for (final IntervalContainer intervalContainer : this.compiledIntervalContainers) {
+            query = query.interval(intervalContainer.key, intervalContainer.startValue, intervalContainer.endValue);
+        }
+        return query;
+    }
 }
@@ -4,22 +4,36 @@ import com.tinkerpop.blueprints.Direction;
 import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.PrefetchPipe;
+import com.tinkerpop.pipes.util.BatchAdjacencyProvider;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
 import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.cache.AdjacencyCache;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class VerticesEdgesPipe extends AbstractPipe<Vertex, Edge> implements TransformPipe<Vertex, Edge> {
+public class VerticesEdgesPipe extends AbstractPipe<Vertex, Edge> implements TransformPipe<Vertex, Edge>, PrefetchPipe<Vertex, Edge> {
 
     protected Direction direction;
     protected String[] labels;
     protected int branchFactor;
     protected Iterator<Edge> nextEnds = PipeHelper.emptyIterator();
+    protected AdjacencyCache adjacencyCache = null;
+    protected BatchAdjacencyProvider batchProvider = null;
+    protected int batchSize = 1;
+    protected boolean upstreamAsPipe = false;
 
-    private final boolean doBranchFactor;
+    private final List<Vertex> batch = new ArrayList<Vertex>();
+    private List<List<Edge>> adjacencies = null;
+    private int adjacencyIndex = 0;
+
+    private long emitted = 0l;
 
     public VerticesEdgesPipe(final Direction direction, final String... labels) {
         this(direction, Integer.MAX_VALUE, labels);
@@ -29,7 +43,6 @@ public class VerticesEdgesPipe extends AbstractPipe<Vertex, Edge> implements Tra
         this.direction = direction;
         this.branchFactor = branchFactor;
         this.labels = labels;
-        this.doBranchFactor = this.branchFactor != Integer.MAX_VALUE;
     }
 
     public String[] getLabels() {
@@ -44,8 +57,88 @@ public class VerticesEdgesPipe extends AbstractPipe<Vertex, Edge> implements Tra
         return this.branchFactor;
     }
 
+    /**
+     * Set the cache of the incident edges. A cached adjacency holds all the edges up to the branch factor and thus,
+     * the cache is bypassed when the pipe has a finite demand (see DemandPipe.setDemand()) or the adjacency is too large to be cached.
+     *
+     * @param adjacencyCache the cache of the incident edges or null to read from the graph
+     */
+    public void setAdjacencyCache(final AdjacencyCache adjacencyCache) {
+        this.adjacencyCache = adjacencyCache;
+    }
+
+    public AdjacencyCache getAdjacencyCache() {
+        return this.adjacencyCache;
+    }
+
+    /**
+     * Read the incident edges of batches of start vertices with a single call to the provider (e.g. a multi-get of a remote graph).
+     * The incident edges are emitted in the order of the start vertices. Batching only applies when path calculations are disabled
+     * as the path of an end is the path of its start. Likewise, batching does not apply when an AsPipe precedes this pipe in a Pipeline
+     * as the AsPipe would emit the starts of the next batch before the ends of the current start are seen downstream (e.g. by a SelectPipe).
+     * If an AdjacencyCache is set, then only the misses of a batch are read from the provider.
+     *
+     * @param provider  the provider that reads the incident edges of a batch (null to disable batching)
+     * @param batchSize the maximum number of start vertices in a batch
+     */
+    public void enableBatching(final BatchAdjacencyProvider provider, final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be greater than 0: " + batchSize);
+        this.batchProvider = provider;
+        this.batchSize = batchSize;
+    }
+
+    public BatchAdjacencyProvider getBatchAdjacencyProvider() {
+        return this.batchProvider;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public void setUpstreamAsPipe(final boolean upstreamAsPipe) {
+        this.upstreamAsPipe = upstreamAsPipe;
+    }
+
+    public boolean hasUpstreamAsPipe() {
+        return this.upstreamAsPipe;
+    }
+
+    /**
+     * Get the incident edges of the next start vertex of the current batch. If the batch is exhausted, the next batch is read.
+     *
+     * @return the incident edges of the next start vertex or null if there are no more starts
+     */
+    private Iterator<Edge> nextBatchedEnds() {
+        if (null == this.adjacencies || this.adjacencyIndex == this.adjacencies.size()) {
+            this.batch.clear();
+            while (this.batch.size() < this.batchSize) {
+                final Object start = PipeHelper.nextOrEnd(this.starts);
+                if (start == END)
+                    break;
+                this.batch.add((Vertex) start);
+            }
+            if (this.batch.isEmpty()) {
+                this.adjacencies = null;
+                return null;
+            }
+            if (null != this.adjacencyCache && this.demand == -1l) {
+                this.adjacencies = this.adjacencyCache.getEdges(this.batch, this.direction, this.branchFactor, this.batchProvider, this.labels);
+            } else {
+                // the demand bounds the adjacency of each start (see DemandPipe.setDemand())
+                final int limit = PipeHelper.getLimit(this.branchFactor, this.demand, this.emitted);
+                this.adjacencies = this.batchProvider.getEdges(this.batch, this.direction, limit, this.labels);
+            }
+            this.adjacencyIndex = 0;
+        }
+        return this.adjacencies.get(this.adjacencyIndex++).iterator();
+    }
+
     public void reset() {
         this.nextEnds = PipeHelper.emptyIterator();
+        this.batch.clear();
+        this.adjacencies = null;
+        this.emitted = 0l;
         super.reset();
     }
 
@@ -53,11 +146,29 @@ public class VerticesEdgesPipe extends AbstractPipe<Vertex, Edge> implements Tra
     protected Edge processNextStart() {
         while (true) {
             if (this.nextEnds.hasNext()) {
+                this.emitted++;
                 return this.nextEnds.next();
+            } else if (null != this.batchProvider && !this.pathEnabled && !this.upstreamAsPipe) {
+                this.nextEnds = this.nextBatchedEnds();
+                if (null == this.nextEnds) {
+                    this.nextEnds = PipeHelper.emptyIterator();
+                    throw FastNoSuchElementException.instance();
+                }
             } else {
-                this.nextEnds = this.doBranchFactor ?
-                        this.starts.next().query().direction(this.direction).labels(this.labels).limit(this.branchFactor).edges().iterator() :
-                        this.starts.next().getEdges(this.direction, this.labels).iterator();
+                // the branch factor and the remaining demand (see DemandPipe.setDemand()) determine the limit of the query
+                final Vertex vertex = this.starts.next();
+                // a finite demand reads less than the full adjacency of a cache and an oversized adjacency is not cached (null)
+                if (null != this.adjacencyCache && this.demand == -1l) {
+                    final List<Edge> edges = this.adjacencyCache.getEdges(vertex, this.direction, this.branchFactor, this.labels);
+                    if (null != edges) {
+                        this.nextEnds = edges.iterator();
+                        continue;
+                    }
+                }
+                final int limit = PipeHelper.getLimit(this.branchFactor, this.demand, this.emitted);
+                this.nextEnds = limit == Integer.MAX_VALUE ?
+                        vertex.getEdges(this.direction, this.labels).iterator() :
+                        vertex.query().direction(this.direction).labels(this.labels).limit(limit).edges().iterator();
             }
         }
     }
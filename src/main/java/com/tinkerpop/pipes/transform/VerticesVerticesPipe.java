@@ -3,22 +3,36 @@ package com.tinkerpop.pipes.transform;
 import com.tinkerpop.blueprints.Direction;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.PrefetchPipe;
+import com.tinkerpop.pipes.util.BatchAdjacencyProvider;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
 import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.cache.AdjacencyCache;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class VerticesVerticesPipe extends AbstractPipe<Vertex, Vertex> implements TransformPipe<Vertex, Vertex> {
+public class VerticesVerticesPipe extends AbstractPipe<Vertex, Vertex> implements TransformPipe<Vertex, Vertex>, PrefetchPipe<Vertex, Vertex> {
 
     protected int branchFactor;
     protected Direction direction;
     protected String[] labels;
     protected Iterator<Vertex> nextEnds = PipeHelper.emptyIterator();
+    protected AdjacencyCache adjacencyCache = null;
+    protected BatchAdjacencyProvider batchProvider = null;
+    protected int batchSize = 1;
+    protected boolean upstreamAsPipe = false;
 
-    private final boolean doBranchFactor;
+    private final List<Vertex> batch = new ArrayList<Vertex>();
+    private List<List<Vertex>> adjacencies = null;
+    private int adjacencyIndex = 0;
+
+    private long emitted = 0l;
 
     public VerticesVerticesPipe(final Direction direction, final String... labels) {
         this(direction, Integer.MAX_VALUE, labels);
@@ -28,27 +42,58 @@ public class VerticesVerticesPipe extends AbstractPipe<Vertex, Vertex> implement
         this.direction = direction;
         this.branchFactor = branchFactor;
         this.labels = labels;
-        this.doBranchFactor = branchFactor != Integer.MAX_VALUE;
     }
 
     public void reset() {
         this.nextEnds = PipeHelper.emptyIterator();
+        this.batch.clear();
+        this.adjacencies = null;
+        this.emitted = 0l;
         super.reset();
     }
 
 
     protected Vertex processNextStart() {
+        final Object end = this.processNextStartOrEnd();
+        if (end == END)
+            throw FastNoSuchElementException.instance();
+        return (Vertex) end;
+    }
+
+    protected Object processNextStartOrEnd() {
         while (true) {
             if (this.nextEnds.hasNext()) {
+                this.emitted++;
                 return this.nextEnds.next();
+            } else if (null != this.batchProvider && !this.pathEnabled && !this.upstreamAsPipe) {
+                this.nextEnds = this.nextBatchedEnds();
+                if (null == this.nextEnds) {
+                    this.nextEnds = PipeHelper.emptyIterator();
+                    return END;
+                }
             } else {
-                this.nextEnds = this.doBranchFactor ?
-                        this.starts.next().query().direction(this.direction).labels(this.labels).limit(this.branchFactor).vertices().iterator() :
-                        this.starts.next().getVertices(this.direction, this.labels).iterator();
+                final Object start = PipeHelper.nextOrEnd(this.starts);
+                if (start == END)
+                    return END;
+                this.nextEnds = this.getVertices((Vertex) start);
             }
         }
     }
 
+    private Iterator<Vertex> getVertices(final Vertex vertex) {
+        // a finite demand reads less than the full adjacency of a cache and an oversized adjacency is not cached (null)
+        if (null != this.adjacencyCache && this.demand == -1l) {
+            final List<Vertex> vertices = this.adjacencyCache.getVertices(vertex, this.direction, this.branchFactor, this.labels);
+            if (null != vertices)
+                return vertices.iterator();
+        }
+        // the branch factor and the remaining demand (see DemandPipe.setDemand()) determine the limit of the query
+        final int limit = PipeHelper.getLimit(this.branchFactor, this.demand, this.emitted);
+        return limit == Integer.MAX_VALUE ?
+                vertex.getVertices(this.direction, this.labels).iterator() :
+                vertex.query().direction(this.direction).labels(this.labels).limit(limit).vertices().iterator();
+    }
+
     public Direction getDirection() {
         return this.direction;
     }
@@ -61,6 +106,83 @@ public class VerticesVerticesPipe extends AbstractPipe<Vertex, Vertex> implement
         return this.branchFactor;
     }
 
+    /**
+     * Set the cache of the adjacent vertices. A cached adjacency holds all the vertices up to the branch factor and thus,
+     * the cache is bypassed when the pipe has a finite demand (see DemandPipe.setDemand()) or the adjacency is too large to be cached.
+     *
+     * @param adjacencyCache the cache of the adjacent vertices or null to read from the graph
+     */
+    public void setAdjacencyCache(final AdjacencyCache adjacencyCache) {
+        this.adjacencyCache = adjacencyCache;
+    }
+
+    public AdjacencyCache getAdjacencyCache() {
+        return this.adjacencyCache;
+    }
+
+    /**
+     * Read the adjacent vertices of batches of start vertices with a single call to the provider (e.g. a multi-get of a remote graph).
+     * The adjacent vertices are emitted in the order of the start vertices. Batching only applies when path calculations are disabled
+     * as the path of an end is the path of its start. Likewise, batching does not apply when an AsPipe precedes this pipe in a Pipeline
+     * as the AsPipe would emit the starts of the next batch before the ends of the current start are seen downstream (e.g. by a SelectPipe).
+     * If an AdjacencyCache is set, then only the misses of a batch are read from the provider.
+     *
+     * @param provider  the provider that reads the adjacent vertices of a batch (null to disable batching)
+     * @param batchSize the maximum number of start vertices in a batch
+     */
+    public void enableBatching(final BatchAdjacencyProvider provider, final int batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("The batch size must be greater than 0: " + batchSize);
+        this.batchProvider = provider;
+        this.batchSize = batchSize;
+    }
+
+    public BatchAdjacencyProvider getBatchAdjacencyProvider() {
+        return this.batchProvider;
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    public void setUpstreamAsPipe(final boolean upstreamAsPipe) {
+        this.upstreamAsPipe = upstreamAsPipe;
+    }
+
+    public boolean hasUpstreamAsPipe() {
+        return this.upstreamAsPipe;
+    }
+
+    /**
+     * Get the adjacent vertices of the next start vertex of the current batch. If the batch is exhausted, the next batch is read.
+     *
+     * @return the adjacent vertices of the next start vertex or null if there are no more starts
+     */
+    private Iterator<Vertex> nextBatchedEnds() {
+        if (null == this.adjacencies || this.adjacencyIndex == this.adjacencies.size()) {
+            this.batch.clear();
+            while (this.batch.size() < this.batchSize) {
+                final Object start = PipeHelper.nextOrEnd(this.starts);
+                if (start == END)
+                    break;
+                this.batch.add((Vertex) start);
+            }
+            if (this.batch.isEmpty()) {
+                this.adjacencies = null;
+                return null;
+            }
+            if (null != this.adjacencyCache && this.demand == -1l) {
+                this.adjacencies = this.adjacencyCache.getVertices(this.batch, this.direction, this.branchFactor, this.batchProvider, this.labels);
+            } else {
+                // the demand bounds the adjacency of each start (see DemandPipe.setDemand())
+                final int limit = PipeHelper.getLimit(this.branchFactor, this.demand, this.emitted);
+                this.adjacencies = this.batchProvider.getVertices(this.batch, this.direction, limit, this.labels);
+            }
+            this.adjacencyIndex = 0;
+        }
+        return this.adjacencies.get(this.adjacencyIndex++).iterator();
+    }
+
     public String toString() {
         return PipeHelper.makePipeString(this, direction.name().toLowerCase(), Arrays.asList(labels));
     }
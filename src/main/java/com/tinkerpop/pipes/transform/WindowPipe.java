@@ -0,0 +1,173 @@
+package com.tinkerpop.pipes.transform;
+
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BarrierPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.util.Clock;
+import com.tinkerpop.pipes.util.FastNoSuchElementException;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.structures.Path;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * WindowPipe emits its incoming objects in bounded windows (Lists) as soon as each window is full.
+ * Unlike GatherPipe, the incoming objects are not drained before the first window is emitted and thus, the stream keeps flowing.
+ * If a window function is provided, then the function is applied to each window and its results are emitted (like GatherFunctionPipe).
+ * This is useful for batch-capable functions such as bulk lookups or bulk writes that work on bounded chunks.
+ * <p/>
+ * A count-based window holds size objects. A tumbling window (the default) moves by size objects and a sliding window moves by slide objects.
+ * A time-based window holds the objects that arrived within duration milliseconds (according to the provided Clock) of its first object.
+ * As objects are pulled, a time-based window is only emitted when the next object arrives (or when the incoming objects are exhausted).
+ * When the incoming objects are exhausted, the last window is emitted if it holds objects that have not been emitted yet.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class WindowPipe<S, E> extends AbstractPipe<S, E> implements TransformPipe<S, E>, BarrierPipe<S, E> {
+
+    private final int size;
+    private final int slide;
+    private final long duration;
+    private final Clock clock;
+    private final PipeFunction<List<S>, E> windowFunction;
+
+    private final LinkedList<S> window = new LinkedList<S>();
+    private final LinkedList<List> windowPaths = new LinkedList<List>();
+    private int fresh = 0;
+    private long windowStart = 0l;
+    private List<List> listPaths = new ArrayList<List>();
+
+    /**
+     * @param size           the maximum number of objects in a window (-1 for no maximum when time-based)
+     * @param slide          the number of objects a window moves by (equal to size for a tumbling window)
+     * @param duration       the maximum time span of a window in milliseconds (-1 for a count-based window)
+     * @param clock          the clock of a time-based window
+     * @param windowFunction the function applied to each window (null to emit the windows)
+     */
+    public WindowPipe(final int size, final int slide, final long duration, final Clock clock, final PipeFunction<List<S>, E> windowFunction) {
+        if (duration == -1l && size < 1)
+            throw new IllegalArgumentException("The size of a count-based window must be greater than 0: " + size);
+        if (duration != -1l && (duration < 1l || slide != size))
+            throw new IllegalArgumentException("A time-based window must be tumbling and have a duration greater than 0");
+        if (size != -1 && (slide < 1 || slide > size))
+            throw new IllegalArgumentException("The slide of a window must be between 1 and its size: " + slide);
+        this.size = size;
+        this.slide = slide;
+        this.duration = duration;
+        this.clock = clock;
+        this.windowFunction = windowFunction;
+    }
+
+    public WindowPipe(final int size, final int slide, final PipeFunction<List<S>, E> windowFunction) {
+        this(size, slide, -1l, null, windowFunction);
+    }
+
+    public WindowPipe(final int size, final int slide) {
+        this(size, slide, null);
+    }
+
+    public WindowPipe(final int size) {
+        this(size, size);
+    }
+
+    public WindowPipe(final int size, final long duration, final Clock clock, final PipeFunction<List<S>, E> windowFunction) {
+        this(size, size, duration, clock, windowFunction);
+    }
+
+    protected E processNextStart() {
+        while (true) {
+            final Object s = PipeHelper.nextOrEnd(this.starts);
+            if (s == END) {
+                if (this.fresh > 0)
+                    return this.emit();
+                throw FastNoSuchElementException.instance();
+            }
+            final List path = this.pathEnabled ? this.getPathToHere() : null;
+            if (this.duration != -1l && this.fresh > 0 && this.clock.currentTimeMillis() - this.windowStart >= this.duration) {
+                final E e = this.emit();
+                this.add((S) s, path);
+                return e;
+            }
+            this.add((S) s, path);
+            if (this.window.size() == this.size)
+                return this.emit();
+        }
+    }
+
+    private void add(final S s, final List path) {
+        if (this.window.isEmpty() && null != this.clock)
+            this.windowStart = this.clock.currentTimeMillis();
+        this.window.add(s);
+        if (this.pathEnabled)
+            this.windowPaths.add(path);
+        this.fresh++;
+    }
+
+    private E emit() {
+        final List<S> list = new ArrayList<S>(this.window);
+        this.listPaths = new ArrayList<List>();
+        if (this.pathEnabled) {
+            for (final List path : this.windowPaths) {
+                this.listPaths.add(Path.copyOf(path));
+            }
+        }
+        // a tumbling window (or the last window) is cleared and a sliding window drops its slide oldest objects
+        if (this.size == -1 || this.slide == this.size || this.window.size() < this.size) {
+            this.window.clear();
+            this.windowPaths.clear();
+        } else {
+            for (int i = 0; i < this.slide; i++) {
+                this.window.removeFirst();
+                if (this.pathEnabled)
+                    this.windowPaths.removeFirst();
+            }
+        }
+        this.fresh = 0;
+
+        final E e = null == this.windowFunction ? (E) list : this.windowFunction.compute(list);
+        if (this.pathEnabled) {
+            final List endList = e instanceof List ? (List) e : Arrays.asList(e);
+            for (final List path : this.listPaths) {
+                path.add(endList);
+            }
+        }
+        return e;
+    }
+
+    public List getCurrentPath() {
+        if (this.pathEnabled)
+            return new ArrayList(this.listPaths);
+        else
+            throw new RuntimeException(Pipe.NO_PATH_MESSAGE);
+    }
+
+    public void reset() {
+        this.window.clear();
+        this.windowPaths.clear();
+        this.fresh = 0;
+        this.listPaths = new ArrayList<List>();
+        super.reset();
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public int getSlide() {
+        return this.slide;
+    }
+
+    public long getDuration() {
+        return this.duration;
+    }
+
+    public String toString() {
+        return this.duration == -1l ?
+                PipeHelper.makePipeString(this, this.size, this.slide) :
+                PipeHelper.makePipeString(this, this.size, this.duration + "ms");
+    }
+}
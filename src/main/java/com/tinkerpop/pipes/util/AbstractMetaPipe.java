@@ -17,9 +17,16 @@ public abstract class AbstractMetaPipe<S, E> extends AbstractPipe<S, E> implemen
     }
 
     public void reset() {
+        this.resetPipes();
+        super.reset();
+    }
+
+    /**
+     * Reset the internal pipes of the MetaPipe. This is called by reset() before the MetaPipe itself is reset.
+     */
+    protected void resetPipes() {
         for (final Pipe pipe : this.getPipes()) {
             pipe.reset();
         }
-        super.reset();
     }
 }
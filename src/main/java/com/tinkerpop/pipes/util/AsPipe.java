@@ -26,6 +26,11 @@ public class AsPipe<S, E> extends AbstractMetaPipe<S, E> implements MetaPipe {
         this.starts = starts;
     }
 
+    public void setDemand(final long demand) {
+        super.setDemand(demand);
+        PipeHelper.setDemand(this.pipe, demand);
+    }
+
     protected List getPathToHere() {
         return this.pipe.getCurrentPath();
     }
@@ -0,0 +1,276 @@
+package com.tinkerpop.pipes.util;
+
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.util.iterators.HistoryIterator;
+import com.tinkerpop.pipes.util.structures.Path;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AsyncBoundaryPipe drains its starts (the upstream pipes) on a separate thread.
+ * The objects are handed to the consuming thread through a bounded single-producer/single-consumer ring buffer.
+ * Thus, the upstream pipes and the downstream pipes are evaluated in parallel (e.g. I/O-bound adjacency lookups upstream
+ * and CPU-bound functions downstream). The producer thread is started when the first object is requested.
+ * <p/>
+ * The producer thread is created by the provided ThreadFactory (by default, a daemon thread).
+ * On a JVM that supports virtual threads, a virtual thread factory can be provided.
+ * An exception thrown upstream is rethrown to the consuming thread after the objects emitted before it have been consumed.
+ * The producer thread stops once it has produced the demand of the pipe (e.g. a range filter downstream, see DemandPipe.setDemand()).
+ * It also stops when the buffer is full and the pipe is no longer referenced (i.e. the consumer was discarded).
+ * Otherwise, when the consumer is done early, close() or reset() should be called to stop the producer thread.
+ * <p/>
+ * The paths of the upstream objects are only transferred when path calculations are enabled before the first object is requested.
+ * Note that the downstream pipes can not consistently reference the current ends of upstream pipes (e.g. AsPipe) across the boundary.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class AsyncBoundaryPipe<S> extends AbstractPipe<S, S> {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger(0);
+    private static final long MAX_PARK_NANOS = 1000000l;
+
+    private final int capacity;
+    private final ThreadFactory threadFactory;
+    private final Channel channel;
+
+    private Thread producer = null;
+    private List currentPath;
+
+    public AsyncBoundaryPipe(final int capacity, final ThreadFactory threadFactory) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("The capacity must be at least 1");
+        this.capacity = capacity;
+        this.threadFactory = threadFactory;
+        this.channel = new Channel(capacity);
+    }
+
+    public AsyncBoundaryPipe(final int capacity) {
+        this(capacity, new ThreadFactory() {
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "pipes-async-" + THREAD_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    public void setStarts(final Iterator<S> starts) {
+        this.close();
+        super.setStarts(starts);
+    }
+
+    protected S processNextStart() {
+        final Object s = this.processNextStartOrEnd();
+        if (s == END)
+            throw FastNoSuchElementException.instance();
+        return (S) s;
+    }
+
+    protected Object processNextStartOrEnd() {
+        if (null == this.producer)
+            this.startProducer();
+
+        final Channel channel = this.channel;
+        final long index = channel.head;
+        while (index == channel.tail) {
+            if (channel.done) {
+                // the producer publishes its last object before it is done
+                if (index != channel.tail)
+                    break;
+                if (null != channel.failure)
+                    this.rethrowFailure();
+                return END;
+            }
+            channel.consumer = Thread.currentThread();
+            channel.consumerWaiting = true;
+            if (index == channel.tail && !channel.done)
+                LockSupport.parkNanos(this, MAX_PARK_NANOS);
+            channel.consumerWaiting = false;
+        }
+
+        final int slot = (int) (index % this.capacity);
+        final Object s = channel.buffer[slot];
+        channel.buffer[slot] = null;
+        if (this.pathEnabled) {
+            this.currentPath = channel.paths[slot];
+            channel.paths[slot] = null;
+        }
+        channel.head = index + 1;
+        if (channel.producerWaiting)
+            LockSupport.unpark(this.producer);
+        return s;
+    }
+
+    private void startProducer() {
+        // the producer does not reference the pipe and thus, the pipe can be garbage collected while the producer is parked
+        this.producer = this.threadFactory.newThread(new Producer(new WeakReference<AsyncBoundaryPipe>(this), this.channel, this.starts, this.pathEnabled, this.demand));
+        this.producer.start();
+    }
+
+    protected List getPathToHere() {
+        if (null == this.currentPath)
+            return new Path();
+        else
+            return Path.copyOf(this.currentPath);
+    }
+
+    private void rethrowFailure() {
+        final Throwable failure = this.channel.failure;
+        if (failure instanceof RuntimeException)
+            throw (RuntimeException) failure;
+        else if (failure instanceof Error)
+            throw (Error) failure;
+        else
+            throw new RuntimeException(failure.getMessage(), failure);
+    }
+
+    /**
+     * Stop the producer thread and wait for it to terminate. Any objects in the buffer are discarded.
+     * The starts are not reset and thus, the objects already drained from the starts are lost.
+     */
+    public void close() {
+        if (null != this.producer) {
+            this.channel.stopped = true;
+            LockSupport.unpark(this.producer);
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    this.producer.join();
+                    break;
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted)
+                Thread.currentThread().interrupt();
+            this.producer = null;
+        }
+        this.channel.clear();
+        this.currentPath = null;
+    }
+
+    public void reset() {
+        this.close();
+        super.reset();
+    }
+
+    protected long getStartsDemand() {
+        // one end per start
+        return this.demand;
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    public String toString() {
+        return PipeHelper.makePipeString(this, this.capacity);
+    }
+
+    /**
+     * The single-producer/single-consumer ring buffer shared by the pipe and its producer thread.
+     */
+    private static class Channel {
+
+        private final int capacity;
+        private final Object[] buffer;
+        private final List[] paths;
+
+        private volatile long head = 0l;
+        private volatile long tail = 0l;
+        private volatile boolean done = false;
+        private volatile boolean stopped = false;
+        private volatile Throwable failure = null;
+        private volatile Thread consumer = null;
+        private volatile boolean consumerWaiting = false;
+        private volatile boolean producerWaiting = false;
+
+        public Channel(final int capacity) {
+            this.capacity = capacity;
+            this.buffer = new Object[capacity];
+            this.paths = new List[capacity];
+        }
+
+        public void clear() {
+            for (int i = 0; i < this.capacity; i++) {
+                this.buffer[i] = null;
+                this.paths[i] = null;
+            }
+            this.head = 0l;
+            this.tail = 0l;
+            this.done = false;
+            this.stopped = false;
+            this.failure = null;
+            this.consumer = null;
+        }
+    }
+
+    /**
+     * Drains the starts into the channel until the starts are exhausted, the demand is met, the pipe is closed,
+     * or the pipe is garbage collected while the channel is full.
+     */
+    private static class Producer implements Runnable {
+
+        private final WeakReference<AsyncBoundaryPipe> pipe;
+        private final Channel channel;
+        private final Iterator starts;
+        private final boolean transferPaths;
+        private final long demand;
+
+        public Producer(final WeakReference<AsyncBoundaryPipe> pipe, final Channel channel, final Iterator starts, final boolean transferPaths, final long demand) {
+            this.pipe = pipe;
+            this.channel = channel;
+            this.starts = starts;
+            this.transferPaths = transferPaths;
+            this.demand = demand;
+        }
+
+        public void run() {
+            final Channel channel = this.channel;
+            try {
+                long produced = 0l;
+                Object s;
+                while (!channel.stopped && produced != this.demand && (s = PipeHelper.nextOrEnd(this.starts)) != END) {
+                    final List path = this.transferPaths ? this.getUpstreamPath() : null;
+                    final long index = channel.tail;
+                    while (index - channel.head == channel.capacity) {
+                        if (channel.stopped || null == this.pipe.get())
+                            return;
+                        channel.producerWaiting = true;
+                        if (index - channel.head == channel.capacity && !channel.stopped)
+                            LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                        channel.producerWaiting = false;
+                    }
+                    final int slot = (int) (index % channel.capacity);
+                    channel.buffer[slot] = s;
+                    channel.paths[slot] = path;
+                    channel.tail = index + 1;
+                    produced++;
+                    if (channel.consumerWaiting)
+                        LockSupport.unpark(channel.consumer);
+                }
+            } catch (final Throwable e) {
+                channel.failure = e;
+            } finally {
+                channel.done = true;
+                if (channel.consumerWaiting)
+                    LockSupport.unpark(channel.consumer);
+            }
+        }
+
+        private List getUpstreamPath() {
+            if (this.starts instanceof Pipe)
+                return ((Pipe) this.starts).getCurrentPath();
+            else if (this.starts instanceof HistoryIterator)
+                return new Path().extend(((HistoryIterator) this.starts).getLast());
+            else
+                return new Path();
+        }
+    }
+}
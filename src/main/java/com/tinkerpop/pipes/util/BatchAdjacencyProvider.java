@@ -0,0 +1,68 @@
+package com.tinkerpop.pipes.util;
+
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Vertex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A BatchAdjacencyProvider reads the adjacencies of many vertices at once (see VerticesVerticesPipe.enableBatching()).
+ * A graph-specific provider can read the adjacencies of a batch of vertices in a single round trip to the graph (e.g. a multi-get).
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface BatchAdjacencyProvider {
+
+    /**
+     * Reads the adjacency of each vertex of the batch from the vertex itself (i.e. one round trip per vertex).
+     */
+    public static final BatchAdjacencyProvider LOOP = new BatchAdjacencyProvider() {
+        public List<List<Vertex>> getVertices(final List<Vertex> vertices, final Direction direction, final int limit, final String... labels) {
+            final List<List<Vertex>> adjacencies = new ArrayList<List<Vertex>>(vertices.size());
+            for (final Vertex vertex : vertices) {
+                final List<Vertex> adjacency = new ArrayList<Vertex>();
+                PipeHelper.fillCollection(limit == Integer.MAX_VALUE ?
+                        vertex.getVertices(direction, labels).iterator() :
+                        vertex.query().direction(direction).labels(labels).limit(limit).vertices().iterator(), adjacency);
+                adjacencies.add(adjacency);
+            }
+            return adjacencies;
+        }
+
+        public List<List<Edge>> getEdges(final List<Vertex> vertices, final Direction direction, final int limit, final String... labels) {
+            final List<List<Edge>> adjacencies = new ArrayList<List<Edge>>(vertices.size());
+            for (final Vertex vertex : vertices) {
+                final List<Edge> adjacency = new ArrayList<Edge>();
+                PipeHelper.fillCollection(limit == Integer.MAX_VALUE ?
+                        vertex.getEdges(direction, labels).iterator() :
+                        vertex.query().direction(direction).labels(labels).limit(limit).edges().iterator(), adjacency);
+                adjacencies.add(adjacency);
+            }
+            return adjacencies;
+        }
+    };
+
+    /**
+     * Get the adjacent vertices of each vertex of the batch.
+     *
+     * @param vertices  the batch of vertices
+     * @param direction the direction of the edges to the adjacent vertices
+     * @param limit     the maximum number of adjacent vertices per vertex (Integer.MAX_VALUE for no maximum)
+     * @param labels    the labels of the edges to the adjacent vertices
+     * @return the adjacent vertices of each vertex in the order of the batch
+     */
+    public List<List<Vertex>> getVertices(final List<Vertex> vertices, final Direction direction, final int limit, final String... labels);
+
+    /**
+     * Get the incident edges of each vertex of the batch.
+     *
+     * @param vertices  the batch of vertices
+     * @param direction the direction of the incident edges
+     * @param limit     the maximum number of incident edges per vertex (Integer.MAX_VALUE for no maximum)
+     * @param labels    the labels of the incident edges
+     * @return the incident edges of each vertex in the order of the batch
+     */
+    public List<List<Edge>> getEdges(final List<Vertex> vertices, final Direction direction, final int limit, final String... labels);
+}
@@ -0,0 +1,26 @@
+package com.tinkerpop.pipes.util;
+
+/**
+ * A Clock provides the current time to time-based pipes (e.g. the time-based windows of WindowPipe).
+ * A pluggable clock allows for a logical clock (e.g. the event time of the objects) or a manual clock in tests.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface Clock {
+
+    /**
+     * The clock of the system (see System.currentTimeMillis()).
+     */
+    public static final Clock SYSTEM = new Clock() {
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    /**
+     * Get the current time of the clock.
+     *
+     * @return the current time in milliseconds
+     */
+    public long currentTimeMillis();
+}
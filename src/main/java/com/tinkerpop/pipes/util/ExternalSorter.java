@@ -0,0 +1,291 @@
+package com.tinkerpop.pipes.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * ExternalSorter sorts more objects than are to be held in memory.
+ * The added objects are buffered in runs of a bounded size. A full run is sorted and spilled to a temporary file via a Serializer.
+ * When the objects are sorted, the spilled runs (and the run still in memory) are merged with a k-way merge that reads one object per run at a time.
+ * Objects that compare as equal are returned in the order they were added.
+ * <p/>
+ * The size of a run is bounded by a number of objects and/or a number of bytes.
+ * The byte budget is converted into a number of objects using the serialized size of the first added object as the size of every object.
+ * The temporary files of a run are deleted when the run is exhausted by the merge or when the sorter is cleared.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class ExternalSorter<S> {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final Comparator<S> comparator;
+    private final Serializer<S> serializer;
+    private final int runSize;
+    private final long byteBudget;
+    private final File directory;
+
+    private final List<S> buffer = new ArrayList<S>();
+    private final List<Run> runs = new ArrayList<Run>();
+    private final List<Run> merging = new ArrayList<Run>();
+    private int bufferSize;
+
+    /**
+     * @param comparator the comparator that determines the sort order
+     * @param serializer the serializer of the spilled objects
+     * @param runSize    the maximum number of objects held in memory (-1 for no maximum)
+     * @param byteBudget the maximum number of (serialized) bytes held in memory (-1 for no maximum)
+     * @param directory  the directory of the temporary files (null for the default temporary directory)
+     */
+    public ExternalSorter(final Comparator<S> comparator, final Serializer<S> serializer, final int runSize, final long byteBudget, final File directory) {
+        if (runSize == -1 && byteBudget == -1l)
+            throw new IllegalArgumentException("The run size and/or the byte budget must be provided");
+        if (runSize == 0 || runSize < -1 || byteBudget == 0l || byteBudget < -1l)
+            throw new IllegalArgumentException("The run size and the byte budget must be greater than 0 (or -1)");
+        this.comparator = comparator;
+        this.serializer = serializer;
+        this.runSize = runSize;
+        this.byteBudget = byteBudget;
+        this.directory = directory;
+        this.bufferSize = runSize;
+    }
+
+    public ExternalSorter(final Comparator<S> comparator, final Serializer<S> serializer, final int runSize) {
+        this(comparator, serializer, runSize, -1l, null);
+    }
+
+    /**
+     * Add an object to be sorted. If the current run is full, then it is sorted and spilled to disk.
+     *
+     * @param object the object to sort
+     */
+    public void add(final S object) {
+        if (this.buffer.isEmpty() && this.runs.isEmpty() && this.byteBudget != -1l)
+            this.bufferSize = this.estimateBufferSize(object);
+        this.buffer.add(object);
+        if (this.buffer.size() >= this.bufferSize)
+            this.spill();
+    }
+
+    /**
+     * Sort the added objects. The sorter is emptied and thus, can be reused to sort another set of objects.
+     * The temporary files are deleted as the returned iterator is exhausted. Sorting again invalidates the iterator of the previous sort.
+     *
+     * @return an iterator of the sorted objects
+     */
+    public Iterator<S> sort() {
+        this.closeMerging();
+        Collections.sort(this.buffer, this.comparator);
+        if (this.runs.isEmpty()) {
+            final List<S> sorted = new ArrayList<S>(this.buffer);
+            this.buffer.clear();
+            return sorted.iterator();
+        }
+        this.merging.addAll(this.runs);
+        this.runs.clear();
+        if (!this.buffer.isEmpty())
+            this.merging.add(new Run(new ArrayList<S>(this.buffer).iterator(), this.merging.size()));
+        this.buffer.clear();
+        return new MergeIterator(this.merging);
+    }
+
+    /**
+     * Get the number of runs that have been spilled to disk (and not deleted yet).
+     *
+     * @return the number of spilled runs
+     */
+    public int getSpilledRuns() {
+        int count = 0;
+        for (final Run run : this.runs) {
+            if (null != run.file)
+                count++;
+        }
+        for (final Run run : this.merging) {
+            if (null != run.file)
+                count++;
+        }
+        return count;
+    }
+
+    /**
+     * Remove all the added objects and delete the temporary files of the sorter.
+     */
+    public void clear() {
+        this.closeMerging();
+        for (final Run run : this.runs) {
+            run.close();
+        }
+        this.runs.clear();
+        this.buffer.clear();
+    }
+
+    private void closeMerging() {
+        for (final Run run : this.merging) {
+            run.close();
+        }
+        this.merging.clear();
+    }
+
+    private int estimateBufferSize(final S object) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream output = new DataOutputStream(bytes);
+            this.serializer.write(object, output);
+            output.flush();
+            final long size = Math.max(1l, this.byteBudget / Math.max(1, bytes.size()));
+            return (int) (this.runSize == -1 ? Math.min(size, Integer.MAX_VALUE) : Math.min(size, this.runSize));
+        } catch (final IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    private void spill() {
+        Collections.sort(this.buffer, this.comparator);
+        File file = null;
+        DataOutputStream output = null;
+        try {
+            file = File.createTempFile("pipes-sort-", ".run", this.directory);
+            final FileChannel channel = new FileOutputStream(file).getChannel();
+            output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+            for (final S object : this.buffer) {
+                this.serializer.write(object, output);
+            }
+            output.close();
+            output = null;
+            this.runs.add(new Run(file, this.buffer.size(), this.runs.size()));
+            this.buffer.clear();
+        } catch (final IOException e) {
+            if (null != output) {
+                try {
+                    output.close();
+                } catch (final IOException ignored) {
+                }
+            }
+            if (null != file)
+                file.delete();
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A sorted run of objects that is either read from a temporary file or from memory.
+     */
+    private class Run {
+
+        private final int index;
+        private File file;
+        private DataInputStream input;
+        private int remaining;
+        private Iterator<S> objects;
+        private S head;
+
+        public Run(final File file, final int size, final int index) {
+            this.file = file;
+            this.remaining = size;
+            this.index = index;
+        }
+
+        public Run(final Iterator<S> objects, final int index) {
+            this.objects = objects;
+            this.index = index;
+        }
+
+        /**
+         * Move the head of the run to its next object.
+         *
+         * @return false if the run is exhausted
+         */
+        public boolean advance() {
+            if (null != this.objects) {
+                if (this.objects.hasNext()) {
+                    this.head = this.objects.next();
+                    return true;
+                }
+            } else if (this.remaining > 0) {
+                try {
+                    if (null == this.input) {
+                        final FileChannel channel = new FileInputStream(this.file).getChannel();
+                        this.input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+                    }
+                    this.head = serializer.read(this.input);
+                    this.remaining--;
+                    return true;
+                } catch (final IOException e) {
+                    this.close();
+                    throw new RuntimeException(e.getMessage(), e);
+                }
+            }
+            this.close();
+            return false;
+        }
+
+        public void close() {
+            this.head = null;
+            this.objects = null;
+            if (null != this.input) {
+                try {
+                    this.input.close();
+                } catch (final IOException ignored) {
+                }
+                this.input = null;
+            }
+            if (null != this.file) {
+                this.file.delete();
+                this.file = null;
+            }
+        }
+    }
+
+    private class MergeIterator implements Iterator<S> {
+
+        private final PriorityQueue<Run> queue;
+
+        public MergeIterator(final List<Run> runs) {
+            this.queue = new PriorityQueue<Run>(runs.size(), new Comparator<Run>() {
+                public int compare(final Run a, final Run b) {
+                    final int comparison = comparator.compare(a.head, b.head);
+                    // runs are in the order they were added and thus, the earlier run wins a tie
+                    return comparison != 0 ? comparison : a.index - b.index;
+                }
+            });
+            for (final Run run : runs) {
+                if (run.advance())
+                    this.queue.add(run);
+            }
+        }
+
+        public boolean hasNext() {
+            return !this.queue.isEmpty();
+        }
+
+        public S next() {
+            final Run run = this.queue.poll();
+            if (null == run)
+                throw new NoSuchElementException();
+            final S object = run.head;
+            if (run.advance())
+                this.queue.add(run);
+            return object;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -123,6 +123,44 @@ public class FluentUtility {
         }
     }
 
+    /**
+     * Fuses the runs of TransformFunctionPipes, FilterFunctionPipes and SideEffectFunctionPipes in the pipeline into FusedPipes.
+     * AsPipes and any other pipes are not fused and thus, they are the boundaries of the runs.
+     * A run at the start of the pipeline is only fused if the starts of the pipeline are known.
+     * The pipes of the pipeline (see Pipeline.getPipes()) are not altered. Instead, the fused pipes are chained in their place.
+     *
+     * @param pipeline the pipeline to fuse
+     * @return the chain of pipes that the pipeline evaluates
+     */
+    public static List<Pipe> fusePipes(final Pipeline pipeline) {
+        final List<Pipe> pipes = pipeline.getPipes();
+        final List<Pipe> fusedPipes = new ArrayList<Pipe>();
+        boolean fusedStartPipe = false;
+        int i = 0;
+        while (i < pipes.size()) {
+            int j = i;
+            while (j < pipes.size() && FusedPipe.isFusible(pipes.get(j))) {
+                j++;
+            }
+            if (j - i > 1 && (i > 0 || null != pipeline.getStarts())) {
+                fusedPipes.add(new FusedPipe(pipes.subList(i, j)));
+                fusedStartPipe = fusedStartPipe || i == 0;
+                i = j;
+            } else {
+                fusedPipes.addAll(pipes.subList(i, Math.max(i + 1, j)));
+                i = Math.max(i + 1, j);
+            }
+        }
+        if (fusedPipes.size() != pipes.size()) {
+            pipeline.setPipes(fusedPipes);
+            if (fusedStartPipe)
+                pipeline.startPipe.setStarts(pipeline.getStarts());
+            if (pipeline.pathEnabled)
+                pipeline.enablePath(true);
+        }
+        return fusedPipes;
+    }
+
     public static PipeFunction prepareFunction(final AsMap asMap, final PipeFunction function) {
         if (function instanceof PipesFunction)
             ((PipesFunction) function).setAsMap(asMap);
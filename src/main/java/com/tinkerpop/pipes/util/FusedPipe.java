@@ -0,0 +1,154 @@
+package com.tinkerpop.pipes.util;
+
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.PushPipe;
+import com.tinkerpop.pipes.Sink;
+import com.tinkerpop.pipes.filter.FilterFunctionPipe;
+import com.tinkerpop.pipes.sideeffect.SideEffectFunctionPipe;
+import com.tinkerpop.pipes.transform.TransformFunctionPipe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A FusedPipe evaluates a run of TransformFunctionPipes, FilterFunctionPipes and SideEffectFunctionPipes in a single pipe.
+ * The PipeFunctions of the fused pipes are computed in order on each start and thus, the objects do not pass through
+ * the lookahead state of each individual pipe. The fused pipes are not connected and are only provided for inspection.
+ * When path calculations are enabled, the path is the same as the path of the last pipe in the original run.
+ * See FluentUtility.fusePipes() for fusing the pipes of a Pipeline.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class FusedPipe<S, E> extends AbstractPipe<S, E> implements PushPipe<S, E> {
+
+    private static final int TRANSFORM = 0;
+    private static final int FILTER = 1;
+    private static final int SIDE_EFFECT = 2;
+
+    private final List<Pipe> pipes;
+    private final int[] types;
+    private final PipeFunction[] functions;
+    private final Object[] stageEnds;
+
+    public FusedPipe(final List<Pipe> pipes) {
+        this.pipes = new ArrayList<Pipe>(pipes);
+        this.types = new int[pipes.size()];
+        this.functions = new PipeFunction[pipes.size()];
+        this.stageEnds = new Object[pipes.size()];
+        for (int i = 0; i < pipes.size(); i++) {
+            final Pipe pipe = pipes.get(i);
+            if (pipe.getClass().equals(TransformFunctionPipe.class)) {
+                this.types[i] = TRANSFORM;
+                this.functions[i] = ((TransformFunctionPipe) pipe).getTransformFunction();
+            } else if (pipe.getClass().equals(FilterFunctionPipe.class)) {
+                this.types[i] = FILTER;
+                this.functions[i] = ((FilterFunctionPipe) pipe).getFilterFunction();
+            } else if (pipe.getClass().equals(SideEffectFunctionPipe.class)) {
+                this.types[i] = SIDE_EFFECT;
+                this.functions[i] = ((SideEffectFunctionPipe) pipe).getSideEffectFunction();
+            } else {
+                throw new IllegalArgumentException("The pipe can not be fused: " + pipe);
+            }
+        }
+    }
+
+    /**
+     * Determines if the provided pipe can be fused into a FusedPipe.
+     * Only the exact classes TransformFunctionPipe, FilterFunctionPipe and SideEffectFunctionPipe are stateless enough to be fused.
+     *
+     * @param pipe the pipe to check
+     * @return whether the pipe can be fused
+     */
+    public static boolean isFusible(final Pipe pipe) {
+        final Class pipeClass = pipe.getClass();
+        return pipeClass.equals(TransformFunctionPipe.class) || pipeClass.equals(FilterFunctionPipe.class) || pipeClass.equals(SideEffectFunctionPipe.class);
+    }
+
+    public List<Pipe> getFusedPipes() {
+        return this.pipes;
+    }
+
+    protected E processNextStart() {
+        final Object end = this.processNextStartOrEnd();
+        if (end == END)
+            throw FastNoSuchElementException.instance();
+        return (E) end;
+    }
+
+    protected Object processNextStartOrEnd() {
+        while (true) {
+            final Object start = PipeHelper.nextOrEnd(this.starts);
+            if (start == END)
+                return END;
+            final Object end = this.compute(start);
+            if (end != END)
+                return end;
+        }
+    }
+
+    public Sink<S> createSink(final Sink<E> sink) {
+        return new Sink<S>() {
+            public boolean push(final S s) {
+                final Object end = compute(s);
+                return end == END || sink.push((E) end);
+            }
+        };
+    }
+
+    /**
+     * Computes the fused functions on the start.
+     *
+     * @param start the start to compute the functions on
+     * @return the end of the fused pipes or AbstractPipe.END if a filter did not allow the start to pass
+     */
+    private Object compute(final Object start) {
+        Object end = start;
+        for (int i = 0; i < this.functions.length; i++) {
+            switch (this.types[i]) {
+                case TRANSFORM:
+                    end = this.functions[i].compute(end);
+                    break;
+                case FILTER:
+                    if (!((Boolean) this.functions[i].compute(end)))
+                        return END;
+                    break;
+                default:
+                    this.functions[i].compute(end);
+            }
+            if (this.pathEnabled)
+                this.stageEnds[i] = end;
+        }
+        return end;
+    }
+
+    public List getCurrentPath() {
+        if (this.pathEnabled) {
+            final List pathElements = this.getPathToHere();
+            for (int i = 0; i < this.types.length; i++) {
+                if (this.types[i] == TRANSFORM) {
+                    pathElements.add(this.stageEnds[i]);
+                } else if (this.types[i] == SIDE_EFFECT) {
+                    final int size = pathElements.size();
+                    if (size == 0 || pathElements.get(size - 1) != this.stageEnds[i])
+                        pathElements.add(this.stageEnds[i]);
+                }
+            }
+            return pathElements;
+        } else {
+            throw new RuntimeException(Pipe.NO_PATH_MESSAGE);
+        }
+    }
+
+    public void reset() {
+        for (int i = 0; i < this.stageEnds.length; i++) {
+            this.stageEnds[i] = null;
+        }
+        super.reset();
+    }
+
+    public String toString() {
+        return PipeHelper.makePipeString(this, this.pipes);
+    }
+}
@@ -0,0 +1,40 @@
+package com.tinkerpop.pipes.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+/**
+ * JavaSerializer uses Java serialization to write and read Serializable objects.
+ * Each object is written as a length-prefixed array of bytes. It is generic but slow and thus, a dedicated Serializer should be used for large streams.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class JavaSerializer<T> implements Serializer<T> {
+
+    public void write(final T object, final DataOutput output) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream objectOutput = new ObjectOutputStream(bytes);
+        objectOutput.writeObject(object);
+        objectOutput.close();
+        output.writeInt(bytes.size());
+        output.write(bytes.toByteArray());
+    }
+
+    public T read(final DataInput input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        final ObjectInputStream objectInput = new ObjectInputStream(new ByteArrayInputStream(bytes));
+        try {
+            return (T) objectInput.readObject();
+        } catch (final ClassNotFoundException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            objectInput.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.tinkerpop.pipes.util;
+
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Vertex;
+
+import java.util.List;
+
+/**
+ * LatencyBatchAdjacencyProvider simulates a remote graph over an in-memory graph (e.g. a TinkerGraph) for tests and benchmarks.
+ * Every call to the provider is a round trip that is delayed by a fixed latency and counted.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class LatencyBatchAdjacencyProvider implements BatchAdjacencyProvider {
+
+    private final BatchAdjacencyProvider provider;
+    private final long latencyMillis;
+    private long roundTrips = 0l;
+
+    /**
+     * @param provider      the provider that reads the adjacencies
+     * @param latencyMillis the latency of a round trip in milliseconds
+     */
+    public LatencyBatchAdjacencyProvider(final BatchAdjacencyProvider provider, final long latencyMillis) {
+        this.provider = provider;
+        this.latencyMillis = latencyMillis;
+    }
+
+    public LatencyBatchAdjacencyProvider(final long latencyMillis) {
+        this(BatchAdjacencyProvider.LOOP, latencyMillis);
+    }
+
+    public List<List<Vertex>> getVertices(final List<Vertex> vertices, final Direction direction, final int limit, final String... labels) {
+        this.roundTrip();
+        return this.provider.getVertices(vertices, direction, limit, labels);
+    }
+
+    public List<List<Edge>> getEdges(final List<Vertex> vertices, final Direction direction, final int limit, final String... labels) {
+        this.roundTrip();
+        return this.provider.getEdges(vertices, direction, limit, labels);
+    }
+
+    /**
+     * Get the number of round trips (i.e. calls) to the provider.
+     *
+     * @return the number of round trips
+     */
+    public long getRoundTrips() {
+        return this.roundTrips;
+    }
+
+    private void roundTrip() {
+        this.roundTrips++;
+        if (this.latencyMillis > 0l) {
+            try {
+                Thread.sleep(this.latencyMillis);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.tinkerpop.pipes.util;
+
+import com.tinkerpop.pipes.BarrierPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.sideeffect.SideEffectPipe;
+import com.tinkerpop.pipes.util.iterators.MultiIterator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * ParallelPipelineExecutor evaluates a pipeline over chunks of its starts using multiple threads.
+ * As a pipeline maintains per-instance state, a pipeline can not be shared between threads.
+ * Thus, the plan factory is used to construct one pipeline per worker, where the argument of the factory is the index of the worker.
+ * The starts are read in chunks (e.g. from a List or from a graph scan such as GraphQueryPipe) and each worker evaluates the chunks it takes.
+ * <p/>
+ * When all the chunks have been evaluated, the side effects of the workers (see SideEffectPipe.MergeableSideEffectPipe)
+ * are merged into the side effects of the pipeline of worker 0. Therefore, the data structures of the side effects should not be
+ * shared between the pipelines of the factory (e.g. only provide a user data structure to the pipeline with index 0).
+ * <p/>
+ * Pipes that require all their starts in a single order (see BarrierPipe) are barriers (e.g. OrderPipe, RangeFilterPipe, GatherPipe).
+ * This includes AggregatePipe, which aggregates all its starts before it emits any, and the side effect pipes that can not be merged.
+ * The mergeable side effect pipes that emit each start as it is processed (e.g. GroupCountPipe, CountPipe, TablePipe) are not barriers.
+ * The pipes before the first barrier are evaluated in parallel and their results are gathered in the order of the starts.
+ * The barrier and the pipes after it are then evaluated by the calling thread using the pipeline of worker 0.
+ * If path calculations are enabled or if named steps precede the barrier, the pipeline is evaluated by the calling thread entirely.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class ParallelPipelineExecutor<S, E> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private static final int COUNT = 0;
+    private static final int ITERATE = 1;
+    private static final int FILL = 2;
+
+    private final PipeFunction<Integer, Pipeline<S, E>> planFactory;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int chunkSize;
+
+    public ParallelPipelineExecutor(final PipeFunction<Integer, Pipeline<S, E>> planFactory, final ExecutorService executor, final int parallelism, final int chunkSize) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        if (chunkSize < 1)
+            throw new IllegalArgumentException("The chunk size must be at least 1");
+        this.planFactory = planFactory;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    public ParallelPipelineExecutor(final PipeFunction<Integer, Pipeline<S, E>> planFactory, final ExecutorService executor, final int parallelism) {
+        this(planFactory, executor, parallelism, DEFAULT_CHUNK_SIZE);
+    }
+
+    public long count(final Iterator<S> starts) {
+        return this.execute(starts, COUNT, null);
+    }
+
+    public void iterate(final Iterator<S> starts) {
+        this.execute(starts, ITERATE, null);
+    }
+
+    public List<E> toList(final Iterator<S> starts) {
+        final List<E> list = new ArrayList<E>();
+        this.execute(starts, FILL, list);
+        return list;
+    }
+
+    public Collection<E> fill(final Iterator<S> starts, final Collection<E> collection) {
+        this.execute(starts, FILL, collection);
+        return collection;
+    }
+
+    private long execute(final Iterator<S> starts, final int mode, final Collection<E> collection) {
+        final List<Pipeline<S, E>> plans = new ArrayList<Pipeline<S, E>>(this.parallelism);
+        for (int i = 0; i < this.parallelism; i++) {
+            plans.add(this.planFactory.compute(i));
+        }
+        final Pipeline<S, E> mergedPlan = plans.get(0);
+        final int barrier = ParallelPipelineExecutor.getBarrierIndex(mergedPlan);
+        if (barrier == 0) {
+            mergedPlan.setStarts(starts);
+            return ParallelPipelineExecutor.evaluate(mergedPlan, mode, collection);
+        }
+
+        final int size = mergedPlan.size();
+        final boolean gather = barrier < size || mode == FILL;
+        final ChunkedIterator<S> chunks = new ChunkedIterator<S>(starts, this.chunkSize);
+        final Map<Integer, List> results = new TreeMap<Integer, List>();
+        final long[] counts = new long[this.parallelism];
+
+        final List<Future> futures = new ArrayList<Future>(this.parallelism);
+        for (int i = 0; i < this.parallelism; i++) {
+            final int worker = i;
+            final Pipeline prefix = new Pipeline(plans.get(i).getPipes().subList(0, barrier));
+            futures.add(this.executor.submit(new Callable<Object>() {
+                public Object call() {
+                    try {
+                        Chunk<S> chunk;
+                        while (null != (chunk = chunks.nextChunk())) {
+                            prefix.setStarts(chunk.objects.iterator());
+                            if (gather) {
+                                final List list = prefix.toList();
+                                synchronized (results) {
+                                    results.put(chunk.index, list);
+                                }
+                            } else if (mode == COUNT) {
+                                counts[worker] = counts[worker] + prefix.count();
+                            } else {
+                                prefix.iterate();
+                            }
+                        }
+                        return null;
+                    } catch (final RuntimeException e) {
+                        chunks.stop();
+                        throw e;
+                    }
+                }
+            }));
+        }
+        for (final Future future : futures) {
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                chunks.stop();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e.getMessage(), e);
+            } catch (final ExecutionException e) {
+                chunks.stop();
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        final List<Pipe> mergedPipes = mergedPlan.getPipes().subList(0, barrier);
+        for (int i = 1; i < this.parallelism; i++) {
+            ParallelPipelineExecutor.mergeSideEffects(mergedPipes, plans.get(i).getPipes().subList(0, barrier));
+        }
+
+        if (gather) {
+            final List<Iterator> iterators = new ArrayList<Iterator>(results.size());
+            for (final List list : results.values()) {
+                iterators.add(list.iterator());
+            }
+            final Iterator merged = new MultiIterator(iterators);
+            if (barrier < size) {
+                final Pipeline suffix = new Pipeline(mergedPlan.getPipes().subList(barrier, size));
+                suffix.setStarts(merged);
+                return ParallelPipelineExecutor.evaluate(suffix, mode, collection);
+            } else {
+                PipeHelper.fillCollection(merged, collection);
+                return 0l;
+            }
+        } else {
+            long count = 0l;
+            for (final long workerCount : counts) {
+                count = count + workerCount;
+            }
+            return count;
+        }
+    }
+
+    private static long evaluate(final Pipeline pipeline, final int mode, final Collection collection) {
+        if (mode == COUNT)
+            return pipeline.count();
+        else if (mode == ITERATE)
+            pipeline.iterate();
+        else
+            pipeline.fill(collection);
+        return 0l;
+    }
+
+    /**
+     * Get the index of the first pipe of the pipeline that can not be evaluated over chunks of the starts.
+     *
+     * @param pipeline the pipeline to analyze
+     * @return the index of the first barrier or the size of the pipeline if there is no barrier
+     */
+    private static int getBarrierIndex(final Pipeline pipeline) {
+        if (pipeline.pathEnabled)
+            return 0;
+        final List<Pipe> pipes = pipeline.getPipes();
+        boolean namedSteps = false;
+        for (int i = 0; i < pipes.size(); i++) {
+            final Pipe pipe = pipes.get(i);
+            if (ParallelPipelineExecutor.isBarrier(pipe))
+                return namedSteps ? 0 : i;
+            namedSteps = namedSteps || pipe instanceof AsPipe || (pipe instanceof MetaPipe && !FluentUtility.getAsPipes((MetaPipe) pipe).isEmpty());
+        }
+        return pipes.size();
+    }
+
+    private static boolean isBarrier(final Pipe pipe) {
+        if (pipe instanceof BarrierPipe)
+            return true;
+        if (pipe instanceof MetaPipe) {
+            for (final Pipe subPipe : ((MetaPipe) pipe).getPipes()) {
+                if (ParallelPipelineExecutor.isBarrier(subPipe))
+                    return true;
+            }
+            return false;
+        }
+        return pipe instanceof SideEffectPipe && !(pipe instanceof SideEffectPipe.MergeableSideEffectPipe);
+    }
+
+    private static void mergeSideEffects(final List<Pipe> pipes, final List<Pipe> otherPipes) {
+        for (int i = 0; i < pipes.size(); i++) {
+            final Pipe pipe = pipes.get(i);
+            if (pipe instanceof SideEffectPipe.MergeableSideEffectPipe)
+                ((SideEffectPipe.MergeableSideEffectPipe) pipe).mergeSideEffect(((SideEffectPipe) otherPipes.get(i)).getSideEffect());
+            if (pipe instanceof MetaPipe)
+                ParallelPipelineExecutor.mergeSideEffects(((MetaPipe) pipe).getPipes(), ((MetaPipe) otherPipes.get(i)).getPipes());
+        }
+    }
+
+    /**
+     * Hands out the objects of an iterator in numbered chunks to multiple threads.
+     */
+    private static class ChunkedIterator<T> {
+
+        private final Iterator<T> iterator;
+        private final int chunkSize;
+        private int chunkCount = 0;
+        private boolean stopped = false;
+
+        public ChunkedIterator(final Iterator<T> iterator, final int chunkSize) {
+            this.iterator = iterator;
+            this.chunkSize = chunkSize;
+        }
+
+        public synchronized Chunk<T> nextChunk() {
+            if (this.stopped || !this.iterator.hasNext())
+                return null;
+            final List<T> objects = new ArrayList<T>(this.chunkSize);
+            PipeHelper.fillCollection(this.iterator, objects, this.chunkSize);
+            return new Chunk<T>(this.chunkCount++, objects);
+        }
+
+        public synchronized void stop() {
+            this.stopped = true;
+        }
+    }
+
+    private static class Chunk<T> {
+
+        private final int index;
+        private final List<T> objects;
+
+        public Chunk(final int index, final List<T> objects) {
+            this.index = index;
+            this.objects = objects;
+        }
+    }
+}
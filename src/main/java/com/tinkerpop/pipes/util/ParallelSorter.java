@@ -0,0 +1,132 @@
+package com.tinkerpop.pipes.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * ParallelSorter sorts a list using multiple threads when the list is at least as large as the threshold.
+ * The list is gathered into an array that is split into one chunk per thread. The chunks are sorted in parallel and
+ * are then merged pairwise in parallel rounds. Like Collections.sort(), the sort is stable.
+ * Smaller lists are sorted by the calling thread with Collections.sort().
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class ParallelSorter {
+
+    public static final int DEFAULT_THRESHOLD = 100000;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int threshold;
+
+    public ParallelSorter(final ExecutorService executor, final int parallelism, final int threshold) {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.threshold = Math.max(threshold, 2);
+    }
+
+    public ParallelSorter(final ExecutorService executor, final int parallelism) {
+        this(executor, parallelism, DEFAULT_THRESHOLD);
+    }
+
+    public <T> void sort(final List<T> list, final Comparator<? super T> comparator) {
+        if (this.parallelism == 1 || list.size() < this.threshold) {
+            Collections.sort(list, comparator);
+            return;
+        }
+        final Object[] array = list.toArray();
+        this.sort(array, (Comparator) comparator);
+        final ListIterator<T> iterator = list.listIterator();
+        for (final Object object : array) {
+            iterator.next();
+            iterator.set((T) object);
+        }
+    }
+
+    private void sort(final Object[] array, final Comparator comparator) {
+        final int chunks = Math.min(this.parallelism, array.length);
+        final int[] bounds = new int[chunks + 1];
+        for (int i = 0; i <= chunks; i++) {
+            bounds[i] = (int) ((long) array.length * i / chunks);
+        }
+        final List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (int i = 0; i < chunks; i++) {
+            final int from = bounds[i];
+            final int to = bounds[i + 1];
+            tasks.add(new Callable<Object>() {
+                public Object call() {
+                    Arrays.sort(array, from, to, comparator);
+                    return null;
+                }
+            });
+        }
+        this.invokeAll(tasks);
+
+        Object[] source = array;
+        Object[] target = new Object[array.length];
+        for (int width = 1; width < chunks; width = width * 2) {
+            tasks.clear();
+            for (int i = 0; i < chunks; i = i + 2 * width) {
+                final int from = bounds[i];
+                final int middle = bounds[Math.min(i + width, chunks)];
+                final int to = bounds[Math.min(i + 2 * width, chunks)];
+                final Object[] mergeSource = source;
+                final Object[] mergeTarget = target;
+                tasks.add(new Callable<Object>() {
+                    public Object call() {
+                        ParallelSorter.merge(mergeSource, mergeTarget, from, middle, to, comparator);
+                        return null;
+                    }
+                });
+            }
+            this.invokeAll(tasks);
+            final Object[] temp = source;
+            source = target;
+            target = temp;
+        }
+        if (source != array)
+            System.arraycopy(source, 0, array, 0, array.length);
+    }
+
+    private void invokeAll(final List<Callable<Object>> tasks) {
+        try {
+            for (final Future<Object> future : this.executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e.getMessage(), e);
+        } catch (final ExecutionException e) {
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static void merge(final Object[] source, final Object[] target, final int from, final int middle, final int to, final Comparator comparator) {
+        int i = from;
+        int j = middle;
+        int k = from;
+        while (i < middle && j < to) {
+            // the left object wins a tie to keep the sort stable
+            if (comparator.compare(source[j], source[i]) < 0)
+                target[k++] = source[j++];
+            else
+                target[k++] = source[i++];
+        }
+        while (i < middle) {
+            target[k++] = source[i++];
+        }
+        while (j < to) {
+            target[k++] = source[j++];
+        }
+    }
+}
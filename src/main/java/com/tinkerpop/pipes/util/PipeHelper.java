@@ -1,12 +1,18 @@
 package com.tinkerpop.pipes.util;
 
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BatchPipe;
+import com.tinkerpop.pipes.DemandPipe;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.transform.TransformPipe;
 import com.tinkerpop.pipes.util.iterators.EmptyIterator;
+import com.tinkerpop.pipes.util.structures.Pair;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -25,11 +31,17 @@ public class PipeHelper {
     /**
      * This will iterate all the objects out of the iterator.
      * This is useful for iterators with side-effect behavior as nothing is returned from the iteration.
-     * Note that the try/catch model is not "acceptable Java," but is more efficient given the architecture of AbstractPipe.
+     * AbstractPipes and Pipelines are drained via nextOrEnd() and thus, without exceptions.
+     * Note that the try/catch model used otherwise is not "acceptable Java," but is more efficient given the architecture of AbstractPipe.
      *
      * @param iterator the iterator to drain
      */
     public static <T> void iterate(final Iterator<T> iterator) {
+        if (iterator instanceof AbstractPipe || iterator instanceof Pipeline) {
+            while (PipeHelper.nextOrEnd(iterator) != AbstractPipe.END) {
+            }
+            return;
+        }
         try {
             while (true) {
                 iterator.next();
@@ -40,13 +52,21 @@ public class PipeHelper {
 
     /**
      * Drain an iterator into a collection. Useful for storing the results of a Pipe into a collection.
-     * Note that the try/catch model is not "acceptable Java," but is more efficient given the architecture of AbstractPipe.
+     * AbstractPipes and Pipelines are drained via nextOrEnd() and thus, without exceptions.
+     * Note that the try/catch model used otherwise is not "acceptable Java," but is more efficient given the architecture of AbstractPipe.
      *
      * @param iterator   the iterator to drain
      * @param collection the collection to fill
      * @param <T>        the object type of the iterator
      */
     public static <T> void fillCollection(final Iterator<T> iterator, final Collection<T> collection) {
+        if (iterator instanceof AbstractPipe || iterator instanceof Pipeline) {
+            Object object;
+            while ((object = PipeHelper.nextOrEnd(iterator)) != AbstractPipe.END) {
+                collection.add((T) object);
+            }
+            return;
+        }
         try {
             while (true) {
                 collection.add(iterator.next());
@@ -57,7 +77,8 @@ public class PipeHelper {
 
     /**
      * Drain an iterator into a collection. Useful for storing the results of a Pipe into a collection.
-     * Note that the try/catch model is not "acceptable Java," but is more efficient given the architecture of AbstractPipe.
+     * AbstractPipes and Pipelines are drained via nextOrEnd() and thus, without exceptions.
+     * Note that the try/catch model used otherwise is not "acceptable Java," but is more efficient given the architecture of AbstractPipe.
      *
      * @param iterator   the iterator to drain
      * @param collection the collection to fill
@@ -65,6 +86,13 @@ public class PipeHelper {
      * @param <T>        the object type of the iterator
      */
     public static <T> void fillCollection(final Iterator<T> iterator, final Collection<T> collection, final int number) {
+        if (iterator instanceof AbstractPipe || iterator instanceof Pipeline) {
+            Object object;
+            for (int i = 0; i < number && (object = PipeHelper.nextOrEnd(iterator)) != AbstractPipe.END; i++) {
+                collection.add((T) object);
+            }
+            return;
+        }
         try {
             for (int i = 0; i < number; i++) {
                 collection.add(iterator.next());
@@ -73,6 +101,44 @@ public class PipeHelper {
         }
     }
 
+    /**
+     * Get the next object of an iterator without relying on a NoSuchElementException to signal the end of the iterator.
+     * AbstractPipes and Pipelines are pulled via nextOrEnd(). Any other iterator is checked with hasNext() before next().
+     *
+     * @param iterator the iterator to pull an object from
+     * @return the next object of the iterator or AbstractPipe.END if the iterator is exhausted
+     */
+    public static Object nextOrEnd(final Iterator iterator) {
+        if (iterator instanceof AbstractPipe)
+            return ((AbstractPipe) iterator).nextOrEnd();
+        else if (iterator instanceof Pipeline)
+            return ((Pipeline) iterator).nextOrEnd();
+        else
+            return iterator.hasNext() ? iterator.next() : AbstractPipe.END;
+    }
+
+    /**
+     * Fill an array with the next objects of an iterator.
+     * If the iterator is a BatchPipe, then BatchPipe.nextBatch() is used so the batch is handed from pipe to pipe.
+     *
+     * @param iterator the iterator to pull objects from
+     * @param batch    the array to fill
+     * @param offset   the index of the array to start writing at
+     * @param length   the maximum number of objects to write
+     * @return the number of objects written (fewer than length only if the iterator is exhausted)
+     */
+    public static int nextBatch(final Iterator iterator, final Object[] batch, final int offset, final int length) {
+        if (iterator instanceof BatchPipe)
+            return ((BatchPipe) iterator).nextBatch(batch, offset, length);
+
+        int count = 0;
+        while (count < length && iterator.hasNext()) {
+            batch[offset + count] = iterator.next();
+            count++;
+        }
+        return count;
+    }
+
     /**
      * Drains the iterator into a list that is returned by the method.
      *
@@ -92,16 +158,50 @@ public class PipeHelper {
         return list;
     }
 
+    /**
+     * Hint the demand of a pipe (see DemandPipe.setDemand()). The demand is ignored if the pipe is not a DemandPipe.
+     *
+     * @param pipe   the pipe (or iterator) to hint the demand to
+     * @param demand the maximum number of objects that will be pulled or -1 if unbounded
+     */
+    public static void setDemand(final Iterator pipe, final long demand) {
+        if (pipe instanceof DemandPipe)
+            ((DemandPipe) pipe).setDemand(demand);
+    }
+
+    /**
+     * Get the limit of a query given a static limit (e.g. a branch factor) and the remaining demand of a pipe (see DemandPipe.setDemand()).
+     * If the demand has been exhausted (i.e. more ends were pulled than demanded), then the demand is ignored.
+     *
+     * @param limit   the static limit of the query or Integer.MAX_VALUE if none
+     * @param demand  the demand of the pipe or -1 if unbounded
+     * @param emitted the number of ends emitted by the pipe
+     * @return the limit of the query or Integer.MAX_VALUE if none
+     */
+    public static int getLimit(final int limit, final long demand, final long emitted) {
+        final long remaining = demand - emitted;
+        if (demand == -1l || remaining <= 0l || remaining >= limit)
+            return limit;
+        return (int) remaining;
+    }
+
     /**
      * Count the number of objects in an iterator.
      * This will exhaust the iterator.
-     * Note that the try/catch model is not "acceptable Java," but is more efficient given the architecture of AbstractPipe.
+     * AbstractPipes and Pipelines are drained via nextOrEnd() and thus, without exceptions.
+     * Note that the try/catch model used otherwise is not "acceptable Java," but is more efficient given the architecture of AbstractPipe.
      *
      * @param iterator the iterator to count
      * @return the number of objects in the iterator
      */
     public static long counter(final Iterator iterator) {
         long counter = 0;
+        if (iterator instanceof AbstractPipe || iterator instanceof Pipeline) {
+            while (PipeHelper.nextOrEnd(iterator) != AbstractPipe.END) {
+                counter++;
+            }
+            return counter;
+        }
         try {
             while (true) {
                 iterator.next();
@@ -189,6 +289,54 @@ public class PipeHelper {
         }
     }
 
+    /**
+     * Create a Comparator for a compare function. Note that a Pair is created for each comparison.
+     *
+     * @param compareFunction the function that compares the objects of a pair
+     * @return a Comparator based on the compare function
+     */
+    public static <T> Comparator<T> createComparator(final PipeFunction<Pair<T, T>, Integer> compareFunction) {
+        return new Comparator<T>() {
+            public int compare(final T a, final T b) {
+                return compareFunction.compute(new Pair<T, T>(a, b));
+            }
+        };
+    }
+
+    /**
+     * Create a Comparator that compares Comparable objects in the provided order.
+     *
+     * @param order the order of the objects
+     * @return a Comparator of Comparable objects
+     */
+    public static <T> Comparator<T> createComparator(final TransformPipe.Order order) {
+        final boolean increasing = order.equals(TransformPipe.Order.INCR);
+        return new Comparator<T>() {
+            public int compare(final T a, final T b) {
+                return increasing ? ((Comparable) a).compareTo(b) : ((Comparable) b).compareTo(a);
+            }
+        };
+    }
+
+    /**
+     * Create a Comparator that compares the Comparable keys of objects in the provided order.
+     * The keys are computed on each comparison and thus, the key function should be cheap (e.g. a property lookup).
+     *
+     * @param keyFunction the function that computes the key of an object
+     * @param order       the order of the keys
+     * @return a Comparator of the keys of objects
+     */
+    public static <T> Comparator<T> createComparator(final PipeFunction<T, ? extends Comparable> keyFunction, final TransformPipe.Order order) {
+        final boolean increasing = order.equals(TransformPipe.Order.INCR);
+        return new Comparator<T>() {
+            public int compare(final T a, final T b) {
+                final Comparable keyA = keyFunction.compute(a);
+                final Comparable keyB = keyFunction.compute(b);
+                return increasing ? keyA.compareTo(keyB) : keyB.compareTo(keyA);
+            }
+        };
+    }
+
     public static <T> Iterator<T> emptyIterator() {
         return (Iterator<T>) EmptyIterator.INSTANCE;
     }
@@ -0,0 +1,295 @@
+package com.tinkerpop.pipes.util;
+
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.Pipe;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A PipeProfile records the number of objects that go in and out of a pipe, the time spent in the pipe and the number of times it was reset.
+ * The time of a pipe excludes the time spent in the pipes (and iterators) it pulls from and thus, the time is exclusive to the pipe.
+ * A PipeProfile is attached to an AbstractPipe via AbstractPipe.setProfile(). See Pipeline.enableProfiling() for profiling all the pipes of a pipeline.
+ * <p/>
+ * The profiles of MetaPipes have the profiles of their pipes as children. If the pipe of a profile is not an AbstractPipe (e.g. a Pipeline),
+ * then the counts of the profile are derived from its children: the objects in of the first child, the objects out of the last child and the sum of their times.
+ * The counts of a pipe are only updated by the thread that evaluates the pipe (e.g. the producer thread of an AsyncBoundaryPipe for the pipes before it).
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class PipeProfile {
+
+    private static final ThreadLocal<Frames> FRAMES = new ThreadLocal<Frames>() {
+        protected Frames initialValue() {
+            return new Frames();
+        }
+    };
+
+    private final Pipe pipe;
+    private final boolean measured;
+    private final List<PipeProfile> children = new ArrayList<PipeProfile>();
+    private long in = 0l;
+    private long out = 0l;
+    private long nanos = 0l;
+    private long resets = 0l;
+
+    public PipeProfile(final Pipe pipe) {
+        this.pipe = pipe;
+        this.measured = pipe instanceof AbstractPipe;
+    }
+
+    /**
+     * Attach a profile to the provided pipe and, recursively, to the pipes of a MetaPipe.
+     *
+     * @param pipe the pipe to profile
+     * @return the profile of the pipe
+     */
+    public static PipeProfile profile(final Pipe pipe) {
+        final PipeProfile profile = new PipeProfile(pipe);
+        if (pipe instanceof MetaPipe) {
+            for (final Pipe subPipe : ((MetaPipe) pipe).getPipes()) {
+                profile.children.add(PipeProfile.profile(subPipe));
+            }
+        }
+        if (pipe instanceof AbstractPipe)
+            ((AbstractPipe) pipe).setProfile(profile);
+        return profile;
+    }
+
+    /**
+     * Detach the profiles from the provided pipe and, recursively, from the pipes of a MetaPipe.
+     *
+     * @param pipe the pipe to no longer profile
+     */
+    public static void unprofile(final Pipe pipe) {
+        if (pipe instanceof MetaPipe) {
+            for (final Pipe subPipe : ((MetaPipe) pipe).getPipes()) {
+                PipeProfile.unprofile(subPipe);
+            }
+        }
+        if (pipe instanceof AbstractPipe)
+            ((AbstractPipe) pipe).setProfile(null);
+    }
+
+    public Pipe getPipe() {
+        return this.pipe;
+    }
+
+    public List<PipeProfile> getChildren() {
+        return this.children;
+    }
+
+    public long getIn() {
+        if (this.measured || this.children.isEmpty())
+            return this.in;
+        else
+            return this.children.get(0).getIn();
+    }
+
+    public long getOut() {
+        if (this.measured || this.children.isEmpty())
+            return this.out;
+        else
+            return this.children.get(this.children.size() - 1).getOut();
+    }
+
+    /**
+     * Get the time spent in the pipe excluding the time spent in the pipes it pulls from.
+     * The time of a MetaPipe excludes the time of its pipes.
+     *
+     * @return the exclusive time of the pipe in nanoseconds
+     */
+    public long getNanos() {
+        if (this.measured)
+            return this.nanos;
+        long total = 0l;
+        for (final PipeProfile child : this.children) {
+            total = total + child.getTotalNanos();
+        }
+        return total;
+    }
+
+    /**
+     * Get the time spent in the pipe and in the pipes of the pipe (if it is a MetaPipe).
+     *
+     * @return the time of the pipe and its children in nanoseconds
+     */
+    public long getTotalNanos() {
+        if (!this.measured)
+            return this.getNanos();
+        long total = this.nanos;
+        for (final PipeProfile child : this.children) {
+            total = total + child.getTotalNanos();
+        }
+        return total;
+    }
+
+    public long getResets() {
+        return this.resets;
+    }
+
+    /**
+     * Get the ratio of objects out to objects in. A filter has a selectivity below 1 and a flatMap-style transform can be above 1.
+     *
+     * @return the selectivity of the pipe or NaN if no objects went in
+     */
+    public double getSelectivity() {
+        final long in = this.getIn();
+        return in == 0l ? Double.NaN : (double) this.getOut() / (double) in;
+    }
+
+    /**
+     * Clear the counts of the profile and its children.
+     */
+    public void clear() {
+        this.in = 0l;
+        this.out = 0l;
+        this.nanos = 0l;
+        this.resets = 0l;
+        for (final PipeProfile child : this.children) {
+            child.clear();
+        }
+    }
+
+    /**
+     * Called by the profiled pipe before it computes its next end.
+     */
+    public void enter() {
+        FRAMES.get().push(this);
+    }
+
+    /**
+     * Called by the profiled pipe after it computed its next end.
+     *
+     * @param emitted whether an end was emitted
+     */
+    public void exit(final boolean emitted) {
+        final Frames frames = FRAMES.get();
+        final long elapsed = frames.pop();
+        this.nanos = this.nanos + elapsed - frames.popChildNanos;
+        if (emitted) {
+            this.out++;
+            final PipeProfile caller = frames.peek();
+            if (null != caller)
+                caller.in++;
+        }
+    }
+
+    /**
+     * Called by the profiled pipe when it is reset.
+     */
+    public void incrementResets() {
+        this.resets++;
+    }
+
+    /**
+     * Wrap the starts of the profiled pipe such that the objects pulled from them are counted as objects in.
+     * The time spent in the starts is excluded from the time of the pipe.
+     *
+     * @param starts the starts of the profiled pipe
+     * @return the starts counted by this profile
+     */
+    public <S> Iterator<S> profileStarts(final Iterator<S> starts) {
+        return new Iterator<S>() {
+            public boolean hasNext() {
+                final Frames frames = FRAMES.get();
+                frames.push(null);
+                try {
+                    return starts.hasNext();
+                } finally {
+                    frames.pop();
+                }
+            }
+
+            public S next() {
+                final Frames frames = FRAMES.get();
+                frames.push(null);
+                try {
+                    final S s = starts.next();
+                    in++;
+                    return s;
+                } finally {
+                    frames.pop();
+                }
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        this.appendTo(builder, 0, this.getTotalNanos());
+        return builder.toString();
+    }
+
+    private void appendTo(final StringBuilder builder, final int depth, final long totalNanos) {
+        for (int i = 0; i < depth; i++) {
+            builder.append("  ");
+        }
+        builder.append(this.pipe instanceof MetaPipe ? PipeHelper.makePipeString(this.pipe) : this.pipe.toString());
+        builder.append(" [in:").append(this.getIn());
+        builder.append(", out:").append(this.getOut());
+        builder.append(", time:").append(String.format("%.3f", this.getNanos() / 1000000.0d)).append("ms");
+        if (totalNanos > 0l)
+            builder.append(" (").append(String.format("%.1f", 100.0d * this.getNanos() / totalNanos)).append("%)");
+        builder.append(", resets:").append(this.getResets()).append("]");
+        for (final PipeProfile child : this.children) {
+            builder.append("\n");
+            child.appendTo(builder, depth + 1, totalNanos);
+        }
+    }
+
+    /**
+     * The stack of the pipes (and starts) currently computing on a thread.
+     */
+    private static class Frames {
+
+        private PipeProfile[] profiles = new PipeProfile[16];
+        private long[] startNanos = new long[16];
+        private long[] childNanos = new long[16];
+        private int depth = -1;
+        private long popChildNanos = 0l;
+
+        public void push(final PipeProfile profile) {
+            this.depth++;
+            if (this.depth == this.profiles.length) {
+                final int length = this.profiles.length * 2;
+                final PipeProfile[] tempProfiles = new PipeProfile[length];
+                final long[] tempStartNanos = new long[length];
+                final long[] tempChildNanos = new long[length];
+                System.arraycopy(this.profiles, 0, tempProfiles, 0, this.depth);
+                System.arraycopy(this.startNanos, 0, tempStartNanos, 0, this.depth);
+                System.arraycopy(this.childNanos, 0, tempChildNanos, 0, this.depth);
+                this.profiles = tempProfiles;
+                this.startNanos = tempStartNanos;
+                this.childNanos = tempChildNanos;
+            }
+            this.profiles[this.depth] = profile;
+            this.childNanos[this.depth] = 0l;
+            this.startNanos[this.depth] = System.nanoTime();
+        }
+
+        /**
+         * Pop the current frame and add its elapsed time to the time of the calling frame.
+         *
+         * @return the elapsed time of the popped frame
+         */
+        public long pop() {
+            final long elapsed = System.nanoTime() - this.startNanos[this.depth];
+            this.popChildNanos = this.childNanos[this.depth];
+            this.profiles[this.depth] = null;
+            this.depth--;
+            if (this.depth >= 0)
+                this.childNanos[this.depth] = this.childNanos[this.depth] + elapsed;
+            return elapsed;
+        }
+
+        public PipeProfile peek() {
+            return this.depth >= 0 ? this.profiles[this.depth] : null;
+        }
+    }
+}
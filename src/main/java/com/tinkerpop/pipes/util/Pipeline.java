@@ -1,6 +1,12 @@
 package com.tinkerpop.pipes.util;
 
+import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.BatchPipe;
+import com.tinkerpop.pipes.DemandPipe;
 import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PrefetchPipe;
+import com.tinkerpop.pipes.PushPipe;
+import com.tinkerpop.pipes.Sink;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -17,16 +23,27 @@ import java.util.List;
  *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class Pipeline<S, E> implements Pipe<S, E>, MetaPipe {
+public class Pipeline<S, E> implements BatchPipe<S, E>, DemandPipe<S, E>, MetaPipe {
+
+    /**
+     * The size of the batches pulled through the pipeline by the terminal methods (e.g. count(), iterate(), fill()).
+     */
+    public static final int BATCH_SIZE = 256;
 
     protected Pipe<S, ?> startPipe;
     protected Pipe<?, E> endPipe;
     protected List<Pipe> pipes;
+    // the pipes that are chained together (e.g. fused pipes in place of the pipes, see FluentUtility.fusePipes())
+    private List<Pipe> chainedPipes;
     protected Iterator<S> starts;
     protected boolean pathEnabled = false;
+    private boolean pulled = false;
+    private PipeProfile profile = null;
+    private long demand = -1l;
 
     public Pipeline() {
         this.pipes = new ArrayList<Pipe>();
+        this.chainedPipes = this.pipes;
     }
 
     /**
@@ -57,12 +74,15 @@ public class Pipeline<S, E> implements Pipe<S, E>, MetaPipe {
      * @param pipes the ordered list of pipes to chain together into a pipeline
      */
     protected void setPipes(final List<Pipe> pipes) {
+        this.chainedPipes = pipes;
         final int pipelineLength = pipes.size();
         this.startPipe = (Pipe<S, ?>) pipes.get(0);
         this.endPipe = (Pipe<?, E>) pipes.get(pipelineLength - 1);
         for (int i = 1; i < pipelineLength; i++) {
             pipes.get(i).setStarts((Iterator) pipes.get(i - 1));
         }
+        Pipeline.markUpstreamAsPipes(pipes, false);
+        PipeHelper.setDemand(this.endPipe, this.demand);
     }
 
     /**
@@ -81,6 +101,7 @@ public class Pipeline<S, E> implements Pipe<S, E>, MetaPipe {
     }
 
     public void setStarts(final Iterator<S> starts) {
+        this.pulled = false;
         this.starts = starts;
         this.startPipe.setStarts(starts);
     }
@@ -102,6 +123,7 @@ public class Pipeline<S, E> implements Pipe<S, E>, MetaPipe {
      * @return true if an object can be next()'d out of the pipeline
      */
     public boolean hasNext() {
+        this.pulled = true;
         return this.endPipe.hasNext();
     }
 
@@ -112,9 +134,125 @@ public class Pipeline<S, E> implements Pipe<S, E>, MetaPipe {
      * @return the next emitted object
      */
     public E next() {
+        this.pulled = true;
         return this.endPipe.next();
     }
 
+    /**
+     * Get the next object emitted from the pipeline without throwing a NoSuchElementException when the pipeline is exhausted.
+     *
+     * @return the next emitted object or AbstractPipe.END if there are no more objects
+     */
+    public Object nextOrEnd() {
+        this.pulled = true;
+        return PipeHelper.nextOrEnd(this.endPipe);
+    }
+
+    /**
+     * Fill the provided array with the next objects emitted from the pipeline.
+     * The batch is handed from pipe to pipe when it is safe to do so (see isBatchable()).
+     * Otherwise, the objects are next()'d out of the pipeline one at a time.
+     *
+     * @param batch  the array to fill with emitted objects
+     * @param offset the index of the array to start writing at
+     * @param length the maximum number of objects to write
+     * @return the number of objects written to the array
+     */
+    public int nextBatch(final Object[] batch, final int offset, final int length) {
+        this.pulled = true;
+        if (this.isBatchable())
+            return PipeHelper.nextBatch(this.endPipe, batch, offset, length);
+
+        int count = 0;
+        while (count < length && this.endPipe.hasNext()) {
+            batch[offset + count] = this.endPipe.next();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Determines if batches can be pulled through the pipes of the pipeline.
+     * This is not the case when path calculations or profiling are enabled or when the pipeline contains an AsPipe
+     * as the current end of an AsPipe is only meaningful when objects are pulled one at a time.
+     *
+     * @return whether batches can be pulled through the pipeline
+     */
+    public boolean isBatchable() {
+        return !this.pathEnabled && null == this.profile && !Pipeline.containsAsPipe(this);
+    }
+
+    /**
+     * Push the objects emitted from the pipeline into the provided sink until the pipeline is exhausted or the sink returns false.
+     * The trailing PushPipes of the pipeline are executed in push-mode (see PushPipe and AbstractPipe.isPushable()) and thus, without the lookahead of the pull-model.
+     * The preceding pipes (e.g. LoopPipe or any MetaPipe) are pulled one object at a time.
+     * If the pipeline has path calculations or profiling enabled or has been pulled from since its starts were last set, then it is executed in pull-mode entirely.
+     *
+     * @param sink the sink to push the emitted objects to
+     */
+    public void pushTo(final Sink<E> sink) {
+        final int pushIndex = this.getPushIndex();
+        final Iterator source;
+        Sink pushSink = sink;
+        if (pushIndex == -1) {
+            source = this;
+        } else {
+            for (int i = this.chainedPipes.size() - 1; i >= pushIndex; i--) {
+                pushSink = ((PushPipe) this.chainedPipes.get(i)).createSink(pushSink);
+            }
+            source = pushIndex == 0 ? this.starts : this.chainedPipes.get(pushIndex - 1);
+        }
+        Object object;
+        while ((object = PipeHelper.nextOrEnd(source)) != AbstractPipe.END) {
+            if (!pushSink.push(object))
+                break;
+        }
+    }
+
+    /**
+     * Determines if pushTo() executes any of the pipes of the pipeline in push-mode.
+     *
+     * @return whether the pipeline has trailing PushPipes that can be executed in push-mode
+     */
+    public boolean isPushable() {
+        return this.getPushIndex() != -1;
+    }
+
+    private int getPushIndex() {
+        if (this.pathEnabled || this.pulled || null != this.profile)
+            return -1;
+        int index = this.chainedPipes.size();
+        while (index > 0 && AbstractPipe.isPushable(this.chainedPipes.get(index - 1))) {
+            index--;
+        }
+        if (index == 0 && null == this.starts)
+            index = 1;
+        return index == this.chainedPipes.size() ? -1 : index;
+    }
+
+    /**
+     * Marks the PrefetchPipes that are preceded by an AsPipe as they would otherwise read the starts of the AsPipe
+     * ahead of the current end that is seen downstream (see PrefetchPipe).
+     */
+    private static void markUpstreamAsPipes(final List<Pipe> pipes, boolean upstreamAsPipe) {
+        for (final Pipe pipe : pipes) {
+            if (pipe instanceof PrefetchPipe)
+                ((PrefetchPipe) pipe).setUpstreamAsPipe(upstreamAsPipe);
+            else if (pipe instanceof MetaPipe)
+                Pipeline.markUpstreamAsPipes(((MetaPipe) pipe).getPipes(), upstreamAsPipe);
+            if (pipe instanceof AsPipe || (pipe instanceof MetaPipe && Pipeline.containsAsPipe((MetaPipe) pipe)))
+                upstreamAsPipe = true;
+        }
+    }
+
+    private static boolean containsAsPipe(final MetaPipe metaPipe) {
+        for (final Pipe pipe : metaPipe.getPipes()) {
+            if (pipe instanceof AsPipe || (pipe instanceof MetaPipe && Pipeline.containsAsPipe((MetaPipe) pipe)))
+                return true;
+        }
+        return false;
+    }
+
     public List getCurrentPath() {
         if (this.pathEnabled)
             return this.endPipe.getCurrentPath();
@@ -127,6 +265,38 @@ public class Pipeline<S, E> implements Pipe<S, E>, MetaPipe {
         this.endPipe.enablePath(enable);
     }
 
+    public void setDemand(final long demand) {
+        this.demand = demand;
+        if (null != this.endPipe)
+            PipeHelper.setDemand(this.endPipe, demand);
+    }
+
+    /**
+     * Enable (or disable) profiling of the pipes of the pipeline. The pipes of MetaPipes (e.g. LoopPipe, CopySplitPipe) are profiled as well.
+     * While profiling, the pipeline is pulled one object at a time and thus, the profile reflects the pull-model of each pipe.
+     * Pipes added to the pipeline after profiling is enabled are not profiled.
+     *
+     * @param enable whether to profile the pipes of the pipeline
+     */
+    public void enableProfiling(final boolean enable) {
+        if (enable) {
+            this.profile = PipeProfile.profile(this);
+        } else {
+            PipeProfile.unprofile(this);
+            this.profile = null;
+        }
+    }
+
+    /**
+     * Get the profile of the pipeline. The children of the profile are the profiles of the pipes of the pipeline.
+     * The toString() of the profile is a tree-shaped report of the counts and timings of the pipes.
+     *
+     * @return the profile of the pipeline or null if profiling is not enabled
+     */
+    public PipeProfile getProfile() {
+        return this.profile;
+    }
+
     /**
      * Get the number of pipes in the pipeline.
      *
@@ -137,6 +307,7 @@ public class Pipeline<S, E> implements Pipe<S, E>, MetaPipe {
     }
 
     public void reset() {
+        this.pulled = false;
         this.endPipe.reset();
     }
 
@@ -184,11 +355,42 @@ public class Pipeline<S, E> implements Pipe<S, E>, MetaPipe {
     }
 
     public long count() {
-        return PipeHelper.counter(this);
+        if (this.isPushable()) {
+            final long[] counter = new long[1];
+            this.pushTo(new Sink<E>() {
+                public boolean push(final E e) {
+                    counter[0]++;
+                    return true;
+                }
+            });
+            return counter[0];
+        } else if (!this.isBatchable())
+            return PipeHelper.counter(this);
+
+        final Object[] batch = new Object[BATCH_SIZE];
+        long counter = 0;
+        int count;
+        do {
+            count = PipeHelper.nextBatch(this.endPipe, batch, 0, BATCH_SIZE);
+            counter = counter + count;
+        } while (count == BATCH_SIZE);
+        return counter;
     }
 
     public void iterate() {
-        PipeHelper.iterate(this);
+        if (this.isPushable()) {
+            this.pushTo(new Sink<E>() {
+                public boolean push(final E e) {
+                    return true;
+                }
+            });
+        } else if (!this.isBatchable()) {
+            PipeHelper.iterate(this);
+        } else {
+            final Object[] batch = new Object[BATCH_SIZE];
+            while (PipeHelper.nextBatch(this.endPipe, batch, 0, BATCH_SIZE) == BATCH_SIZE) {
+            }
+        }
     }
 
     public List<E> next(final int number) {
@@ -199,12 +401,30 @@ public class Pipeline<S, E> implements Pipe<S, E>, MetaPipe {
 
     public List<E> toList() {
         final List<E> list = new ArrayList<E>();
-        PipeHelper.fillCollection(this, list);
+        this.fill(list);
         return list;
     }
 
     public Collection<E> fill(final Collection<E> collection) {
-        PipeHelper.fillCollection(this, collection);
+        if (this.isPushable()) {
+            this.pushTo(new Sink<E>() {
+                public boolean push(final E e) {
+                    collection.add(e);
+                    return true;
+                }
+            });
+        } else if (!this.isBatchable()) {
+            PipeHelper.fillCollection(this, collection);
+        } else {
+            final Object[] batch = new Object[BATCH_SIZE];
+            int count;
+            do {
+                count = PipeHelper.nextBatch(this.endPipe, batch, 0, BATCH_SIZE);
+                for (int i = 0; i < count; i++) {
+                    collection.add((E) batch[i]);
+                }
+            } while (count == BATCH_SIZE);
+        }
         return collection;
     }
 }
\ No newline at end of file
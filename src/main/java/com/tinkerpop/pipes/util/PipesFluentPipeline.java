@@ -4,12 +4,15 @@ import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.PipeFunction;
 import com.tinkerpop.pipes.branch.LoopPipe;
 import com.tinkerpop.pipes.transform.TransformPipe;
+import com.tinkerpop.pipes.util.cache.Cache;
+import com.tinkerpop.pipes.util.structures.HistorySet;
 import com.tinkerpop.pipes.util.structures.Pair;
 import com.tinkerpop.pipes.util.structures.Row;
 import com.tinkerpop.pipes.util.structures.Table;
 import com.tinkerpop.pipes.util.structures.Tree;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -184,6 +187,25 @@ public interface PipesFluentPipeline<S, E> {
      */
     public PipesFluentPipeline<S, E> dedup(final PipeFunction<E, ?> dedupFunction);
 
+    /**
+     * Add a DuplicateFilterPipe to the end of the Pipeline.
+     * Will only emit the object if it has not been seen before according to the provided history set.
+     *
+     * @param historySet the history of the seen objects (e.g. a BloomFilterHistorySet to bound memory)
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> dedup(final HistorySet historySet);
+
+    /**
+     * Add a DuplicateFilterPipe to the end of the Pipeline.
+     * Will only emit the object if the object generated by its function has not been seen before according to the provided history set.
+     *
+     * @param dedupFunction a function to call on the object to yield the object to dedup on
+     * @param historySet    the history of the seen objects (e.g. a BloomFilterHistorySet to bound memory)
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> dedup(final PipeFunction<E, ?> dedupFunction, final HistorySet historySet);
+
     /**
      * Add an ExceptFilterPipe to the end of the Pipeline.
      * Will only emit the object if it is not in the provided collection.
@@ -193,6 +215,16 @@ public interface PipesFluentPipeline<S, E> {
      */
     public PipesFluentPipeline<S, E> except(final Collection<E> collection);
 
+    /**
+     * Add an ExceptFilterPipe to the end of the Pipeline.
+     * Will only emit the object if it is not in the provided collection according to the provided history set.
+     *
+     * @param collection the collection except from the stream
+     * @param historySet the history set to load the collection into (e.g. an ElementIdSet to compare elements by id)
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> except(final Collection<E> collection, final HistorySet historySet);
+
     /**
      * Add an ExceptFilterPipe to the end of the Pipeline.
      * Will only emit the object if it is not equal to any of the objects contained at the named steps.
@@ -249,6 +281,16 @@ public interface PipesFluentPipeline<S, E> {
      */
     public PipesFluentPipeline<S, E> retain(final Collection<E> collection);
 
+    /**
+     * Add a RetainFilterPipe to the end of the Pipeline.
+     * Will emit the object only if it is in the provided collection according to the provided history set.
+     *
+     * @param collection the collection to retain
+     * @param historySet the history set to load the collection into (e.g. an ElementIdSet to compare elements by id)
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> retain(final Collection<E> collection, final HistorySet historySet);
+
     /**
      * Add a RetainFilterPipe to the end of the Pipeline.
      * Will only emit the object if it is equal to any of the objects contained at the named steps.
@@ -258,6 +300,35 @@ public interface PipesFluentPipeline<S, E> {
      */
     public PipesFluentPipeline<S, E> retain(final String... namedSteps);
 
+    /**
+     * Add a SamplePipe to the end of the Pipeline.
+     * All the objects previous to this step are consumed and a uniform random sample of them is emitted.
+     *
+     * @param size the maximum number of objects in the sample
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> sample(final int size);
+
+    /**
+     * Add a StratifiedSamplePipe to the end of the Pipeline.
+     * All the objects previous to this step are consumed and a uniform random sample of the objects of each key is emitted.
+     *
+     * @param size        the maximum number of objects in the sample of each key
+     * @param keyFunction the function that generates the key (stratum) of an object
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> stratifiedSample(final int size, final PipeFunction<E, ?> keyFunction);
+
+    /**
+     * Add a WeightedSamplePipe to the end of the Pipeline.
+     * All the objects previous to this step are consumed and a weighted random sample of them is emitted.
+     *
+     * @param size           the maximum number of objects in the sample
+     * @param weightFunction the function that generates the weight of an object
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> weightedSample(final int size, final PipeFunction<E, Number> weightFunction);
+
     /**
      * Add a CyclicPathFilterPipe to the end of the Pipeline.
      * If the object's path is repeating (looping), then the object is filtered.
@@ -640,6 +711,28 @@ public interface PipesFluentPipeline<S, E> {
      */
     public PipesFluentPipeline<S, E> memoize(final int numberedStep, final Map map);
 
+    /**
+     * Add a MemoizePipe to the end of the Pipeline.
+     * This step will hold a Cache of the objects that have entered into its pipeline section.
+     * If an input is seen twice and is still cached, then the cached output is emitted instead of recomputing the pipeline section.
+     *
+     * @param namedStep the name of the step previous to memoize to
+     * @param cache     the memoization cache (e.g. a bounded LruCache)
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> memoize(final String namedStep, final Cache cache);
+
+    /**
+     * Add a MemoizePipe to the end of the Pipeline.
+     * This step will hold a Cache of the objects that have entered into its pipeline section.
+     * If an input is seen twice and is still cached, then the cached output is emitted instead of recomputing the pipeline section.
+     *
+     * @param numberedStep the number of the step previous to memoize to
+     * @param cache        the memoization cache (e.g. a bounded LruCache)
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> memoize(final int numberedStep, final Cache cache);
+
     /**
      * Add an OrderPipe to the end of the Pipeline.
      * This step will sort the objects in the stream in a default Comparable order.
@@ -666,6 +759,25 @@ public interface PipesFluentPipeline<S, E> {
      */
     public PipesFluentPipeline<S, E> order(final PipeFunction<Pair<E, E>, Integer> compareFunction);
 
+    /**
+     * Add an OrderPipe to the end of the Pipeline.
+     * This step will sort the objects in the stream according to the provided comparator.
+     *
+     * @param comparator a comparator of two objects of type E
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> order(final Comparator<E> comparator);
+
+    /**
+     * Add an OrderPipe to the end of the Pipeline.
+     * This step will sort the objects in the stream according to the Comparable keys computed by the provided function.
+     *
+     * @param keyFunction a function that computes the key of an object of type E
+     * @param order       the order of the keys
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> order(final PipeFunction<E, ? extends Comparable> keyFunction, TransformPipe.Order order);
+
     /**
      * Add a PathPipe or PathPipe to the end of the Pipeline.
      * This will emit the path that has been seen thus far.
@@ -725,6 +837,45 @@ public interface PipesFluentPipeline<S, E> {
      */
     public PipesFluentPipeline<S, List> shuffle();
 
+    /**
+     * Add a ShufflePipe to the end of the Pipeline.
+     * The objects previous to this step are aggregated into consecutive windows of the provided size, their order randomized within each window and emitted.
+     *
+     * @param windowSize the number of objects in a window
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, List> shuffle(final int windowSize);
+
+    /**
+     * Add a WindowPipe to the end of the Pipeline.
+     * The objects previous to this step are emitted in consecutive (tumbling) windows of the provided size as soon as each window is full.
+     *
+     * @param size the number of objects in a window
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, List> window(final int size);
+
+    /**
+     * Add a WindowPipe to the end of the Pipeline.
+     * The objects previous to this step are emitted in sliding windows of the provided size that move by the provided slide.
+     *
+     * @param size  the number of objects in a window
+     * @param slide the number of objects a window moves by
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, List> window(final int size, final int slide);
+
+    /**
+     * Add a WindowPipe to the end of the Pipeline.
+     * The objects previous to this step are aggregated in consecutive windows of the provided size.
+     * The provided function is applied to each window as soon as it is full and the results of the function are emitted.
+     *
+     * @param size     the number of objects in a window
+     * @param function a transformation to apply to each window
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, ?> window(final int size, final PipeFunction<List, ?> function);
+
     /**
      * Add a SideEffectCapPipe to the end of the Pipeline.
      * When the previous step in the pipeline is implements SideEffectPipe, then it has a method called getSideEffect().
@@ -784,6 +935,15 @@ public interface PipesFluentPipeline<S, E> {
      */
     public PipesFluentPipeline<S, S> start(final S object);
 
+    /**
+     * Add an AsyncBoundaryPipe to the end of the pipeline.
+     * The previous steps are evaluated on a separate thread and their objects are buffered for the next steps.
+     *
+     * @param capacity the number of objects that can be buffered between the previous steps and the next steps
+     * @return the extended Pipeline
+     */
+    public PipesFluentPipeline<S, E> async(final int capacity);
+
     ///////////////////////
     /// UTILITY METHODS ///
     ///////////////////////
@@ -832,6 +992,14 @@ public interface PipesFluentPipeline<S, E> {
      */
     public PipesFluentPipeline<S, E> enablePath();
 
+    /**
+     * Enable profiling of the pipes in the pipeline. The profile is available via getProfile().
+     * While profiling, the function pipes of the pipeline are not fused.
+     *
+     * @return the profiled Pipeline
+     */
+    public PipesFluentPipeline<S, E> enableProfiling();
+
 
     /**
      * Returns the current pipeline with a new end type.
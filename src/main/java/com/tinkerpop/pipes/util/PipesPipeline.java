@@ -19,6 +19,9 @@ import com.tinkerpop.pipes.filter.OrFilterPipe;
 import com.tinkerpop.pipes.filter.RandomFilterPipe;
 import com.tinkerpop.pipes.filter.RangeFilterPipe;
 import com.tinkerpop.pipes.filter.RetainFilterPipe;
+import com.tinkerpop.pipes.filter.SamplePipe;
+import com.tinkerpop.pipes.filter.StratifiedSamplePipe;
+import com.tinkerpop.pipes.filter.WeightedSamplePipe;
 import com.tinkerpop.pipes.sideeffect.AggregatePipe;
 import com.tinkerpop.pipes.sideeffect.GroupByPipe;
 import com.tinkerpop.pipes.sideeffect.GroupByReducePipe;
@@ -40,9 +43,13 @@ import com.tinkerpop.pipes.transform.ScatterPipe;
 import com.tinkerpop.pipes.transform.SelectPipe;
 import com.tinkerpop.pipes.transform.ShufflePipe;
 import com.tinkerpop.pipes.transform.SideEffectCapPipe;
+import com.tinkerpop.pipes.transform.TopKPipe;
 import com.tinkerpop.pipes.transform.TransformFunctionPipe;
 import com.tinkerpop.pipes.transform.TransformPipe;
+import com.tinkerpop.pipes.transform.WindowPipe;
+import com.tinkerpop.pipes.util.cache.Cache;
 import com.tinkerpop.pipes.util.structures.AsMap;
+import com.tinkerpop.pipes.util.structures.HistorySet;
 import com.tinkerpop.pipes.util.structures.Pair;
 import com.tinkerpop.pipes.util.structures.Row;
 import com.tinkerpop.pipes.util.structures.Table;
@@ -50,6 +57,7 @@ import com.tinkerpop.pipes.util.structures.Tree;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -64,6 +72,8 @@ import java.util.Map;
 public class PipesPipeline<S, E> extends Pipeline<S, E> implements PipesFluentPipeline<S, E> {
 
     private final AsMap asMap = new AsMap(this);
+    private boolean fused = false;
+    private List<Pipe> fusedPipes = null;
 
     public PipesPipeline() {
         super();
@@ -147,10 +157,22 @@ public class PipesPipeline<S, E> extends Pipeline<S, E> implements PipesFluentPi
         return this.add(new DuplicateFilterPipe<E>(FluentUtility.prepareFunction(this.asMap, dedupFunction)));
     }
 
+    public PipesPipeline<S, E> dedup(final HistorySet historySet) {
+        return this.add(new DuplicateFilterPipe<E>(historySet));
+    }
+
+    public PipesPipeline<S, E> dedup(final PipeFunction<E, ?> dedupFunction, final HistorySet historySet) {
+        return this.add(new DuplicateFilterPipe<E>(FluentUtility.prepareFunction(this.asMap, dedupFunction), historySet));
+    }
+
     public PipesPipeline<S, E> except(final Collection<E> collection) {
         return this.add(new ExceptFilterPipe<E>(collection));
     }
 
+    public PipesPipeline<S, E> except(final Collection<E> collection, final HistorySet historySet) {
+        return this.add(new ExceptFilterPipe<E>(collection, historySet));
+    }
+
     public PipesPipeline<S, E> except(final String... namedSteps) {
         return this.add(new ExceptFilterPipe<E>(this.asMap, namedSteps));
     }
@@ -167,7 +189,21 @@ public class PipesPipeline<S, E> extends Pipeline<S, E> implements PipesFluentPi
         return this.add(new RandomFilterPipe<E>(bias));
     }
 
+    /**
+     * Add a RangeFilterPipe to the end of the Pipeline.
+     * If the previous pipe is an OrderPipe and the range is bounded, then the OrderPipe is replaced by a TopKPipe that only retains the first high + 1 objects.
+     *
+     * @param low  the low end of the range
+     * @param high the high end of the range
+     * @return the extended Pipeline
+     */
     public PipesPipeline<S, E> range(final int low, final int high) {
+        // the k of the TopKPipe (high + 1) must not overflow
+        if (high != -1 && high != Integer.MAX_VALUE && this.size() > 0 && FluentUtility.getPreviousPipe(this).getClass().equals(OrderPipe.class)) {
+            final OrderPipe<E> orderPipe = (OrderPipe<E>) FluentUtility.removePreviousPipes(this, 1).get(0);
+            this.add(new TopKPipe<E>(high + 1, orderPipe.getComparator()));
+            return low > 0 ? this.add(new RangeFilterPipe<E>(low, high)) : this;
+        }
         return this.add(new RangeFilterPipe<E>(low, high));
     }
 
@@ -175,10 +211,26 @@ public class PipesPipeline<S, E> extends Pipeline<S, E> implements PipesFluentPi
         return this.add(new RetainFilterPipe<E>(collection));
     }
 
+    public PipesPipeline<S, E> retain(final Collection<E> collection, final HistorySet historySet) {
+        return this.add(new RetainFilterPipe<E>(collection, historySet));
+    }
+
     public PipesPipeline<S, E> retain(final String... namedSteps) {
         return this.add(new RetainFilterPipe<E>(this.asMap, namedSteps));
     }
 
+    public PipesPipeline<S, E> sample(final int size) {
+        return this.add(new SamplePipe<E>(size));
+    }
+
+    public PipesPipeline<S, E> stratifiedSample(final int size, final PipeFunction<E, ?> keyFunction) {
+        return this.add(new StratifiedSamplePipe<E>(size, FluentUtility.prepareFunction(this.asMap, keyFunction)));
+    }
+
+    public PipesPipeline<S, E> weightedSample(final int size, final PipeFunction<E, Number> weightFunction) {
+        return this.add(new WeightedSamplePipe<E>(size, FluentUtility.prepareFunction(this.asMap, weightFunction)));
+    }
+
     public PipesPipeline<S, E> simplePath() {
         return this.add(new CyclicPathFilterPipe<E>());
     }
@@ -332,6 +384,14 @@ public class PipesPipeline<S, E> extends Pipeline<S, E> implements PipesFluentPi
         return this.add(new MemoizePipe(new Pipeline(FluentUtility.removePreviousPipes(this, numberedStep)), map));
     }
 
+    public PipesPipeline<S, E> memoize(final String namedStep, final Cache cache) {
+        return this.add(new MemoizePipe(new Pipeline(FluentUtility.removePreviousPipes(this, namedStep)), cache));
+    }
+
+    public PipesPipeline<S, E> memoize(final int numberedStep, final Cache cache) {
+        return this.add(new MemoizePipe(new Pipeline(FluentUtility.removePreviousPipes(this, numberedStep)), cache));
+    }
+
     public PipesPipeline<S, E> order() {
         return this.add(new OrderPipe());
     }
@@ -344,6 +404,14 @@ public class PipesPipeline<S, E> extends Pipeline<S, E> implements PipesFluentPi
         return this.add(new OrderPipe(FluentUtility.prepareFunction(this.asMap, compareFunction)));
     }
 
+    public PipesPipeline<S, E> order(final Comparator<E> comparator) {
+        return this.add(new OrderPipe<E>(comparator));
+    }
+
+    public PipesPipeline<S, E> order(final PipeFunction<E, ? extends Comparable> keyFunction, final TransformPipe.Order order) {
+        return this.add(new OrderPipe<E>(FluentUtility.prepareFunction(this.asMap, keyFunction), order));
+    }
+
     public PipesPipeline<S, List> path(final PipeFunction... pathFunctions) {
         return this.add(new PathPipe<Object>(FluentUtility.prepareFunctions(this.asMap, pathFunctions)));
     }
@@ -368,6 +436,22 @@ public class PipesPipeline<S, E> extends Pipeline<S, E> implements PipesFluentPi
         return this.add(new ShufflePipe());
     }
 
+    public PipesPipeline<S, List> shuffle(final int windowSize) {
+        return this.add(new ShufflePipe(windowSize));
+    }
+
+    public PipesPipeline<S, List> window(final int size) {
+        return this.add(new WindowPipe(size));
+    }
+
+    public PipesPipeline<S, List> window(final int size, final int slide) {
+        return this.add(new WindowPipe(size, slide));
+    }
+
+    public PipesPipeline<S, ?> window(final int size, final PipeFunction<List, ?> function) {
+        return this.add(new WindowPipe(size, size, FluentUtility.prepareFunction(this.asMap, function)));
+    }
+
     public PipesPipeline<S, ?> cap() {
         return this.add(new SideEffectCapPipe((SideEffectPipe) FluentUtility.removePreviousPipes(this, 1).get(0)));
     }
@@ -398,11 +482,115 @@ public class PipesPipeline<S, E> extends Pipeline<S, E> implements PipesFluentPi
         return this.add(new StartPipe<S>(object));
     }
 
+    public PipesPipeline<S, E> async(final int capacity) {
+        return this.add(new AsyncBoundaryPipe<E>(capacity));
+    }
+
     public PipesFluentPipeline<S, E> enablePath() {
         this.enablePath(true);
         return this;
     }
 
+    public PipesFluentPipeline<S, E> enableProfiling() {
+        this.enableProfiling(true);
+        return this;
+    }
+
+    public boolean hasNext() {
+        this.fusePipes();
+        return super.hasNext();
+    }
+
+    public E next() {
+        this.fusePipes();
+        return super.next();
+    }
+
+    public Object nextOrEnd() {
+        this.fusePipes();
+        return super.nextOrEnd();
+    }
+
+    public int nextBatch(final Object[] batch, final int offset, final int length) {
+        this.fusePipes();
+        return super.nextBatch(batch, offset, length);
+    }
+
+    public long count() {
+        this.fusePipes();
+        return super.count();
+    }
+
+    public void iterate() {
+        this.fusePipes();
+        super.iterate();
+    }
+
+    public Collection<E> fill(final Collection<E> collection) {
+        this.fusePipes();
+        return super.fill(collection);
+    }
+
+    /**
+     * Pipes added after the pipeline has started iterating are chained after the fused pipes and are not fused.
+     */
+    public void addPipe(final Pipe pipe) {
+        if (null == this.fusedPipes) {
+            super.addPipe(pipe);
+        } else {
+            this.pipes.add(pipe);
+            this.fusedPipes.add(pipe);
+            this.setPipes(this.fusedPipes);
+        }
+    }
+
+    public void addPipe(final int location, final Pipe pipe) {
+        this.unfusePipes();
+        super.addPipe(location, pipe);
+    }
+
+    public Pipe remove(final int index) {
+        this.unfusePipes();
+        return super.remove(index);
+    }
+
+    public void enableProfiling(final boolean enable) {
+        // the profiled pipes are the pipes of the pipeline and thus, they must be evaluated
+        if (enable)
+            this.unfusePipes();
+        super.enableProfiling(enable);
+    }
+
+    /**
+     * The pipes of the pipeline are fused (see FluentUtility.fusePipes()) once, when the pipeline starts iterating.
+     * The pipes of the pipeline (see getPipes()) remain the pipes that were added to it.
+     */
+    private void fusePipes() {
+        if (!this.fused) {
+            this.fused = true;
+            if (null == this.getProfile()) {
+                final List<Pipe> pipes = FluentUtility.fusePipes(this);
+                if (pipes.size() != this.pipes.size())
+                    this.fusedPipes = pipes;
+            }
+        }
+    }
+
+    /**
+     * Chain the pipes of the pipeline in place of the fused pipes (e.g. before the pipes of the pipeline are altered or profiled).
+     */
+    private void unfusePipes() {
+        if (null != this.fusedPipes) {
+            final boolean fusedStartPipe = this.fusedPipes.get(0) != this.pipes.get(0);
+            this.fusedPipes = null;
+            this.setPipes(this.pipes);
+            if (fusedStartPipe && null != this.starts)
+                this.startPipe.setStarts(this.starts);
+            if (this.pathEnabled)
+                this.enablePath(true);
+        }
+    }
+
     /**
      * Returns the current pipeline with a new end type.
      * Useful if the end type of the pipeline cannot be implicitly derived.
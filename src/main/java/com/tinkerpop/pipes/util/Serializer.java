@@ -0,0 +1,32 @@
+package com.tinkerpop.pipes.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A Serializer writes objects to and reads objects from a binary stream.
+ * It is used to spill objects to disk (e.g. see ExternalSorter) and thus, read() must return an object equal to the one written by write().
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface Serializer<T> {
+
+    /**
+     * Write the object to the output.
+     *
+     * @param object the object to write
+     * @param output the output to write to
+     * @throws IOException if the output can not be written to
+     */
+    public void write(final T object, final DataOutput output) throws IOException;
+
+    /**
+     * Read the next object from the input.
+     *
+     * @param input the input to read from
+     * @return the read object
+     * @throws IOException if the input can not be read from
+     */
+    public T read(final DataInput input) throws IOException;
+}
@@ -0,0 +1,41 @@
+package com.tinkerpop.pipes.util.cache;
+
+/**
+ * AbstractCache provides the weight bound and the statistics of the bounded caches.
+ * A cache bounded by a number of entries is a cache bounded by weight where every entry weighs 1 (see Weigher.SINGLETON).
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public abstract class AbstractCache<K, V> implements Cache<K, V> {
+
+    protected final long maxWeight;
+    protected final Weigher<K, V> weigher;
+    protected final CacheStats stats = new CacheStats();
+    protected long weight = 0l;
+
+    public AbstractCache(final long maxWeight, final Weigher<K, V> weigher) {
+        if (maxWeight < 1l)
+            throw new IllegalArgumentException("The maximum weight of a cache must be greater than 0: " + maxWeight);
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    protected int weigh(final K key, final V value) {
+        final int weight = this.weigher.weigh(key, value);
+        if (weight < 0)
+            throw new IllegalArgumentException("The weight of an entry can not be negative: " + weight);
+        return weight;
+    }
+
+    public long getWeight() {
+        return this.weight;
+    }
+
+    public long getMaxWeight() {
+        return this.maxWeight;
+    }
+
+    public CacheStats getStats() {
+        return this.stats;
+    }
+}
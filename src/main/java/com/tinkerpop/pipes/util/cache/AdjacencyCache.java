@@ -0,0 +1,348 @@
+package com.tinkerpop.pipes.util.cache;
+
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Element;
+import com.tinkerpop.blueprints.Graph;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.transform.VertexQueryPipe;
+import com.tinkerpop.pipes.transform.VerticesEdgesPipe;
+import com.tinkerpop.pipes.transform.VerticesVerticesPipe;
+import com.tinkerpop.pipes.util.BatchAdjacencyProvider;
+import com.tinkerpop.pipes.util.MetaPipe;
+import com.tinkerpop.pipes.util.PipeHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AdjacencyCache caches the adjacent vertices and edges of vertices and thus, repeated traversals of the same (e.g. hub) vertices do not read from the graph again.
+ * An adjacency is keyed by the id of the vertex, the direction, the labels, the branch factor and the filters of a query (see VertexQueryPipe).
+ * By default, the adjacencies are held in an LruCache whose weight is the total number of cached neighbors.
+ * An adjacency that is larger than the maximum adjacency size (e.g. of a hub vertex) is never cached as it would evict all other adjacencies.
+ * Once such an adjacency is found, its lookups return null and the pipes read it from the graph with their own (e.g. limited) query.
+ * <p/>
+ * The keys of an AdjacencyCache include the graph of the cache (see forGraph()) and thus, an AdjacencyCache can be shared between graphs whose vertex ids overlap.
+ * <p/>
+ * An AdjacencyCache is attached to the VerticesVerticesPipes, VerticesEdgesPipes and VertexQueryPipes of a pipeline via attach().
+ * It can be shared between pipelines. If the pipelines are evaluated by many threads, then the AdjacencyCache must wrap a ConcurrentCache.
+ * The cache is not aware of changes to the graph and thus, it should be cleared when the graph is mutated.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class AdjacencyCache {
+
+    private final Cache<Key, List> cache;
+    private final int maxAdjacencySize;
+    private final Set<Key> oversized;
+    private final Graph graph;
+
+    /**
+     * @param maxNeighbors the maximum number of neighbors (i.e. adjacent vertices and edges) to cache
+     */
+    public AdjacencyCache(final long maxNeighbors) {
+        // an adjacency weighs its size plus 1 (see Weigher.COLLECTION_SIZE)
+        this(new LruCache<Key, List>(maxNeighbors, Weigher.COLLECTION_SIZE), (int) Math.min(maxNeighbors - 1l, Integer.MAX_VALUE));
+    }
+
+    public AdjacencyCache(final Cache<Key, List> cache) {
+        this(cache, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param cache            the cache of the adjacencies
+     * @param maxAdjacencySize the maximum size of a cached adjacency
+     */
+    public AdjacencyCache(final Cache<Key, List> cache, final int maxAdjacencySize) {
+        this(cache, maxAdjacencySize, Collections.newSetFromMap(new ConcurrentHashMap<Key, Boolean>()), null);
+    }
+
+    private AdjacencyCache(final Cache<Key, List> cache, final int maxAdjacencySize, final Set<Key> oversized, final Graph graph) {
+        if (maxAdjacencySize < 0)
+            throw new IllegalArgumentException("The maximum adjacency size must not be negative: " + maxAdjacencySize);
+        this.cache = cache;
+        this.maxAdjacencySize = maxAdjacencySize;
+        this.oversized = oversized;
+        this.graph = graph;
+    }
+
+    /**
+     * Get a view of this cache for the vertices of the provided graph. The view shares its cache with this AdjacencyCache,
+     * but its keys are distinct from the keys of any other graph.
+     *
+     * @param graph the graph of the vertices whose adjacencies are cached
+     * @return the view of this cache for the graph
+     */
+    public AdjacencyCache forGraph(final Graph graph) {
+        return new AdjacencyCache(this.cache, this.maxAdjacencySize, this.oversized, graph);
+    }
+
+    public Graph getGraph() {
+        return this.graph;
+    }
+
+    public int getMaxAdjacencySize() {
+        return this.maxAdjacencySize;
+    }
+
+    /**
+     * Create the key of the adjacency of a vertex of the graph of this cache.
+     *
+     * @param vertex       the vertex of the adjacency
+     * @param elementClass the class of the adjacent elements (i.e. Vertex or Edge)
+     * @param direction    the direction of the adjacency
+     * @param branchFactor the maximum number of adjacent elements (Integer.MAX_VALUE for no maximum)
+     * @param labels       the labels of the adjacency
+     * @param filters      the filters of the query of the adjacency (e.g. the HasContainers of a VertexQueryPipe)
+     * @return the key of the adjacency
+     */
+    public Key createKey(final Vertex vertex, final Class elementClass, final Direction direction, final int branchFactor, final String[] labels, final Object... filters) {
+        return new Key(this.graph, vertex.getId(), elementClass, direction, branchFactor, labels, filters);
+    }
+
+    /**
+     * Determine whether the adjacency of the key is too large to be cached.
+     *
+     * @param key the key of the adjacency
+     * @return whether the adjacency was found to be larger than the maximum adjacency size
+     */
+    public boolean isOversized(final Key key) {
+        return this.oversized.contains(key);
+    }
+
+    /**
+     * Get the adjacent vertices of the vertex. On a miss, the vertices are read from the graph and cached.
+     * If the adjacency is known to be larger than the maximum adjacency size, then null is returned and the vertices are to be read from the graph.
+     *
+     * @param vertex       the vertex whose adjacent vertices are returned
+     * @param direction    the direction of the edges to the adjacent vertices
+     * @param branchFactor the maximum number of adjacent vertices (Integer.MAX_VALUE for no maximum)
+     * @param labels       the labels of the edges to the adjacent vertices
+     * @return the adjacent vertices or null if the adjacency is too large to be cached
+     */
+    public List<Vertex> getVertices(final Vertex vertex, final Direction direction, final int branchFactor, final String... labels) {
+        final Key key = this.createKey(vertex, Vertex.class, direction, branchFactor, labels);
+        if (this.oversized.contains(key))
+            return null;
+        List<Vertex> vertices = this.cache.get(key);
+        if (null == vertices) {
+            vertices = new ArrayList<Vertex>();
+            PipeHelper.fillCollection(branchFactor == Integer.MAX_VALUE ?
+                    vertex.getVertices(direction, labels).iterator() :
+                    vertex.query().direction(direction).labels(labels).limit(branchFactor).vertices().iterator(), vertices);
+            this.put(key, vertices);
+        }
+        return vertices;
+    }
+
+    /**
+     * Get the incident edges of the vertex. On a miss, the edges are read from the graph and cached.
+     * If the adjacency is known to be larger than the maximum adjacency size, then null is returned and the edges are to be read from the graph.
+     *
+     * @param vertex       the vertex whose incident edges are returned
+     * @param direction    the direction of the incident edges
+     * @param branchFactor the maximum number of incident edges (Integer.MAX_VALUE for no maximum)
+     * @param labels       the labels of the incident edges
+     * @return the incident edges or null if the adjacency is too large to be cached
+     */
+    public List<Edge> getEdges(final Vertex vertex, final Direction direction, final int branchFactor, final String... labels) {
+        final Key key = this.createKey(vertex, Edge.class, direction, branchFactor, labels);
+        if (this.oversized.contains(key))
+            return null;
+        List<Edge> edges = this.cache.get(key);
+        if (null == edges) {
+            edges = new ArrayList<Edge>();
+            PipeHelper.fillCollection(branchFactor == Integer.MAX_VALUE ?
+                    vertex.getEdges(direction, labels).iterator() :
+                    vertex.query().direction(direction).labels(labels).limit(branchFactor).edges().iterator(), edges);
+            this.put(key, edges);
+        }
+        return edges;
+    }
+
+    /**
+     * Get the adjacent vertices of each vertex of the batch. The misses are read from the graph with a single call to the provider and cached.
+     *
+     * @param vertices     the batch of vertices
+     * @param direction    the direction of the edges to the adjacent vertices
+     * @param branchFactor the maximum number of adjacent vertices per vertex (Integer.MAX_VALUE for no maximum)
+     * @param provider     the provider that reads the adjacencies of the misses
+     * @param labels       the labels of the edges to the adjacent vertices
+     * @return the adjacent vertices of each vertex in the order of the batch
+     */
+    public List<List<Vertex>> getVertices(final List<Vertex> vertices, final Direction direction, final int branchFactor, final BatchAdjacencyProvider provider, final String... labels) {
+        return (List) this.getAdjacencies(Vertex.class, vertices, direction, branchFactor, provider, labels);
+    }
+
+    /**
+     * Get the incident edges of each vertex of the batch. The misses are read from the graph with a single call to the provider and cached.
+     *
+     * @param vertices     the batch of vertices
+     * @param direction    the direction of the incident edges
+     * @param branchFactor the maximum number of incident edges per vertex (Integer.MAX_VALUE for no maximum)
+     * @param provider     the provider that reads the adjacencies of the misses
+     * @param labels       the labels of the incident edges
+     * @return the incident edges of each vertex in the order of the batch
+     */
+    public List<List<Edge>> getEdges(final List<Vertex> vertices, final Direction direction, final int branchFactor, final BatchAdjacencyProvider provider, final String... labels) {
+        return (List) this.getAdjacencies(Edge.class, vertices, direction, branchFactor, provider, labels);
+    }
+
+    private List<List> getAdjacencies(final Class elementClass, final List<Vertex> vertices, final Direction direction, final int branchFactor, final BatchAdjacencyProvider provider, final String... labels) {
+        final List<List> adjacencies = new ArrayList<List>(vertices.size());
+        final List<Vertex> misses = new ArrayList<Vertex>();
+        final List<Key> keys = new ArrayList<Key>();
+        for (final Vertex vertex : vertices) {
+            final Key key = this.createKey(vertex, elementClass, direction, branchFactor, labels);
+            final List adjacency = this.oversized.contains(key) ? null : this.cache.get(key);
+            if (null == adjacency) {
+                misses.add(vertex);
+                keys.add(key);
+            }
+            adjacencies.add(adjacency);
+        }
+        if (!misses.isEmpty()) {
+            final List<? extends List> loaded = elementClass.equals(Vertex.class) ?
+                    provider.getVertices(misses, direction, branchFactor, labels) :
+                    provider.getEdges(misses, direction, branchFactor, labels);
+            int miss = 0;
+            for (int i = 0; i < adjacencies.size(); i++) {
+                if (null == adjacencies.get(i)) {
+                    adjacencies.set(i, loaded.get(miss));
+                    this.put(keys.get(miss), loaded.get(miss));
+                    miss++;
+                }
+            }
+        }
+        return adjacencies;
+    }
+
+    /**
+     * Get the cached elements of a key (e.g. the results of the query of a VertexQueryPipe).
+     *
+     * @param key the key of the elements
+     * @return the elements or null if the key is not cached
+     */
+    public <E extends Element> List<E> get(final Key key) {
+        return this.cache.get(key);
+    }
+
+    /**
+     * Cache the elements of a key (e.g. the results of the query of a VertexQueryPipe).
+     * If there are more elements than the maximum adjacency size, then they are not cached and the key is marked as oversized (see isOversized()).
+     *
+     * @param key      the key of the elements
+     * @param elements the elements to cache
+     */
+    public <E extends Element> void put(final Key key, final List<E> elements) {
+        if (elements.size() > this.maxAdjacencySize)
+            this.oversized.add(key);
+        else
+            this.cache.put(key, elements);
+    }
+
+    /**
+     * Remove all the adjacencies of the cache (e.g. after the graph has been mutated).
+     */
+    public void clear() {
+        this.cache.clear();
+        this.oversized.clear();
+    }
+
+    public int size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Get the statistics of the cache. The hit rate is the fraction of adjacency lookups that did not read from the graph.
+     *
+     * @return the statistics of the cache
+     */
+    public CacheStats getStats() {
+        return this.cache.getStats();
+    }
+
+    /**
+     * Attach the cache to the provided pipe and, recursively, to the pipes of a MetaPipe (e.g. a Pipeline or a LoopPipe).
+     *
+     * @param pipe the pipe whose adjacency lookups are to be cached
+     */
+    public void attach(final Pipe pipe) {
+        if (pipe instanceof MetaPipe) {
+            for (final Pipe subPipe : ((MetaPipe) pipe).getPipes()) {
+                this.attach(subPipe);
+            }
+        }
+        if (pipe instanceof VerticesVerticesPipe)
+            ((VerticesVerticesPipe) pipe).setAdjacencyCache(this);
+        else if (pipe instanceof VerticesEdgesPipe)
+            ((VerticesEdgesPipe) pipe).setAdjacencyCache(this);
+        else if (pipe instanceof VertexQueryPipe)
+            ((VertexQueryPipe) pipe).setAdjacencyCache(this);
+    }
+
+    public String toString() {
+        return "AdjacencyCache[" + this.cache.size() + "," + this.cache.getStats() + "]";
+    }
+
+    /**
+     * The key of the adjacency of a vertex. The graph of the key is compared by identity and the filters with equals() (e.g. the HasContainers of a VertexQueryPipe).
+     */
+    public static class Key {
+
+        private final Object graph;
+        private final Object id;
+        private final Class elementClass;
+        private final Direction direction;
+        private final int branchFactor;
+        private final String[] labels;
+        private final Object[] filters;
+        private final int hashCode;
+
+        public Key(final Object graph, final Object id, final Class elementClass, final Direction direction, final int branchFactor, final String[] labels, final Object... filters) {
+            this.graph = graph;
+            this.id = id;
+            this.elementClass = elementClass;
+            this.direction = direction;
+            this.branchFactor = branchFactor;
+            this.labels = labels.clone();
+            this.filters = filters;
+            int hash = System.identityHashCode(graph);
+            hash = 31 * hash + (null == id ? 0 : id.hashCode());
+            hash = 31 * hash + elementClass.hashCode();
+            hash = 31 * hash + direction.hashCode();
+            hash = 31 * hash + branchFactor;
+            hash = 31 * hash + Arrays.hashCode(this.labels);
+            this.hashCode = 31 * hash + Arrays.hashCode(filters);
+        }
+
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        public boolean equals(final Object object) {
+            if (this == object)
+                return true;
+            if (!(object instanceof Key))
+                return false;
+            final Key other = (Key) object;
+            return this.hashCode == other.hashCode &&
+                    this.graph == other.graph &&
+                    (null == this.id ? null == other.id : this.id.equals(other.id)) &&
+                    this.elementClass.equals(other.elementClass) &&
+                    this.direction == other.direction &&
+                    this.branchFactor == other.branchFactor &&
+                    Arrays.equals(this.labels, other.labels) &&
+                    Arrays.equals(this.filters, other.filters);
+        }
+
+        public String toString() {
+            return "Key[" + this.id + "," + this.elementClass.getSimpleName().toLowerCase() + "," + this.direction.name().toLowerCase() + "," + Arrays.asList(this.labels) + "]";
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tinkerpop.pipes.util.cache;
+
+/**
+ * A Cache maps keys to values and may evict entries according to its policy (e.g. LruCache, LfuCache, TinyLfuCache).
+ * The hits, misses and evictions of a cache are recorded in its CacheStats.
+ * Unless stated otherwise (see ConcurrentCache), a cache is not thread-safe.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface Cache<K, V> {
+
+    /**
+     * Get the value of the key and record a hit or a miss.
+     *
+     * @param key the key of the value
+     * @return the value of the key or null if the key is not cached
+     */
+    public V get(final K key);
+
+    /**
+     * Cache the value of the key. Entries may be evicted to make room for the value.
+     *
+     * @param key   the key of the value
+     * @param value the value to cache
+     */
+    public void put(final K key, final V value);
+
+    /**
+     * Remove the entry of the key. A removal is neither a hit, a miss nor an eviction.
+     *
+     * @param key the key of the entry
+     * @return the removed value or null if the key was not cached
+     */
+    public V remove(final K key);
+
+    /**
+     * Remove all the entries of the cache. The statistics of the cache are not cleared.
+     */
+    public void clear();
+
+    /**
+     * Get the number of entries of the cache.
+     *
+     * @return the number of cached entries
+     */
+    public int size();
+
+    /**
+     * Get the hit, miss and eviction counts of the cache.
+     *
+     * @return the statistics of the cache
+     */
+    public CacheStats getStats();
+}
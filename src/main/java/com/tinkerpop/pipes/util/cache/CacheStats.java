@@ -0,0 +1,77 @@
+package com.tinkerpop.pipes.util.cache;
+
+/**
+ * CacheStats counts the hits, misses and evictions of a Cache.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class CacheStats {
+
+    private long hits = 0l;
+    private long misses = 0l;
+    private long evictions = 0l;
+
+    public CacheStats() {
+    }
+
+    public CacheStats(final long hits, final long misses, final long evictions) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    public void recordHit() {
+        this.hits++;
+    }
+
+    public void recordMiss() {
+        this.misses++;
+    }
+
+    public void recordEviction() {
+        this.evictions++;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    public long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     * Get the ratio of hits to requests (hits and misses).
+     *
+     * @return the hit rate of the cache or NaN if there were no requests
+     */
+    public double getHitRate() {
+        final long requests = this.hits + this.misses;
+        return requests == 0l ? Double.NaN : (double) this.hits / (double) requests;
+    }
+
+    /**
+     * Add the counts of another CacheStats to the counts of this CacheStats.
+     *
+     * @param stats the counts to add
+     */
+    public void add(final CacheStats stats) {
+        this.hits = this.hits + stats.hits;
+        this.misses = this.misses + stats.misses;
+        this.evictions = this.evictions + stats.evictions;
+    }
+
+    public void clear() {
+        this.hits = 0l;
+        this.misses = 0l;
+        this.evictions = 0l;
+    }
+
+    public String toString() {
+        return "CacheStats[hits:" + this.hits + ", misses:" + this.misses + ", evictions:" + this.evictions + "]";
+    }
+}
@@ -0,0 +1,91 @@
+package com.tinkerpop.pipes.util.cache;
+
+import com.tinkerpop.pipes.PipeFunction;
+
+/**
+ * ConcurrentCache is a thread-safe Cache that can be shared between pipelines (e.g. the MemoizePipes of concurrent requests).
+ * The keys are partitioned over a number of segments where each segment is a Cache that is locked independently.
+ * The caches of the segments are constructed by the segment factory, where the argument of the factory is the index of the segment.
+ * Thus, the bound of the cache is the sum of the bounds of its segments.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class ConcurrentCache<K, V> implements Cache<K, V> {
+
+    private final Cache<K, V>[] segments;
+
+    public ConcurrentCache(final int segments, final PipeFunction<Integer, Cache<K, V>> segmentFactory) {
+        if (segments < 1)
+            throw new IllegalArgumentException("The number of segments must be at least 1");
+        this.segments = new Cache[segments];
+        for (int i = 0; i < segments; i++) {
+            this.segments[i] = segmentFactory.compute(i);
+        }
+    }
+
+    public ConcurrentCache(final Cache<K, V> cache) {
+        this.segments = new Cache[]{cache};
+    }
+
+    private Cache<K, V> getSegment(final Object key) {
+        if (this.segments.length == 1)
+            return this.segments[0];
+        int hash = key.hashCode();
+        hash = hash ^ (hash >>> 16);
+        return this.segments[(hash & 0x7fffffff) % this.segments.length];
+    }
+
+    public V get(final K key) {
+        final Cache<K, V> segment = this.getSegment(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    public void put(final K key, final V value) {
+        final Cache<K, V> segment = this.getSegment(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+
+    public V remove(final K key) {
+        final Cache<K, V> segment = this.getSegment(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    public void clear() {
+        for (final Cache<K, V> segment : this.segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (final Cache<K, V> segment : this.segments) {
+            synchronized (segment) {
+                size = size + segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get the statistics of the cache as a snapshot of the sum of the statistics of its segments.
+     *
+     * @return the statistics of the cache
+     */
+    public CacheStats getStats() {
+        final CacheStats stats = new CacheStats();
+        for (final Cache<K, V> segment : this.segments) {
+            synchronized (segment) {
+                stats.add(segment.getStats());
+            }
+        }
+        return stats;
+    }
+}
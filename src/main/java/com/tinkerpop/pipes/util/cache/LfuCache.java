@@ -0,0 +1,138 @@
+package com.tinkerpop.pipes.util.cache;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * LfuCache evicts the least frequently used entries when its weight exceeds its maximum weight.
+ * Entries with the same frequency are evicted in the order they reached that frequency.
+ * The frequency of an entry is the number of hits since it was cached and thus, is forgotten when the entry is evicted (see TinyLfuCache).
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class LfuCache<K, V> extends AbstractCache<K, V> {
+
+    private final Map<K, Entry<V>> map = new HashMap<K, Entry<V>>();
+    private final TreeMap<Long, LinkedHashSet<K>> frequencies = new TreeMap<Long, LinkedHashSet<K>>();
+
+    public LfuCache(final long maxWeight, final Weigher<K, V> weigher) {
+        super(maxWeight, weigher);
+    }
+
+    public LfuCache(final int maxSize) {
+        this(maxSize, Weigher.SINGLETON);
+    }
+
+    public V get(final K key) {
+        final Entry<V> entry = this.map.get(key);
+        if (null == entry) {
+            this.stats.recordMiss();
+            return null;
+        }
+        this.stats.recordHit();
+        this.removeFrequency(key, entry.frequency);
+        entry.frequency++;
+        this.addFrequency(key, entry.frequency);
+        return entry.value;
+    }
+
+    public void put(final K key, final V value) {
+        final int weight = this.weigh(key, value);
+        final Entry<V> old = this.map.get(key);
+        if (null != old) {
+            this.weight = this.weight - old.weight;
+            if (weight > this.maxWeight) {
+                this.remove(key, old);
+                this.stats.recordEviction();
+                return;
+            }
+            old.value = value;
+            old.weight = weight;
+            this.weight = this.weight + weight;
+            this.evict(key);
+            return;
+        }
+        if (weight > this.maxWeight) {
+            this.stats.recordEviction();
+            return;
+        }
+        this.weight = this.weight + weight;
+        this.evict(null);
+        this.map.put(key, new Entry<V>(value, weight));
+        this.addFrequency(key, 1l);
+    }
+
+    public V remove(final K key) {
+        final Entry<V> entry = this.map.get(key);
+        if (null == entry)
+            return null;
+        this.remove(key, entry);
+        this.weight = this.weight - entry.weight;
+        return entry.value;
+    }
+
+    private void evict(final K retain) {
+        while (this.weight > this.maxWeight) {
+            K victim = null;
+            for (final LinkedHashSet<K> keys : this.frequencies.values()) {
+                for (final K key : keys) {
+                    if (retain == null || !retain.equals(key)) {
+                        victim = key;
+                        break;
+                    }
+                }
+                if (null != victim)
+                    break;
+            }
+            final Entry<V> entry = this.map.get(victim);
+            this.remove(victim, entry);
+            this.weight = this.weight - entry.weight;
+            this.stats.recordEviction();
+        }
+    }
+
+    private void remove(final K key, final Entry<V> entry) {
+        this.map.remove(key);
+        this.removeFrequency(key, entry.frequency);
+    }
+
+    private void addFrequency(final K key, final long frequency) {
+        LinkedHashSet<K> keys = this.frequencies.get(frequency);
+        if (null == keys) {
+            keys = new LinkedHashSet<K>();
+            this.frequencies.put(frequency, keys);
+        }
+        keys.add(key);
+    }
+
+    private void removeFrequency(final K key, final long frequency) {
+        final LinkedHashSet<K> keys = this.frequencies.get(frequency);
+        keys.remove(key);
+        if (keys.isEmpty())
+            this.frequencies.remove(frequency);
+    }
+
+    public void clear() {
+        this.map.clear();
+        this.frequencies.clear();
+        this.weight = 0l;
+    }
+
+    public int size() {
+        return this.map.size();
+    }
+
+    private static class Entry<V> {
+
+        public V value;
+        public int weight;
+        public long frequency = 1l;
+
+        public Entry(final V value, final int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
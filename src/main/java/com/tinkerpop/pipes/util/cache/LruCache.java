@@ -0,0 +1,82 @@
+package com.tinkerpop.pipes.util.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LruCache evicts the least recently used entries when its weight exceeds its maximum weight.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class LruCache<K, V> extends AbstractCache<K, V> {
+
+    private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true);
+
+    public LruCache(final long maxWeight, final Weigher<K, V> weigher) {
+        super(maxWeight, weigher);
+    }
+
+    public LruCache(final int maxSize) {
+        this(maxSize, Weigher.SINGLETON);
+    }
+
+    public V get(final K key) {
+        final Entry<V> entry = this.map.get(key);
+        if (null == entry) {
+            this.stats.recordMiss();
+            return null;
+        }
+        this.stats.recordHit();
+        return entry.value;
+    }
+
+    public void put(final K key, final V value) {
+        final int weight = this.weigh(key, value);
+        final Entry<V> old = this.map.remove(key);
+        if (null != old)
+            this.weight = this.weight - old.weight;
+        if (weight > this.maxWeight) {
+            this.stats.recordEviction();
+            return;
+        }
+        this.map.put(key, new Entry<V>(value, weight));
+        this.weight = this.weight + weight;
+        final Iterator<Map.Entry<K, Entry<V>>> iterator = this.map.entrySet().iterator();
+        while (this.weight > this.maxWeight) {
+            // the eldest entry is the least recently used
+            final Entry<V> eldest = iterator.next().getValue();
+            iterator.remove();
+            this.weight = this.weight - eldest.weight;
+            this.stats.recordEviction();
+        }
+    }
+
+    public V remove(final K key) {
+        final Entry<V> entry = this.map.remove(key);
+        if (null == entry)
+            return null;
+        this.weight = this.weight - entry.weight;
+        return entry.value;
+    }
+
+    public void clear() {
+        this.map.clear();
+        this.weight = 0l;
+    }
+
+    public int size() {
+        return this.map.size();
+    }
+
+    private static class Entry<V> {
+
+        public final V value;
+        public final int weight;
+
+        public Entry(final V value, final int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
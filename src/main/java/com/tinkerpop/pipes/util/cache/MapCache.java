@@ -0,0 +1,56 @@
+package com.tinkerpop.pipes.util.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MapCache is an unbounded Cache backed by a Map. No entries are evicted.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class MapCache<K, V> implements Cache<K, V> {
+
+    private final Map<K, V> map;
+    private final CacheStats stats = new CacheStats();
+
+    public MapCache(final Map<K, V> map) {
+        this.map = map;
+    }
+
+    public MapCache() {
+        this(new HashMap<K, V>());
+    }
+
+    public V get(final K key) {
+        final V value = this.map.get(key);
+        if (null == value)
+            this.stats.recordMiss();
+        else
+            this.stats.recordHit();
+        return value;
+    }
+
+    public void put(final K key, final V value) {
+        this.map.put(key, value);
+    }
+
+    public V remove(final K key) {
+        return this.map.remove(key);
+    }
+
+    public void clear() {
+        this.map.clear();
+    }
+
+    public int size() {
+        return this.map.size();
+    }
+
+    public CacheStats getStats() {
+        return this.stats;
+    }
+
+    public Map<K, V> getMap() {
+        return this.map;
+    }
+}
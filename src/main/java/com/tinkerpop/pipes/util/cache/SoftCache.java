@@ -0,0 +1,96 @@
+package com.tinkerpop.pipes.util.cache;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+
+/**
+ * SoftCache holds the values of a Cache through soft references and thus, the garbage collector may reclaim the values under memory pressure.
+ * The policy (and bound) of the cache is that of the provided cache of soft references. A reclaimed value is a miss and an eviction.
+ * The entries of the reclaimed values are removed from the provided cache on the next get() or put() and thus, their keys are not retained.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class SoftCache<K, V> implements Cache<K, V> {
+
+    private final Cache<K, SoftReference<V>> cache;
+    private final ReferenceQueue<V> queue = new ReferenceQueue<V>();
+    private final CacheStats stats = new CacheStats();
+
+    public SoftCache(final Cache<K, SoftReference<V>> cache) {
+        this.cache = cache;
+    }
+
+    public SoftCache() {
+        this(new MapCache<K, SoftReference<V>>());
+    }
+
+    public V get(final K key) {
+        this.purge();
+        final SoftReference<V> reference = this.cache.get(key);
+        final V value = null == reference ? null : reference.get();
+        if (null == value) {
+            this.stats.recordMiss();
+            if (null != reference) {
+                // reclaimed, but not yet enqueued
+                this.cache.remove(key);
+                this.stats.recordEviction();
+            }
+        } else {
+            this.stats.recordHit();
+        }
+        return value;
+    }
+
+    public void put(final K key, final V value) {
+        this.purge();
+        this.cache.put(key, new KeyedSoftReference<K, V>(key, value, this.queue));
+    }
+
+    public V remove(final K key) {
+        final SoftReference<V> reference = this.cache.remove(key);
+        return null == reference ? null : reference.get();
+    }
+
+    public void clear() {
+        this.cache.clear();
+    }
+
+    public int size() {
+        return this.cache.size();
+    }
+
+    /**
+     * Get the statistics of the cache. The evictions include the evictions of the provided cache and the reclaimed values.
+     *
+     * @return the statistics of the cache
+     */
+    public CacheStats getStats() {
+        return new CacheStats(this.stats.getHits(), this.stats.getMisses(), this.stats.getEvictions() + this.cache.getStats().getEvictions());
+    }
+
+    /**
+     * Remove the entries of the reclaimed values from the provided cache.
+     */
+    private void purge() {
+        Reference<? extends V> reference;
+        while (null != (reference = this.queue.poll())) {
+            final K key = ((KeyedSoftReference<K, V>) reference).key;
+            // the key may have been removed or cached with another value since
+            if (this.cache.get(key) == reference) {
+                this.cache.remove(key);
+                this.stats.recordEviction();
+            }
+        }
+    }
+
+    private static class KeyedSoftReference<K, V> extends SoftReference<V> {
+
+        private final K key;
+
+        public KeyedSoftReference(final K key, final V value, final ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
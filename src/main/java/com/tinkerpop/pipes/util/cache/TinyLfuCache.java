@@ -0,0 +1,268 @@
+package com.tinkerpop.pipes.util.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * TinyLfuCache is a W-TinyLFU cache. New entries enter a small LRU window (1% of the maximum weight).
+ * The entries evicted from the window are only admitted to the main cache if they are requested more frequently than the entry they would evict.
+ * The frequencies of the keys are estimated by a count-min sketch that also remembers evicted and uncached keys. The sketch is periodically halved and thus, old frequencies age.
+ * The main cache is a segmented LRU: an entry hit in the probation segment is promoted to the protected segment (80% of the main cache)
+ * and the least recently used protected entries are demoted back to probation.
+ * This policy is scan-resistant like an LFU cache while adapting to recency like an LRU cache.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinyLfuCache<K, V> extends AbstractCache<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final Map<K, Node<V>> data = new HashMap<K, Node<V>>();
+    private final LinkedHashMap<K, Node<V>> window = new LinkedHashMap<K, Node<V>>();
+    private final LinkedHashMap<K, Node<V>> probation = new LinkedHashMap<K, Node<V>>();
+    private final LinkedHashMap<K, Node<V>> protect = new LinkedHashMap<K, Node<V>>();
+    private final long windowMaxWeight;
+    private final long mainMaxWeight;
+    private final long protectedMaxWeight;
+    private long windowWeight = 0l;
+    private long probationWeight = 0l;
+    private long protectedWeight = 0l;
+    private final FrequencySketch sketch;
+
+    public TinyLfuCache(final long maxWeight, final Weigher<K, V> weigher) {
+        super(maxWeight, weigher);
+        this.windowMaxWeight = Math.max(1l, maxWeight / 100l);
+        this.mainMaxWeight = maxWeight - this.windowMaxWeight;
+        this.protectedMaxWeight = this.mainMaxWeight * 80l / 100l;
+        this.sketch = new FrequencySketch((int) Math.min(maxWeight, 1 << 20));
+    }
+
+    public TinyLfuCache(final int maxSize) {
+        this(maxSize, Weigher.SINGLETON);
+    }
+
+    public V get(final K key) {
+        this.sketch.increment(key);
+        final Node<V> node = this.data.get(key);
+        if (null == node) {
+            this.stats.recordMiss();
+            return null;
+        }
+        this.stats.recordHit();
+        if (node.region == WINDOW) {
+            this.window.remove(key);
+            this.window.put(key, node);
+        } else if (node.region == PROBATION) {
+            this.probation.remove(key);
+            this.probationWeight = this.probationWeight - node.weight;
+            node.region = PROTECTED;
+            this.protect.put(key, node);
+            this.protectedWeight = this.protectedWeight + node.weight;
+            this.demoteProtected();
+        } else {
+            this.protect.remove(key);
+            this.protect.put(key, node);
+        }
+        return node.value;
+    }
+
+    public void put(final K key, final V value) {
+        final int weight = this.weigh(key, value);
+        final Node<V> old = this.data.get(key);
+        if (null != old)
+            this.remove(key, old);
+        if (weight > this.maxWeight) {
+            this.stats.recordEviction();
+            return;
+        }
+        final Node<V> node = new Node<V>(value, weight);
+        this.data.put(key, node);
+        this.window.put(key, node);
+        this.windowWeight = this.windowWeight + weight;
+        this.weight = this.weight + weight;
+        while (this.windowWeight > this.windowMaxWeight) {
+            final Iterator<Map.Entry<K, Node<V>>> iterator = this.window.entrySet().iterator();
+            final Map.Entry<K, Node<V>> candidate = iterator.next();
+            iterator.remove();
+            this.windowWeight = this.windowWeight - candidate.getValue().weight;
+            this.admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    /**
+     * Move an entry evicted from the window to the probation segment if it is more frequent than the main entry it would evict.
+     */
+    private void admit(final K key, final Node<V> node) {
+        if (this.probationWeight + this.protectedWeight + node.weight > this.mainMaxWeight) {
+            final K victim = this.getVictim();
+            if (null == victim || node.weight > this.mainMaxWeight || this.sketch.frequency(key) <= this.sketch.frequency(victim)) {
+                this.data.remove(key);
+                this.weight = this.weight - node.weight;
+                this.stats.recordEviction();
+                return;
+            }
+            while (this.probationWeight + this.protectedWeight + node.weight > this.mainMaxWeight) {
+                final K evicted = this.getVictim();
+                this.remove(evicted, this.data.get(evicted));
+                this.stats.recordEviction();
+            }
+        }
+        node.region = PROBATION;
+        this.probation.put(key, node);
+        this.probationWeight = this.probationWeight + node.weight;
+    }
+
+    private K getVictim() {
+        if (!this.probation.isEmpty())
+            return this.probation.keySet().iterator().next();
+        else if (!this.protect.isEmpty())
+            return this.protect.keySet().iterator().next();
+        else
+            return null;
+    }
+
+    private void demoteProtected() {
+        while (this.protectedWeight > this.protectedMaxWeight && this.protect.size() > 1) {
+            final Iterator<Map.Entry<K, Node<V>>> iterator = this.protect.entrySet().iterator();
+            final Map.Entry<K, Node<V>> entry = iterator.next();
+            iterator.remove();
+            final Node<V> node = entry.getValue();
+            this.protectedWeight = this.protectedWeight - node.weight;
+            node.region = PROBATION;
+            this.probation.put(entry.getKey(), node);
+            this.probationWeight = this.probationWeight + node.weight;
+        }
+    }
+
+    public V remove(final K key) {
+        final Node<V> node = this.data.get(key);
+        if (null == node)
+            return null;
+        this.remove(key, node);
+        return node.value;
+    }
+
+    private void remove(final K key, final Node<V> node) {
+        this.data.remove(key);
+        this.weight = this.weight - node.weight;
+        if (node.region == WINDOW) {
+            this.window.remove(key);
+            this.windowWeight = this.windowWeight - node.weight;
+        } else if (node.region == PROBATION) {
+            this.probation.remove(key);
+            this.probationWeight = this.probationWeight - node.weight;
+        } else {
+            this.protect.remove(key);
+            this.protectedWeight = this.protectedWeight - node.weight;
+        }
+    }
+
+    public void clear() {
+        this.data.clear();
+        this.window.clear();
+        this.probation.clear();
+        this.protect.clear();
+        this.weight = 0l;
+        this.windowWeight = 0l;
+        this.probationWeight = 0l;
+        this.protectedWeight = 0l;
+    }
+
+    public int size() {
+        return this.data.size();
+    }
+
+    /**
+     * Get the estimated frequency of the key (saturating at 15).
+     *
+     * @param key the key to estimate the frequency of
+     * @return the estimated frequency of the key
+     */
+    public int frequency(final K key) {
+        return this.sketch.frequency(key);
+    }
+
+    private static class Node<V> {
+
+        public final V value;
+        public final int weight;
+        public int region = WINDOW;
+
+        public Node(final V value, final int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * A count-min sketch of 4 rows of counters that saturate at 15.
+     * When the number of increments reaches 10 times the width of the sketch, all the counters are halved.
+     */
+    private static class FrequencySketch {
+
+        private static final long[] SEEDS = new long[]{0xc3a5c85c97cb3127l, 0xb492b66fbe98f273l, 0x9ae16a3b2f90404fl, 0xcbf29ce484222325l};
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+
+        private final byte[] counters;
+        private final int width;
+        private final int sampleSize;
+        private int additions = 0;
+
+        public FrequencySketch(final int capacity) {
+            int width = 16;
+            while (width < capacity) {
+                width = width << 1;
+            }
+            this.width = width;
+            this.counters = new byte[DEPTH * width];
+            this.sampleSize = 10 * width;
+        }
+
+        public void increment(final Object key) {
+            final int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int row = 0; row < DEPTH; row++) {
+                final int index = this.index(hash, row);
+                if (this.counters[index] < MAX_COUNT) {
+                    this.counters[index]++;
+                    added = true;
+                }
+            }
+            if (added && ++this.additions >= this.sampleSize)
+                this.age();
+        }
+
+        public int frequency(final Object key) {
+            final int hash = spread(key.hashCode());
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                frequency = Math.min(frequency, this.counters[this.index(hash, row)]);
+            }
+            return frequency;
+        }
+
+        private void age() {
+            for (int i = 0; i < this.counters.length; i++) {
+                this.counters[i] = (byte) (this.counters[i] >>> 1);
+            }
+            this.additions = this.additions / 2;
+        }
+
+        private int index(final int hash, final int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            h = h + (h >>> 32);
+            return row * this.width + ((int) h & (this.width - 1));
+        }
+
+        private static int spread(int hash) {
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+            return (hash >>> 16) ^ hash;
+        }
+    }
+}
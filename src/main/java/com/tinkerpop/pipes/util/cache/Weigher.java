@@ -0,0 +1,38 @@
+package com.tinkerpop.pipes.util.cache;
+
+import java.util.Collection;
+
+/**
+ * A Weigher computes the weight of a cached entry. A weight-bounded cache evicts entries when the total weight of its entries exceeds its maximum weight.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface Weigher<K, V> {
+
+    /**
+     * Every entry weighs 1 and thus, the maximum weight of a cache is its maximum number of entries.
+     */
+    public static final Weigher SINGLETON = new Weigher() {
+        public int weigh(final Object key, final Object value) {
+            return 1;
+        }
+    };
+
+    /**
+     * An entry weighs the size of its Collection value (e.g. the results of MemoizePipe) plus 1.
+     */
+    public static final Weigher COLLECTION_SIZE = new Weigher() {
+        public int weigh(final Object key, final Object value) {
+            return value instanceof Collection ? ((Collection) value).size() + 1 : 1;
+        }
+    };
+
+    /**
+     * Get the weight of the entry.
+     *
+     * @param key   the key of the entry
+     * @param value the value of the entry
+     * @return the weight of the entry (not negative)
+     */
+    public int weigh(final K key, final V value);
+}
@@ -0,0 +1,189 @@
+package com.tinkerpop.pipes.util.structures;
+
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Element;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * BloomFilterHistorySet is an approximate HistorySet backed by a scalable Bloom filter.
+ * When a Bloom filter reaches its capacity, a new Bloom filter with twice the capacity and half the false positive rate is added.
+ * Thus, the memory grows with the number of objects seen while the overall false positive rate stays below the configured rate.
+ * A false positive means that an unseen object is reported as seen (e.g. DuplicateFilterPipe filters an object that is not a duplicate).
+ * <p/>
+ * The bits of an object are derived from a 64-bit hash. Strings, Integers, Longs and Blueprints Elements (by their id) are hashed to 64 bits.
+ * Any other object is hashed by its 32-bit hashCode() and thus, unequal objects with the same hash code are indistinguishable.
+ * For n such objects, the false positive rate can not go below about n/2^32 regardless of the configured rate.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class BloomFilterHistorySet implements HistorySet {
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 1024;
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001d;
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5d;
+    private static final long SEED = 0x9e3779b97f4a7c15l;
+
+    private final int initialCapacity;
+    private final double falsePositiveRate;
+    private final List<BloomFilter> filters = new ArrayList<BloomFilter>();
+    private BloomFilter current;
+    private long size = 0l;
+
+    /**
+     * @param initialCapacity   the number of objects of the first Bloom filter
+     * @param falsePositiveRate the upper bound of the probability that an unseen object is reported as seen (at least about n/2^32 for n objects hashed by their hashCode())
+     */
+    public BloomFilterHistorySet(final int initialCapacity, final double falsePositiveRate) {
+        if (initialCapacity < 1)
+            throw new IllegalArgumentException("The initial capacity must be at least 1");
+        if (falsePositiveRate <= 0.0d || falsePositiveRate >= 1.0d)
+            throw new IllegalArgumentException("The false positive rate must be between 0 and 1");
+        this.initialCapacity = initialCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clear();
+    }
+
+    public BloomFilterHistorySet(final double falsePositiveRate) {
+        this(DEFAULT_INITIAL_CAPACITY, falsePositiveRate);
+    }
+
+    public BloomFilterHistorySet() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    public boolean add(final Object object) {
+        final long hash = BloomFilterHistorySet.hash(object);
+        for (final BloomFilter filter : this.filters) {
+            if (filter.contains(hash))
+                return false;
+        }
+        if (this.current.count == this.current.capacity) {
+            this.current = new BloomFilter(this.current.capacity * GROWTH_FACTOR, this.current.falsePositiveRate * TIGHTENING_RATIO);
+            this.filters.add(this.current);
+        }
+        this.current.add(hash);
+        this.size++;
+        return true;
+    }
+
+    public boolean contains(final Object object) {
+        final long hash = BloomFilterHistorySet.hash(object);
+        for (final BloomFilter filter : this.filters) {
+            if (filter.contains(hash))
+                return true;
+        }
+        return false;
+    }
+
+    public long size() {
+        return this.size;
+    }
+
+    public void clear() {
+        this.filters.clear();
+        // the sum of the false positive rates of the filters converges to the configured rate
+        this.current = new BloomFilter(this.initialCapacity, this.falsePositiveRate * (1.0d - TIGHTENING_RATIO));
+        this.filters.add(this.current);
+        this.size = 0l;
+    }
+
+    public long getMemoryFootprint() {
+        long bytes = 0l;
+        for (final BloomFilter filter : this.filters) {
+            bytes = bytes + filter.bits.length * 8l;
+        }
+        return bytes;
+    }
+
+    public double getFalsePositiveRate() {
+        return this.falsePositiveRate;
+    }
+
+    private static long hash(final Object object) {
+        if (object instanceof Element) {
+            // an element is not equal to its id and a vertex and an edge may share an id
+            final long hash = BloomFilterHistorySet.mix(BloomFilterHistorySet.hash64(((Element) object).getId()) + SEED);
+            return object instanceof Edge ? ~hash : hash;
+        }
+        return BloomFilterHistorySet.hash64(object);
+    }
+
+    private static long hash64(final Object object) {
+        if (null == object) {
+            return 0l;
+        } else if (object instanceof Long) {
+            return BloomFilterHistorySet.mix((Long) object);
+        } else if (object instanceof Integer) {
+            // an Integer is not equal to the Long of the same value
+            return BloomFilterHistorySet.mix(((Integer) object) ^ SEED);
+        } else if (object instanceof String) {
+            // the 64-bit FNV-1a hash of the characters
+            final String string = (String) object;
+            long hash = 0xcbf29ce484222325l;
+            for (int i = 0; i < string.length(); i++) {
+                hash = (hash ^ string.charAt(i)) * 0x100000001b3l;
+            }
+            return BloomFilterHistorySet.mix(hash);
+        } else {
+            return BloomFilterHistorySet.mix(object.hashCode());
+        }
+    }
+
+    /**
+     * The finalizer of the 64-bit MurmurHash3.
+     */
+    private static long mix(long hash) {
+        hash = hash ^ (hash >>> 33);
+        hash = hash * 0xff51afd7ed558ccdl;
+        hash = hash ^ (hash >>> 33);
+        hash = hash * 0xc4ceb9fe1a85ec53l;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static class BloomFilter {
+
+        private final long[] bits;
+        private final long numberOfBits;
+        private final int numberOfHashes;
+        private final int capacity;
+        private final double falsePositiveRate;
+        private int count = 0;
+
+        public BloomFilter(final int capacity, final double falsePositiveRate) {
+            this.capacity = capacity;
+            this.falsePositiveRate = falsePositiveRate;
+            final double ln2 = Math.log(2.0d);
+            final long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bits = new long[(int) Math.max(1l, (optimalBits + 63l) / 64l)];
+            this.numberOfBits = this.bits.length * 64l;
+            this.numberOfHashes = Math.max(1, (int) Math.round(ln2 * this.numberOfBits / capacity));
+        }
+
+        public void add(final long hash) {
+            final long step = BloomFilterHistorySet.mix(hash) | 1l;
+            long combined = hash;
+            for (int i = 0; i < this.numberOfHashes; i++) {
+                final long bit = (combined & Long.MAX_VALUE) % this.numberOfBits;
+                this.bits[(int) (bit >>> 6)] |= 1l << bit;
+                combined = combined + step;
+            }
+            this.count++;
+        }
+
+        public boolean contains(final long hash) {
+            final long step = BloomFilterHistorySet.mix(hash) | 1l;
+            long combined = hash;
+            for (int i = 0; i < this.numberOfHashes; i++) {
+                final long bit = (combined & Long.MAX_VALUE) % this.numberOfBits;
+                if ((this.bits[(int) (bit >>> 6)] & (1l << bit)) == 0l)
+                    return false;
+                combined = combined + step;
+            }
+            return true;
+        }
+    }
+}
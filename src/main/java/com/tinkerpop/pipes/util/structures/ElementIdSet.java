@@ -0,0 +1,125 @@
+package com.tinkerpop.pipes.util.structures;
+
+import com.tinkerpop.blueprints.Element;
+import com.tinkerpop.blueprints.Vertex;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * ElementIdSet is an exact HistorySet for Blueprints elements that remembers the integral ids of the elements.
+ * The id of an element is extracted once and stored as a primitive long in a LongSet.
+ * Thus, neither Element.hashCode() nor Element.equals() are called and no objects are retained per element.
+ * The ids of vertices and edges are kept in separate LongSets as a vertex and an edge may share an id.
+ * Likewise, the ids of each integral type are kept in separate LongSets as, for example, an Integer id is not equal to the Long id of the same value.
+ * <p/>
+ * A LongHashSet is used for sparse ids (~5-7.5 bytes per element whose id fits in an int, ~10-15 bytes otherwise)
+ * and a LongBitmap for dense id ranges (~1 bit per element).
+ * Elements with non-integral ids and objects that are not elements are remembered in a java.util.HashSet.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class ElementIdSet implements HistorySet {
+
+    // see HashHistorySet
+    private static final long BYTES_PER_OBJECT = 40l;
+
+    private static final int ID_TYPES = 4;
+
+    private final boolean dense;
+    // the vertex ids of each integral type followed by the edge ids of each integral type
+    private final LongSet[] idSets = new LongSet[2 * ID_TYPES];
+    private Set others;
+
+    /**
+     * Create an ElementIdSet backed by LongHashSets.
+     */
+    public ElementIdSet() {
+        this(false);
+    }
+
+    /**
+     * Create an ElementIdSet.
+     *
+     * @param dense whether the ids are dense (LongBitmap) or sparse (LongHashSet)
+     */
+    public ElementIdSet(final boolean dense) {
+        this.dense = dense;
+    }
+
+    public boolean add(final Object object) {
+        if (object instanceof Element) {
+            final Object id = ((Element) object).getId();
+            final int idType = ElementIdSet.getIdType(id);
+            if (idType != -1)
+                return this.getLongSet(object instanceof Vertex, idType, true).add(((Number) id).longValue());
+        }
+        if (null == this.others)
+            this.others = new HashSet();
+        return this.others.add(object);
+    }
+
+    public boolean contains(final Object object) {
+        if (object instanceof Element) {
+            final Object id = ((Element) object).getId();
+            final int idType = ElementIdSet.getIdType(id);
+            if (idType != -1) {
+                final LongSet longSet = this.getLongSet(object instanceof Vertex, idType, false);
+                return null != longSet && longSet.contains(((Number) id).longValue());
+            }
+        }
+        return null != this.others && this.others.contains(object);
+    }
+
+    public long size() {
+        long size = 0l;
+        for (final LongSet longSet : this.idSets) {
+            if (null != longSet)
+                size = size + longSet.size();
+        }
+        if (null != this.others)
+            size = size + this.others.size();
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.idSets.length; i++) {
+            this.idSets[i] = null;
+        }
+        this.others = null;
+    }
+
+    public long getMemoryFootprint() {
+        long footprint = 0l;
+        for (final LongSet longSet : this.idSets) {
+            if (null != longSet)
+                footprint = footprint + longSet.getMemoryFootprint();
+        }
+        if (null != this.others)
+            footprint = footprint + this.others.size() * BYTES_PER_OBJECT;
+        return footprint;
+    }
+
+    /**
+     * @return the index of the integral type of the id or -1 if the id is not integral
+     */
+    private static int getIdType(final Object id) {
+        if (id instanceof Long)
+            return 0;
+        else if (id instanceof Integer)
+            return 1;
+        else if (id instanceof Short)
+            return 2;
+        else if (id instanceof Byte)
+            return 3;
+        else
+            return -1;
+    }
+
+    private LongSet getLongSet(final boolean vertex, final int idType, final boolean create) {
+        final int index = vertex ? idType : ID_TYPES + idType;
+        if (null == this.idSets[index] && create)
+            this.idSets[index] = this.dense ? new LongBitmap() : new LongHashSet();
+        return this.idSets[index];
+    }
+}
@@ -0,0 +1,41 @@
+package com.tinkerpop.pipes.util.structures;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * HashHistorySet is an exact HistorySet backed by a java.util.HashSet. It is the default HistorySet of the pipes that use one.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class HashHistorySet implements HistorySet {
+
+    // a HashMap entry (~32 bytes) plus its slot in the table (~8 bytes at the default load factor)
+    private static final long BYTES_PER_OBJECT = 40l;
+
+    private final Set set = new HashSet();
+
+    public boolean add(final Object object) {
+        return this.set.add(object);
+    }
+
+    public boolean contains(final Object object) {
+        return this.set.contains(object);
+    }
+
+    public long size() {
+        return this.set.size();
+    }
+
+    public void clear() {
+        this.set.clear();
+    }
+
+    public long getMemoryFootprint() {
+        return this.set.size() * BYTES_PER_OBJECT;
+    }
+
+    public String toString() {
+        return this.set.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.tinkerpop.pipes.util.structures;
+
+/**
+ * A HistorySet remembers the objects that have been seen by a pipe (e.g. DuplicateFilterPipe, CyclicPathFilterPipe).
+ * Implementations trade exactness for memory. An approximate HistorySet may report an unseen object as seen (a false positive),
+ * but never reports a seen object as unseen.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface HistorySet {
+
+    /**
+     * Add the object to the history.
+     *
+     * @param object the object seen
+     * @return true if the object had not been seen before (approximate implementations may return false for unseen objects)
+     */
+    public boolean add(final Object object);
+
+    /**
+     * Determine if the object has been seen.
+     *
+     * @param object the object to check
+     * @return true if the object has been seen (approximate implementations may return true for unseen objects)
+     */
+    public boolean contains(final Object object);
+
+    /**
+     * Get the number of objects added to the history.
+     *
+     * @return the number of distinct objects seen
+     */
+    public long size();
+
+    /**
+     * Forget all the objects seen.
+     */
+    public void clear();
+
+    /**
+     * Get an estimate of the number of bytes used by the history.
+     *
+     * @return the estimated memory footprint in bytes
+     */
+    public long getMemoryFootprint();
+}
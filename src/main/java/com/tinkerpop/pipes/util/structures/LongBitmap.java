@@ -0,0 +1,68 @@
+package com.tinkerpop.pipes.util.structures;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * LongBitmap is a LongSet for dense ranges of longs (e.g. the sequential ids of a graph).
+ * The longs are partitioned into blocks of 65536 consecutive longs and each block that contains a long is a bitmap of 8 kilobytes.
+ * Thus, a LongBitmap uses 1 bit per long when the longs of the blocks are dense, but 8 kilobytes per long when they are sparse.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class LongBitmap implements LongSet {
+
+    private static final int BLOCK_BITS = 16;
+    private static final int WORDS_PER_BLOCK = (1 << BLOCK_BITS) / 64;
+
+    private final Map<Long, long[]> blocks = new HashMap<Long, long[]>();
+    private long size = 0l;
+    private long lastKey;
+    private long[] lastBlock = null;
+
+    public boolean add(final long value) {
+        final long[] block = this.getBlock(value >> BLOCK_BITS, true);
+        final int word = (int) (value >>> 6) & (WORDS_PER_BLOCK - 1);
+        final long bit = 1l << value;
+        if ((block[word] & bit) != 0l)
+            return false;
+        block[word] = block[word] | bit;
+        this.size++;
+        return true;
+    }
+
+    public boolean contains(final long value) {
+        final long[] block = this.getBlock(value >> BLOCK_BITS, false);
+        return null != block && (block[(int) (value >>> 6) & (WORDS_PER_BLOCK - 1)] & (1l << value)) != 0l;
+    }
+
+    public long size() {
+        return this.size;
+    }
+
+    public void clear() {
+        this.blocks.clear();
+        this.lastBlock = null;
+        this.size = 0l;
+    }
+
+    public long getMemoryFootprint() {
+        return this.blocks.size() * (WORDS_PER_BLOCK * 8l);
+    }
+
+    private long[] getBlock(final long key, final boolean create) {
+        // consecutive longs are likely to be in the same block
+        if (null != this.lastBlock && this.lastKey == key)
+            return this.lastBlock;
+        long[] block = this.blocks.get(key);
+        if (null == block) {
+            if (!create)
+                return null;
+            block = new long[WORDS_PER_BLOCK];
+            this.blocks.put(key, block);
+        }
+        this.lastKey = key;
+        this.lastBlock = block;
+        return block;
+    }
+}
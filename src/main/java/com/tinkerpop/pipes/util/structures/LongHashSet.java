@@ -0,0 +1,191 @@
+package com.tinkerpop.pipes.util.structures;
+
+/**
+ * LongHashSet is a LongSet backed by open-addressing hash tables of primitive ints and longs with linear probing.
+ * The longs that fit in an int (e.g. the ids of most graphs) are stored in an int table and all other longs in a long table.
+ * The tables grow by half their size and thus, a LongHashSet uses between 5 and 7.5 bytes per long that fits in an int
+ * and between 10 and 15 bytes per any other long (compared to ~60 bytes per Long in a java.util.HashSet).
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class LongHashSet implements LongSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.8f;
+    private static final float GROWTH_FACTOR = 1.5f;
+    // 0 marks an empty slot and thus, the long 0 is tracked separately
+    private static final int EMPTY = 0;
+
+    private final int expectedSize;
+    private int[] ints = null;
+    private long[] longs = null;
+    private boolean containsEmpty = false;
+    private int intCount = 0;
+    private int longCount = 0;
+
+    public LongHashSet(final int expectedSize) {
+        this.expectedSize = expectedSize;
+    }
+
+    public LongHashSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public boolean add(final long value) {
+        if (value == EMPTY) {
+            if (this.containsEmpty)
+                return false;
+            this.containsEmpty = true;
+            return true;
+        }
+        final int intValue = (int) value;
+        return intValue == value ? this.addInt(intValue) : this.addLong(value);
+    }
+
+    public boolean contains(final long value) {
+        if (value == EMPTY)
+            return this.containsEmpty;
+        final int intValue = (int) value;
+        return intValue == value ? this.containsInt(intValue) : this.containsLong(value);
+    }
+
+    public long size() {
+        return (long) this.intCount + this.longCount + (this.containsEmpty ? 1 : 0);
+    }
+
+    public void clear() {
+        this.ints = null;
+        this.longs = null;
+        this.containsEmpty = false;
+        this.intCount = 0;
+        this.longCount = 0;
+    }
+
+    public long getMemoryFootprint() {
+        long bytes = 0l;
+        if (null != this.ints)
+            bytes = bytes + this.ints.length * 4l;
+        if (null != this.longs)
+            bytes = bytes + this.longs.length * 8l;
+        return bytes;
+    }
+
+    private boolean addInt(final int value) {
+        if (null == this.ints)
+            this.ints = new int[LongHashSet.tableSize(this.expectedSize)];
+        final int length = this.ints.length;
+        int index = LongHashSet.index(LongHashSet.hash(value), length);
+        int current;
+        while ((current = this.ints[index]) != EMPTY) {
+            if (current == value)
+                return false;
+            if (++index == length)
+                index = 0;
+        }
+        this.ints[index] = value;
+        if (++this.intCount > length * LOAD_FACTOR)
+            this.rehashInts(LongHashSet.grow(length));
+        return true;
+    }
+
+    private boolean containsInt(final int value) {
+        if (null == this.ints)
+            return false;
+        final int length = this.ints.length;
+        int index = LongHashSet.index(LongHashSet.hash(value), length);
+        int current;
+        while ((current = this.ints[index]) != EMPTY) {
+            if (current == value)
+                return true;
+            if (++index == length)
+                index = 0;
+        }
+        return false;
+    }
+
+    private boolean addLong(final long value) {
+        if (null == this.longs)
+            this.longs = new long[LongHashSet.tableSize(this.expectedSize)];
+        final int length = this.longs.length;
+        int index = LongHashSet.index(LongHashSet.hash(value), length);
+        long current;
+        while ((current = this.longs[index]) != EMPTY) {
+            if (current == value)
+                return false;
+            if (++index == length)
+                index = 0;
+        }
+        this.longs[index] = value;
+        if (++this.longCount > length * LOAD_FACTOR)
+            this.rehashLongs(LongHashSet.grow(length));
+        return true;
+    }
+
+    private boolean containsLong(final long value) {
+        if (null == this.longs)
+            return false;
+        final int length = this.longs.length;
+        int index = LongHashSet.index(LongHashSet.hash(value), length);
+        long current;
+        while ((current = this.longs[index]) != EMPTY) {
+            if (current == value)
+                return true;
+            if (++index == length)
+                index = 0;
+        }
+        return false;
+    }
+
+    private void rehashInts(final int length) {
+        final int[] oldInts = this.ints;
+        this.ints = new int[length];
+        for (final int value : oldInts) {
+            if (value != EMPTY) {
+                int index = LongHashSet.index(LongHashSet.hash(value), length);
+                while (this.ints[index] != EMPTY) {
+                    if (++index == length)
+                        index = 0;
+                }
+                this.ints[index] = value;
+            }
+        }
+    }
+
+    private void rehashLongs(final int length) {
+        final long[] oldLongs = this.longs;
+        this.longs = new long[length];
+        for (final long value : oldLongs) {
+            if (value != EMPTY) {
+                int index = LongHashSet.index(LongHashSet.hash(value), length);
+                while (this.longs[index] != EMPTY) {
+                    if (++index == length)
+                        index = 0;
+                }
+                this.longs[index] = value;
+            }
+        }
+    }
+
+    private static int tableSize(final int expectedSize) {
+        return Math.max(DEFAULT_CAPACITY, (int) Math.ceil(expectedSize / LOAD_FACTOR) + 1);
+    }
+
+    private static int grow(final int length) {
+        return (int) (length * GROWTH_FACTOR);
+    }
+
+    /**
+     * Maps the hash to [0, length) by its high bits and thus, the length of a table need not be a power of two.
+     */
+    private static int index(final int hash, final int length) {
+        return (int) (((hash & 0xFFFFFFFFl) * length) >>> 32);
+    }
+
+    private static int hash(final int value) {
+        return value * 0x9E3779B9;
+    }
+
+    private static int hash(final long value) {
+        return (int) ((value * 0x9E3779B97F4A7C15l) >>> 32);
+    }
+}
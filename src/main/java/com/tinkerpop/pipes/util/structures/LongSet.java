@@ -0,0 +1,30 @@
+package com.tinkerpop.pipes.util.structures;
+
+/**
+ * A LongSet is a set of primitive longs. It avoids boxing and the hashCode()/equals() calls of a java.util.Set (e.g. when tracking element ids).
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public interface LongSet {
+
+    /**
+     * Add the long to the set.
+     *
+     * @param value the long to add
+     * @return true if the long was not in the set
+     */
+    public boolean add(final long value);
+
+    public boolean contains(final long value);
+
+    public long size();
+
+    public void clear();
+
+    /**
+     * Get an estimate of the number of bytes used by the set.
+     *
+     * @return the estimated memory footprint in bytes
+     */
+    public long getMemoryFootprint();
+}
@@ -0,0 +1,115 @@
+package com.tinkerpop.pipes.util.structures;
+
+/**
+ * OpenHashHistorySet is an exact HistorySet backed by an open-addressing hash table with linear probing.
+ * The objects are stored directly in an array along with their hash codes and thus, no entry object is allocated per object.
+ * This requires roughly half the memory of a java.util.HashSet.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class OpenHashHistorySet implements HistorySet {
+
+    private static final Object NULL = new Object();
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private Object[] objects;
+    private int[] hashes;
+    private int size = 0;
+    private int threshold;
+
+    public OpenHashHistorySet(final int expectedSize) {
+        this.allocate(OpenHashHistorySet.tableSize(expectedSize));
+    }
+
+    public OpenHashHistorySet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public boolean add(final Object object) {
+        final Object key = null == object ? NULL : object;
+        final int hash = OpenHashHistorySet.mix(key.hashCode());
+        final int mask = this.objects.length - 1;
+        int index = hash & mask;
+        Object current;
+        while (null != (current = this.objects[index])) {
+            if (this.hashes[index] == hash && current.equals(key))
+                return false;
+            index = (index + 1) & mask;
+        }
+        this.objects[index] = key;
+        this.hashes[index] = hash;
+        if (++this.size > this.threshold)
+            this.rehash(this.objects.length * 2);
+        return true;
+    }
+
+    public boolean contains(final Object object) {
+        final Object key = null == object ? NULL : object;
+        final int hash = OpenHashHistorySet.mix(key.hashCode());
+        final int mask = this.objects.length - 1;
+        int index = hash & mask;
+        Object current;
+        while (null != (current = this.objects[index])) {
+            if (this.hashes[index] == hash && current.equals(key))
+                return true;
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public long size() {
+        return this.size;
+    }
+
+    public void clear() {
+        if (this.size > 0) {
+            this.allocate(OpenHashHistorySet.tableSize(DEFAULT_CAPACITY));
+            this.size = 0;
+        }
+    }
+
+    public long getMemoryFootprint() {
+        // a reference (~8 bytes) and an int per slot
+        return this.objects.length * 12l;
+    }
+
+    private void rehash(final int length) {
+        final Object[] oldObjects = this.objects;
+        final int[] oldHashes = this.hashes;
+        this.allocate(length);
+        final int mask = length - 1;
+        for (int i = 0; i < oldObjects.length; i++) {
+            if (null != oldObjects[i]) {
+                int index = oldHashes[i] & mask;
+                while (null != this.objects[index]) {
+                    index = (index + 1) & mask;
+                }
+                this.objects[index] = oldObjects[i];
+                this.hashes[index] = oldHashes[i];
+            }
+        }
+    }
+
+    private void allocate(final int length) {
+        this.objects = new Object[length];
+        this.hashes = new int[length];
+        this.threshold = (int) (length * LOAD_FACTOR);
+    }
+
+    private static int tableSize(final int expectedSize) {
+        int length = DEFAULT_CAPACITY;
+        while (length * LOAD_FACTOR < expectedSize) {
+            length = length * 2;
+        }
+        return length;
+    }
+
+    /**
+     * Spread the bits of a hash code as poor hash codes (e.g. sequential integers) would otherwise cluster in a linear probing table.
+     */
+    private static int mix(final int hashCode) {
+        final int hash = hashCode * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
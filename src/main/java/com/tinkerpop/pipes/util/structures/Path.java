@@ -0,0 +1,270 @@
+package com.tinkerpop.pipes.util.structures;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A Path is the list of objects that an object has passed through in a pipeline.
+ * The objects are stored in a persistent (immutable) linked list where each node references its previous node.
+ * Thus, a path shares its prefix with the paths it was copied from and extending or copying a path is O(1).
+ * This allows buffering pipes (e.g. OrderPipe, AggregatePipe, CopySplitPipe) to hold paths without copying their objects.
+ * <p/>
+ * A Path is a List for backwards compatibility. Adding or removing the last object of a Path is O(1) and does not affect its copies.
+ * Any other modification rebuilds the path. Random access materializes an array of the objects which is cached until the path is modified.
+ * <p/>
+ * Each node lazily caches whether the path up to it is simple (has no repeated objects) along with a 64-bit fingerprint of the hash codes of its objects.
+ * As paths share their prefixes, isSimple() only checks the nodes appended since the last check and an object is only compared to
+ * the objects of the prefix when its bit is in the fingerprint of the prefix.
+ *
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class Path extends AbstractList<Object> {
+
+    private Node last;
+    private Object[] objects;
+
+    public Path() {
+        this.last = null;
+    }
+
+    public Path(final Path path) {
+        this.last = path.last;
+        this.objects = path.objects;
+    }
+
+    public Path(final Collection objects) {
+        this.last = null;
+        for (final Object object : objects) {
+            this.last = new Node(object, this.last);
+        }
+    }
+
+    /**
+     * Copy the provided path. If the path is a Path, then the copy shares the objects of the path.
+     *
+     * @param path the path to copy
+     * @return a copy of the path
+     */
+    public static Path copyOf(final List path) {
+        if (path instanceof Path)
+            return new Path((Path) path);
+        else
+            return new Path(path);
+    }
+
+    /**
+     * Create a new path with the object appended to the end of this path. This path is not modified.
+     *
+     * @param object the object to append
+     * @return the extended path
+     */
+    public Path extend(final Object object) {
+        final Path path = new Path();
+        path.last = new Node(object, this.last);
+        return path;
+    }
+
+    /**
+     * Get the last object of the path in O(1).
+     *
+     * @return the last object of the path
+     * @throws IndexOutOfBoundsException if the path is empty
+     */
+    public Object getLast() {
+        if (null == this.last)
+            throw new IndexOutOfBoundsException("The path is empty");
+        return this.last.object;
+    }
+
+    /**
+     * Determine if the path has no repeated objects (according to equals()).
+     * The result is cached in the nodes of the path and thus, is shared by the paths with the same prefix.
+     *
+     * @return true if no object occurs more than once in the path
+     */
+    public boolean isSimple() {
+        return null == this.last || this.last.isSimple();
+    }
+
+    public int size() {
+        return null == this.last ? 0 : this.last.size;
+    }
+
+    public Object get(final int index) {
+        final int size = this.size();
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if (index == size - 1)
+            return this.last.object;
+        return this.toObjectArray()[index];
+    }
+
+    public boolean add(final Object object) {
+        this.last = new Node(object, this.last);
+        this.objects = null;
+        this.modCount++;
+        return true;
+    }
+
+    public boolean addAll(final Collection collection) {
+        for (final Object object : collection) {
+            this.last = new Node(object, this.last);
+        }
+        this.objects = null;
+        this.modCount++;
+        return !collection.isEmpty();
+    }
+
+    public void add(final int index, final Object object) {
+        if (index == this.size()) {
+            this.add(object);
+        } else {
+            final Object[] array = this.toObjectArray();
+            if (index < 0 || index > array.length)
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + array.length);
+            Node node = this.getNode(index - 1);
+            node = new Node(object, node);
+            for (int i = index; i < array.length; i++) {
+                node = new Node(array[i], node);
+            }
+            this.last = node;
+            this.objects = null;
+            this.modCount++;
+        }
+    }
+
+    public Object remove(final int index) {
+        final int size = this.size();
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        final Object object;
+        if (index == size - 1) {
+            object = this.last.object;
+            this.last = this.last.previous;
+        } else {
+            final Object[] array = this.toObjectArray();
+            object = array[index];
+            Node node = this.getNode(index - 1);
+            for (int i = index + 1; i < array.length; i++) {
+                node = new Node(array[i], node);
+            }
+            this.last = node;
+        }
+        this.objects = null;
+        this.modCount++;
+        return object;
+    }
+
+    public Object set(final int index, final Object object) {
+        final Object[] array = this.toObjectArray();
+        if (index < 0 || index >= array.length)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + array.length);
+        Node node = new Node(object, this.getNode(index - 1));
+        for (int i = index + 1; i < array.length; i++) {
+            node = new Node(array[i], node);
+        }
+        this.last = node;
+        this.objects = null;
+        return array[index];
+    }
+
+    public void clear() {
+        this.last = null;
+        this.objects = null;
+        this.modCount++;
+    }
+
+    public Object[] toArray() {
+        final Object[] array = this.toObjectArray();
+        final Object[] copy = new Object[array.length];
+        System.arraycopy(array, 0, copy, 0, array.length);
+        return copy;
+    }
+
+    private Node getNode(final int index) {
+        Node node = this.last;
+        while (null != node && node.size > index + 1) {
+            node = node.previous;
+        }
+        return node;
+    }
+
+    private Object[] toObjectArray() {
+        if (null == this.objects) {
+            final Object[] array = new Object[this.size()];
+            Node node = this.last;
+            for (int i = array.length - 1; i >= 0; i--) {
+                array[i] = node.object;
+                node = node.previous;
+            }
+            this.objects = array;
+        }
+        return this.objects;
+    }
+
+    private static class Node {
+
+        private static final byte UNKNOWN = 0;
+        private static final byte SIMPLE = 1;
+        private static final byte CYCLIC = 2;
+
+        private final Object object;
+        private final Node previous;
+        private final int size;
+        private long fingerprint;
+        private byte state = UNKNOWN;
+
+        public Node(final Object object, final Node previous) {
+            this.object = object;
+            this.previous = previous;
+            this.size = null == previous ? 1 : previous.size + 1;
+        }
+
+        public boolean isSimple() {
+            if (this.state == UNKNOWN) {
+                // iteratively (not recursively) resolve the nodes appended since the last known node
+                int unknown = 0;
+                for (Node node = this; null != node && node.state == UNKNOWN; node = node.previous) {
+                    unknown++;
+                }
+                final Node[] nodes = new Node[unknown];
+                Node node = this;
+                for (int i = unknown - 1; i >= 0; i--) {
+                    nodes[i] = node;
+                    node = node.previous;
+                }
+                for (final Node current : nodes) {
+                    current.resolve();
+                }
+            }
+            return this.state == SIMPLE;
+        }
+
+        private void resolve() {
+            final long bit = 1l << (Node.mix(null == this.object ? 0 : this.object.hashCode()) >>> 58);
+            if (null == this.previous) {
+                this.fingerprint = bit;
+                this.state = SIMPLE;
+            } else {
+                this.fingerprint = this.previous.fingerprint | bit;
+                if (this.previous.state == CYCLIC || ((this.previous.fingerprint & bit) != 0l && this.previous.contains(this.object)))
+                    this.state = CYCLIC;
+                else
+                    this.state = SIMPLE;
+            }
+        }
+
+        private boolean contains(final Object object) {
+            for (Node node = this; null != node; node = node.previous) {
+                if (null == object ? null == node.object : object.equals(node.object))
+                    return true;
+            }
+            return false;
+        }
+
+        private static long mix(final int hash) {
+            return hash * 0x9E3779B97F4A7C15l;
+        }
+    }
+}
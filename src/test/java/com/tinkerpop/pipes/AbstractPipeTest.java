@@ -1,5 +1,8 @@
 package com.tinkerpop.pipes;
 
+import com.tinkerpop.pipes.filter.FilterFunctionPipe;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.Pipeline;
 import junit.framework.TestCase;
 
 import java.util.Arrays;
@@ -58,6 +61,75 @@ public class AbstractPipeTest extends TestCase {
         assertFalse(endPipe.hasNext()); // Pipe has consumed and reset has thrown away both items.
     }
 
+    public void testBridging() {
+        assertFalse(AbstractPipe.isBridged(IdentityPipe.class));
+        assertFalse(AbstractPipe.isBridged(FilterFunctionPipe.class));
+        assertFalse(AbstractPipe.isBridged(UpperCasePipe.class));
+        assertTrue(AbstractPipe.isBridged(NotPeterPipe.class));
+
+        // the overridden processNextStart() is used although the superclass overrides processNextStartOrEnd()
+        Pipe<String, String> pipe = new NotPeterPipe();
+        pipe.setStarts(Arrays.asList("marko", "peter", "josh"));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList("marko", "josh"));
+
+        pipe = new UpperCasePipe();
+        pipe.setStarts(Arrays.asList("marko", "peter"));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList("MARKO", "PETER"));
+    }
+
+    public void testBatchBypassing() {
+        assertFalse(AbstractPipe.isBatchBypassed(IdentityPipe.class));
+        assertFalse(AbstractPipe.isBatchBypassed(UpperCasePipe.class));
+        assertTrue(AbstractPipe.isBatchBypassed(NotPeterPipe.class));
+
+        // the overridden processNextStart() is used although the superclass overrides processNextBatch()
+        Pipeline<String, String> pipeline = new Pipeline<String, String>(new NotPeterPipe(), new IdentityPipe<String>());
+        pipeline.setStarts(Arrays.asList("marko", "peter", "josh", "peter", "pavel"));
+        assertEquals(pipeline.next(), "marko");
+        assertTrue(pipeline.isBatchable());
+        assertEquals(pipeline.count(), 2);
+
+        NotPeterPipe pipe = new NotPeterPipe();
+        pipe.setStarts(Arrays.asList("marko", "peter", "josh"));
+        Object[] batch = new Object[3];
+        assertEquals(pipe.nextBatch(batch, 0, 3), 2);
+        assertEquals(Arrays.asList(batch), Arrays.asList("marko", "josh", null));
+    }
+
+    public void testPushBypassing() {
+        assertTrue(AbstractPipe.isPushable(new IdentityPipe<String>()));
+        assertTrue(AbstractPipe.isPushable(new FilterFunctionPipe<String>(null)));
+        assertFalse(AbstractPipe.isPushable(new UpperCasePipe()));
+        assertFalse(AbstractPipe.isPushable(new NotPeterPipe()));
+
+        // the overridden processNextStart() is used although the superclass is a PushPipe
+        Pipeline<String, String> pipeline = new Pipeline<String, String>(new NotPeterPipe());
+        pipeline.setStarts(Arrays.asList("marko", "peter", "josh"));
+        assertFalse(pipeline.isPushable());
+        assertEquals(pipeline.toList(), Arrays.asList("marko", "josh"));
+
+        pipeline = new Pipeline<String, String>(new NotPeterPipe(), new IdentityPipe<String>());
+        pipeline.setStarts(Arrays.asList("marko", "peter", "josh"));
+        assertTrue(pipeline.isPushable());
+        assertEquals(pipeline.count(), 2);
+    }
+
+    private static class NotPeterPipe extends IdentityPipe<String> {
+        protected String processNextStart() {
+            while (true) {
+                final String s = super.processNextStart();
+                if (!s.equals("peter"))
+                    return s;
+            }
+        }
+    }
+
+    private static class UpperCasePipe extends AbstractPipe<String, String> {
+        protected String processNextStart() {
+            return this.starts.next().toUpperCase();
+        }
+    }
+
     /*public void testPathConstruction() {
         Graph graph = TinkerGraphFactory.createTinkerGraph();
         Vertex marko = graph.getVertex("1");
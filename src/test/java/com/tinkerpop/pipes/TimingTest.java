@@ -1,5 +1,8 @@
 package com.tinkerpop.pipes;
 
+import com.tinkerpop.pipes.filter.FilterFunctionPipe;
+import com.tinkerpop.pipes.filter.FutureFilterPipe;
+import com.tinkerpop.pipes.transform.TransformFunctionPipe;
 import com.tinkerpop.pipes.util.Pipeline;
 import junit.framework.Assert;
 import junit.framework.TestCase;
@@ -73,6 +76,111 @@ public class TimingTest extends TestCase {
         Assert.assertEquals(counter, uuids.size());
     }
 
+    public void testExceptionVsSentinelNestedPipes() {
+        int numberOfStarts = 100000;
+        List<Integer> starts = new ArrayList<Integer>();
+        for (int i = 0; i < numberOfStarts; i++) {
+            starts.add(i);
+        }
+
+        // EXCEPTION MODEL (each inner pipeline is exhausted by a NoSuchElementException)
+        for (int i = 0; i < 3; i++) {
+            Pipe<Integer, Integer> pipe = new FutureFilterPipe<Integer>(new Pipeline<Integer, Integer>(new LegacyIdentityPipe<Integer>(), new LegacyEvenFilterPipe()));
+            pipe.setStarts(starts);
+            this.stopWatch();
+            long counter = 0;
+            while (pipe.hasNext()) {
+                pipe.next();
+                counter++;
+            }
+            this.printPerformance("Pipes", numberOfStarts, "nested pipes with exception end-of-stream", this.stopWatch());
+            Assert.assertEquals(counter, numberOfStarts / 2);
+        }
+
+        // SENTINEL MODEL (each inner pipeline is exhausted by AbstractPipe.END)
+        for (int i = 0; i < 3; i++) {
+            Pipe<Integer, Integer> pipe = new FutureFilterPipe<Integer>(new Pipeline<Integer, Integer>(new IdentityPipe<Integer>(), new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+                public Boolean compute(Integer argument) {
+                    return argument % 2 == 0;
+                }
+            })));
+            pipe.setStarts(starts);
+            this.stopWatch();
+            long counter = 0;
+            while (pipe.hasNext()) {
+                pipe.next();
+                counter++;
+            }
+            this.printPerformance("Pipes", numberOfStarts, "nested pipes with sentinel end-of-stream", this.stopWatch());
+            Assert.assertEquals(counter, numberOfStarts / 2);
+        }
+    }
+
+    public void testPullVsPush() {
+        int numberOfStarts = 100000;
+        List<String> uuids = new ArrayList<String>();
+        for (int i = 0; i < numberOfStarts; i++) {
+            uuids.add(UUID.randomUUID().toString());
+        }
+
+        for (int i = 0; i < 3; i++) {
+            Pipeline<String, String> pipeline = new Pipeline<String, String>(new UpperFunctionPipe(), new LowerFunctionPipe(), new UpperFunctionPipe(), new LowerFunctionPipe());
+            pipeline.setStarts(uuids);
+            this.stopWatch();
+            long counter = 0;
+            while (pipeline.hasNext()) {
+                pipeline.next();
+                counter++;
+            }
+            this.printPerformance("Pipes", numberOfStarts, "pulled through 4 operations", this.stopWatch());
+            Assert.assertEquals(counter, numberOfStarts);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            Pipeline<String, String> pipeline = new Pipeline<String, String>(new UpperFunctionPipe(), new LowerFunctionPipe(), new UpperFunctionPipe(), new LowerFunctionPipe());
+            pipeline.setStarts(uuids);
+            this.stopWatch();
+            long counter = pipeline.count();
+            this.printPerformance("Pipes", numberOfStarts, "pushed through 4 operations", this.stopWatch());
+            Assert.assertEquals(counter, numberOfStarts);
+        }
+    }
+
+    private class UpperFunctionPipe extends TransformFunctionPipe<String, String> {
+        public UpperFunctionPipe() {
+            super(new PipeFunction<String, String>() {
+                public String compute(String argument) {
+                    return argument.toUpperCase();
+                }
+            });
+        }
+    }
+
+    private class LowerFunctionPipe extends TransformFunctionPipe<String, String> {
+        public LowerFunctionPipe() {
+            super(new PipeFunction<String, String>() {
+                public String compute(String argument) {
+                    return argument.toLowerCase();
+                }
+            });
+        }
+    }
+
+    private class LegacyIdentityPipe<S> extends AbstractPipe<S, S> {
+        protected S processNextStart() {
+            return this.starts.next();
+        }
+    }
+
+    private class LegacyEvenFilterPipe extends AbstractPipe<Integer, Integer> {
+        protected Integer processNextStart() {
+            while (true) {
+                final Integer i = this.starts.next();
+                if (i % 2 == 0)
+                    return i;
+            }
+        }
+    }
 
     private class UpperPipe extends AbstractPipe<String, String> {
         protected String processNextStart() {
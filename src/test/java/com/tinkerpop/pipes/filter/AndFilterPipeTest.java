@@ -1,8 +1,11 @@
 package com.tinkerpop.pipes.filter;
 
 import com.tinkerpop.blueprints.Compare;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.sideeffect.SideEffectFunctionPipe;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -39,5 +42,68 @@ public class AndFilterPipeTest extends TestCase {
         assertEquals(counter, 0);
     }
 
+    public void testAdaptiveOrder() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 10000; i++) {
+            numbers.add(i);
+        }
+        final int[] calls = new int[1];
+        // the first pipe rarely decides the "and" and the second pipe usually does
+        FilterFunctionPipe<Integer> pipe1 = new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+            public Boolean compute(Integer argument) {
+                calls[0]++;
+                return true;
+            }
+        });
+        FilterFunctionPipe<Integer> pipe2 = new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+            public Boolean compute(Integer argument) {
+                return argument % 100 == 0;
+            }
+        });
+        AndFilterPipe<Integer> andFilterPipe = new AndFilterPipe<Integer>(pipe1, pipe2);
+        andFilterPipe.setStarts(numbers);
+        int counter = 0;
+        while (andFilterPipe.hasNext()) {
+            assertEquals(andFilterPipe.next() % 100, 0);
+            counter++;
+        }
+        assertEquals(counter, 100);
+        assertTrue(calls[0] < 2000);
+        assertSame(andFilterPipe.getBranches().getOrder()[0], andFilterPipe.getPipes().get(1));
+    }
 
+    public void testDeclaredOrder() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 10000; i++) {
+            numbers.add(i);
+        }
+        final List<String> log = new ArrayList<String>();
+        // the second pipe usually decides the "and" but the side-effect of the first pipe must happen first
+        SideEffectFunctionPipe<Integer> pipe1 = new SideEffectFunctionPipe<Integer>(new PipeFunction<Integer, Object>() {
+            public Object compute(Integer argument) {
+                return log.add("a");
+            }
+        });
+        FilterFunctionPipe<Integer> pipe2 = new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+            public Boolean compute(Integer argument) {
+                log.add("b");
+                return argument % 100 == 0;
+            }
+        });
+        AndFilterPipe<Integer> andFilterPipe = new AndFilterPipe<Integer>(pipe1, pipe2);
+        andFilterPipe.setAdaptive(false);
+        andFilterPipe.setStarts(numbers);
+        int counter = 0;
+        while (andFilterPipe.hasNext()) {
+            assertEquals(andFilterPipe.next() % 100, 0);
+            counter++;
+        }
+        assertEquals(counter, 100);
+        assertEquals(log.size(), 20000);
+        for (int i = 0; i < log.size(); i = i + 2) {
+            assertEquals(log.get(i), "a");
+            assertEquals(log.get(i + 1), "b");
+        }
+        assertSame(andFilterPipe.getBranches().getOrder()[0], andFilterPipe.getPipes().get(0));
+    }
 }
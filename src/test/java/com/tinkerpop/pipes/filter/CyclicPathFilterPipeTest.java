@@ -1,11 +1,21 @@
 package com.tinkerpop.pipes.filter;
 
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Graph;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.impls.tg.TinkerGraphFactory;
 import com.tinkerpop.pipes.AbstractPipe;
 import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.branch.LoopPipe;
+import com.tinkerpop.pipes.transform.VerticesVerticesPipe;
 import com.tinkerpop.pipes.util.Pipeline;
+import com.tinkerpop.pipes.util.structures.HashHistorySet;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -23,6 +33,29 @@ public class CyclicPathFilterPipeTest extends TestCase {
         assertEquals(counter, 1);
     }
 
+    public void testLoopPaths() {
+        Graph graph = TinkerGraphFactory.createTinkerGraph();
+        List<List> results = new ArrayList<List>();
+        for (CyclicPathFilterPipe<Vertex> filterPipe : Arrays.asList(new CyclicPathFilterPipe<Vertex>(), new CyclicPathFilterPipe<Vertex>(new HashHistorySet()))) {
+            LoopPipe loopPipe = new LoopPipe(new VerticesVerticesPipe(Direction.BOTH), LoopPipe.createLoopsFunction(4));
+            Pipeline<Vertex, Vertex> pipeline = new Pipeline<Vertex, Vertex>(loopPipe, filterPipe);
+            pipeline.setStarts(Arrays.asList(graph.getVertex(1)));
+            pipeline.enablePath(true);
+            List paths = new ArrayList();
+            while (pipeline.hasNext()) {
+                pipeline.next();
+                List path = pipeline.getCurrentPath();
+                assertEquals(path.size(), 4);
+                assertEquals(new HashSet(path).size(), 4);
+                paths.add(path);
+            }
+            assertTrue(paths.size() > 0);
+            results.add(paths);
+        }
+        assertNull(new CyclicPathFilterPipe().getHistorySet());
+        assertEquals(results.get(0), results.get(1));
+    }
+
     private class CharacterCountPipe extends AbstractPipe<String, String> {
         protected String processNextStart() {
             return "" + this.starts.next().length();
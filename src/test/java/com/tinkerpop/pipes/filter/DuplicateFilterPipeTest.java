@@ -2,6 +2,9 @@ package com.tinkerpop.pipes.filter;
 
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.util.structures.BloomFilterHistorySet;
+import com.tinkerpop.pipes.util.structures.HistorySet;
+import com.tinkerpop.pipes.util.structures.OpenHashHistorySet;
 import junit.framework.TestCase;
 
 import java.util.Arrays;
@@ -54,6 +57,22 @@ public class DuplicateFilterPipeTest extends TestCase {
 
     }
 
+    public void testHistorySets() {
+        List<String> starts = Arrays.asList("marko", "josh", "peter", "marko", "marko", "josh");
+        for (HistorySet historySet : new HistorySet[]{new OpenHashHistorySet(), new BloomFilterHistorySet()}) {
+            DuplicateFilterPipe<String> pipe = new DuplicateFilterPipe<String>(historySet);
+            pipe.setStarts(starts.iterator());
+            int counter = 0;
+            while (pipe.hasNext()) {
+                pipe.next();
+                counter++;
+            }
+            assertEquals(counter, 3);
+            assertSame(pipe.getHistorySet(), historySet);
+            assertEquals(historySet.size(), 3);
+        }
+    }
+
     public void testReset() {
         List<String> starts = Arrays.asList("marko", "marko", "peter", "marko", "josh");
         Pipe<String, String> pipe = new DuplicateFilterPipe<String>();
@@ -1,10 +1,15 @@
 package com.tinkerpop.pipes.filter;
 
+import com.tinkerpop.blueprints.Graph;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.impls.tg.TinkerGraphFactory;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.util.PipesFunction;
 import com.tinkerpop.pipes.util.PipesPipeline;
+import com.tinkerpop.pipes.util.structures.ElementIdSet;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -67,4 +72,14 @@ public class ExceptFilterPipeTest extends TestCase {
         assertTrue(list.contains("22"));
         assertTrue(list.contains("33"));
     }
-}
\ No newline at end of file
+
+    public void testElementIdSet() {
+        Graph graph = TinkerGraphFactory.createTinkerGraph();
+        List<Vertex> except = new ArrayList<Vertex>();
+        List<Vertex> vertices = new PipesPipeline<Vertex, Vertex>(graph.getVertices()).aggregate(except).except(except, new ElementIdSet()).toList();
+        assertEquals(vertices.size(), 0);
+        except = Arrays.asList(graph.getVertex(1), graph.getVertex(2), graph.getVertex(3), graph.getVertex(4), graph.getVertex(5));
+        vertices = new PipesPipeline<Vertex, Vertex>(graph.getVertices()).except(except, new ElementIdSet()).toList();
+        assertEquals(vertices, Arrays.asList(graph.getVertex(6)));
+    }
+}
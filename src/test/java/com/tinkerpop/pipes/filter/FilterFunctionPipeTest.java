@@ -25,6 +25,20 @@ public class FilterFunctionPipeTest extends TestCase {
 
     }
 
+    public void testNextBatch() {
+        List<String> names = Arrays.asList("marko", "povel", "peter", "povel", "marko", "pavel");
+        FilterFunctionPipe<String> pipe = new FilterFunctionPipe<String>(new StartsWithPipeFunction());
+        pipe.setStarts(names);
+        assertTrue(pipe.hasNext());
+        Object[] batch = new Object[3];
+        assertEquals(pipe.nextBatch(batch, 0, 3), 3);
+        assertEquals(Arrays.asList(batch), Arrays.asList("povel", "peter", "povel"));
+        assertEquals(pipe.nextBatch(batch, 0, 3), 1);
+        assertEquals(batch[0], "pavel");
+        assertEquals(pipe.nextBatch(batch, 0, 3), 0);
+        assertFalse(pipe.hasNext());
+    }
+
     private class StartsWithPipeFunction implements PipeFunction<String, Boolean> {
         public Boolean compute(String argument) {
             return argument.startsWith("p");
@@ -3,15 +3,20 @@ package com.tinkerpop.pipes.filter;
 import com.tinkerpop.blueprints.Compare;
 import com.tinkerpop.blueprints.Contains;
 import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Element;
 import com.tinkerpop.blueprints.Graph;
 import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.impls.tg.TinkerGraph;
 import com.tinkerpop.blueprints.impls.tg.TinkerGraphFactory;
+import com.tinkerpop.blueprints.util.wrappers.id.IdGraph;
 import com.tinkerpop.pipes.transform.EdgesVerticesPipe;
 import com.tinkerpop.pipes.transform.VerticesEdgesPipe;
 import com.tinkerpop.pipes.util.Pipeline;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -51,4 +56,28 @@ public class IdFilterPipeTest extends TestCase {
         }
         assertEquals(counter, 2);
     }
+
+    public void testLongIds() {
+        IdGraph<TinkerGraph> graph = new IdGraph<TinkerGraph>(new TinkerGraph());
+        List<Element> vertices = new ArrayList<Element>();
+        for (long i = 0; i < 10; i++) {
+            vertices.add(graph.addVertex(i));
+        }
+        vertices.add(graph.addVertex("x"));
+        IdFilterPipe pipe = new IdFilterPipe(Contains.IN, Arrays.asList(0l, 3l, 9l));
+        pipe.setStarts(vertices);
+        assertEquals(pipe.next().getId(), 0l);
+        assertEquals(pipe.next().getId(), 3l);
+        assertEquals(pipe.next().getId(), 9l);
+        assertFalse(pipe.hasNext());
+
+        pipe = new IdFilterPipe(Contains.NOT_IN, Arrays.asList(0l, 3l, 9l, 10l));
+        pipe.setStarts(vertices);
+        int counter = 0;
+        while (pipe.hasNext()) {
+            assertFalse(Arrays.asList(0l, 3l, 9l).contains(pipe.next().getId()));
+            counter++;
+        }
+        assertEquals(counter, 8);
+    }
 }
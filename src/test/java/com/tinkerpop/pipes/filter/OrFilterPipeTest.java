@@ -3,9 +3,12 @@ package com.tinkerpop.pipes.filter;
 import com.tinkerpop.blueprints.Compare;
 import com.tinkerpop.pipes.AbstractPipe;
 import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.util.PipeHelper;
 import com.tinkerpop.pipes.util.Pipeline;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -51,4 +54,67 @@ public class OrFilterPipeTest extends TestCase {
             return this.starts.next().length();
         }
     }
+
+    public void testAdaptiveOrder() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 10000; i++) {
+            numbers.add(i);
+        }
+        final int[] calls = new int[1];
+        // the first pipe rarely decides the "or" and the second pipe usually does
+        FilterFunctionPipe<Integer> pipe1 = new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+            public Boolean compute(Integer argument) {
+                calls[0]++;
+                return argument % 100 == 0;
+            }
+        });
+        FilterFunctionPipe<Integer> pipe2 = new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+            public Boolean compute(Integer argument) {
+                return argument % 100 != 1;
+            }
+        });
+        OrFilterPipe<Integer> orFilterPipe = new OrFilterPipe<Integer>(pipe1, pipe2);
+        orFilterPipe.setStarts(numbers);
+        int counter = 0;
+        while (orFilterPipe.hasNext()) {
+            assertTrue(orFilterPipe.next() % 100 != 1);
+            counter++;
+        }
+        assertEquals(counter, 9900);
+        assertTrue(calls[0] < 2000);
+        assertSame(orFilterPipe.getBranches().getOrder()[0], orFilterPipe.getPipes().get(1));
+    }
+
+    public void testDeclaredOrder() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 10000; i++) {
+            numbers.add(i);
+        }
+        final List<String> log = new ArrayList<String>();
+        // the second pipe usually decides the "or" but the first pipe must be evaluated first
+        FilterFunctionPipe<Integer> pipe1 = new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+            public Boolean compute(Integer argument) {
+                log.add("a");
+                return argument % 100 == 0;
+            }
+        });
+        FilterFunctionPipe<Integer> pipe2 = new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+            public Boolean compute(Integer argument) {
+                log.add("b");
+                return true;
+            }
+        });
+        OrFilterPipe<Integer> orFilterPipe = new OrFilterPipe<Integer>(pipe1, pipe2);
+        orFilterPipe.setAdaptive(false);
+        orFilterPipe.setStarts(numbers);
+        assertEquals(PipeHelper.counter(orFilterPipe), 10000);
+        // the first pipe is evaluated for every object and the second pipe only when the first pipe is not decisive
+        assertEquals(log.size(), 19900);
+        assertEquals(log.get(0), "a");
+        for (int i = 1; i < log.size(); i++) {
+            if (log.get(i).equals("b"))
+                assertEquals(log.get(i - 1), "a");
+        }
+        assertSame(orFilterPipe.getBranches().getOrder()[0], orFilterPipe.getPipes().get(0));
+    }
 }
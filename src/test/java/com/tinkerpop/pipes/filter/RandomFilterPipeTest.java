@@ -32,6 +32,24 @@ public class RandomFilterPipeTest extends TestCase {
         assertEquals(counter, 0);
     }
 
+    public void testSeededRandomFilterPipe() {
+        List<String> uuids = this.generateUUIDs(1000);
+        Pipe<String, String> pipe1 = new RandomFilterPipe<String>(0.5d, 42l);
+        Pipe<String, String> pipe2 = new RandomFilterPipe<String>(0.5d, 42l);
+        pipe1.setStarts(uuids);
+        pipe2.setStarts(uuids);
+        List<String> sample = new ArrayList<String>();
+        for (String uuid : pipe1) {
+            sample.add(uuid);
+        }
+        assertTrue(sample.size() > 0);
+        assertTrue(sample.size() < 1000);
+        for (String uuid : sample) {
+            assertEquals(pipe2.next(), uuid);
+        }
+        assertFalse(pipe2.hasNext());
+    }
+
     public void testRandomFilterPipe5050() {
         Pipe<String, String> pipe = new RandomFilterPipe<String>(0.5d);
         pipe.setStarts(this.generateUUIDs(1000).iterator());
@@ -1,6 +1,8 @@
 package com.tinkerpop.pipes.filter;
 
+import com.tinkerpop.pipes.IdentityPipe;
 import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.util.Pipeline;
 import junit.framework.TestCase;
 
 import java.util.Arrays;
@@ -143,4 +145,34 @@ public class RangeFilterPipeTest extends TestCase {
             assertTrue(true);
         }
     }
+
+    public void testRangeFilterDemand() {
+        List<String> names = Arrays.asList("abe", "bob", "carl", "derick", "evan", "fran");
+        DemandPipe<String> demandPipe = new DemandPipe<String>();
+        Pipeline<String, String> pipeline = new Pipeline<String, String>(demandPipe, new IdentityPipe<String>(), new RangeFilterPipe<String>(1, 2));
+        pipeline.setStarts(names);
+        assertEquals(demandPipe.demand, 4l);
+        assertEquals(pipeline.toList(), Arrays.asList("bob", "carl"));
+
+        pipeline = new Pipeline<String, String>(demandPipe, new RangeFilterPipe<String>(2, -1));
+        pipeline.setStarts(names);
+        assertEquals(demandPipe.demand, -1l);
+        pipeline.setDemand(1l);
+        assertEquals(demandPipe.demand, 3l);
+        assertEquals(pipeline.next(), "carl");
+
+        pipeline = new Pipeline<String, String>(demandPipe, new RangeFilterPipe<String>(-1, 10));
+        pipeline.setStarts(names);
+        pipeline.setDemand(2l);
+        assertEquals(demandPipe.demand, 2l);
+    }
+
+    private class DemandPipe<S> extends IdentityPipe<S> {
+        private long demand = -1l;
+
+        public void setDemand(final long demand) {
+            this.demand = demand;
+            super.setDemand(demand);
+        }
+    }
 }
@@ -1,10 +1,15 @@
 package com.tinkerpop.pipes.filter;
 
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.impls.tg.TinkerGraph;
+import com.tinkerpop.blueprints.util.wrappers.id.IdGraph;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.util.PipesFunction;
 import com.tinkerpop.pipes.util.PipesPipeline;
+import com.tinkerpop.pipes.util.structures.ElementIdSet;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -66,4 +71,18 @@ public class RetainFilterPipeTest extends TestCase {
         assertEquals(list.size(), 1);
         assertTrue(list.contains("1"));
     }
+
+    public void testElementIdSet() {
+        IdGraph<TinkerGraph> graph = new IdGraph<TinkerGraph>(new TinkerGraph());
+        List<Vertex> vertices = new ArrayList<Vertex>();
+        for (long i = 0; i < 10; i++) {
+            vertices.add(graph.addVertex(i));
+        }
+        List<Vertex> retain = Arrays.asList(graph.getVertex(2l), graph.getVertex(5l));
+        Pipe<Vertex, Vertex> pipe = new RetainFilterPipe<Vertex>(retain, new ElementIdSet(true));
+        pipe.setStarts(vertices);
+        assertEquals(pipe.next().getId(), 2l);
+        assertEquals(pipe.next().getId(), 5l);
+        assertFalse(pipe.hasNext());
+    }
 }
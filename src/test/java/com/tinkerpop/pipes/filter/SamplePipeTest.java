@@ -0,0 +1,94 @@
+package com.tinkerpop.pipes.filter;
+
+import com.tinkerpop.pipes.IdentityPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.util.Pipeline;
+import com.tinkerpop.pipes.util.PipesPipeline;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class SamplePipeTest extends TestCase {
+
+    public void testSampleSize() {
+        List<Integer> numbers = generateNumbers(1000);
+        for (int size : new int[]{0, 1, 10, 1000, 2000}) {
+            Pipe<Integer, Integer> pipe = new SamplePipe<Integer>(size);
+            pipe.setStarts(numbers);
+            List<Integer> sample = new ArrayList<Integer>();
+            for (Integer number : pipe) {
+                sample.add(number);
+            }
+            assertEquals(sample.size(), Math.min(size, 1000));
+            assertEquals(new HashSet<Integer>(sample).size(), sample.size());
+            assertTrue(numbers.containsAll(sample));
+        }
+    }
+
+    public void testUniformity() {
+        List<Integer> numbers = generateNumbers(100);
+        int[] counts = new int[100];
+        for (int seed = 0; seed < 2000; seed++) {
+            Pipe<Integer, Integer> pipe = new SamplePipe<Integer>(10, seed);
+            pipe.setStarts(numbers);
+            for (Integer number : pipe) {
+                counts[number]++;
+            }
+        }
+        // each number is expected to be sampled 2000 * 10/100 = 200 times
+        for (int count : counts) {
+            assertTrue(count > 140 && count < 260);
+        }
+    }
+
+    public void testSeedAndReset() {
+        List<Integer> numbers = generateNumbers(10000);
+        Pipe<Integer, Integer> pipe1 = new SamplePipe<Integer>(5, 7l);
+        Pipe<Integer, Integer> pipe2 = new SamplePipe<Integer>(5, 7l);
+        pipe1.setStarts(numbers);
+        pipe2.setStarts(numbers);
+        List<Integer> sample = new ArrayList<Integer>();
+        for (Integer number : pipe1) {
+            sample.add(number);
+            assertEquals(pipe2.next(), number);
+        }
+        assertFalse(pipe2.hasNext());
+        assertEquals(sample.size(), 5);
+
+        pipe1.reset();
+        pipe1.setStarts(Arrays.asList(1, 2));
+        assertEquals(new HashSet<Integer>(Arrays.asList(pipe1.next(), pipe1.next())), new HashSet<Integer>(Arrays.asList(1, 2)));
+        assertFalse(pipe1.hasNext());
+    }
+
+    public void testPaths() {
+        Pipeline<String, String> pipeline = new Pipeline<String, String>(new IdentityPipe<String>(), new SamplePipe<String>(2));
+        pipeline.setStarts(Arrays.asList("marko", "josh", "peter"));
+        pipeline.enablePath(true);
+        int counter = 0;
+        while (pipeline.hasNext()) {
+            String name = pipeline.next();
+            assertEquals(pipeline.getCurrentPath(), Arrays.asList(name));
+            counter++;
+        }
+        assertEquals(counter, 2);
+    }
+
+    public void testFluentSample() {
+        assertEquals(new PipesPipeline<Integer, Integer>(generateNumbers(100)).sample(10).count(), 10);
+    }
+
+    private static List<Integer> generateNumbers(final int count) {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < count; i++) {
+            numbers.add(i);
+        }
+        return numbers;
+    }
+}
@@ -0,0 +1,46 @@
+package com.tinkerpop.pipes.filter;
+
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.util.PipesPipeline;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class StratifiedSamplePipeTest extends TestCase {
+
+    private static final PipeFunction<Integer, Integer> KEY = new PipeFunction<Integer, Integer>() {
+        public Integer compute(Integer argument) {
+            return argument % 3;
+        }
+    };
+
+    public void testStrata() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            numbers.add(i);
+        }
+        numbers.add(1001); // 1001 % 3 == 2
+        Pipe<Integer, Integer> pipe = new StratifiedSamplePipe<Integer>(5, KEY, 3l);
+        pipe.setStarts(numbers);
+        List<Integer> sample = new ArrayList<Integer>();
+        for (Integer number : pipe) {
+            sample.add(number);
+        }
+        assertEquals(sample.size(), 15);
+        // strata are emitted in the order they were first seen
+        for (int i = 0; i < 15; i++) {
+            assertEquals(sample.get(i) % 3, i / 5);
+        }
+    }
+
+    public void testSmallStrata() {
+        List<Integer> sample = new PipesPipeline<Integer, Integer>(Arrays.asList(1, 2, 3, 4)).stratifiedSample(10, KEY).toList();
+        assertEquals(sample, Arrays.asList(1, 4, 2, 3));
+    }
+}
@@ -0,0 +1,68 @@
+package com.tinkerpop.pipes.filter;
+
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.util.PipesPipeline;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class WeightedSamplePipeTest extends TestCase {
+
+    private static final PipeFunction<Integer, Number> WEIGHT = new PipeFunction<Integer, Number>() {
+        public Number compute(Integer argument) {
+            // 0 is never sampled and 9 is 9 times more likely to be sampled than 1
+            return argument % 10;
+        }
+    };
+
+    public void testSampleSize() {
+        List<Integer> numbers = generateNumbers(1000);
+        for (int size : new int[]{0, 1, 10, 900, 2000}) {
+            Pipe<Integer, Integer> pipe = new WeightedSamplePipe<Integer>(size, WEIGHT);
+            pipe.setStarts(numbers);
+            List<Integer> sample = new ArrayList<Integer>();
+            for (Integer number : pipe) {
+                assertTrue(number % 10 != 0);
+                sample.add(number);
+            }
+            assertEquals(sample.size(), Math.min(size, 900));
+            assertEquals(new HashSet<Integer>(sample).size(), sample.size());
+        }
+    }
+
+    public void testWeights() {
+        List<Integer> numbers = generateNumbers(100000);
+        int[] counts = new int[10];
+        Pipe<Integer, Integer> pipe = new WeightedSamplePipe<Integer>(1000, WEIGHT, 1l);
+        pipe.setStarts(numbers);
+        for (Integer number : pipe) {
+            counts[number % 10]++;
+        }
+        assertEquals(counts[0], 0);
+        // the expected count of weight w is 1000 * w/45
+        for (int weight = 1; weight < 10; weight++) {
+            final double expected = 1000.0d * weight / 45.0d;
+            assertTrue(Math.abs(counts[weight] - expected) < 0.4d * expected + 10);
+        }
+        assertTrue(counts[9] > 3 * counts[1]);
+    }
+
+    public void testFluentWeightedSample() {
+        List<Integer> sample = new PipesPipeline<Integer, Integer>(generateNumbers(100)).weightedSample(10, WEIGHT).toList();
+        assertEquals(sample.size(), 10);
+    }
+
+    private static List<Integer> generateNumbers(final int count) {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < count; i++) {
+            numbers.add(i);
+        }
+        return numbers;
+    }
+}
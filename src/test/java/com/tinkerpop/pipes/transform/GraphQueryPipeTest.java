@@ -4,6 +4,7 @@ import com.tinkerpop.blueprints.Compare;
 import com.tinkerpop.blueprints.Graph;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.blueprints.impls.tg.TinkerGraphFactory;
+import com.tinkerpop.pipes.util.PipeHelper;
 import junit.framework.TestCase;
 
 import java.util.Arrays;
@@ -89,4 +90,26 @@ public class GraphQueryPipeTest extends TestCase {
 
 
     }
+
+    public void testCompiledQuery() {
+        GraphQueryPipe<Vertex> pipe = new GraphQueryPipe<Vertex>(Vertex.class);
+        pipe.setStarts(Arrays.asList(graph));
+        assertEquals(PipeHelper.counter(pipe), 6);
+
+        // the query is recompiled when a container is added
+        pipe.reset();
+        pipe.addHasContainer(new QueryPipe.HasContainer("age", Compare.GREATER_THAN, 30));
+        pipe.setStarts(Arrays.asList(graph));
+        assertEquals(PipeHelper.counter(pipe), 2);
+
+        pipe.reset();
+        pipe.addHasContainer(new QueryPipe.HasContainer("age", null, 30));
+        pipe.setStarts(Arrays.asList(graph));
+        try {
+            pipe.next();
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(true);
+        }
+    }
 }
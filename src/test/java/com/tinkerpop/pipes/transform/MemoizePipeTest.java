@@ -1,10 +1,15 @@
 package com.tinkerpop.pipes.transform;
 
 import com.tinkerpop.pipes.AbstractPipe;
+import com.tinkerpop.pipes.util.PipeHelper;
 import com.tinkerpop.pipes.util.PipesPipeline;
+import com.tinkerpop.pipes.util.cache.Cache;
+import com.tinkerpop.pipes.util.cache.ConcurrentCache;
+import com.tinkerpop.pipes.util.cache.LruCache;
 import junit.framework.TestCase;
 
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -17,6 +22,82 @@ public class MemoizePipeTest extends TestCase {
                 new PipesPipeline().start(Arrays.asList("a", "b", "c"))._().except(Arrays.asList("x"))._());
     }
 
+    public void testCachedMemoization() {
+        CountingPipe countingPipe = new CountingPipe();
+        LruCache<String, List<String>> cache = new LruCache<String, List<String>>(2);
+        MemoizePipe<String, String> pipe = new MemoizePipe<String, String>(countingPipe, cache);
+        pipe.setStarts(Arrays.asList("a", "b", "a", "c", "a", "b"));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList("aa", "bb", "aa", "cc", "aa", "bb"));
+        // b is evicted by c and computed again
+        assertEquals(countingPipe.counter, 4);
+        assertEquals(cache.getStats().getHits(), 2l);
+        assertEquals(cache.getStats().getEvictions(), 2l);
+        pipe.reset();
+        assertEquals(cache.size(), 0);
+    }
+
+    public void testSharedCache() {
+        Cache<String, List<String>> cache = new ConcurrentCache<String, List<String>>(new LruCache<String, List<String>>(10));
+        CountingPipe countingPipe = new CountingPipe();
+        MemoizePipe<String, String> pipe = new MemoizePipe<String, String>(countingPipe, cache, false);
+        pipe.setStarts(Arrays.asList("a", "b"));
+        PipeHelper.iterate(pipe);
+        pipe.reset();
+        MemoizePipe<String, String> pipe2 = new MemoizePipe<String, String>(countingPipe, cache, false);
+        pipe2.setStarts(Arrays.asList("a", "b", "c"));
+        assertEquals(PipeHelper.makeList(pipe2), Arrays.asList("aa", "bb", "cc"));
+        assertEquals(countingPipe.counter, 3);
+        assertEquals(cache.getStats().getHits(), 2l);
+    }
+
+    public void testLazyMemoization() {
+        RepeatPipe repeatPipe = new RepeatPipe();
+        MemoizePipe<String, String> pipe = new MemoizePipe<String, String>(repeatPipe, new LruCache<String, List<String>>(10), true, true);
+        pipe.setStarts(Arrays.asList("a", "a", "b"));
+        assertEquals(pipe.next(), "a0");
+        assertEquals(repeatPipe.counter, 1);
+        assertTrue(pipe.isPending());
+        assertEquals(pipe.getCache().size(), 0);
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList("a1", "a2", "a0", "a1", "a2", "b0", "b1", "b2"));
+        assertEquals(repeatPipe.counter, 6);
+        assertFalse(pipe.isPending());
+        assertEquals(pipe.getCache().size(), 2);
+
+        pipe.setStarts(Arrays.asList("c"));
+        assertEquals(pipe.next(), "c0");
+        pipe.reset();
+        assertFalse(pipe.isPending());
+        assertEquals(pipe.getCache().size(), 0);
+    }
+
+    public void testLazyResume() {
+        RepeatPipe repeatPipe = new RepeatPipe();
+        MemoizePipe<String, String> pipe = new MemoizePipe<String, String>(repeatPipe, new LruCache<String, List<String>>(10), false, true);
+        pipe.setStarts(Arrays.asList("a"));
+        assertEquals(pipe.next(), "a0");
+        assertEquals(pipe.next(), "a1");
+        pipe.reset();
+        assertTrue(pipe.isPending());
+        assertNull(pipe.getCache().get("a"));
+
+        // the recorded prefix is replayed and the pipe is continued
+        pipe.setStarts(Arrays.asList("a"));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList("a0", "a1", "a2"));
+        assertEquals(repeatPipe.counter, 3);
+        assertEquals(pipe.getCache().get("a"), Arrays.asList("a0", "a1", "a2"));
+
+        // a pending recording is discarded when the pipe is needed for another start
+        pipe.reset();
+        pipe.setStarts(Arrays.asList("b", "c"));
+        assertEquals(pipe.next(), "b0");
+        pipe.reset();
+        pipe.setStarts(Arrays.asList("c"));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList("c0", "c1", "c2"));
+        assertNull(pipe.getCache().get("b"));
+        assertFalse(pipe.isPending());
+        assertEquals(repeatPipe.counter, 7);
+    }
+
     /*public void testBasicMemoization() {
 
 
@@ -43,6 +124,36 @@ public class MemoizePipeTest extends TestCase {
         assertTrue(map.get(graph.getVertex(6)).contains(graph.getVertex(3)));
     }*/
 
+    private class CountingPipe extends AbstractPipe<String, String> {
+        int counter = 0;
+
+        public String processNextStart() {
+            String s = this.starts.next();
+            counter++;
+            return s + s;
+        }
+    }
+
+    private class RepeatPipe extends AbstractPipe<String, String> {
+        int counter = 0;
+        String current;
+        int repeats = 3;
+
+        public String processNextStart() {
+            if (this.repeats == 3) {
+                this.current = this.starts.next();
+                this.repeats = 0;
+            }
+            counter++;
+            return this.current + this.repeats++;
+        }
+
+        public void reset() {
+            this.repeats = 3;
+            super.reset();
+        }
+    }
+
     private class AppendCharAndLengthPipe extends AbstractPipe<String, Object> {
         Integer n;
 
@@ -7,6 +7,7 @@ import com.tinkerpop.pipes.util.structures.Pair;
 import junit.framework.TestCase;
 
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -85,4 +86,22 @@ public class OrderMapPipeTest extends TestCase {
         assertEquals(list.get(0), "c");
         assertEquals(list.size(), 3);
     }
-}
\ No newline at end of file
+
+    public void testPipeBasicComparator() {
+        Pipe pipe = new OrderMapPipe<String>(new Comparator<Map.Entry<String, ?>>() {
+            public int compare(Map.Entry<String, ?> a, Map.Entry<String, ?> b) {
+                return a.getKey().compareTo(b.getKey());
+            }
+        });
+        Map map = new HashMap();
+        map.put("c", 3);
+        map.put("a", 10);
+        map.put("b", 5);
+        Map map2 = new HashMap();
+        map2.put("e", 1);
+        map2.put("d", 2);
+
+        pipe.setStarts(Arrays.asList(map, map2));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList("a", "b", "c", "d", "e"));
+    }
+}
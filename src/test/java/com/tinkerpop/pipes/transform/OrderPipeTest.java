@@ -4,14 +4,21 @@ import com.tinkerpop.pipes.AbstractPipe;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.PipeFunction;
 import com.tinkerpop.pipes.branch.LoopPipe;
+import com.tinkerpop.pipes.util.JavaSerializer;
 import com.tinkerpop.pipes.util.PipeHelper;
 import com.tinkerpop.pipes.util.Pipeline;
 import com.tinkerpop.pipes.util.PipesPipeline;
 import com.tinkerpop.pipes.util.structures.Pair;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -82,6 +89,56 @@ public class OrderPipeTest extends TestCase {
         assertEquals(((List) list.get(2)).get(1), new Integer(7));
     }
 
+    public void testSpilling() {
+        OrderPipe<Integer> pipe = new OrderPipe<Integer>(TransformPipe.Order.DECR);
+        pipe.enableSpilling(new JavaSerializer<Integer>(), 3);
+        pipe.setStarts(Arrays.asList(4, 1, 7, 3, 2, 6, 5));
+        assertEquals(pipe.next(), new Integer(7));
+        assertEquals(pipe.getSorter().getSpilledRuns(), 2);
+        pipe.reset();
+        assertEquals(pipe.getSorter().getSpilledRuns(), 0);
+        pipe.setStarts(Arrays.asList(4, 1, 7, 3, 2, 6, 5));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList(7, 6, 5, 4, 3, 2, 1));
+        assertEquals(pipe.getSorter().getSpilledRuns(), 0);
+    }
+
+    public void testComparatorAndKeyFunction() {
+        Pipe<String, String> pipe = new OrderPipe<String>(new Comparator<String>() {
+            public int compare(String a, String b) {
+                return b.compareTo(a);
+            }
+        });
+        pipe.setStarts(Arrays.asList("bob", "marko", "al"));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList("marko", "bob", "al"));
+
+        pipe = new OrderPipe<String>(new PipeFunction<String, Integer>() {
+            public Integer compute(String argument) {
+                return argument.length();
+            }
+        }, TransformPipe.Order.INCR);
+        pipe.setStarts(Arrays.asList("marko", "bob", "pete", "al", "abe"));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList("al", "bob", "abe", "pete", "marko"));
+    }
+
+    public void testParallelSort() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Random random = new Random(11l);
+            List<Integer> numbers = new ArrayList<Integer>();
+            for (int i = 0; i < 10000; i++) {
+                numbers.add(random.nextInt());
+            }
+            OrderPipe<Integer> pipe = new OrderPipe<Integer>(TransformPipe.Order.DECR);
+            pipe.enableParallelSort(executor, 4, 1000);
+            pipe.setStarts(numbers);
+            List<Integer> sorted = new ArrayList<Integer>(numbers);
+            Collections.sort(sorted, Collections.reverseOrder());
+            assertEquals(PipeHelper.makeList(pipe), sorted);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private class IncrPipe extends AbstractPipe<Integer, Integer> {
         public Integer processNextStart() {
             return this.starts.next() + 1;
@@ -5,6 +5,7 @@ import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Graph;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.blueprints.impls.tg.TinkerGraphFactory;
+import com.tinkerpop.pipes.BatchPipe;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.util.Pipeline;
 import junit.framework.TestCase;
@@ -124,4 +125,20 @@ public class PropertyPipeTest extends TestCase {
         }
         assertEquals(counter, 1);
     }
+
+    public void testNextBatch() {
+        Graph graph = TinkerGraphFactory.createTinkerGraph();
+        graph.getVertex("2").setProperty("other", "value");
+        BatchPipe<Vertex, String> pipe = new PropertyPipe<Vertex, String>("other", false);
+        pipe.setStarts(graph.getVertices());
+        Object[] batch = new Object[10];
+        assertEquals(pipe.nextBatch(batch, 1, 9), 1);
+        assertEquals(batch[1], "value");
+        assertFalse(pipe.hasNext());
+
+        pipe = new PropertyPipe<Vertex, String>("other");
+        pipe.setStarts(graph.getVertices());
+        assertEquals(pipe.nextBatch(batch, 0, 10), 6);
+        assertFalse(pipe.hasNext());
+    }
 }
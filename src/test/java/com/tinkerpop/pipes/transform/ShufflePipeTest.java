@@ -9,6 +9,7 @@ import junit.framework.TestCase;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -81,6 +82,23 @@ public class ShufflePipeTest extends TestCase {
         }
     }
 
+    public void testShuffleWindow() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 10; i++) {
+            numbers.add(i);
+        }
+        Pipe<Integer, Integer> pipe = new ShufflePipe<Integer>(4);
+        pipe.setStarts(numbers);
+        List<Integer> shuffled = new ArrayList<Integer>();
+        while (pipe.hasNext()) {
+            shuffled.add(pipe.next());
+        }
+        assertEquals(shuffled.size(), 10);
+        assertEquals(new HashSet<Integer>(shuffled.subList(0, 4)), new HashSet<Integer>(numbers.subList(0, 4)));
+        assertEquals(new HashSet<Integer>(shuffled.subList(4, 8)), new HashSet<Integer>(numbers.subList(4, 8)));
+        assertEquals(new HashSet<Integer>(shuffled.subList(8, 10)), new HashSet<Integer>(numbers.subList(8, 10)));
+    }
+
     private class RemoveCharPipe extends AbstractPipe<String, String> {
         public String processNextStart() {
             while (true) {
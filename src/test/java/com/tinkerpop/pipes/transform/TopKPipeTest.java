@@ -0,0 +1,108 @@
+package com.tinkerpop.pipes.transform;
+
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.filter.RangeFilterPipe;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.Pipeline;
+import com.tinkerpop.pipes.util.PipesPipeline;
+import com.tinkerpop.pipes.util.structures.Pair;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TopKPipeTest extends TestCase {
+
+    public void testPipeBasic() {
+        Pipe<Integer, Integer> pipe = new TopKPipe<Integer>(3);
+        pipe.setStarts(Arrays.asList(4, 1, 6, 3, 5, 2));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList(1, 2, 3));
+
+        pipe = new TopKPipe<Integer>(3, TransformPipe.Order.DECR);
+        pipe.setStarts(Arrays.asList(4, 1, 6, 3, 5, 2));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList(6, 5, 4));
+
+        pipe = new TopKPipe<Integer>(10);
+        pipe.setStarts(Arrays.asList(4, 1, 3));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList(1, 3, 4));
+    }
+
+    public void testCompareFunction() {
+        Pipe<String, String> pipe = new TopKPipe<String>(2, new PipeFunction<Pair<String, String>, Integer>() {
+            public Integer compute(Pair<String, String> argument) {
+                return argument.getA().length() - argument.getB().length();
+            }
+        });
+        // ties are emitted in the order they were seen
+        pipe.setStarts(Arrays.asList("marko", "bob", "pete", "abe", "al"));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList("al", "bob"));
+    }
+
+    public void testEquivalentToOrderAndRange() {
+        Random random = new Random(7l);
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            numbers.add(random.nextInt(100));
+        }
+        for (int k : Arrays.asList(1, 10, 100, 2000)) {
+            Pipe<Integer, Integer> pipe = new TopKPipe<Integer>(k, TransformPipe.Order.DECR);
+            pipe.setStarts(numbers);
+            List<Integer> sorted = new ArrayList<Integer>(numbers);
+            Collections.sort(sorted, Collections.reverseOrder());
+            assertEquals(PipeHelper.makeList(pipe), sorted.subList(0, Math.min(k, sorted.size())));
+        }
+    }
+
+    public void testPaths() {
+        Pipeline<Integer, Integer> pipeline = new Pipeline<Integer, Integer>(new TransformFunctionPipe<Integer, Integer>(new PipeFunction<Integer, Integer>() {
+            public Integer compute(Integer argument) {
+                return argument * 10;
+            }
+        }), new TopKPipe<Integer>(2));
+        pipeline.setStarts(Arrays.asList(4, 1, 3, 2));
+        pipeline.enablePath(true);
+        assertEquals(pipeline.next(), new Integer(10));
+        assertEquals(pipeline.getCurrentPath(), Arrays.asList(1, 10, 10));
+        assertEquals(pipeline.next(), new Integer(20));
+        assertEquals(pipeline.getCurrentPath(), Arrays.asList(2, 20, 20));
+        assertFalse(pipeline.hasNext());
+    }
+
+    public void testReset() {
+        Pipe<Integer, Integer> pipe = new TopKPipe<Integer>(2);
+        pipe.setStarts(Arrays.asList(4, 1, 3, 2));
+        assertEquals(pipe.next(), new Integer(1));
+        pipe.reset();
+        pipe.setStarts(Arrays.asList(7, 6, 5));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList(5, 6));
+    }
+
+    public void testFluentRewrite() {
+        PipesPipeline<Integer, Integer> pipeline = new PipesPipeline<Integer, Integer>(Arrays.asList(4, 1, 6, 3, 5, 2)).order().range(0, 2);
+        assertEquals(pipeline.getPipes().size(), 2);
+        assertTrue(pipeline.getPipes().get(1) instanceof TopKPipe);
+        assertEquals(((TopKPipe) pipeline.getPipes().get(1)).getK(), 3);
+        assertEquals(pipeline.toList(), Arrays.asList(1, 2, 3));
+
+        pipeline = new PipesPipeline<Integer, Integer>(Arrays.asList(4, 1, 6, 3, 5, 2)).order(TransformPipe.Order.DECR).range(2, 3);
+        assertEquals(pipeline.getPipes().size(), 3);
+        assertTrue(pipeline.getPipes().get(1) instanceof TopKPipe);
+        assertTrue(pipeline.getPipes().get(2) instanceof RangeFilterPipe);
+        assertEquals(pipeline.toList(), Arrays.asList(4, 3));
+
+        pipeline = new PipesPipeline<Integer, Integer>(Arrays.asList(4, 1, 6, 3, 5, 2)).order().range(2, -1);
+        assertTrue(pipeline.getPipes().get(1) instanceof OrderPipe);
+        assertEquals(pipeline.toList(), Arrays.asList(3, 4, 5, 6));
+
+        pipeline = new PipesPipeline<Integer, Integer>(Arrays.asList(4, 1, 6, 3, 5, 2)).order().range(1, Integer.MAX_VALUE);
+        assertTrue(pipeline.getPipes().get(1) instanceof OrderPipe);
+        assertEquals(pipeline.toList(), Arrays.asList(2, 3, 4, 5, 6));
+    }
+}
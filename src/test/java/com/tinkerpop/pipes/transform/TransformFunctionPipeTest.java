@@ -1,5 +1,6 @@
 package com.tinkerpop.pipes.transform;
 
+import com.tinkerpop.pipes.BatchPipe;
 import com.tinkerpop.pipes.Pipe;
 import com.tinkerpop.pipes.PipeFunction;
 import junit.framework.TestCase;
@@ -37,6 +38,20 @@ public class TransformFunctionPipeTest extends TestCase {
         assertEquals(counter, 0);
     }
 
+    public void testNextBatch() {
+        List<String> list = Arrays.asList("marko", "antonio", "rodriguez", "was", "here", ".");
+        BatchPipe<String, Integer> pipe = new TransformFunctionPipe<String, Integer>(new NumCharPipeFunction());
+        pipe.setStarts(list);
+        assertEquals(pipe.next(), new Integer(5));
+        Object[] batch = new Object[4];
+        assertEquals(pipe.nextBatch(batch, 0, 4), 4);
+        assertEquals(Arrays.asList(batch), Arrays.asList(7, 9, 3, 4));
+        assertTrue(pipe.hasNext());
+        assertEquals(pipe.nextBatch(batch, 2, 2), 1);
+        assertEquals(batch[2], 1);
+        assertFalse(pipe.hasNext());
+    }
+
     private class NumCharPipeFunction implements PipeFunction<String, Integer> {
         public Integer compute(String argument) {
             return argument.length();
@@ -1,12 +1,17 @@
 package com.tinkerpop.pipes.transform;
 
+import com.tinkerpop.blueprints.Compare;
 import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Graph;
 import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.blueprints.impls.tg.TinkerGraphFactory;
+import com.tinkerpop.pipes.util.PipeHelper;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -116,4 +121,38 @@ public class VertexQueryPipeTest extends TestCase {
         assertEquals(counter, 3);
     }
 
+    public void testCompiledQuery() {
+        List<Vertex> starts = new ArrayList<Vertex>();
+        for (final Vertex vertex : graph.getVertices()) {
+            starts.add(vertex);
+        }
+        VertexQueryPipe<Vertex> pipe = new VertexQueryPipe<Vertex>(Vertex.class, Direction.BOTH, null, null, Integer.MAX_VALUE, 0, Integer.MAX_VALUE, "knows");
+        pipe.setStarts(starts);
+        VerticesVerticesPipe verticesPipe = new VerticesVerticesPipe(Direction.BOTH, "knows");
+        verticesPipe.setStarts(starts);
+        assertEquals(PipeHelper.makeList(pipe), PipeHelper.makeList(verticesPipe));
+
+        // the query is recompiled when the labels are changed
+        pipe.reset();
+        pipe.setLabels("created");
+        pipe.setStarts(starts);
+        verticesPipe = new VerticesVerticesPipe(Direction.BOTH, "created");
+        verticesPipe.setStarts(starts);
+        List<Vertex> created = PipeHelper.makeList(pipe);
+        assertEquals(created.size(), 8);
+        assertEquals(created, PipeHelper.makeList(verticesPipe));
+
+        VertexQueryPipe<Edge> edgePipe = new VertexQueryPipe<Edge>(Edge.class, Direction.OUT, null, null, Integer.MAX_VALUE, 0, Integer.MAX_VALUE);
+        edgePipe.setStarts(Arrays.asList(graph.getVertex(1)));
+        assertEquals(PipeHelper.counter(edgePipe), 3);
+
+        edgePipe = new VertexQueryPipe<Edge>(Edge.class, Direction.OUT, Arrays.asList(new QueryPipe.HasContainer(null, Compare.EQUAL, 1.0f)), null, Integer.MAX_VALUE, 0, Integer.MAX_VALUE);
+        edgePipe.setStarts(Arrays.asList(graph.getVertex(1)));
+        try {
+            edgePipe.next();
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(true);
+        }
+    }
 }
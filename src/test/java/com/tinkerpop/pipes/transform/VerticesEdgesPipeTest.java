@@ -7,10 +7,14 @@ import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.blueprints.impls.tg.TinkerGraph;
 import com.tinkerpop.blueprints.impls.tg.TinkerGraphFactory;
 import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.util.LatencyBatchAdjacencyProvider;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.cache.AdjacencyCache;
 import com.tinkerpop.pipes.util.iterators.SingleIterator;
 import junit.framework.TestCase;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
@@ -179,4 +183,41 @@ public class VerticesEdgesPipeTest extends TestCase {
 
         }
     }
+
+    public void testBatching() {
+        Graph graph = TinkerGraphFactory.createTinkerGraph();
+        List<Vertex> starts = Arrays.asList(graph.getVertex(1), graph.getVertex(4), graph.getVertex(1), graph.getVertex(6), graph.getVertex(4));
+        VerticesEdgesPipe pipe = new VerticesEdgesPipe(Direction.OUT);
+        pipe.setStarts(starts);
+        List<Edge> expected = PipeHelper.makeList(pipe);
+        assertEquals(expected.size(), 11);
+
+        LatencyBatchAdjacencyProvider provider = new LatencyBatchAdjacencyProvider(0l);
+        pipe = new VerticesEdgesPipe(Direction.OUT);
+        pipe.enableBatching(provider, 2);
+        pipe.setStarts(starts);
+        assertEquals(PipeHelper.makeList(pipe), expected);
+        assertEquals(provider.getRoundTrips(), 3l);
+
+        // only the misses of a batch are read from the provider
+        AdjacencyCache cache = new AdjacencyCache(100);
+        pipe = new VerticesEdgesPipe(Direction.OUT);
+        pipe.enableBatching(provider, 3);
+        pipe.setAdjacencyCache(cache);
+        pipe.setStarts(starts);
+        assertEquals(PipeHelper.makeList(pipe), expected);
+        assertEquals(provider.getRoundTrips(), 5l);
+        assertEquals(cache.size(), 3);
+        pipe.reset();
+        pipe.setStarts(starts);
+        assertEquals(PipeHelper.makeList(pipe), expected);
+        assertEquals(provider.getRoundTrips(), 5l);
+
+        try {
+            pipe.enableBatching(provider, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertTrue(true);
+        }
+    }
 }
@@ -6,7 +6,12 @@ import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.blueprints.impls.tg.TinkerGraph;
 import com.tinkerpop.blueprints.impls.tg.TinkerGraphFactory;
 import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.util.LatencyBatchAdjacencyProvider;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.Pipeline;
+import com.tinkerpop.pipes.util.PipesPipeline;
 import com.tinkerpop.pipes.util.iterators.SingleIterator;
+import com.tinkerpop.pipes.util.structures.Row;
 import junit.framework.TestCase;
 
 import java.util.ArrayList;
@@ -142,4 +147,77 @@ public class VerticesVerticesPipeTest extends TestCase {
         }
         assertEquals(counter, 1);
     }
+
+    public void testDemandLimit() {
+        Graph graph = TinkerGraphFactory.createTinkerGraph();
+        VerticesVerticesPipe pipe = new VerticesVerticesPipe(Direction.OUT);
+        pipe.setDemand(2l);
+        pipe.setStarts(new SingleIterator<Vertex>(graph.getVertex(1)));
+        assertEquals(PipeHelper.counter(pipe), 2l);
+        pipe.setDemand(-1l);
+        pipe.setStarts(new SingleIterator<Vertex>(graph.getVertex(1)));
+        assertEquals(PipeHelper.counter(pipe), 3l);
+    }
+
+    public void testBatching() {
+        Graph graph = TinkerGraphFactory.createTinkerGraph();
+        List<Vertex> starts = new ArrayList<Vertex>();
+        for (final Vertex vertex : graph.getVertices()) {
+            starts.add(vertex);
+        }
+        Pipe<Vertex, Vertex> pipe = new BothPipe();
+        pipe.setStarts(starts);
+        List<Vertex> expected = PipeHelper.makeList(pipe);
+
+        LatencyBatchAdjacencyProvider provider = new LatencyBatchAdjacencyProvider(0l);
+        BothPipe batchedPipe = new BothPipe();
+        batchedPipe.enableBatching(provider, 4);
+        batchedPipe.setStarts(starts);
+        assertEquals(PipeHelper.makeList(batchedPipe), expected);
+        assertEquals(provider.getRoundTrips(), 2l);
+
+        Pipeline<Vertex, Vertex> pipeline = new Pipeline<Vertex, Vertex>(new BothPipe(), new OutPipe());
+        pipeline.setStarts(starts);
+        expected = pipeline.toList();
+        batchedPipe = new BothPipe();
+        batchedPipe.enableBatching(provider, 4);
+        pipeline = new Pipeline<Vertex, Vertex>(batchedPipe, new OutPipe());
+        pipeline.setStarts(starts);
+        assertEquals(pipeline.toList(), expected);
+        assertEquals(provider.getRoundTrips(), 4l);
+
+        // batching does not apply when paths are enabled
+        pipeline.reset();
+        pipeline.setStarts(starts);
+        pipeline.enablePath(true);
+        assertEquals(pipeline.toList(), expected);
+        assertEquals(provider.getRoundTrips(), 4l);
+    }
+
+    public void testBatchingWithAsPipe() {
+        Graph graph = TinkerGraphFactory.createTinkerGraph();
+        List<Vertex> starts = new ArrayList<Vertex>();
+        for (final Vertex vertex : graph.getVertices()) {
+            starts.add(vertex);
+        }
+        List<Row> expected = new PipesPipeline<Vertex, Vertex>(starts)._().as("a").add(new OutPipe()).as("b").select().toList();
+        assertEquals(expected.size(), 6);
+
+        LatencyBatchAdjacencyProvider provider = new LatencyBatchAdjacencyProvider(0l);
+        OutPipe batchedPipe = new OutPipe();
+        batchedPipe.enableBatching(provider, 4);
+        PipesPipeline<Vertex, Row> pipeline = new PipesPipeline<Vertex, Vertex>(starts)._().as("a").add(batchedPipe).as("b").select();
+        // the starts of the AsPipe are read one at a time and thus, each row holds a vertex and its adjacent vertex
+        assertTrue(batchedPipe.hasUpstreamAsPipe());
+        assertEquals(pipeline.toList(), expected);
+        assertEquals(provider.getRoundTrips(), 0l);
+
+        // an AsPipe that wraps or follows the pipe does not restrict its batching
+        batchedPipe = new OutPipe();
+        batchedPipe.enableBatching(provider, 4);
+        Pipeline<Vertex, Vertex> batchedPipeline = new PipesPipeline<Vertex, Vertex>(starts).add(batchedPipe).as("b")._().as("c");
+        assertFalse(batchedPipe.hasUpstreamAsPipe());
+        assertEquals(PipeHelper.counter(batchedPipeline), 6);
+        assertEquals(provider.getRoundTrips(), 2l);
+    }
 }
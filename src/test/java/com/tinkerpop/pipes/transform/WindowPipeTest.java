@@ -0,0 +1,117 @@
+package com.tinkerpop.pipes.transform;
+
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.util.Clock;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.Pipeline;
+import com.tinkerpop.pipes.util.PipesPipeline;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class WindowPipeTest extends TestCase {
+
+    public void testTumblingWindow() {
+        Pipe<Integer, List<Integer>> pipe = new WindowPipe<Integer, List<Integer>>(3);
+        pipe.setStarts(Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Arrays.asList(7)));
+
+        pipe = new WindowPipe<Integer, List<Integer>>(3);
+        pipe.setStarts(Arrays.asList(1, 2, 3));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList(Arrays.asList(1, 2, 3)));
+    }
+
+    public void testSlidingWindow() {
+        Pipe<Integer, List<Integer>> pipe = new WindowPipe<Integer, List<Integer>>(3, 2);
+        pipe.setStarts(Arrays.asList(1, 2, 3, 4, 5, 6));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(3, 4, 5), Arrays.asList(5, 6)));
+
+        pipe = new WindowPipe<Integer, List<Integer>>(2, 1);
+        pipe.setStarts(Arrays.asList(1, 2, 3));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList(Arrays.asList(1, 2), Arrays.asList(2, 3)));
+    }
+
+    public void testWindowFunction() {
+        Pipe<Integer, Integer> pipe = new WindowPipe<Integer, Integer>(2, 2, new PipeFunction<List<Integer>, Integer>() {
+            public Integer compute(List<Integer> argument) {
+                int sum = 0;
+                for (Integer i : argument) {
+                    sum = sum + i;
+                }
+                return sum;
+            }
+        });
+        pipe.setStarts(Arrays.asList(1, 2, 3, 4, 5));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList(3, 7, 5));
+    }
+
+    public void testStreaming() {
+        // the starts never end and thus, the windows must be emitted as they are filled
+        Pipe<Integer, List<Integer>> pipe = new WindowPipe<Integer, List<Integer>>(2);
+        pipe.setStarts(new Iterator<Integer>() {
+            private int counter = 0;
+
+            public boolean hasNext() {
+                return true;
+            }
+
+            public Integer next() {
+                return counter++;
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        });
+        assertEquals(pipe.next(), Arrays.asList(0, 1));
+        assertEquals(pipe.next(), Arrays.asList(2, 3));
+    }
+
+    public void testTimeWindow() {
+        final long[] time = new long[]{0l};
+        Clock clock = new Clock() {
+            public long currentTimeMillis() {
+                return time[0]++;
+            }
+        };
+        // each add reads the clock (and moves it by 1ms)
+        Pipe<Integer, List<Integer>> pipe = new WindowPipe<Integer, List<Integer>>(-1, 3l, clock, null);
+        pipe.setStarts(Arrays.asList(1, 2, 3, 4, 5));
+        List<List<Integer>> windows = PipeHelper.makeList(pipe);
+        assertEquals(windows.get(0).get(0), new Integer(1));
+        int count = 0;
+        for (List<Integer> window : windows) {
+            assertTrue(window.size() < 5);
+            count = count + window.size();
+        }
+        assertEquals(count, 5);
+
+        pipe = new WindowPipe<Integer, List<Integer>>(2, 1000l, clock, null);
+        pipe.setStarts(Arrays.asList(1, 2, 3));
+        assertEquals(PipeHelper.makeList(pipe), Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)));
+    }
+
+    public void testWindowPaths() {
+        Pipeline<String, List<String>> pipeline = new Pipeline<String, List<String>>(new WindowPipe<String, List<String>>(2));
+        pipeline.setStarts(Arrays.asList("a", "b", "c"));
+        pipeline.enablePath(true);
+        assertEquals(pipeline.next(), Arrays.asList("a", "b"));
+        List paths = pipeline.getCurrentPath();
+        assertEquals(paths.size(), 2);
+        assertEquals(paths.get(0), Arrays.asList("a", Arrays.asList("a", "b")));
+        assertEquals(paths.get(1), Arrays.asList("b", Arrays.asList("a", "b")));
+        assertEquals(pipeline.next(), Arrays.asList("c"));
+        assertFalse(pipeline.hasNext());
+    }
+
+    public void testFluentWindow() {
+        assertEquals(new PipesPipeline(Arrays.asList(1, 2, 3, 4)).window(2).toList(), Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4)));
+        assertEquals(new PipesPipeline(Arrays.asList(1, 2, 3)).window(2, 1).count(), 2l);
+    }
+}
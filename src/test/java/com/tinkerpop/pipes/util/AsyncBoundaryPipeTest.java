@@ -0,0 +1,154 @@
+package com.tinkerpop.pipes.util;
+
+import com.tinkerpop.pipes.IdentityPipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.filter.RangeFilterPipe;
+import com.tinkerpop.pipes.transform.TransformFunctionPipe;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class AsyncBoundaryPipeTest extends TestCase {
+
+    public void testOrderPreserved() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 10000; i++) {
+            numbers.add(i);
+        }
+        for (int capacity : new int[]{1, 3, 64}) {
+            AsyncBoundaryPipe<Integer> pipe = new AsyncBoundaryPipe<Integer>(capacity);
+            pipe.setStarts(numbers);
+            int counter = 0;
+            while (pipe.hasNext()) {
+                assertEquals(pipe.next(), new Integer(counter++));
+            }
+            assertEquals(counter, 10000);
+            assertFalse(pipe.hasNext());
+        }
+    }
+
+    public void testFluentAsync() {
+        PipesPipeline<String, Integer> pipeline = new PipesPipeline<String, String>(Arrays.asList("marko", "peter", "josh")).async(2).transform(new PipeFunction<String, Integer>() {
+            public Integer compute(String argument) {
+                return argument.length();
+            }
+        });
+        assertEquals(pipeline.toList(), Arrays.asList(5, 5, 4));
+    }
+
+    public void testExceptionPropagation() {
+        TransformFunctionPipe<Integer, Integer> upstream = new TransformFunctionPipe<Integer, Integer>(new PipeFunction<Integer, Integer>() {
+            public Integer compute(Integer argument) {
+                if (argument == 3)
+                    throw new IllegalStateException("bad number");
+                return argument;
+            }
+        });
+        upstream.setStarts(Arrays.asList(1, 2, 3, 4));
+        AsyncBoundaryPipe<Integer> pipe = new AsyncBoundaryPipe<Integer>(4);
+        pipe.setStarts(upstream);
+        assertEquals(pipe.next(), new Integer(1));
+        assertEquals(pipe.next(), new Integer(2));
+        try {
+            pipe.next();
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals(e.getMessage(), "bad number");
+        }
+    }
+
+    public void testResetAndClose() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            numbers.add(i);
+        }
+        AsyncBoundaryPipe<Integer> pipe = new AsyncBoundaryPipe<Integer>(8);
+        pipe.setStarts(numbers);
+        assertEquals(pipe.next(), new Integer(0));
+        assertEquals(pipe.next(), new Integer(1));
+        pipe.close();
+
+        pipe.setStarts(Arrays.asList(7, 8));
+        assertEquals(pipe.next(), new Integer(7));
+        pipe.reset();
+        pipe.setStarts(Arrays.asList(9));
+        assertEquals(pipe.next(), new Integer(9));
+        assertFalse(pipe.hasNext());
+    }
+
+    public void testPaths() {
+        Pipeline<String, String> pipeline = new Pipeline<String, String>(new TransformFunctionPipe<String, String>(new PipeFunction<String, String>() {
+            public String compute(String argument) {
+                return argument.toUpperCase();
+            }
+        }), new AsyncBoundaryPipe<String>(2), new IdentityPipe<String>());
+        pipeline.setStarts(Arrays.asList("marko", "josh"));
+        pipeline.enablePath(true);
+        assertEquals(pipeline.next(), "MARKO");
+        assertEquals(pipeline.getCurrentPath(), Arrays.asList("marko", "MARKO"));
+        assertEquals(pipeline.next(), "JOSH");
+        assertEquals(pipeline.getCurrentPath(), Arrays.asList("josh", "JOSH"));
+        assertFalse(pipeline.hasNext());
+    }
+
+    public void testDemandStopsProducer() throws Exception {
+        final List<Thread> threads = new ArrayList<Thread>();
+        Pipeline<Integer, Integer> pipeline = new Pipeline<Integer, Integer>(new AsyncBoundaryPipe<Integer>(4, new RecordingThreadFactory(threads)), new RangeFilterPipe<Integer>(0, 2));
+        pipeline.setStarts(new CountingIterator());
+        assertEquals(pipeline.toList(), Arrays.asList(0, 1, 2));
+        // the range ends the iteration without closing the pipe
+        threads.get(0).join(10000);
+        assertFalse(threads.get(0).isAlive());
+    }
+
+    public void testUnreferencedPipeStopsProducer() throws Exception {
+        final List<Thread> threads = new ArrayList<Thread>();
+        AsyncBoundaryPipe<Integer> pipe = new AsyncBoundaryPipe<Integer>(4, new RecordingThreadFactory(threads));
+        pipe.setStarts(new CountingIterator());
+        assertEquals(pipe.next(), new Integer(0));
+        pipe = null;
+        for (int i = 0; i < 100 && threads.get(0).isAlive(); i++) {
+            System.gc();
+            threads.get(0).join(100);
+        }
+        assertFalse(threads.get(0).isAlive());
+    }
+
+    private static class RecordingThreadFactory implements ThreadFactory {
+        private final List<Thread> threads;
+
+        public RecordingThreadFactory(final List<Thread> threads) {
+            this.threads = threads;
+        }
+
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            this.threads.add(thread);
+            return thread;
+        }
+    }
+
+    private static class CountingIterator implements Iterator<Integer> {
+        private int counter = 0;
+
+        public boolean hasNext() {
+            return true;
+        }
+
+        public Integer next() {
+            return this.counter++;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
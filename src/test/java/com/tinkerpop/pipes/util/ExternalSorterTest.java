@@ -0,0 +1,103 @@
+package com.tinkerpop.pipes.util;
+
+import junit.framework.TestCase;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class ExternalSorterTest extends TestCase {
+
+    private static final Comparator<Integer> COMPARATOR = new Comparator<Integer>() {
+        public int compare(final Integer a, final Integer b) {
+            return a.compareTo(b);
+        }
+    };
+
+    private static final Serializer<Integer> SERIALIZER = new Serializer<Integer>() {
+        public void write(final Integer object, final DataOutput output) throws IOException {
+            output.writeInt(object);
+        }
+
+        public Integer read(final DataInput input) throws IOException {
+            return input.readInt();
+        }
+    };
+
+    public void testSortInMemory() {
+        ExternalSorter<Integer> sorter = new ExternalSorter<Integer>(COMPARATOR, SERIALIZER, 10);
+        for (int i = 5; i > 0; i--) {
+            sorter.add(i);
+        }
+        assertEquals(sorter.getSpilledRuns(), 0);
+        assertEquals(PipeHelper.makeList(sorter.sort()), Arrays.asList(1, 2, 3, 4, 5));
+    }
+
+    public void testSortSpilled() {
+        Random random = new Random(3l);
+        List<Integer> numbers = new ArrayList<Integer>();
+        ExternalSorter<Integer> sorter = new ExternalSorter<Integer>(COMPARATOR, SERIALIZER, 100);
+        for (int i = 0; i < 1050; i++) {
+            int number = random.nextInt(500);
+            numbers.add(number);
+            sorter.add(number);
+        }
+        assertEquals(sorter.getSpilledRuns(), 10);
+        Collections.sort(numbers);
+        Iterator<Integer> sorted = sorter.sort();
+        assertEquals(PipeHelper.makeList(sorted), numbers);
+        assertEquals(sorter.getSpilledRuns(), 0);
+    }
+
+    public void testByteBudget() {
+        ExternalSorter<Integer> sorter = new ExternalSorter<Integer>(COMPARATOR, new JavaSerializer<Integer>(), -1, 10000l, null);
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 1000; i > 0; i--) {
+            numbers.add(i);
+            sorter.add(i);
+        }
+        assertTrue(sorter.getSpilledRuns() > 1);
+        Collections.sort(numbers);
+        assertEquals(PipeHelper.makeList(sorter.sort()), numbers);
+    }
+
+    public void testStableMerge() {
+        Comparator<String> comparator = new Comparator<String>() {
+            public int compare(final String a, final String b) {
+                return a.length() - b.length();
+            }
+        };
+        ExternalSorter<String> sorter = new ExternalSorter<String>(comparator, new JavaSerializer<String>(), 2);
+        for (String name : Arrays.asList("marko", "bob", "pete", "abe", "al", "ann")) {
+            sorter.add(name);
+        }
+        assertEquals(PipeHelper.makeList(sorter.sort()), Arrays.asList("al", "bob", "abe", "ann", "pete", "marko"));
+    }
+
+    public void testClear() throws Exception {
+        File directory = File.createTempFile("pipes-sort-test", "");
+        directory.delete();
+        directory.mkdir();
+        ExternalSorter<Integer> sorter = new ExternalSorter<Integer>(COMPARATOR, SERIALIZER, 10, -1l, directory);
+        for (int i = 0; i < 100; i++) {
+            sorter.add(i);
+        }
+        assertEquals(directory.listFiles().length, 10);
+        Iterator<Integer> sorted = sorter.sort();
+        assertEquals(sorted.next(), new Integer(0));
+        sorter.clear();
+        assertEquals(directory.listFiles().length, 0);
+        directory.delete();
+    }
+}
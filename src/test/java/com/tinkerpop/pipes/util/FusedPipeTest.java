@@ -0,0 +1,150 @@
+package com.tinkerpop.pipes.util;
+
+import com.tinkerpop.pipes.IdentityPipe;
+import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.filter.FilterFunctionPipe;
+import com.tinkerpop.pipes.sideeffect.SideEffectFunctionPipe;
+import com.tinkerpop.pipes.transform.TransformFunctionPipe;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class FusedPipeTest extends TestCase {
+
+    public void testFusedPipeEqualsUnfusedPipes() {
+        List<String> names = Arrays.asList("marko", "peter", "josh", "vadas", "ripple", "lop");
+        Pipeline<String, Integer> unfused = new Pipeline<String, Integer>(createPipes(new ArrayList<Object>()));
+        unfused.setStarts(names);
+        List<Object> sideEffects = new ArrayList<Object>();
+        Pipeline<String, Integer> fused = new Pipeline<String, Integer>(createPipes(sideEffects));
+        fused.setStarts(names);
+        List<Pipe> fusedPipes = FluentUtility.fusePipes(fused);
+        assertEquals(fusedPipes.size(), 1);
+        assertTrue(fusedPipes.get(0) instanceof FusedPipe);
+        assertEquals(((FusedPipe) fusedPipes.get(0)).getFusedPipes().size(), 4);
+        // the pipes of the pipeline are not altered
+        assertEquals(fused.size(), 4);
+        assertEquals(((FusedPipe) fusedPipes.get(0)).getFusedPipes(), fused.getPipes());
+
+        // the fused pipe is pushed to rather than the pipes of the pipeline
+        assertTrue(fused.isPushable());
+        assertEquals(fused.toList(), unfused.toList());
+        assertEquals(fused.toList(), Arrays.asList());
+        assertEquals(sideEffects, Arrays.asList(5, 4, 5, 6, 3));
+    }
+
+    public void testFusedPipePaths() {
+        List<String> names = Arrays.asList("marko", "peter", "josh", "vadas", "ripple", "lop");
+        Pipeline<String, Integer> unfused = new Pipeline<String, Integer>(createPipes(new ArrayList<Object>()));
+        unfused.setStarts(names);
+        unfused.enablePath(true);
+        Pipeline<String, Integer> fused = new Pipeline<String, Integer>(createPipes(new ArrayList<Object>()));
+        fused.setStarts(names);
+        fused.enablePath(true);
+        assertTrue(FluentUtility.fusePipes(fused).get(0) instanceof FusedPipe);
+
+        int counter = 0;
+        while (unfused.hasNext()) {
+            assertEquals(fused.next(), unfused.next());
+            assertEquals(fused.getCurrentPath(), unfused.getCurrentPath());
+            assertEquals(fused.getCurrentPath().size(), 3);
+            counter++;
+        }
+        assertFalse(fused.hasNext());
+        assertEquals(counter, 5);
+    }
+
+    public void testFusionBoundaries() {
+        Pipeline<String, Integer> pipeline = new Pipeline<String, Integer>(createPipes(new ArrayList<Object>()));
+        // the starts of the pipeline are not known
+        assertEquals(FluentUtility.fusePipes(pipeline).size(), 4);
+
+        List<Pipe> pipes = new ArrayList<Pipe>();
+        pipes.add(new IdentityPipe());
+        pipes.addAll(createPipes(new ArrayList<Object>()).subList(0, 2));
+        pipes.add(new AsPipe("x", new TransformFunctionPipe(new LengthPipeFunction())));
+        pipes.addAll(createPipes(new ArrayList<Object>()).subList(2, 4));
+        pipeline = new Pipeline<String, Integer>(pipes);
+        pipeline.setStarts(Arrays.asList("marko", "peter", "josh"));
+        List<Pipe> fusedPipes = FluentUtility.fusePipes(pipeline);
+        assertEquals(fusedPipes.size(), 4);
+        assertTrue(fusedPipes.get(0) instanceof IdentityPipe);
+        assertTrue(fusedPipes.get(1) instanceof FusedPipe);
+        assertTrue(fusedPipes.get(2) instanceof AsPipe);
+        assertTrue(fusedPipes.get(3) instanceof FusedPipe);
+        assertEquals(pipeline.size(), 6);
+    }
+
+    public void testPipesPipelineFusion() {
+        PipesPipeline<String, Integer> pipeline = new PipesPipeline<String, String>(Arrays.asList("marko", "peter", "josh")).transform(new LengthPipeFunction()).filter(new PipeFunction<Integer, Boolean>() {
+            public Boolean compute(Integer argument) {
+                return argument == 5;
+            }
+        });
+        String steps = pipeline.toString();
+        assertEquals(pipeline.size(), 3);
+        assertEquals(pipeline.count(), 2);
+        // the fused pipes are evaluated in place of the pipes of the pipeline
+        assertEquals(pipeline.size(), 3);
+        assertEquals(pipeline.toString(), steps);
+        assertTrue(pipeline.get(1) instanceof TransformFunctionPipe);
+        assertTrue(pipeline.get(2) instanceof FilterFunctionPipe);
+    }
+
+    public void testPipesPipelineFusionAfterIteration() {
+        PipesPipeline<String, Integer> pipeline = new PipesPipeline<String, String>(Arrays.asList("marko", "peter", "josh")).transform(new LengthPipeFunction()).filter(new PipeFunction<Integer, Boolean>() {
+            public Boolean compute(Integer argument) {
+                return argument == 5;
+            }
+        });
+        assertTrue(pipeline.hasNext());
+        // a pipe added after the first pull is chained after the fused pipes and the lookahead is kept
+        pipeline.transform(new PipeFunction<Integer, Integer>() {
+            public Integer compute(Integer argument) {
+                return argument * 2;
+            }
+        });
+        assertEquals(pipeline.size(), 4);
+        assertEquals(pipeline.toList(), Arrays.asList(10, 10));
+
+        // the profiled pipes are the pipes of the pipeline
+        pipeline.enableProfiling(true);
+        pipeline.setStarts(Arrays.asList("marko", "josh"));
+        assertEquals(pipeline.toList(), Arrays.asList(10));
+        assertEquals(pipeline.getProfile().getChildren().get(1).getOut(), 2);
+        assertEquals(pipeline.getProfile().getChildren().get(2).getOut(), 1);
+    }
+
+    private static List<Pipe> createPipes(final List<Object> sideEffects) {
+        List<Pipe> pipes = new ArrayList<Pipe>();
+        pipes.add(new TransformFunctionPipe<String, String>(new PipeFunction<String, String>() {
+            public String compute(String argument) {
+                return argument.toUpperCase();
+            }
+        }));
+        pipes.add(new FilterFunctionPipe<String>(new PipeFunction<String, Boolean>() {
+            public Boolean compute(String argument) {
+                return !argument.startsWith("P");
+            }
+        }));
+        pipes.add(new TransformFunctionPipe<String, Integer>(new LengthPipeFunction()));
+        pipes.add(new SideEffectFunctionPipe<Integer>(new PipeFunction<Integer, Object>() {
+            public Object compute(Integer argument) {
+                return sideEffects.add(argument);
+            }
+        }));
+        return pipes;
+    }
+
+    private static class LengthPipeFunction implements PipeFunction<String, Integer> {
+        public Integer compute(String argument) {
+            return argument.length();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.tinkerpop.pipes.util;
+
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.filter.FilterFunctionPipe;
+import com.tinkerpop.pipes.filter.RangeFilterPipe;
+import com.tinkerpop.pipes.filter.SamplePipe;
+import com.tinkerpop.pipes.sideeffect.AggregatePipe;
+import com.tinkerpop.pipes.sideeffect.CountPipe;
+import com.tinkerpop.pipes.sideeffect.GroupCountPipe;
+import com.tinkerpop.pipes.transform.OrderPipe;
+import com.tinkerpop.pipes.transform.TopKPipe;
+import com.tinkerpop.pipes.transform.TransformFunctionPipe;
+import com.tinkerpop.pipes.transform.TransformPipe;
+import com.tinkerpop.pipes.transform.WindowPipe;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class ParallelPipelineExecutorTest extends TestCase {
+
+    private final List<Integer> numbers = new ArrayList<Integer>();
+
+    public void setUp() {
+        for (int i = 0; i < 10000; i++) {
+            numbers.add(i);
+        }
+    }
+
+    public void testCountAndToList() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ParallelPipelineExecutor<Integer, Integer> parallel = new ParallelPipelineExecutor<Integer, Integer>(new PipeFunction<Integer, Pipeline<Integer, Integer>>() {
+                public Pipeline<Integer, Integer> compute(Integer worker) {
+                    return new Pipeline<Integer, Integer>(new FilterFunctionPipe<Integer>(new EvenPipeFunction()), new TransformFunctionPipe<Integer, Integer>(new HalfPipeFunction()));
+                }
+            }, executor, 4, 100);
+            assertEquals(parallel.count(numbers.iterator()), 5000);
+            List<Integer> results = parallel.toList(numbers.iterator());
+            assertEquals(results.size(), 5000);
+            for (int i = 0; i < 5000; i++) {
+                assertEquals(results.get(i), new Integer(i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testMergeSideEffects() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final Map<Integer, Number> groupCount = new HashMap<Integer, Number>();
+            final List<Integer> aggregate = new ArrayList<Integer>();
+            final List<CountPipe<Integer>> countPipes = new ArrayList<CountPipe<Integer>>();
+            ParallelPipelineExecutor<Integer, Integer> parallel = new ParallelPipelineExecutor<Integer, Integer>(new PipeFunction<Integer, Pipeline<Integer, Integer>>() {
+                public Pipeline<Integer, Integer> compute(Integer worker) {
+                    CountPipe<Integer> countPipe = new CountPipe<Integer>();
+                    countPipes.add(countPipe);
+                    return new Pipeline<Integer, Integer>(
+                            new TransformFunctionPipe<Integer, Integer>(new PipeFunction<Integer, Integer>() {
+                                public Integer compute(Integer argument) {
+                                    return argument % 10;
+                                }
+                            }),
+                            new GroupCountPipe<Integer>(worker == 0 ? groupCount : new HashMap<Integer, Number>()),
+                            new AggregatePipe<Integer>(worker == 0 ? aggregate : new ArrayList<Integer>()),
+                            countPipe);
+                }
+            }, executor, 3, 128);
+            parallel.iterate(numbers.iterator());
+            assertEquals(groupCount.size(), 10);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(groupCount.get(i), 1000l);
+            }
+            assertEquals(aggregate.size(), 10000);
+            assertEquals(countPipes.get(0).getSideEffect(), new Long(10000));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testMergeWorkerSideEffects() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final CyclicBarrier workersStarted = new CyclicBarrier(3);
+            final List<Map<Integer, Number>> groupCounts = new ArrayList<Map<Integer, Number>>();
+            final List<CountPipe<Integer>> countPipes = new ArrayList<CountPipe<Integer>>();
+            ParallelPipelineExecutor<Integer, Integer> parallel = new ParallelPipelineExecutor<Integer, Integer>(new PipeFunction<Integer, Pipeline<Integer, Integer>>() {
+                public Pipeline<Integer, Integer> compute(Integer worker) {
+                    Map<Integer, Number> groupCount = new HashMap<Integer, Number>();
+                    groupCounts.add(groupCount);
+                    CountPipe<Integer> countPipe = new CountPipe<Integer>();
+                    countPipes.add(countPipe);
+                    return new Pipeline<Integer, Integer>(
+                            new TransformFunctionPipe<Integer, Integer>(new PipeFunction<Integer, Integer>() {
+                                private boolean started = false;
+
+                                public Integer compute(Integer argument) {
+                                    if (!this.started) {
+                                        // every worker evaluates at least one chunk
+                                        try {
+                                            workersStarted.await(10, TimeUnit.SECONDS);
+                                        } catch (final Exception e) {
+                                            throw new RuntimeException(e.getMessage(), e);
+                                        }
+                                        this.started = true;
+                                    }
+                                    return argument % 10;
+                                }
+                            }),
+                            new GroupCountPipe<Integer>(groupCount),
+                            countPipe);
+                }
+            }, executor, 3, 128);
+            assertEquals(parallel.count(numbers.iterator()), 10000);
+            // the side effects of workers 1 and 2 are partial and merged into the side effects of worker 0
+            for (int i = 1; i < 3; i++) {
+                assertTrue(countPipes.get(i).getSideEffect() > 0l);
+                assertTrue(countPipes.get(i).getSideEffect() < 10000l);
+                assertFalse(groupCounts.get(i).isEmpty());
+            }
+            assertEquals(countPipes.get(0).getSideEffect(), new Long(10000));
+            assertEquals(groupCounts.get(0).size(), 10);
+            for (int i = 0; i < 10; i++) {
+                assertEquals(groupCounts.get(0).get(i), 1000l);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testBarrier() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ParallelPipelineExecutor<Integer, Integer> parallel = new ParallelPipelineExecutor<Integer, Integer>(new PipeFunction<Integer, Pipeline<Integer, Integer>>() {
+                public Pipeline<Integer, Integer> compute(Integer worker) {
+                    return new Pipeline<Integer, Integer>(new FilterFunctionPipe<Integer>(new EvenPipeFunction()), new OrderPipe<Integer>(TransformPipe.Order.DECR), new RangeFilterPipe<Integer>(0, 2));
+                }
+            }, executor, 4, 100);
+            List<Integer> results = parallel.toList(numbers.iterator());
+            assertEquals(results.size(), 3);
+            assertEquals(results.get(0), new Integer(9998));
+            assertEquals(results.get(1), new Integer(9996));
+            assertEquals(results.get(2), new Integer(9994));
+
+            parallel = new ParallelPipelineExecutor<Integer, Integer>(new PipeFunction<Integer, Pipeline<Integer, Integer>>() {
+                public Pipeline<Integer, Integer> compute(Integer worker) {
+                    return new Pipeline<Integer, Integer>(new FilterFunctionPipe<Integer>(new EvenPipeFunction()), new TopKPipe<Integer>(3, TransformPipe.Order.DECR));
+                }
+            }, executor, 4, 100);
+            assertEquals(parallel.toList(numbers.iterator()), Arrays.asList(9998, 9996, 9994));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testGreedySideEffectBarrier() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Integer> aggregate = new ArrayList<Integer>();
+            ParallelPipelineExecutor<Integer, Integer> parallel = new ParallelPipelineExecutor<Integer, Integer>(new PipeFunction<Integer, Pipeline<Integer, Integer>>() {
+                public Pipeline<Integer, Integer> compute(Integer worker) {
+                    final List<Integer> workerAggregate = worker == 0 ? aggregate : new ArrayList<Integer>();
+                    return new Pipeline<Integer, Integer>(new FilterFunctionPipe<Integer>(new EvenPipeFunction()),
+                            new AggregatePipe<Integer>(workerAggregate),
+                            new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+                                public Boolean compute(Integer argument) {
+                                    // the aggregate is complete before any object is emitted
+                                    return workerAggregate.size() == 5000;
+                                }
+                            }));
+                }
+            }, executor, 4, 100);
+            assertEquals(parallel.count(numbers.iterator()), 5000);
+            assertEquals(aggregate.size(), 5000);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testSampleBarrier() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ParallelPipelineExecutor<Integer, Integer> parallel = new ParallelPipelineExecutor<Integer, Integer>(new PipeFunction<Integer, Pipeline<Integer, Integer>>() {
+                public Pipeline<Integer, Integer> compute(Integer worker) {
+                    return new Pipeline<Integer, Integer>(new FilterFunctionPipe<Integer>(new EvenPipeFunction()), new SamplePipe<Integer>(10));
+                }
+            }, executor, 4, 100);
+            // a sample per chunk would emit 10 objects per chunk
+            assertEquals(parallel.count(numbers.iterator()), 10);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testWindowBarrier() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ParallelPipelineExecutor<Integer, List<Integer>> parallel = new ParallelPipelineExecutor<Integer, List<Integer>>(new PipeFunction<Integer, Pipeline<Integer, List<Integer>>>() {
+                public Pipeline<Integer, List<Integer>> compute(Integer worker) {
+                    return new Pipeline<Integer, List<Integer>>(new FilterFunctionPipe<Integer>(new EvenPipeFunction()), new WindowPipe<Integer, List<Integer>>(3));
+                }
+            }, executor, 4, 100);
+            // the windows do not break at the chunks of the starts
+            List<List<Integer>> windows = parallel.toList(numbers.iterator());
+            assertEquals(windows.size(), 1667);
+            assertEquals(windows.get(16), Arrays.asList(96, 98, 100));
+            assertEquals(windows.get(1666), Arrays.asList(9996, 9998));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testExceptionPropagation() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ParallelPipelineExecutor<Integer, Integer> parallel = new ParallelPipelineExecutor<Integer, Integer>(new PipeFunction<Integer, Pipeline<Integer, Integer>>() {
+                public Pipeline<Integer, Integer> compute(Integer worker) {
+                    return new Pipeline<Integer, Integer>(new TransformFunctionPipe<Integer, Integer>(new PipeFunction<Integer, Integer>() {
+                        public Integer compute(Integer argument) {
+                            if (argument == 5000)
+                                throw new IllegalStateException("bad number");
+                            return argument;
+                        }
+                    }));
+                }
+            }, executor, 2, 100);
+            try {
+                parallel.count(numbers.iterator());
+                fail();
+            } catch (IllegalStateException e) {
+                assertEquals(e.getMessage(), "bad number");
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static class EvenPipeFunction implements PipeFunction<Integer, Boolean> {
+        public Boolean compute(Integer argument) {
+            return argument % 2 == 0;
+        }
+    }
+
+    private static class HalfPipeFunction implements PipeFunction<Integer, Integer> {
+        public Integer compute(Integer argument) {
+            return argument / 2;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.tinkerpop.pipes.util;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class ParallelSorterTest extends TestCase {
+
+    private static final Comparator<int[]> FIRST = new Comparator<int[]>() {
+        public int compare(final int[] a, final int[] b) {
+            return a[0] < b[0] ? -1 : (a[0] == b[0] ? 0 : 1);
+        }
+    };
+
+    public void testSortIsStable() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Random random = new Random(5l);
+            List<int[]> pairs = new ArrayList<int[]>();
+            for (int i = 0; i < 5000; i++) {
+                pairs.add(new int[]{random.nextInt(50), i});
+            }
+            List<int[]> expected = new ArrayList<int[]>(pairs);
+            Collections.sort(expected, FIRST);
+            for (int parallelism : Arrays.asList(1, 2, 3, 7)) {
+                List<int[]> sorted = new ArrayList<int[]>(pairs);
+                new ParallelSorter(executor, parallelism, 100).sort(sorted, FIRST);
+                for (int i = 0; i < expected.size(); i++) {
+                    assertSame(sorted.get(i), expected.get(i));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public void testSortBelowThreshold() {
+        List<Integer> numbers = new ArrayList<Integer>(Arrays.asList(3, 1, 2));
+        new ParallelSorter(null, 4).sort(numbers, Collections.reverseOrder());
+        assertEquals(numbers, Arrays.asList(3, 2, 1));
+    }
+}
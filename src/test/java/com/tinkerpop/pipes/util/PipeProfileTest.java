@@ -0,0 +1,96 @@
+package com.tinkerpop.pipes.util;
+
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.branch.LoopPipe;
+import com.tinkerpop.pipes.filter.FilterFunctionPipe;
+import com.tinkerpop.pipes.transform.TransformFunctionPipe;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class PipeProfileTest extends TestCase {
+
+    public void testPipelineProfile() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++) {
+            numbers.add(i);
+        }
+        TransformFunctionPipe<Integer, Integer> doublePipe = new TransformFunctionPipe<Integer, Integer>(new PipeFunction<Integer, Integer>() {
+            public Integer compute(Integer argument) {
+                return argument * 2;
+            }
+        });
+        FilterFunctionPipe<Integer> filterPipe = new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+            public Boolean compute(Integer argument) {
+                return argument % 4 == 0;
+            }
+        });
+        Pipeline<Integer, Integer> pipeline = new Pipeline<Integer, Integer>(doublePipe, filterPipe);
+        assertNull(pipeline.getProfile());
+        pipeline.enableProfiling(true);
+        pipeline.setStarts(numbers);
+        assertEquals(pipeline.count(), 50);
+
+        PipeProfile profile = pipeline.getProfile();
+        assertEquals(profile.getChildren().size(), 2);
+        assertEquals(profile.getIn(), 100);
+        assertEquals(profile.getOut(), 50);
+        assertEquals(profile.getChildren().get(0).getIn(), 100);
+        assertEquals(profile.getChildren().get(0).getOut(), 100);
+        assertEquals(profile.getChildren().get(1).getIn(), 100);
+        assertEquals(profile.getChildren().get(1).getOut(), 50);
+        assertEquals(profile.getChildren().get(1).getSelectivity(), 0.5d);
+        assertTrue(profile.getChildren().get(0).getNanos() > 0l);
+        assertEquals(profile.getNanos(), profile.getChildren().get(0).getNanos() + profile.getChildren().get(1).getNanos());
+        assertSame(doublePipe.getProfile(), profile.getChildren().get(0));
+
+        pipeline.reset();
+        assertEquals(profile.getChildren().get(0).getResets(), 1);
+        assertEquals(profile.getChildren().get(1).getResets(), 1);
+
+        String report = profile.toString();
+        assertTrue(report.startsWith("Pipeline [in:100, out:50"));
+        assertTrue(report.contains("\n  TransformFunctionPipe [in:100, out:100"));
+        assertTrue(report.contains("\n  FilterFunctionPipe [in:100, out:50"));
+
+        pipeline.enableProfiling(false);
+        assertNull(pipeline.getProfile());
+        assertNull(doublePipe.getProfile());
+        pipeline.setStarts(numbers);
+        assertEquals(pipeline.count(), 50);
+        assertEquals(profile.getIn(), 100);
+    }
+
+    public void testMetaPipeProfile() {
+        TransformFunctionPipe<Integer, Integer> incrementPipe = new TransformFunctionPipe<Integer, Integer>(new PipeFunction<Integer, Integer>() {
+            public Integer compute(Integer argument) {
+                return argument + 1;
+            }
+        });
+        LoopPipe<Integer> loopPipe = new LoopPipe<Integer>(incrementPipe, new PipeFunction<LoopPipe.LoopBundle<Integer>, Boolean>() {
+            public Boolean compute(LoopPipe.LoopBundle<Integer> argument) {
+                return argument.getLoops() < 3;
+            }
+        });
+        Pipeline<Integer, Integer> pipeline = new Pipeline<Integer, Integer>(loopPipe);
+        pipeline.setStarts(Arrays.asList(1, 2));
+        pipeline.enableProfiling(true);
+        assertEquals(pipeline.toList(), Arrays.asList(3, 4));
+
+        PipeProfile loopProfile = pipeline.getProfile().getChildren().get(0);
+        assertEquals(loopProfile.getChildren().size(), 1);
+        PipeProfile incrementProfile = loopProfile.getChildren().get(0);
+        // 2 objects through the loop twice
+        assertEquals(incrementProfile.getOut(), 4);
+        assertEquals(incrementProfile.getIn(), 4);
+        assertEquals(loopProfile.getIn(), 4);
+        assertEquals(loopProfile.getOut(), 2);
+        assertEquals(loopProfile.getTotalNanos(), loopProfile.getNanos() + incrementProfile.getNanos());
+        assertTrue(pipeline.getProfile().toString().contains("\n    TransformFunctionPipe [in:4, out:4"));
+    }
+}
@@ -2,10 +2,22 @@ package com.tinkerpop.pipes.util;
 
 import com.tinkerpop.pipes.IdentityPipe;
 import com.tinkerpop.pipes.Pipe;
+import com.tinkerpop.pipes.PipeFunction;
+import com.tinkerpop.pipes.PrefetchPipe;
+import com.tinkerpop.pipes.Sink;
+import com.tinkerpop.pipes.filter.FilterFunctionPipe;
+import com.tinkerpop.pipes.filter.RangeFilterPipe;
+import com.tinkerpop.pipes.sideeffect.SideEffectFunctionPipe;
+import com.tinkerpop.pipes.transform.TransformFunctionPipe;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 
 /**
  * @author: Marko A. Rodriguez (http://markorodriguez.com)
@@ -42,4 +54,195 @@ public class PipelineTest extends TestCase {
         }
 
     }
+
+    public void testPipelineBatch() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            numbers.add(i);
+        }
+        Pipeline<Integer, Integer> pipeline = new Pipeline<Integer, Integer>(new IdentityPipe<Integer>(),
+                new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+                    public Boolean compute(Integer argument) {
+                        return argument % 2 == 0;
+                    }
+                }),
+                new TransformFunctionPipe<Integer, Integer>(new PipeFunction<Integer, Integer>() {
+                    public Integer compute(Integer argument) {
+                        return argument / 2;
+                    }
+                }));
+        assertTrue(pipeline.isBatchable());
+        pipeline.setStarts(numbers);
+        List<Integer> results = pipeline.toList();
+        assertEquals(results.size(), 500);
+        for (int i = 0; i < 500; i++) {
+            assertEquals(results.get(i), new Integer(i));
+        }
+
+        pipeline.setStarts(numbers);
+        assertEquals(pipeline.next(), new Integer(0));
+        assertEquals(pipeline.count(), 499);
+
+        pipeline.setStarts(numbers);
+        pipeline.enablePath(true);
+        assertFalse(pipeline.isBatchable());
+        assertEquals(pipeline.count(), 500);
+    }
+
+    public void testPipelineBatchWithSharedState() {
+        final Set<String> seen = new HashSet<String>();
+        Pipeline<String, String> pipeline = new Pipeline<String, String>(
+                new FilterFunctionPipe<String>(new PipeFunction<String, Boolean>() {
+                    public Boolean compute(String argument) {
+                        return !seen.contains(argument);
+                    }
+                }),
+                new SideEffectFunctionPipe<String>(new PipeFunction<String, Object>() {
+                    public Object compute(String argument) {
+                        return seen.add(argument);
+                    }
+                }),
+                new IdentityPipe<String>());
+        pipeline.setStarts(Arrays.asList("marko", "peter", "marko", "peter", "josh"));
+        assertEquals(pipeline.next(), "marko");
+        // the filter sees the side effect of each start before its next start
+        assertTrue(pipeline.isBatchable());
+        assertEquals(pipeline.count(), 2);
+        assertEquals(seen.size(), 3);
+    }
+
+    public void testPipelineBatchWithAsPipe() {
+        Pipeline<String, String> pipeline = new Pipeline<String, String>(new AsPipe<String, String>("x", new IdentityPipe<String>()), new IdentityPipe<String>());
+        assertFalse(pipeline.isBatchable());
+        pipeline.setStarts(Arrays.asList("marko", "peter"));
+        assertEquals(pipeline.count(), 2);
+    }
+
+    public void testPipelinePrefetchWithAsPipe() {
+        PrefetchIdentityPipe<String> before = new PrefetchIdentityPipe<String>();
+        PrefetchIdentityPipe<String> after = new PrefetchIdentityPipe<String>();
+        PrefetchIdentityPipe<String> nested = new PrefetchIdentityPipe<String>();
+        new Pipeline<String, String>(before, new AsPipe<String, String>("x", new IdentityPipe<String>()), after, new Pipeline<String, String>(nested));
+        assertFalse(before.upstreamAsPipe);
+        assertTrue(after.upstreamAsPipe);
+        assertTrue(nested.upstreamAsPipe);
+    }
+
+    public void testPipelinePush() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++) {
+            numbers.add(i);
+        }
+        Pipeline<Integer, Integer> pipeline = new Pipeline<Integer, Integer>(new IdentityPipe<Integer>(),
+                new FilterFunctionPipe<Integer>(new PipeFunction<Integer, Boolean>() {
+                    public Boolean compute(Integer argument) {
+                        return argument % 2 == 0;
+                    }
+                }));
+        pipeline.setStarts(numbers);
+        assertTrue(pipeline.isPushable());
+        final List<Integer> results = new ArrayList<Integer>();
+        pipeline.pushTo(new Sink<Integer>() {
+            public boolean push(Integer integer) {
+                results.add(integer);
+                return results.size() < 10;
+            }
+        });
+        assertEquals(results.size(), 10);
+        assertEquals(results.get(9), new Integer(18));
+        // the remaining objects are still available
+        assertEquals(pipeline.count(), 40);
+
+        pipeline.setStarts(numbers);
+        pipeline.reset();
+        assertTrue(pipeline.isPushable());
+        assertEquals(pipeline.toList().size(), 50);
+
+        // an object that was pulled into the lookahead is not lost
+        pipeline.setStarts(numbers);
+        assertTrue(pipeline.hasNext());
+        assertFalse(pipeline.isPushable());
+        assertEquals(pipeline.count(), 50);
+    }
+
+    public void testPipelinePushAfterSetStarts() {
+        Pipeline<Integer, Integer> pipeline = new Pipeline<Integer, Integer>(new IdentityPipe<Integer>(), new IdentityPipe<Integer>());
+        pipeline.setStarts(Arrays.asList(1, 2, 3));
+        assertEquals(pipeline.next(), new Integer(1));
+        assertFalse(pipeline.isPushable());
+        assertEquals(pipeline.count(), 2l);
+
+        // new starts make the pipeline pushable again
+        pipeline.setStarts(Arrays.asList(4, 5, 6));
+        assertTrue(pipeline.isPushable());
+        final List<Integer> results = new ArrayList<Integer>();
+        pipeline.pushTo(new Sink<Integer>() {
+            public boolean push(Integer integer) {
+                results.add(integer);
+                return true;
+            }
+        });
+        assertEquals(results, Arrays.asList(4, 5, 6));
+    }
+
+    public void testPipelineWithPlainPipe() {
+        // a pipe that only implements Pipe is neither a BatchPipe nor a DemandPipe
+        Pipeline<Integer, Integer> pipeline = new Pipeline<Integer, Integer>(new PlainPipe<Integer>(), new RangeFilterPipe<Integer>(0, 2), new IdentityPipe<Integer>());
+        pipeline.setStarts(Arrays.asList(1, 2, 3, 4, 5));
+        assertEquals(pipeline.toList(), Arrays.asList(1, 2, 3));
+        pipeline.reset();
+        pipeline.setStarts(Arrays.asList(1, 2, 3, 4, 5));
+        assertEquals(pipeline.count(), 3l);
+        pipeline.reset();
+        pipeline.setStarts(Arrays.asList(1, 2, 3, 4, 5));
+        pipeline.setDemand(1l);
+        assertEquals(pipeline.next(), new Integer(1));
+    }
+
+    private static class PlainPipe<S> implements Pipe<S, S> {
+
+        private Iterator<S> starts;
+
+        public void setStarts(final Iterator<S> starts) {
+            this.starts = starts;
+        }
+
+        public void setStarts(final Iterable<S> starts) {
+            this.setStarts(starts.iterator());
+        }
+
+        public List getCurrentPath() {
+            throw new RuntimeException(Pipe.NO_PATH_MESSAGE);
+        }
+
+        public void enablePath(final boolean enable) {
+        }
+
+        public void reset() {
+        }
+
+        public boolean hasNext() {
+            return this.starts.hasNext();
+        }
+
+        public S next() {
+            return this.starts.next();
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        public Iterator<S> iterator() {
+            return this;
+        }
+    }
+
+    private static class PrefetchIdentityPipe<S> extends IdentityPipe<S> implements PrefetchPipe<S, S> {
+        private boolean upstreamAsPipe = false;
+
+        public void setUpstreamAsPipe(final boolean upstreamAsPipe) {
+            this.upstreamAsPipe = upstreamAsPipe;
+        }
+    }
 }
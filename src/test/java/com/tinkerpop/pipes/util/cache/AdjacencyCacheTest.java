@@ -0,0 +1,148 @@
+package com.tinkerpop.pipes.util.cache;
+
+import com.tinkerpop.blueprints.Compare;
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Graph;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.impls.tg.TinkerGraphFactory;
+import com.tinkerpop.pipes.transform.BothPipe;
+import com.tinkerpop.pipes.transform.OutEdgesPipe;
+import com.tinkerpop.pipes.transform.OutPipe;
+import com.tinkerpop.pipes.transform.QueryPipe;
+import com.tinkerpop.pipes.transform.VertexQueryPipe;
+import com.tinkerpop.pipes.util.PipeHelper;
+import com.tinkerpop.pipes.util.Pipeline;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class AdjacencyCacheTest extends TestCase {
+
+    private final Graph graph = TinkerGraphFactory.createTinkerGraph();
+
+    public void testCachedTraversal() {
+        List<Vertex> starts = new ArrayList<Vertex>();
+        for (int i = 0; i < 3; i++) {
+            for (final Vertex vertex : graph.getVertices()) {
+                starts.add(vertex);
+            }
+        }
+        Pipeline<Vertex, Vertex> pipeline = new Pipeline<Vertex, Vertex>(new BothPipe(), new BothPipe(), new OutPipe("created"));
+        pipeline.setStarts(starts);
+        List<Vertex> expected = PipeHelper.makeList(pipeline);
+
+        AdjacencyCache cache = new AdjacencyCache(1000);
+        pipeline = new Pipeline<Vertex, Vertex>(new BothPipe(), new BothPipe(), new OutPipe("created"));
+        cache.attach(pipeline);
+        assertSame(((BothPipe) pipeline.get(0)).getAdjacencyCache(), cache);
+        pipeline.setStarts(starts);
+        assertEquals(PipeHelper.makeList(pipeline), expected);
+        // the both() adjacencies are shared by the first two steps
+        assertEquals(cache.getStats().getMisses(), 12);
+        assertEquals(cache.size(), 12);
+        assertTrue(cache.getStats().getHitRate() > 0.9d);
+
+        cache.clear();
+        assertEquals(cache.size(), 0);
+    }
+
+    public void testBoundedNeighbors() {
+        AdjacencyCache cache = new AdjacencyCache(5);
+        OutEdgesPipe pipe = new OutEdgesPipe();
+        pipe.setAdjacencyCache(cache);
+        pipe.setStarts(Arrays.asList(graph.getVertex(1), graph.getVertex(1), graph.getVertex(4), graph.getVertex(1)));
+        assertEquals(PipeHelper.counter(pipe), 11);
+        // the 3 edges of marko and the 2 edges of josh (plus 1 per entry) weigh more than 5 and thus, they evict each other
+        assertEquals(cache.size(), 1);
+        assertEquals(cache.getStats().getHits(), 1);
+        assertEquals(cache.getStats().getMisses(), 3);
+        assertEquals(cache.getStats().getEvictions(), 2);
+    }
+
+    public void testCachedQuery() {
+        AdjacencyCache cache = new AdjacencyCache(1000);
+        List<QueryPipe.HasContainer> hasContainers = Arrays.asList(new QueryPipe.HasContainer("weight", Compare.GREATER_THAN, 0.5f));
+        assertEquals(hasContainers.get(0), new QueryPipe.HasContainer("weight", Compare.GREATER_THAN, 0.5f));
+        assertEquals(hasContainers.get(0).hashCode(), new QueryPipe.HasContainer("weight", Compare.GREATER_THAN, 0.5f).hashCode());
+        assertFalse(hasContainers.get(0).equals(new QueryPipe.HasContainer("weight", Compare.LESS_THAN, 0.5f)));
+
+        for (int i = 0; i < 2; i++) {
+            VertexQueryPipe<Edge> pipe = new VertexQueryPipe<Edge>(Edge.class, Direction.OUT, hasContainers, null, Integer.MAX_VALUE, 0, Integer.MAX_VALUE);
+            pipe.setAdjacencyCache(cache);
+            pipe.setStarts(Arrays.asList(graph.getVertex(1)));
+            List<Edge> edges = PipeHelper.makeList(pipe);
+            assertEquals(edges.size(), 1);
+            assertEquals(edges.get(0).getId(), "8");
+        }
+        assertEquals(cache.getStats().getHits(), 1);
+
+        // a query without filters shares its adjacency with the vertex pipes
+        VertexQueryPipe<Vertex> pipe = new VertexQueryPipe<Vertex>(Vertex.class, Direction.OUT, null, null, Integer.MAX_VALUE, 1, Integer.MAX_VALUE);
+        pipe.setAdjacencyCache(cache);
+        pipe.setStarts(Arrays.asList(graph.getVertex(1)));
+        assertEquals(PipeHelper.counter(pipe), 2);
+        assertEquals(cache.getVertices(graph.getVertex(1), Direction.OUT, Integer.MAX_VALUE).size(), 3);
+        assertEquals(cache.getStats().getHits(), 2);
+    }
+
+    public void testLimitedQueryBypass() {
+        AdjacencyCache cache = new AdjacencyCache(1000);
+        // a finite range reads less than the full adjacency and thus, it is read from the graph
+        VertexQueryPipe<Vertex> pipe = new VertexQueryPipe<Vertex>(Vertex.class, Direction.OUT, null, null, Integer.MAX_VALUE, 0, 1);
+        pipe.setAdjacencyCache(cache);
+        pipe.setStarts(Arrays.asList(graph.getVertex(1), graph.getVertex(4)));
+        assertEquals(PipeHelper.counter(pipe), 2);
+        // a finite demand reads less than the full adjacency and thus, it is read from the graph
+        OutPipe outPipe = new OutPipe();
+        outPipe.setAdjacencyCache(cache);
+        outPipe.setDemand(1l);
+        outPipe.setStarts(Arrays.asList(graph.getVertex(1)));
+        assertEquals(outPipe.next(), graph.getVertex(1).getVertices(Direction.OUT).iterator().next());
+        assertEquals(cache.size(), 0);
+        assertEquals(cache.getStats().getMisses(), 0);
+    }
+
+    public void testOversizedAdjacency() {
+        // an adjacency of more than 2 edges weighs more than 3 and thus, it is never cached
+        AdjacencyCache cache = new AdjacencyCache(3);
+        assertEquals(cache.getMaxAdjacencySize(), 2);
+        OutEdgesPipe pipe = new OutEdgesPipe();
+        pipe.setAdjacencyCache(cache);
+        pipe.setStarts(Arrays.asList(graph.getVertex(1), graph.getVertex(1), graph.getVertex(1), graph.getVertex(6)));
+        assertEquals(PipeHelper.counter(pipe), 10);
+        // only the first lookup of marko is a miss as the following lookups read from the graph
+        assertEquals(cache.getStats().getMisses(), 2);
+        assertEquals(cache.getStats().getEvictions(), 0);
+        assertEquals(cache.size(), 1);
+        assertTrue(cache.isOversized(cache.createKey(graph.getVertex(1), Edge.class, Direction.OUT, Integer.MAX_VALUE, new String[]{})));
+        assertFalse(cache.isOversized(cache.createKey(graph.getVertex(6), Edge.class, Direction.OUT, Integer.MAX_VALUE, new String[]{})));
+        assertNull(cache.getEdges(graph.getVertex(1), Direction.OUT, Integer.MAX_VALUE));
+
+        cache.clear();
+        assertFalse(cache.isOversized(cache.createKey(graph.getVertex(1), Edge.class, Direction.OUT, Integer.MAX_VALUE, new String[]{})));
+    }
+
+    public void testGraphKeys() {
+        Graph otherGraph = TinkerGraphFactory.createTinkerGraph();
+        AdjacencyCache cache = new AdjacencyCache(1000);
+        AdjacencyCache graphCache = cache.forGraph(graph);
+        AdjacencyCache otherGraphCache = cache.forGraph(otherGraph);
+        assertSame(graphCache.getGraph(), graph);
+        assertFalse(graphCache.createKey(graph.getVertex(1), Vertex.class, Direction.OUT, Integer.MAX_VALUE, new String[]{}).equals(
+                otherGraphCache.createKey(otherGraph.getVertex(1), Vertex.class, Direction.OUT, Integer.MAX_VALUE, new String[]{})));
+
+        // the views share the cache, but the vertices of the same id are distinct adjacencies
+        assertTrue(graphCache.getVertices(graph.getVertex(1), Direction.OUT, Integer.MAX_VALUE).contains(graph.getVertex(2)));
+        assertTrue(otherGraphCache.getVertices(otherGraph.getVertex(1), Direction.OUT, Integer.MAX_VALUE).contains(otherGraph.getVertex(2)));
+        assertEquals(otherGraphCache.getVertices(otherGraph.getVertex(1), Direction.OUT, Integer.MAX_VALUE).size(), 3);
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.getStats().getMisses(), 2);
+        assertEquals(cache.getStats().getHits(), 1);
+    }
+}
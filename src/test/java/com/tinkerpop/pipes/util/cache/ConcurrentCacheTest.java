@@ -0,0 +1,55 @@
+package com.tinkerpop.pipes.util.cache;
+
+import com.tinkerpop.pipes.PipeFunction;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class ConcurrentCacheTest extends TestCase {
+
+    public void testConcurrentAccess() throws Exception {
+        final Cache<Integer, Integer> cache = new ConcurrentCache<Integer, Integer>(4, new PipeFunction<Integer, Cache<Integer, Integer>>() {
+            public Cache<Integer, Integer> compute(Integer segment) {
+                return new LruCache<Integer, Integer>(50);
+            }
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+            for (int t = 0; t < 4; t++) {
+                tasks.add(new Callable<Object>() {
+                    public Object call() {
+                        for (int i = 0; i < 10000; i++) {
+                            final int key = i % 100;
+                            final Integer value = cache.get(key);
+                            if (null == value)
+                                cache.put(key, key);
+                            else
+                                assertEquals(value, new Integer(key));
+                        }
+                        return null;
+                    }
+                });
+            }
+            for (Future<Object> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(cache.size() <= 200);
+        CacheStats stats = cache.getStats();
+        assertEquals(stats.getHits() + stats.getMisses(), 40000l);
+        assertTrue(stats.getHits() > 0l);
+        cache.clear();
+        assertEquals(cache.size(), 0);
+    }
+}
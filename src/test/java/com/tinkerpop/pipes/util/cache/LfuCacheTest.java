@@ -0,0 +1,42 @@
+package com.tinkerpop.pipes.util.cache;
+
+import junit.framework.TestCase;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class LfuCacheTest extends TestCase {
+
+    public void testLeastFrequentlyUsedEviction() {
+        Cache<String, Integer> cache = new LfuCache<String, Integer>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        cache.put("c", 3);
+        assertNull(cache.get("b"));
+        assertEquals(cache.get("a"), new Integer(1));
+        assertEquals(cache.get("c"), new Integer(3));
+        // c and b have the same frequency and c reached it first
+        cache.put("d", 4);
+        assertNull(cache.get("c"));
+        assertEquals(cache.get("a"), new Integer(1));
+        assertEquals(cache.getStats().getEvictions(), 2l);
+    }
+
+    public void testUpdate() {
+        LfuCache<String, String> cache = new LfuCache<String, String>(4l, new Weigher<String, String>() {
+            public int weigh(String key, String value) {
+                return value.length();
+            }
+        });
+        cache.put("a", "xx");
+        cache.put("b", "xx");
+        cache.get("b");
+        cache.put("b", "xxx");
+        assertNull(cache.get("a"));
+        assertEquals(cache.get("b"), "xxx");
+        assertEquals(cache.getWeight(), 3l);
+    }
+}
@@ -0,0 +1,59 @@
+package com.tinkerpop.pipes.util.cache;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class LruCacheTest extends TestCase {
+
+    public void testLeastRecentlyUsedEviction() {
+        Cache<String, Integer> cache = new LruCache<String, Integer>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(cache.get("a"), new Integer(1));
+        cache.put("c", 3);
+        assertNull(cache.get("b"));
+        assertEquals(cache.get("a"), new Integer(1));
+        assertEquals(cache.get("c"), new Integer(3));
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.getStats().getHits(), 3l);
+        assertEquals(cache.getStats().getMisses(), 1l);
+        assertEquals(cache.getStats().getEvictions(), 1l);
+        cache.clear();
+        assertEquals(cache.size(), 0);
+        assertNull(cache.get("a"));
+    }
+
+    public void testWeightEviction() {
+        LruCache<String, List<Integer>> cache = new LruCache<String, List<Integer>>(6l, Weigher.COLLECTION_SIZE);
+        cache.put("a", Arrays.asList(1, 2));
+        cache.put("b", Arrays.asList(1, 2));
+        assertEquals(cache.getWeight(), 6l);
+        cache.put("c", Arrays.asList(1));
+        assertEquals(cache.getWeight(), 5l);
+        assertNull(cache.get("a"));
+        cache.put("d", Arrays.asList(1, 2, 3, 4, 5, 6, 7));
+        assertNull(cache.get("d"));
+        assertEquals(cache.size(), 2);
+    }
+
+    public void testRemove() {
+        for (Cache<String, Integer> cache : Arrays.<Cache<String, Integer>>asList(new LruCache<String, Integer>(2), new LfuCache<String, Integer>(2), new TinyLfuCache<String, Integer>(2), new MapCache<String, Integer>())) {
+            cache.put("a", 1);
+            cache.put("b", 2);
+            assertEquals(cache.remove("a"), new Integer(1));
+            assertNull(cache.remove("a"));
+            assertNull(cache.get("a"));
+            assertEquals(cache.size(), 1);
+            // the weight of the removed entry is freed
+            cache.put("c", 3);
+            assertEquals(cache.get("b"), new Integer(2));
+            assertEquals(cache.get("c"), new Integer(3));
+            assertEquals(cache.getStats().getEvictions(), 0l);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.tinkerpop.pipes.util.cache;
+
+import junit.framework.TestCase;
+
+import java.lang.ref.SoftReference;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class SoftCacheTest extends TestCase {
+
+    public void testSoftCache() {
+        Cache<String, Integer> cache = new SoftCache<String, Integer>(new LruCache<String, SoftReference<Integer>>(1));
+        cache.put("a", 1);
+        assertEquals(cache.get("a"), new Integer(1));
+        cache.put("b", 2);
+        assertNull(cache.get("a"));
+        assertEquals(cache.size(), 1);
+        assertEquals(cache.getStats().getHits(), 1l);
+        assertEquals(cache.getStats().getMisses(), 1l);
+        assertEquals(cache.getStats().getEvictions(), 1l);
+    }
+
+    public void testPurgeReclaimedValues() {
+        MapCache<String, SoftReference<Integer>> mapCache = new MapCache<String, SoftReference<Integer>>();
+        Cache<String, Integer> cache = new SoftCache<String, Integer>(mapCache);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        assertEquals(cache.size(), 2);
+        // simulate the garbage collector reclaiming the value of "a"
+        SoftReference<Integer> reference = mapCache.getMap().get("a");
+        reference.clear();
+        assertTrue(reference.enqueue());
+        cache.put("c", 3);
+        assertEquals(cache.size(), 2);
+        assertFalse(mapCache.getMap().containsKey("a"));
+        assertEquals(cache.getStats().getEvictions(), 1l);
+
+        // a reclaimed value of a key that was cached again is not purged
+        reference = mapCache.getMap().get("b");
+        cache.put("b", 4);
+        reference.clear();
+        assertTrue(reference.enqueue());
+        assertEquals(cache.get("b"), new Integer(4));
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.getStats().getEvictions(), 1l);
+
+        assertEquals(cache.remove("c"), new Integer(3));
+        assertEquals(cache.size(), 1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.tinkerpop.pipes.util.cache;
+
+import junit.framework.TestCase;
+
+import java.util.Random;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class TinyLfuCacheTest extends TestCase {
+
+    public void testBound() {
+        TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<Integer, Integer>(100);
+        for (int i = 0; i < 1000; i++) {
+            if (null == cache.get(i))
+                cache.put(i, i);
+            assertTrue(cache.size() <= 100);
+            assertTrue(cache.getWeight() <= 100l);
+        }
+        assertEquals(cache.getStats().getMisses(), 1000l);
+        assertEquals(cache.getStats().getEvictions(), 900l);
+    }
+
+    public void testScanResistance() {
+        TinyLfuCache<Integer, Integer> tinyLfu = new TinyLfuCache<Integer, Integer>(100);
+        LruCache<Integer, Integer> lru = new LruCache<Integer, Integer>(100);
+        Random random = new Random(13l);
+        int scan = 100000;
+        for (int i = 0; i < 50000; i++) {
+            // popular keys are interleaved with a scan of keys that are never seen again
+            final int key = random.nextBoolean() ? random.nextInt(50) : scan++;
+            for (Cache<Integer, Integer> cache : new Cache[]{tinyLfu, lru}) {
+                if (null == cache.get(key))
+                    cache.put(key, key);
+            }
+        }
+        assertTrue(tinyLfu.getStats().getHitRate() > lru.getStats().getHitRate());
+        assertTrue(tinyLfu.getStats().getHitRate() > 0.45d);
+        assertTrue(tinyLfu.frequency(0) > 0);
+    }
+
+    public void testClear() {
+        Cache<String, String> cache = new TinyLfuCache<String, String>(10);
+        cache.put("a", "b");
+        assertEquals(cache.get("a"), "b");
+        cache.clear();
+        assertEquals(cache.size(), 0);
+        assertNull(cache.get("a"));
+    }
+}
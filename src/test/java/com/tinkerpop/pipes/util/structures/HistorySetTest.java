@@ -0,0 +1,133 @@
+package com.tinkerpop.pipes.util.structures;
+
+import com.tinkerpop.blueprints.Graph;
+import com.tinkerpop.blueprints.Vertex;
+import com.tinkerpop.blueprints.impls.tg.TinkerGraph;
+import com.tinkerpop.blueprints.impls.tg.TinkerGraphFactory;
+import com.tinkerpop.blueprints.util.wrappers.id.IdGraph;
+import junit.framework.TestCase;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class HistorySetTest extends TestCase {
+
+    public void testExactHistorySets() {
+        for (HistorySet historySet : new HistorySet[]{new HashHistorySet(), new OpenHashHistorySet(), new OpenHashHistorySet(1)}) {
+            for (int i = 0; i < 10000; i++) {
+                assertTrue(historySet.add(i));
+            }
+            assertTrue(historySet.add(null));
+            assertFalse(historySet.add(null));
+            for (int i = 0; i < 10000; i++) {
+                assertFalse(historySet.add(i));
+                assertTrue(historySet.contains(i));
+            }
+            assertFalse(historySet.contains(10000));
+            assertFalse(historySet.contains("marko"));
+            assertEquals(historySet.size(), 10001);
+            assertTrue(historySet.getMemoryFootprint() > 0);
+            historySet.clear();
+            assertEquals(historySet.size(), 0);
+            assertFalse(historySet.contains(1));
+            assertTrue(historySet.add(1));
+        }
+    }
+
+    public void testElementIdSet() {
+        IdGraph<TinkerGraph> graph = new IdGraph<TinkerGraph>(new TinkerGraph());
+        Vertex a = graph.addVertex(1l);
+        Vertex b = graph.addVertex(2l);
+        graph.addEdge(1l, a, b, "knows");
+        Vertex c = graph.addVertex(3);
+        graph.addVertex(3l);
+        Graph stringGraph = TinkerGraphFactory.createTinkerGraph();
+        for (HistorySet historySet : new HistorySet[]{new ElementIdSet(), new ElementIdSet(true)}) {
+            assertTrue(historySet.add(a));
+            assertFalse(historySet.add(graph.getVertex(1l)));
+            assertTrue(historySet.contains(graph.getVertex(1l)));
+            assertFalse(historySet.contains(b));
+            // a vertex and an edge may share an id
+            assertFalse(historySet.contains(graph.getEdge(1l)));
+            assertTrue(historySet.add(graph.getEdge(1l)));
+            // non-integral ids and non-elements
+            assertTrue(historySet.add(stringGraph.getVertex("1")));
+            assertFalse(historySet.add(stringGraph.getVertex("1")));
+            assertFalse(historySet.contains(stringGraph.getVertex("2")));
+            assertTrue(historySet.add("marko"));
+            assertTrue(historySet.contains("marko"));
+            assertEquals(historySet.size(), 4);
+            // an Integer id is not equal to the Long id of the same value
+            assertTrue(historySet.add(c));
+            assertFalse(historySet.contains(graph.getVertex(3l)));
+            assertTrue(historySet.add(graph.getVertex(3l)));
+            assertFalse(historySet.add(c));
+            assertEquals(historySet.size(), 6);
+            historySet.clear();
+            assertEquals(historySet.size(), 0);
+            assertFalse(historySet.contains(a));
+            assertFalse(historySet.contains("marko"));
+        }
+    }
+
+    public void testOpenHashHistorySetFootprint() {
+        HistorySet hashSet = new HashHistorySet();
+        HistorySet openHashSet = new OpenHashHistorySet();
+        for (int i = 0; i < 100000; i++) {
+            hashSet.add(i);
+            openHashSet.add(i);
+        }
+        assertTrue(openHashSet.getMemoryFootprint() < hashSet.getMemoryFootprint());
+    }
+
+    public void testBloomFilterHistorySet() {
+        BloomFilterHistorySet historySet = new BloomFilterHistorySet(100, 0.01d);
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (!historySet.add(i))
+                falsePositives++;
+        }
+        // no false negatives
+        for (int i = 0; i < 100000; i++) {
+            assertTrue(historySet.contains(i));
+            assertFalse(historySet.add(i));
+        }
+        assertTrue(falsePositives < 1000);
+        assertEquals(historySet.size(), 100000 - falsePositives);
+        // less than the 40 bytes per object of a HashHistorySet
+        assertTrue(historySet.getMemoryFootprint() < 100000 * 40l);
+
+        int unseenPositives = 0;
+        for (int i = 100000; i < 200000; i++) {
+            if (historySet.contains(i))
+                unseenPositives++;
+        }
+        assertTrue(unseenPositives < 1000);
+
+        historySet.clear();
+        assertEquals(historySet.size(), 0);
+        assertFalse(historySet.contains(1));
+    }
+
+    public void testBloomFilterHistorySet64BitHash() {
+        // strings, numbers and element ids are not limited to their 32-bit hash codes
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertEquals(new Long(1l << 32).hashCode(), new Long(1l).hashCode());
+        BloomFilterHistorySet historySet = new BloomFilterHistorySet();
+        assertTrue(historySet.add("Aa"));
+        assertTrue(historySet.add("BB"));
+        assertTrue(historySet.add(1l));
+        assertTrue(historySet.add(1l << 32));
+        assertTrue(historySet.add(1));
+
+        IdGraph<TinkerGraph> graph = new IdGraph<TinkerGraph>(new TinkerGraph());
+        Vertex a = graph.addVertex(1l);
+        Vertex b = graph.addVertex(1l << 32);
+        graph.addEdge(1l, a, b, "knows");
+        assertTrue(historySet.add(a));
+        assertTrue(historySet.add(b));
+        assertTrue(historySet.add(graph.getEdge(1l)));
+        assertFalse(historySet.add(graph.getVertex(1l)));
+        assertEquals(historySet.size(), 8);
+    }
+}
@@ -0,0 +1,61 @@
+package com.tinkerpop.pipes.util.structures;
+
+import junit.framework.TestCase;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class LongSetTest extends TestCase {
+
+    public void testLongSets() {
+        for (LongSet longSet : new LongSet[]{new LongHashSet(), new LongHashSet(1), new LongBitmap()}) {
+            Random random = new Random(1);
+            Set<Long> expected = new HashSet<Long>();
+            for (int i = 0; i < 10000; i++) {
+                long value = random.nextInt(20000) - 10000;
+                assertEquals(longSet.add(value), expected.add(value));
+            }
+            assertEquals(longSet.add(0l), expected.add(0l));
+            assertEquals(longSet.add(Long.MAX_VALUE), expected.add(Long.MAX_VALUE));
+            assertEquals(longSet.add(Long.MIN_VALUE), expected.add(Long.MIN_VALUE));
+            for (long i = -10001; i < 10001; i++) {
+                assertEquals(longSet.contains(i), expected.contains(i));
+            }
+            assertTrue(longSet.contains(0l));
+            assertTrue(longSet.contains(Long.MAX_VALUE));
+            assertTrue(longSet.contains(Long.MIN_VALUE));
+            assertFalse(longSet.contains(Long.MAX_VALUE - 1));
+            assertEquals(longSet.size(), expected.size());
+            assertTrue(longSet.getMemoryFootprint() > 0);
+            longSet.clear();
+            assertEquals(longSet.size(), 0);
+            assertFalse(longSet.contains(0l));
+            assertFalse(longSet.contains(1l));
+            assertTrue(longSet.add(1l));
+            assertTrue(longSet.contains(1l));
+        }
+    }
+
+    public void testFootprint() {
+        LongSet hashSet = new LongHashSet();
+        LongSet bitmap = new LongBitmap();
+        for (long i = 0; i < 1000000; i++) {
+            hashSet.add(i);
+            bitmap.add(i);
+        }
+        // ids that fit in an int use at most 8 bytes per long
+        assertTrue(hashSet.getMemoryFootprint() <= 1000000 * 8l);
+        hashSet.clear();
+        for (long i = 0; i < 1000000; i++) {
+            hashSet.add(i << 32);
+        }
+        assertEquals(hashSet.size(), 1000000);
+        assertTrue(hashSet.getMemoryFootprint() <= 1000000 * 16l);
+        // dense ids use ~1 bit per long
+        assertTrue(bitmap.getMemoryFootprint() < 1000000 / 4);
+    }
+}
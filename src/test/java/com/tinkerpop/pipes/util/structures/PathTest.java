@@ -0,0 +1,88 @@
+package com.tinkerpop.pipes.util.structures;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Marko A. Rodriguez (http://markorodriguez.com)
+ */
+public class PathTest extends TestCase {
+
+    public void testListOperations() {
+        Path path = new Path();
+        assertEquals(path.size(), 0);
+        assertTrue(path.isEmpty());
+        path.add("a");
+        path.add("b");
+        path.add("c");
+        assertEquals(path.size(), 3);
+        assertEquals(path.get(0), "a");
+        assertEquals(path.get(1), "b");
+        assertEquals(path.getLast(), "c");
+        assertEquals(path, Arrays.asList("a", "b", "c"));
+        assertEquals(Arrays.asList("a", "b", "c"), path);
+        assertEquals(path.hashCode(), Arrays.asList("a", "b", "c").hashCode());
+        assertEquals(path.toString(), "[a, b, c]");
+
+        assertEquals(path.remove(2), "c");
+        assertEquals(path, Arrays.asList("a", "b"));
+        path.add(0, "z");
+        assertEquals(path, Arrays.asList("z", "a", "b"));
+        assertEquals(path.set(1, "y"), "a");
+        assertEquals(path, Arrays.asList("z", "y", "b"));
+        assertEquals(path.remove(0), "z");
+        assertEquals(path, Arrays.asList("y", "b"));
+        path.addAll(Arrays.asList("c", "d"));
+        assertEquals(path, Arrays.asList("y", "b", "c", "d"));
+        List<Object> list = new ArrayList<Object>();
+        for (Object object : path) {
+            list.add(object);
+        }
+        assertEquals(list, path);
+        path.clear();
+        assertEquals(path.size(), 0);
+        try {
+            path.get(0);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            assertTrue(true);
+        }
+    }
+
+    public void testSharedPrefix() {
+        Path path = new Path(Arrays.asList("a", "b"));
+        Path copy = Path.copyOf(path);
+        Path extended = path.extend("c");
+        copy.add("d");
+        path.remove(1);
+        assertEquals(path, Arrays.asList("a"));
+        assertEquals(copy, Arrays.asList("a", "b", "d"));
+        assertEquals(extended, Arrays.asList("a", "b", "c"));
+        assertEquals(Path.copyOf(Arrays.asList(1, 2)), Arrays.asList(1, 2));
+    }
+
+    public void testIsSimple() {
+        assertTrue(new Path().isSimple());
+        Path path = new Path(Arrays.asList("a", "b", "c"));
+        assertTrue(path.isSimple());
+        Path cyclic = path.extend("a");
+        assertFalse(cyclic.isSimple());
+        assertFalse(cyclic.extend("d").isSimple());
+        assertTrue(path.extend("d").isSimple());
+        assertFalse(path.extend(null).extend(null).isSimple());
+        cyclic.remove(3);
+        assertTrue(cyclic.isSimple());
+
+        // long paths are checked without recursion
+        Path longPath = new Path();
+        for (int i = 0; i < 100000; i++) {
+            longPath.add(i);
+        }
+        assertTrue(longPath.isSimple());
+        assertFalse(longPath.extend(99999).isSimple());
+        assertTrue(longPath.extend(100000).isSimple());
+    }
+}